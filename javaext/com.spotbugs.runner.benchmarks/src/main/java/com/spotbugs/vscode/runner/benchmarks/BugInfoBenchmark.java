@@ -0,0 +1,66 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.internal.StringPool;
+
+import edu.umd.cs.findbugs.BugInstance;
+
+/**
+ * Conversion of SpotBugs' {@link BugInstance}s into the {@link BugInfo}s the runner returns,
+ * as done once per finding at the end of every run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BugInfoBenchmark {
+
+    @Param({"1000"})
+    public int findingCount;
+
+    private List<BugInstance> instances;
+
+    @Setup(Level.Trial)
+    public void createInstances() {
+        instances = Findings.instances(findingCount);
+    }
+
+    @Benchmark
+    public List<BugInfo> fromBugInstances() {
+        List<BugInfo> bugs = new ArrayList<>(instances.size());
+        for (BugInstance instance : instances) {
+            bugs.add(new BugInfo(instance));
+        }
+        return bugs;
+    }
+
+    /** The conversion of runs with {@code lazyFindingDetails}, which skips the detail text. */
+    @Benchmark
+    public List<BugInfo> fromBugInstancesWithoutDetails() {
+        List<BugInfo> bugs = new ArrayList<>(instances.size());
+        StringPool strings = new StringPool();
+        for (BugInstance instance : instances) {
+            bugs.add(new BugInfo(instance, strings, false));
+        }
+        return bugs;
+    }
+}
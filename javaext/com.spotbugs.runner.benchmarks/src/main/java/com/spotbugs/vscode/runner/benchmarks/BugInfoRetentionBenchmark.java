@@ -0,0 +1,81 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.internal.StringPool;
+
+import edu.umd.cs.findbugs.BugInstance;
+
+/**
+ * Heap kept alive by one run's findings, with and without a {@link StringPool}. Each invocation
+ * converts a run's worth of findings and reports the growth of the used heap across forced
+ * collections as the {@code retainedBytes} counter; the score itself is only the conversion time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BugInfoRetentionBenchmark {
+
+    @Param({"10000"})
+    public int findingCount;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private List<BugInstance> instances;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+        public long retainedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void createInstances() {
+        instances = Findings.instances(findingCount);
+    }
+
+    @Benchmark
+    public void retainFindings(Retained retained, Blackhole blackhole) {
+        long before = usedHeapAfterCollection();
+        StringPool strings = pooled ? new StringPool() : null;
+        List<BugInfo> bugs = new ArrayList<>(instances.size());
+        for (BugInstance instance : instances) {
+            bugs.add(strings != null ? new BugInfo(instance, strings) : new BugInfo(instance));
+        }
+        strings = null;
+        retained.retainedBytes = usedHeapAfterCollection() - before;
+        blackhole.consume(bugs);
+    }
+
+    private static long usedHeapAfterCollection() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,61 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.CommandResponse;
+import com.spotbugs.vscode.runner.api.RunAnalysisSummary;
+import com.spotbugs.vscode.runner.internal.command.ResponseJson;
+
+/**
+ * Serialisation of a run's response, the way every workspace command returns it, from a small
+ * project up to a very large unpaged one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CommandResponseSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int findingCount;
+
+    private final Gson gson = new Gson();
+    private CommandResponse response;
+
+    @Setup(Level.Trial)
+    public void createResponse() {
+        List<BugInfo> bugs = Findings.bugInfos(findingCount);
+        RunAnalysisSummary stats = new RunAnalysisSummary(
+                "/workspace/bench", 1000L, bugs.size(), "4.9.8", 1, 10, 0, 10, findingCount, 0);
+        response = CommandResponse.success(bugs, stats);
+    }
+
+    /** Plain reflective Gson, kept as the baseline for {@link #responseJson()}. */
+    @Benchmark
+    public String reflectiveGson() {
+        return gson.toJson(response);
+    }
+
+    @Benchmark
+    public String responseJson() {
+        return ResponseJson.toJson(response);
+    }
+}
@@ -0,0 +1,49 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.MethodAnnotation;
+import edu.umd.cs.findbugs.Priorities;
+import edu.umd.cs.findbugs.SourceLineAnnotation;
+
+/** Findings shaped like a real run's: a few bug types repeated across many classes. */
+final class Findings {
+
+    private static final String[] TYPES = {
+        "NP_NULL_ON_SOME_PATH",
+        "ICAST_BAD_SHIFT_AMOUNT",
+        "DLS_DEAD_LOCAL_STORE",
+        "EI_EXPOSE_REP",
+        "SE_BAD_FIELD",
+    };
+
+    private Findings() {
+    }
+
+    static List<BugInstance> instances(int count) {
+        List<BugInstance> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String packageName = "com.example.bench.p" + (i / 50);
+            String className = packageName + ".Type" + (i / 3);
+            String sourceFile = "Type" + (i / 3) + ".java";
+            int line = 10 + i % 200;
+            instances.add(new BugInstance(TYPES[i % TYPES.length], Priorities.NORMAL_PRIORITY)
+                    .addClass(className)
+                    .addMethod(new MethodAnnotation(className, "method" + (i % 7), "()V", false))
+                    .addSourceLine(new SourceLineAnnotation(className, sourceFile, line, line + 2, 0, 0)));
+        }
+        return instances;
+    }
+
+    static List<BugInfo> bugInfos(int count) {
+        List<BugInfo> bugs = new ArrayList<>(count);
+        for (BugInstance instance : instances(count)) {
+            bugs.add(new BugInfo(instance));
+        }
+        return bugs;
+    }
+}
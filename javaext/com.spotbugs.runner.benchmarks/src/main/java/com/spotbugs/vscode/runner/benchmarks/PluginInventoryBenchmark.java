@@ -0,0 +1,74 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spotbugs.vscode.runner.api.PluginInventoryEntry;
+import com.spotbugs.vscode.runner.internal.PluginInventoryService;
+
+/**
+ * {@link PluginInventoryService#inspect} over synthetic plugin jars, which the extension calls
+ * whenever the configured plugin list is shown or changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluginInventoryBenchmark {
+
+    @Param({"1", "8"})
+    public int pluginCount;
+
+    @Param({"200"})
+    public int detectorsPerPlugin;
+
+    private final PluginInventoryService service = new PluginInventoryService();
+    private SyntheticWorkspace workspace;
+    private List<String> pluginPaths;
+
+    @Setup(Level.Trial)
+    public void createPlugins() throws IOException {
+        workspace = SyntheticWorkspace.create(0, 1);
+        pluginPaths = new ArrayList<>();
+        for (int i = 0; i < pluginCount; i++) {
+            Path jar = SyntheticWorkspace.writePluginJar(workspace.root(), "com.example.bench" + i, detectorsPerPlugin);
+            pluginPaths.add(jar.toString());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePlugins() throws IOException {
+        workspace.close();
+    }
+
+    /** A refresh of the plugin view with no jar changed since the last one. */
+    @Benchmark
+    public List<PluginInventoryEntry> inspect() {
+        return service.inspect(pluginPaths);
+    }
+
+    /** The first inspection of a session, which validates every jar. */
+    @Benchmark
+    public List<PluginInventoryEntry> inspectUncached() {
+        return new PluginInventoryService().inspect(pluginPaths);
+    }
+}
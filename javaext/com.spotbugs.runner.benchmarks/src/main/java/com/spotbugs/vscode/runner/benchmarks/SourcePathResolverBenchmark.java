@@ -0,0 +1,81 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spotbugs.vscode.runner.internal.SourcePathResolver;
+
+/**
+ * {@link SourcePathResolver#resolve} for every finding of a run, with the module's source root
+ * behind several source paths that hold none of the findings' files, as in a multi-module
+ * workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SourcePathResolverBenchmark {
+
+    @Param({"500"})
+    public int typeCount;
+
+    @Param({"1", "8"})
+    public int sourceRootCount;
+
+    private SyntheticWorkspace workspace;
+    private List<String> sourcepaths;
+    private List<String> findingPaths;
+
+    @Setup(Level.Trial)
+    public void createWorkspace() throws IOException {
+        workspace = SyntheticWorkspace.create(typeCount, 50);
+        sourcepaths = new ArrayList<>();
+        for (int i = 1; i < sourceRootCount; i++) {
+            sourcepaths.add(Files.createDirectories(workspace.root().resolve("module" + i + "/src")).toString());
+        }
+        sourcepaths.add(workspace.sourceRoot().toString());
+        // Several findings per file, as a run usually reports.
+        findingPaths = new ArrayList<>();
+        for (String path : workspace.relativeSourcePaths()) {
+            findingPaths.add(path);
+            findingPaths.add(path);
+            findingPaths.add(path);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() throws IOException {
+        workspace.close();
+    }
+
+    @Benchmark
+    public int resolveRun() {
+        SourcePathResolver resolver = new SourcePathResolver(sourcepaths, workspace.classRoot().toString());
+        int resolved = 0;
+        for (String path : findingPaths) {
+            if (resolver.resolve(path, null) != null) {
+                resolved++;
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,135 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A throwaway project on disk shaped like a Maven module: {@code src/main/java} next to
+ * {@code target/classes}, with every top-level type compiled to itself plus an inner and an
+ * anonymous class. Class files only carry the magic number, which is all target resolution reads.
+ */
+final class SyntheticWorkspace implements AutoCloseable {
+
+    private static final byte[] CLASS_MAGIC = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE};
+
+    private final Path root;
+    private final Path sourceRoot;
+    private final Path classRoot;
+    private final List<String> sourceFiles = new ArrayList<>();
+    private final List<String> relativeSourcePaths = new ArrayList<>();
+
+    private SyntheticWorkspace(Path root) {
+        this.root = root;
+        this.sourceRoot = root.resolve("src/main/java");
+        this.classRoot = root.resolve("target/classes");
+    }
+
+    /** {@code typeCount} types spread over packages of {@code typesPerPackage} each. */
+    static SyntheticWorkspace create(int typeCount, int typesPerPackage) throws IOException {
+        SyntheticWorkspace workspace = new SyntheticWorkspace(Files.createTempDirectory("spotbugs-bench"));
+        for (int i = 0; i < typeCount; i++) {
+            String packagePath = "com/example/bench/p" + (i / typesPerPackage);
+            String type = "Type" + i;
+            Path source = workspace.sourceRoot.resolve(packagePath).resolve(type + ".java");
+            Files.createDirectories(source.getParent());
+            Files.write(source, ("package " + packagePath.replace('/', '.') + ";\n\npublic class " + type
+                    + " {\n}\n").getBytes(StandardCharsets.UTF_8));
+            workspace.sourceFiles.add(source.toString());
+            workspace.relativeSourcePaths.add(packagePath + "/" + type + ".java");
+
+            Path classes = workspace.classRoot.resolve(packagePath);
+            Files.createDirectories(classes);
+            for (String name : new String[] {type, type + "$Inner", type + "$1"}) {
+                Files.write(classes.resolve(name + ".class"), CLASS_MAGIC);
+            }
+        }
+        return workspace;
+    }
+
+    /**
+     * A plugin jar whose descriptor declares {@code detectorCount} detectors, each reporting one
+     * bug pattern.
+     */
+    static Path writePluginJar(Path directory, String pluginId, int detectorCount) throws IOException {
+        StringBuilder descriptor = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<FindbugsPlugin pluginid=\"").append(pluginId)
+                .append("\" provider=\"Benchmarks\" website=\"https://example.com\" version=\"1.0.0\">\n");
+        StringBuilder messages = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<MessageCollection>\n<Plugin><ShortDescription>Benchmark plugin</ShortDescription>")
+                .append("<Details>Synthetic plugin for benchmarks.</Details></Plugin>\n");
+        for (int i = 0; i < detectorCount; i++) {
+            String type = "BENCH_PATTERN_" + i;
+            descriptor.append("  <Detector class=\"com.example.bench.Detector").append(i)
+                    .append("\" reports=\"").append(type).append("\" speed=\"fast\"/>\n")
+                    .append("  <BugPattern type=\"").append(type)
+                    .append("\" abbrev=\"BENCH\" category=\"CORRECTNESS\"/>\n");
+            messages.append("<Detector class=\"com.example.bench.Detector").append(i)
+                    .append("\"><Details>Detector ").append(i).append("</Details></Detector>\n")
+                    .append("<BugPattern type=\"").append(type).append("\"><ShortDescription>Pattern ")
+                    .append(i).append("</ShortDescription><LongDescription>Pattern ").append(i)
+                    .append(" in {1}</LongDescription><Details>Details.</Details></BugPattern>\n");
+        }
+        descriptor.append("</FindbugsPlugin>\n");
+        messages.append("<BugCode abbrev=\"BENCH\">Benchmark</BugCode>\n</MessageCollection>\n");
+
+        Path jar = directory.resolve(pluginId + ".jar");
+        try (OutputStream file = Files.newOutputStream(jar);
+                ZipOutputStream zip = new ZipOutputStream(file)) {
+            zip.putNextEntry(new ZipEntry("findbugs.xml"));
+            zip.write(descriptor.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("messages.xml"));
+            zip.write(messages.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return jar;
+    }
+
+    Path root() {
+        return root;
+    }
+
+    Path sourceRoot() {
+        return sourceRoot;
+    }
+
+    Path classRoot() {
+        return classRoot;
+    }
+
+    List<String> sourceFiles() {
+        return sourceFiles;
+    }
+
+    /** Source paths relative to the source root, as SpotBugs reports them. */
+    List<String> relativeSourcePaths() {
+        return relativeSourcePaths;
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
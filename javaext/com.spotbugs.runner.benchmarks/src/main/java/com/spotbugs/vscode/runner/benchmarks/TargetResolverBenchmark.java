@@ -0,0 +1,77 @@
+package com.spotbugs.vscode.runner.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spotbugs.vscode.runner.internal.TargetResolver;
+
+/**
+ * {@link TargetResolver#resolveTargets} over a synthetic module, for the three shapes of request
+ * the extension sends: the whole source tree, a handful of open source files, and the output
+ * directory itself. Each invocation starts from a fresh resolver, so no listing carries over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TargetResolverBenchmark {
+
+    @Param({"100", "2000"})
+    public int typeCount;
+
+    private SyntheticWorkspace workspace;
+    private List<File> outputDirs;
+    private List<String> sourcepaths;
+    private String[] sourceTree;
+    private String[] sourceFiles;
+    private String[] classTree;
+
+    @Setup(Level.Trial)
+    public void createWorkspace() throws IOException {
+        workspace = SyntheticWorkspace.create(typeCount, 50);
+        outputDirs = Collections.singletonList(workspace.classRoot().toFile());
+        sourcepaths = Collections.singletonList(workspace.sourceRoot().toString());
+        sourceTree = new String[] {workspace.sourceRoot().toString()};
+        sourceFiles = workspace.sourceFiles().subList(0, Math.min(10, typeCount)).toArray(new String[0]);
+        classTree = new String[] {workspace.classRoot().toString()};
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() throws IOException {
+        workspace.close();
+    }
+
+    @Benchmark
+    public List<String> sourceTree() throws IOException {
+        return new TargetResolver().resolveTargets(sourceTree, outputDirs, sourcepaths, null);
+    }
+
+    @Benchmark
+    public List<String> sourceFiles() throws IOException {
+        return new TargetResolver().resolveTargets(sourceFiles, outputDirs, sourcepaths, null);
+    }
+
+    @Benchmark
+    public List<String> classTree() throws IOException {
+        return new TargetResolver().resolveTargets(classTree, outputDirs, sourcepaths, null);
+    }
+}
@@ -8,16 +8,22 @@ import java.util.Map;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.IDelegateCommandHandler;
 
-import com.google.gson.Gson;
 import com.spotbugs.vscode.runner.api.CommandResponse;
 import com.spotbugs.vscode.runner.internal.command.AbstractCommandAction;
+import com.spotbugs.vscode.runner.internal.command.AnalysisEngineCache;
+import com.spotbugs.vscode.runner.internal.command.DescribeFindingAction;
+import com.spotbugs.vscode.runner.internal.command.FindingPages;
+import com.spotbugs.vscode.runner.internal.command.NextFindingsPageAction;
 import com.spotbugs.vscode.runner.internal.command.PluginInventoryAction;
+import com.spotbugs.vscode.runner.internal.command.ResponseJson;
 import com.spotbugs.vscode.runner.internal.command.RunAnalysisAction;
+import com.spotbugs.vscode.runner.internal.command.RunBatchAnalysisAction;
 
 public class DelegateCommandHandler implements IDelegateCommandHandler {
 
     private final Map<String, AbstractCommandAction> actions;
-    private static final Gson GSON = new Gson();
+    private final AnalysisEngineCache analysisEngines = new AnalysisEngineCache();
+    private final FindingPages findingPages = new FindingPages();
 
     public DelegateCommandHandler() {
         this.actions = initialiseActions();
@@ -27,20 +33,23 @@ public class DelegateCommandHandler implements IDelegateCommandHandler {
     public Object executeCommand(String commandId, List<Object> arguments, IProgressMonitor monitor) {
         AbstractCommandAction action = actions.get(commandId);
         if (action == null) {
-            return GSON.toJson(CommandResponse.error("UNKNOWN_COMMAND", "Command not recognized"));
+            return ResponseJson.toJson(CommandResponse.error("UNKNOWN_COMMAND", "Command not recognized"));
         }
         Object[] args = arguments != null ? arguments.toArray() : new Object[0];
         try {
             return action.execute(args, monitor);
         } catch (Exception e) {
-            return GSON.toJson(CommandResponse.error("COMMAND_FAILED", "Command failed"));
+            return ResponseJson.toJson(CommandResponse.error("COMMAND_FAILED", "Command failed"));
         }
     }
 
     private Map<String, AbstractCommandAction> initialiseActions() {
         Map<String, AbstractCommandAction> map = new HashMap<>();
-        register(map, new RunAnalysisAction());
+        register(map, new RunAnalysisAction(analysisEngines, findingPages));
+        register(map, new RunBatchAnalysisAction(analysisEngines, findingPages));
+        register(map, new NextFindingsPageAction(findingPages));
         register(map, new PluginInventoryAction());
+        register(map, new DescribeFindingAction(analysisEngines.findingDetails()));
         return Collections.unmodifiableMap(map);
     }
 
@@ -0,0 +1,43 @@
+package com.spotbugs.vscode.runner.api;
+
+public class AnalysisPassProfile {
+    private final int pass;
+    private final int classCount;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long detectorNanos;
+
+    /**
+     * @param cpuNanos CPU time of the analysing thread during the pass, or {@code -1} when the
+     *        JVM does not measure thread CPU time
+     * @param detectorNanos time spent in the pass's detectors themselves; the rest of the pass
+     *        went into the analyses they requested
+     */
+    public AnalysisPassProfile(int pass, int classCount, long wallNanos, long cpuNanos, long detectorNanos) {
+        this.pass = pass;
+        this.classCount = classCount;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.detectorNanos = detectorNanos;
+    }
+
+    public int getPass() {
+        return pass;
+    }
+
+    public int getClassCount() {
+        return classCount;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getDetectorNanos() {
+        return detectorNanos;
+    }
+}
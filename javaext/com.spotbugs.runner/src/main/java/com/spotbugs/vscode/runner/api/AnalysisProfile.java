@@ -0,0 +1,26 @@
+package com.spotbugs.vscode.runner.api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-pass and per-detector cost of one analysis, collected when detector profiling is enabled.
+ */
+public class AnalysisProfile {
+    private final List<AnalysisPassProfile> passes;
+    private final List<DetectorProfile> detectors;
+
+    public AnalysisProfile(List<AnalysisPassProfile> passes, List<DetectorProfile> detectors) {
+        this.passes = passes != null ? passes : Collections.emptyList();
+        this.detectors = detectors != null ? detectors : Collections.emptyList();
+    }
+
+    public List<AnalysisPassProfile> getPasses() {
+        return passes;
+    }
+
+    /** Detectors by descending time, one entry per detector and pass. */
+    public List<DetectorProfile> getDetectors() {
+        return detectors;
+    }
+}
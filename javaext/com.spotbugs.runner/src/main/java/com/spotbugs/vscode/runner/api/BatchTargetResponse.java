@@ -0,0 +1,19 @@
+package com.spotbugs.vscode.runner.api;
+
+public class BatchTargetResponse {
+    private final String path;
+    private final CommandResponse response;
+
+    public BatchTargetResponse(String path, CommandResponse response) {
+        this.path = path;
+        this.response = response;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public CommandResponse getResponse() {
+        return response;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 
 import com.google.gson.annotations.SerializedName;
 import com.spotbugs.vscode.runner.internal.SourcePathPolicy;
+import com.spotbugs.vscode.runner.internal.StringPool;
 
 import edu.umd.cs.findbugs.BugAnnotation;
 import edu.umd.cs.findbugs.BugInstance;
@@ -45,48 +46,71 @@ public class BugInfo {
     private String fullPath;
 
     public BugInfo(BugInstance bugInstance) {
-        this.type = safeString(bugInstance.getType());
+        this(bugInstance, null);
+    }
+
+    /**
+     * Takes the strings that repeat across findings, such as the bug type, category, class and
+     * source path, from {@code strings}, so the findings of a run share one copy of each.
+     */
+    public BugInfo(BugInstance bugInstance, StringPool strings) {
+        this(bugInstance, strings, true);
+    }
+
+    /**
+     * @param withDetails whether to render the text that is only read when a finding is opened:
+     *        the pattern's detail text, its plain-text form, the category description and the
+     *        annotation messages. Without them those fields are {@code null}, and
+     *        {@code java.spotbugs.describe} returns them on demand.
+     */
+    public BugInfo(BugInstance bugInstance, StringPool strings, boolean withDetails) {
+        this.type = canonical(strings, safeString(bugInstance.getType()));
         this.rank = bugInstance.getBugRank();
         this.priority = stablePriority(bugInstance.getPriority());
-        this.category = safeString(bugInstance.getBugPattern() != null ? bugInstance.getBugPattern().getCategory() : null);
-        this.abbrev = safeString(bugInstance.getAbbrev());
+        this.category = canonical(strings, safeString(bugInstance.getBugPattern() != null ? bugInstance.getBugPattern().getCategory() : null));
+        this.abbrev = canonical(strings, safeString(bugInstance.getAbbrev()));
         this.message = safeString(bugInstance.getMessage());
         this.longMessage = optionalString(bugInstance.getMessageWithoutPrefix());
-        this.categoryDescription = optionalString(I18N.instance().getBugCategoryDescription(this.category));
-        this.annotationMessages = collectAnnotationMessages(bugInstance);
-        this.shortDescription = optionalString(
+        this.categoryDescription = withDetails
+                ? canonical(strings, optionalString(I18N.instance().getBugCategoryDescription(this.category)))
+                : null;
+        this.annotationMessages = withDetails ? collectAnnotationMessages(bugInstance, strings) : null;
+        this.shortDescription = canonical(strings, optionalString(
                 bugInstance.getBugPattern() != null ? bugInstance.getBugPattern().getShortDescription() : null
-        );
-        this.longDescription = optionalString(
-                bugInstance.getBugPattern() != null ? bugInstance.getBugPattern().getDetailPlainText() : null
-        );
-        this.detailHtml = optionalString(
-                bugInstance.getBugPattern() != null ? bugInstance.getBugPattern().getDetailText() : null
-        );
-        this.helpUri = optionalString(
+        ));
+        this.longDescription = withDetails && bugInstance.getBugPattern() != null
+                ? canonical(strings, optionalString(bugInstance.getBugPattern().getDetailPlainText()))
+                : null;
+        this.detailHtml = withDetails && bugInstance.getBugPattern() != null
+                ? canonical(strings, optionalString(bugInstance.getBugPattern().getDetailText()))
+                : null;
+        this.helpUri = canonical(strings, optionalString(
                 bugInstance.getBugPattern() != null
                         ? bugInstance.getBugPattern().getUri().map(java.net.URI::toString).orElse(null)
                         : null
-        );
-        this.categoryAbbrev = optionalString(
+        ));
+        this.categoryAbbrev = canonical(strings, optionalString(
                 bugInstance.getBugPattern() != null ? bugInstance.getBugPattern().getCategoryAbbrev() : null
-        );
+        ));
         this.cweId = optionalInteger(
                 bugInstance.getBugPattern() != null ? bugInstance.getBugPattern().getCWEid() : 0
         );
         this.instanceHash = optionalString(bugInstance.getInstanceHash());
 
         ClassAnnotation classAnnotation = bugInstance.getPrimaryClass();
-        this.className = optionalString(classAnnotation != null ? classAnnotation.getClassName() : null);
+        this.className = canonical(strings,
+                optionalString(classAnnotation != null ? classAnnotation.getClassName() : null));
 
         MethodAnnotation methodAnnotation = bugInstance.getPrimaryMethod();
-        this.methodName = optionalString(methodAnnotation != null ? methodAnnotation.getMethodName() : null);
-        this.methodSignature = optionalString(
+        this.methodName = canonical(strings,
+                optionalString(methodAnnotation != null ? methodAnnotation.getMethodName() : null));
+        this.methodSignature = canonical(strings, optionalString(
                 methodAnnotation != null ? methodAnnotation.getMethodSignature() : null
-        );
+        ));
 
         FieldAnnotation fieldAnnotation = bugInstance.getPrimaryField();
-        this.fieldName = optionalString(fieldAnnotation != null ? fieldAnnotation.getFieldName() : null);
+        this.fieldName = canonical(strings,
+                optionalString(fieldAnnotation != null ? fieldAnnotation.getFieldName() : null));
 
         SourceLineAnnotation sla = bugInstance.getPrimarySourceLineAnnotation();
         this.locationOrigin = classifyLocationOrigin(bugInstance, sla);
@@ -95,12 +119,12 @@ public class BugInfo {
             String safeSourcePath = safeSourceFile == null
                     ? null
                     : SourcePathPolicy.relativeSourcePath(sla.getSourcePath());
-            this.sourceFile = safeString(safeSourcePath == null ? null : safeSourceFile);
+            this.sourceFile = canonical(strings, safeString(safeSourcePath == null ? null : safeSourceFile));
             int s = sla.getStartLine();
             int e = sla.getEndLine();
             this.startLine = s > 0 ? s : 0;
             this.endLine = e > 0 ? e : this.startLine;
-            this.realSourcePath = safeString(safeSourcePath);
+            this.realSourcePath = canonical(strings, safeString(safeSourcePath));
         } else {
             this.sourceFile = "";
             this.startLine = 0;
@@ -109,6 +133,53 @@ public class BugInfo {
         }
     }
 
+    private BugInfo(BugInfo source) {
+        this.type = source.type;
+        this.rank = source.rank;
+        this.priority = source.priority;
+        this.category = source.category;
+        this.abbrev = source.abbrev;
+        this.message = source.message;
+        this.longMessage = source.longMessage;
+        this.categoryDescription = null;
+        this.annotationMessages = source.annotationMessages;
+        this.sourceFile = source.sourceFile;
+        this.startLine = source.startLine;
+        this.endLine = source.endLine;
+        this.realSourcePath = source.realSourcePath;
+        this.shortDescription = null;
+        this.longDescription = null;
+        this.detailHtml = null;
+        this.helpUri = null;
+        this.categoryAbbrev = null;
+        this.cweId = null;
+        this.instanceHash = source.instanceHash;
+        this.className = source.className;
+        this.methodName = source.methodName;
+        this.methodSignature = source.methodSignature;
+        this.fieldName = source.fieldName;
+        this.locationOrigin = source.locationOrigin;
+        this.fullPath = source.fullPath;
+    }
+
+    /** The details this finding shares with every other finding of the same bug type. */
+    public BugPatternInfo patternInfo() {
+        return new BugPatternInfo(
+                shortDescription,
+                longDescription,
+                detailHtml,
+                helpUri,
+                categoryDescription,
+                categoryAbbrev,
+                cweId
+        );
+    }
+
+    /** A copy without the details returned by {@link #patternInfo()}. */
+    public BugInfo withoutPatternInfo() {
+        return new BugInfo(this);
+    }
+
     // #region Getters
     public String getType() {
         return type;
@@ -228,6 +299,10 @@ public class BugInfo {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
+    private static String canonical(StringPool strings, String value) {
+        return strings != null ? strings.canonical(value) : value;
+    }
+
     private static Integer optionalInteger(int value) {
         return value > 0 ? Integer.valueOf(value) : null;
     }
@@ -278,12 +353,17 @@ public class BugInfo {
         }
     }
 
-    private static List<String> collectAnnotationMessages(BugInstance bugInstance) {
+    /** The formatted messages of {@code bugInstance}'s annotations, as a finding carries them. */
+    public static List<String> annotationMessages(BugInstance bugInstance) {
+        return collectAnnotationMessages(bugInstance, null);
+    }
+
+    private static List<String> collectAnnotationMessages(BugInstance bugInstance, StringPool strings) {
         List<String> messages = new ArrayList<>();
         for (BugAnnotation annotation : bugInstance.getAnnotations()) {
             String message;
             try {
-                message = optionalString(annotation != null ? annotation.toString() : null);
+                message = canonical(strings, optionalString(annotation != null ? annotation.toString() : null));
             } catch (RuntimeException ignored) {
                 continue;
             }
@@ -0,0 +1,61 @@
+package com.spotbugs.vscode.runner.api;
+
+/**
+ * Bug pattern details shared by every finding of one bug type. Responses that carry a
+ * {@code patterns} dictionary send these once per type instead of once per finding.
+ */
+public class BugPatternInfo {
+    private final String shortDescription;
+    private final String longDescription;
+    private final String detailHtml;
+    private final String helpUri;
+    private final String categoryDescription;
+    private final String categoryAbbrev;
+    private final Integer cweId;
+
+    public BugPatternInfo(
+            String shortDescription,
+            String longDescription,
+            String detailHtml,
+            String helpUri,
+            String categoryDescription,
+            String categoryAbbrev,
+            Integer cweId
+    ) {
+        this.shortDescription = shortDescription;
+        this.longDescription = longDescription;
+        this.detailHtml = detailHtml;
+        this.helpUri = helpUri;
+        this.categoryDescription = categoryDescription;
+        this.categoryAbbrev = categoryAbbrev;
+        this.cweId = cweId;
+    }
+
+    public String getShortDescription() {
+        return shortDescription;
+    }
+
+    public String getLongDescription() {
+        return longDescription;
+    }
+
+    public String getDetailHtml() {
+        return detailHtml;
+    }
+
+    public String getHelpUri() {
+        return helpUri;
+    }
+
+    public String getCategoryDescription() {
+        return categoryDescription;
+    }
+
+    public String getCategoryAbbrev() {
+        return categoryAbbrev;
+    }
+
+    public Integer getCweId() {
+        return cweId;
+    }
+}
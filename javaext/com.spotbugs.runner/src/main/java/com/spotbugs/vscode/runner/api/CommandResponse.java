@@ -2,6 +2,7 @@ package com.spotbugs.vscode.runner.api;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class CommandResponse {
     private static final int SCHEMA_VERSION = 2;
@@ -14,6 +15,11 @@ public class CommandResponse {
     private final AnalysisReportSummary reportSummary;
     private final String nativeSarif;
     private final String baselineXml;
+    private final String continuationToken;
+    private final Map<String, BugPatternInfo> patterns;
+    private final ReportFile nativeSarifFile;
+    private final ReportFile baselineXmlFile;
+    private final AnalysisProfile profile;
 
     private CommandResponse(
             Object results,
@@ -22,7 +28,12 @@ public class CommandResponse {
             RunAnalysisSummary stats,
             AnalysisReportSummary reportSummary,
             String nativeSarif,
-            String baselineXml
+            String baselineXml,
+            String continuationToken,
+            Map<String, BugPatternInfo> patterns,
+            ReportFile nativeSarifFile,
+            ReportFile baselineXmlFile,
+            AnalysisProfile profile
     ) {
         this.schemaVersion = SCHEMA_VERSION;
         this.results = results != null ? results : Collections.emptyList();
@@ -32,10 +43,16 @@ public class CommandResponse {
         this.reportSummary = reportSummary;
         this.nativeSarif = nativeSarif;
         this.baselineXml = baselineXml;
+        this.continuationToken = continuationToken;
+        this.patterns = patterns != null && !patterns.isEmpty() ? patterns : null;
+        this.nativeSarifFile = nativeSarifFile;
+        this.baselineXmlFile = baselineXmlFile;
+        this.profile = profile;
     }
 
     public static CommandResponse success(Object results, RunAnalysisSummary stats) {
-        return new CommandResponse(results, Collections.emptyList(), null, stats, null, null, null);
+        return new CommandResponse(results, Collections.emptyList(), null, stats,
+                null, null, null, null, null, null, null, null);
     }
 
     public static CommandResponse success(
@@ -47,7 +64,26 @@ public class CommandResponse {
             String baselineXml
     ) {
         return new CommandResponse(results, Collections.emptyList(), warnings, stats, reportSummary,
-                nativeSarif, baselineXml);
+                nativeSarif, baselineXml, null, null, null, null, null);
+    }
+
+    /**
+     * A page of findings. When {@code continuationToken} is set, further pages are fetched with it;
+     * the last page carries the native reports. Findings may leave their bug pattern details to
+     * {@code patterns}, keyed by bug type.
+     */
+    public static CommandResponse page(
+            Object results,
+            RunAnalysisSummary stats,
+            AnalysisReportSummary reportSummary,
+            List<CommandWarning> warnings,
+            String nativeSarif,
+            String baselineXml,
+            String continuationToken,
+            Map<String, BugPatternInfo> patterns
+    ) {
+        return new CommandResponse(results, Collections.emptyList(), warnings, stats, reportSummary,
+                nativeSarif, baselineXml, continuationToken, patterns, null, null, null);
     }
 
     public static CommandResponse error(String code, String message) {
@@ -56,8 +92,26 @@ public class CommandResponse {
 
     public static CommandResponse error(String code, String message, RunAnalysisSummary stats) {
         CommandError error = new CommandError(code, message);
-        return new CommandResponse(
-                Collections.emptyList(), Collections.singletonList(error), null, stats, null, null, null);
+        return new CommandResponse(Collections.emptyList(), Collections.singletonList(error), null, stats,
+                null, null, null, null, null, null, null, null);
+    }
+
+    /** A copy of this response that also points at the reports written to disk for the run. */
+    public CommandResponse withReportFiles(ReportFile nativeSarifFile, ReportFile baselineXmlFile) {
+        if (nativeSarifFile == null && baselineXmlFile == null) {
+            return this;
+        }
+        return new CommandResponse(results, errors, warnings, stats, reportSummary, nativeSarif, baselineXml,
+                continuationToken, patterns, nativeSarifFile, baselineXmlFile, profile);
+    }
+
+    /** A copy of this response that also carries the detector profile of the run. */
+    public CommandResponse withProfile(AnalysisProfile profile) {
+        if (profile == null) {
+            return this;
+        }
+        return new CommandResponse(results, errors, warnings, stats, reportSummary, nativeSarif, baselineXml,
+                continuationToken, patterns, nativeSarifFile, baselineXmlFile, profile);
     }
 
     public int getSchemaVersion() {
@@ -87,4 +141,28 @@ public class CommandResponse {
     public String getNativeSarif() {
         return nativeSarif;
     }
+
+    public String getBaselineXml() {
+        return baselineXml;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public Map<String, BugPatternInfo> getPatterns() {
+        return patterns != null ? patterns : Collections.emptyMap();
+    }
+
+    public ReportFile getNativeSarifFile() {
+        return nativeSarifFile;
+    }
+
+    public ReportFile getBaselineXmlFile() {
+        return baselineXmlFile;
+    }
+
+    public AnalysisProfile getProfile() {
+        return profile;
+    }
 }
@@ -20,6 +20,20 @@ public class ConfigSchema {
     private List<String> excludeBaselineBugsPaths; // optional
     private List<String> plugins;             // optional
     private Boolean includeBaselineXml;       // optional command output
+    private Boolean includeNativeSarif;       // optional command output
+    private String nativeSarifOutputPath;     // optional, write SARIF to this file instead
+    private String baselineXmlOutputPath;     // optional, write baseline XML to this file instead
+    private Integer pageSize;                 // optional, findings per response page
+    private Boolean patternDictionary;        // optional, send bug pattern details once per type
+    private Boolean incremental;              // optional, re-analyze changed classes only
+    private Boolean watchTargets;             // optional, watch target trees between runs
+    private Boolean pruneAuxClasspath;        // optional, defaults to true
+    private Boolean profileDetectors;         // optional, profile detectors per pass
+    private Boolean lazyFindingDetails;       // optional, leave finding details to java.spotbugs.describe
+    private Boolean outOfProcess;             // optional, run SpotBugs in a worker JVM
+    private List<String> workerVmArgs;        // optional
+    private Integer workerMaxRuns;            // optional
+    private Integer workerRecycleHeapMb;      // optional
 
     public Integer getSchemaVersion() { return schemaVersion; }
     public String getEffort() { return effort; }
@@ -33,4 +47,18 @@ public class ConfigSchema {
     public List<String> getExcludeBaselineBugsPaths() { return excludeBaselineBugsPaths; }
     public List<String> getPlugins() { return plugins; }
     public Boolean getIncludeBaselineXml() { return includeBaselineXml; }
+    public Boolean getIncludeNativeSarif() { return includeNativeSarif; }
+    public String getNativeSarifOutputPath() { return nativeSarifOutputPath; }
+    public String getBaselineXmlOutputPath() { return baselineXmlOutputPath; }
+    public Integer getPageSize() { return pageSize; }
+    public Boolean getPatternDictionary() { return patternDictionary; }
+    public Boolean getIncremental() { return incremental; }
+    public Boolean getWatchTargets() { return watchTargets; }
+    public Boolean getPruneAuxClasspath() { return pruneAuxClasspath; }
+    public Boolean getProfileDetectors() { return profileDetectors; }
+    public Boolean getLazyFindingDetails() { return lazyFindingDetails; }
+    public Boolean getOutOfProcess() { return outOfProcess; }
+    public List<String> getWorkerVmArgs() { return workerVmArgs; }
+    public Integer getWorkerMaxRuns() { return workerMaxRuns; }
+    public Integer getWorkerRecycleHeapMb() { return workerRecycleHeapMb; }
 }
@@ -0,0 +1,66 @@
+package com.spotbugs.vscode.runner.api;
+
+/**
+ * How much one detector cost during one analysis pass and how many of the run's findings it
+ * reported.
+ */
+public class DetectorProfile {
+    private final String detector;
+    private final String shortName;
+    private final String pluginId;
+    private final int pass;
+    private final long timeNanos;
+    private final int invocations;
+    private final int findingCount;
+
+    /**
+     * @param pass one-based analysis pass the detector ran in, or {@code 0} for a detector that
+     *        reported findings without being seen running
+     * @param timeNanos time spent in the detector itself, excluding the analyses it requested
+     */
+    public DetectorProfile(
+            String detector,
+            String shortName,
+            String pluginId,
+            int pass,
+            long timeNanos,
+            int invocations,
+            int findingCount
+    ) {
+        this.detector = detector;
+        this.shortName = shortName;
+        this.pluginId = pluginId;
+        this.pass = pass;
+        this.timeNanos = timeNanos;
+        this.invocations = invocations;
+        this.findingCount = findingCount;
+    }
+
+    public String getDetector() {
+        return detector;
+    }
+
+    public String getShortName() {
+        return shortName;
+    }
+
+    public String getPluginId() {
+        return pluginId;
+    }
+
+    public int getPass() {
+        return pass;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public int getInvocations() {
+        return invocations;
+    }
+
+    public int getFindingCount() {
+        return findingCount;
+    }
+}
@@ -0,0 +1,39 @@
+package com.spotbugs.vscode.runner.api;
+
+import java.util.List;
+
+/**
+ * The text a run with lazy finding details leaves out of its findings, as returned by
+ * {@code java.spotbugs.describe} for one bug type or one finding.
+ */
+public class FindingDetail {
+    private final String type;
+    private final String instanceHash;
+    private final BugPatternInfo pattern;
+    private final List<String> annotationMessages;
+
+    public FindingDetail(String type, String instanceHash, BugPatternInfo pattern, List<String> annotationMessages) {
+        this.type = type;
+        this.instanceHash = instanceHash;
+        this.pattern = pattern;
+        this.annotationMessages = annotationMessages;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /** The described finding, or {@code null} when only the bug type's details are known. */
+    public String getInstanceHash() {
+        return instanceHash;
+    }
+
+    public BugPatternInfo getPattern() {
+        return pattern;
+    }
+
+    /** The finding's annotation messages, or {@code null} when only the bug type was described. */
+    public List<String> getAnnotationMessages() {
+        return annotationMessages;
+    }
+}
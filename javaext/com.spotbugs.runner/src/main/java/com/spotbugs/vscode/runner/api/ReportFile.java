@@ -0,0 +1,22 @@
+package com.spotbugs.vscode.runner.api;
+
+/**
+ * A native report that was written to disk instead of being embedded in the response.
+ */
+public class ReportFile {
+    private final String path;
+    private final long byteCount;
+
+    public ReportFile(String path, long byteCount) {
+        this.path = path;
+        this.byteCount = byteCount;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+}
@@ -1,5 +1,8 @@
 package com.spotbugs.vscode.runner.api;
 
+import java.util.Collections;
+import java.util.Map;
+
 public final class RunAnalysisSummary {
     private final String target;
     private final long durationMs;
@@ -11,6 +14,7 @@ public final class RunAnalysisSummary {
     private final int auxClasspathCount;
     private final int targetCount;
     private final int pluginCount;
+    private final Map<String, Long> phaseNanos;
 
     public RunAnalysisSummary(
             String target,
@@ -23,6 +27,38 @@ public final class RunAnalysisSummary {
             int auxClasspathCount,
             int targetCount,
             int pluginCount
+    ) {
+        this(
+                target,
+                durationMs,
+                findingCount,
+                spotbugsVersion,
+                targetResolutionRootCount,
+                runtimeClasspathCount,
+                extraAuxClasspathCount,
+                auxClasspathCount,
+                targetCount,
+                pluginCount,
+                null
+        );
+    }
+
+    /**
+     * @param phaseNanos monotonic duration of each analysis phase that ran, in nanoseconds, keyed
+     *        by phase name
+     */
+    public RunAnalysisSummary(
+            String target,
+            long durationMs,
+            int findingCount,
+            String spotbugsVersion,
+            int targetResolutionRootCount,
+            int runtimeClasspathCount,
+            int extraAuxClasspathCount,
+            int auxClasspathCount,
+            int targetCount,
+            int pluginCount,
+            Map<String, Long> phaseNanos
     ) {
         this.target = target;
         this.durationMs = durationMs;
@@ -34,6 +70,7 @@ public final class RunAnalysisSummary {
         this.auxClasspathCount = auxClasspathCount;
         this.targetCount = targetCount;
         this.pluginCount = pluginCount;
+        this.phaseNanos = phaseNanos != null && !phaseNanos.isEmpty() ? phaseNanos : null;
     }
 
     public String getTarget() {
@@ -75,4 +112,8 @@ public final class RunAnalysisSummary {
     public int getPluginCount() {
         return pluginCount;
     }
+
+    public Map<String, Long> getPhaseNanos() {
+        return phaseNanos != null ? phaseNanos : Collections.emptyMap();
+    }
 }
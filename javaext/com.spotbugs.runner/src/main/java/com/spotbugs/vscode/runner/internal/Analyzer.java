@@ -0,0 +1,50 @@
+package com.spotbugs.vscode.runner.internal;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
+
+/**
+ * A configured SpotBugs engine as the command layer sees it, whether it runs in the language
+ * server ({@link AnalyzerService}) or in a worker JVM.
+ */
+public interface Analyzer {
+
+    void setConfiguration(AnalysisConfig cfg);
+
+    int getLastTargetCount();
+
+    int getLastTargetResolutionRootCount();
+
+    int getLastAuxClasspathCount();
+
+    /** Phase durations of the last run, including a cancelled or failed one. */
+    PhaseTimings getLastPhaseTimings();
+
+    /** Releases the engine. Analyzers are closed when evicted or after a failed run. */
+    void close();
+
+    default SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor, String... filePaths)
+            throws java.io.IOException, InterruptedException {
+        return analyzeToBugsWithWarnings(monitor, false, filePaths);
+    }
+
+    default SpotBugsAnalysisResult analyzeToBugsWithWarnings(
+            IProgressMonitor monitor,
+            boolean includeBaselineXml,
+            String... filePaths
+    ) throws java.io.IOException, InterruptedException {
+        return analyzeToBugsWithWarnings(monitor, includeBaselineXml, ReportExport.NONE, filePaths);
+    }
+
+    /**
+     * Analyzes {@code filePaths}, writing the native reports named by {@code export} to disk
+     * instead of returning them.
+     */
+    SpotBugsAnalysisResult analyzeToBugsWithWarnings(
+            IProgressMonitor monitor,
+            boolean includeBaselineXml,
+            ReportExport export,
+            String... filePaths
+    ) throws java.io.IOException, InterruptedException;
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import com.spotbugs.vscode.runner.api.BugInfo;
 import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
 import com.spotbugs.vscode.runner.internal.config.PreferencesApplier;
+import com.spotbugs.vscode.runner.internal.jfr.RunnerEvents;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -12,10 +13,14 @@ import edu.umd.cs.findbugs.FindBugs2;
 import edu.umd.cs.findbugs.Project;
 import edu.umd.cs.findbugs.config.UserPreferences;
 
-public class AnalyzerService {
+public class AnalyzerService implements Analyzer {
 
-    private final FindBugs2 findBugs;
     private final UserPreferences userPreferences;
+    private final IncrementalAnalysisState incrementalState = new IncrementalAnalysisState();
+    private final ClassFamilyIndex classFamilies = new ClassFamilyIndex();
+    private final LibraryClassCache libraryClasses = new LibraryClassCache();
+    private final FindingDetails findingDetails;
+    private TargetWatcher targetWatcher;
     private List<String> targetResolutionRoots;
     private List<String> runtimeClasspaths;
     private List<String> extraAuxClasspaths;
@@ -23,17 +28,25 @@ public class AnalyzerService {
     private int lastTargetCount = 0;
     private int lastTargetResolutionRootCount = 0;
     private int lastAuxClasspathCount = 0;
+    private PhaseTimings lastPhaseTimings = new PhaseTimings();
 
     public AnalyzerService() {
+        this(new FindingDetails());
+    }
+
+    /**
+     * @param findingDetails remembers the details of findings converted lazily, for the
+     *        {@code java.spotbugs.describe} command to render
+     */
+    public AnalyzerService(FindingDetails findingDetails) {
+        this.findingDetails = findingDetails != null ? findingDetails : new FindingDetails();
         this.userPreferences = UserPreferences.createDefaultUserPreferences();
-        this.findBugs = new FindBugs2();
-        this.findBugs.setUserPreferences(this.userPreferences);
     }
 
     public void setConfiguration(AnalysisConfig cfg) {
         this.config = cfg;
         // Apply user preferences via dedicated applier
-        new PreferencesApplier().apply(this.userPreferences, this.findBugs, cfg);
+        new PreferencesApplier().apply(this.userPreferences, null, cfg);
         this.targetResolutionRoots = cfg != null
                 ? cfg.getTargetResolutionRoots()
                 : java.util.Collections.emptyList();
@@ -43,6 +56,10 @@ public class AnalyzerService {
         this.extraAuxClasspaths = cfg != null
                 ? cfg.getExtraAuxClasspaths()
                 : java.util.Collections.emptyList();
+        closeTargetWatcher();
+        if (cfg != null && cfg.isWatchTargets()) {
+            this.targetWatcher = TargetWatcher.start(watchRoots(cfg));
+        }
     }
 
     public int getLastTargetCount() {
@@ -57,6 +74,19 @@ public class AnalyzerService {
         return lastAuxClasspathCount;
     }
 
+    /** Phase durations of the last run, including a cancelled or failed one. */
+    public PhaseTimings getLastPhaseTimings() {
+        return lastPhaseTimings;
+    }
+
+    /**
+     * Releases what this service keeps between runs. Warm engines are closed when they are evicted
+     * from the engine cache or when a failed run leaves their state unknown.
+     */
+    public void close() {
+        closeTargetWatcher();
+    }
+
     public List<BugInfo> analyzeToBugs(String... filePaths) throws java.io.IOException, InterruptedException {
         return analyzeToBugs(null, filePaths);
     }
@@ -76,30 +106,91 @@ public class AnalyzerService {
             boolean includeBaselineXml,
             String... filePaths
     ) throws java.io.IOException, InterruptedException {
-        PreparedAnalysis prepared = prepareAnalysis(monitor, filePaths);
+        return analyzeToBugsWithWarnings(monitor, includeBaselineXml, ReportExport.NONE, filePaths);
+    }
+
+    /**
+     * Analyzes {@code filePaths}, writing the native reports named by {@code export} to disk
+     * instead of returning them.
+     */
+    public SpotBugsAnalysisResult analyzeToBugsWithWarnings(
+            IProgressMonitor monitor,
+            boolean includeBaselineXml,
+            ReportExport export,
+            String... filePaths
+    ) throws java.io.IOException, InterruptedException {
+        ReportExport reports = export != null ? export : ReportExport.NONE;
+        PhaseTimings timings = new PhaseTimings();
+        this.lastPhaseTimings = timings;
+        PreparedAnalysis prepared = prepareAnalysis(
+                monitor,
+                includeBaselineXml || !reports.isEmpty() || includeNativeSarif(),
+                timings,
+                filePaths
+        );
         if (prepared == null) {
             return SpotBugsAnalysisResult.empty();
         }
         checkCanceled(monitor);
-        SpotBugsAnalysisResult result = new SpotBugsExecutor(
-                this.findBugs,
-                prepared.project,
-                prepared.rankThreshold,
-                prepared.plugins
-        ).executeBugsWithWarnings(monitor, includeBaselineXml);
+        IncrementalAnalysisState.Plan plan = prepared.incrementalPlan;
+        SpotBugsAnalysisResult result = plan != null && plan.isUpToDate()
+                ? SpotBugsAnalysisResult.empty()
+                : SpotBugsExecutor.newBuilder(newEngine(), prepared.project)
+                        .userPreferences(this.userPreferences)
+                        .rankThreshold(prepared.rankThreshold)
+                        .pluginJars(prepared.plugins)
+                        .retainPlugins(true)
+                        .timings(timings)
+                        .profileDetectors(this.config != null && this.config.isProfileDetectors())
+                        .findingDetails(this.config != null && this.config.isLazyFindingDetails()
+                                ? findingDetails
+                                : null)
+                        .build()
+                        .executeBugsWithWarnings(monitor, includeNativeSarif(), includeBaselineXml, reports);
         checkCanceled(monitor);
         List<BugInfo> bugs = result.getBugs();
+        String nativeSarif = result.getNativeSarif();
+        if (plan != null) {
+            bugs = incrementalState.record(plan, bugs);
+        }
+        long sourcePathsStarted = System.nanoTime();
         applyFullPaths(bugs, monitor, filePaths);
+        timings.record(PhaseTimings.Phase.SOURCE_PATHS, sourcePathsStarted);
         return new SpotBugsAnalysisResult(
                 bugs,
                 result.getWarnings(),
                 result.getReportSummary(),
-                result.getNativeSarif(),
-                result.getBaselineXml()
+                nativeSarif,
+                result.getBaselineXml(),
+                result.getNativeSarifFile(),
+                result.getBaselineXmlFile(),
+                result.getProfile()
         );
     }
 
-    private PreparedAnalysis prepareAnalysis(IProgressMonitor monitor, String... filePaths) throws java.io.IOException {
+    /**
+     * A fresh SpotBugs engine for one run. {@code FindBugs2} adds every run's bug reporter to its
+     * class observers and only drops them on dispose, so an engine kept across runs would keep
+     * each earlier run's findings reachable and notify its reporters of every class. What is worth
+     * keeping warm lives outside the engine: retained plugins, library classes and preferences.
+     */
+    FindBugs2 newEngine() {
+        FindBugs2 engine = new LibraryClassReusingFindBugs(libraryClasses);
+        engine.setAnalysisFeatureSettings(userPreferences.getAnalysisFeatureSettings());
+        return engine;
+    }
+
+    /** Analyzers built without a config keep rendering native SARIF, as they always have. */
+    private boolean includeNativeSarif() {
+        return this.config == null || this.config.isIncludeNativeSarif();
+    }
+
+    private PreparedAnalysis prepareAnalysis(
+            IProgressMonitor monitor,
+            boolean requireFullRun,
+            PhaseTimings timings,
+            String... filePaths
+    ) throws java.io.IOException {
         checkCanceled(monitor);
         this.lastTargetCount = 0;
         this.lastTargetResolutionRootCount = 0;
@@ -116,27 +207,65 @@ public class AnalyzerService {
                 : java.util.Collections.emptyList();
         project.addSourceDirs(sourcepaths);
         this.lastTargetResolutionRootCount = targetResolutionRootDirs.size();
-        TargetResolver resolver = new TargetResolver();
-        List<String> targets = resolver.resolveTargets(filePaths, targetResolutionRootDirs, sourcepaths, monitor);
+        long resolutionStarted = System.nanoTime();
+        TargetResolver resolver = new TargetResolver(classFamilies, targetWatcher);
+        List<String> targets;
+        try (RunnerEvents.Span event = RunnerEvents.targetResolution()) {
+            targets = resolver.resolveTargets(filePaths, targetResolutionRootDirs, sourcepaths, monitor);
+            event.targets(targets.size());
+        }
+        timings.record(PhaseTimings.Phase.TARGET_RESOLUTION, resolutionStarted);
         this.lastTargetCount = targets.size();
         if (targets.isEmpty()) {
             return null;
         }
         checkCanceled(monitor);
-        for (String t : targets) {
+        // Native SARIF, baseline XML and exported reports must cover every target, so they always take a full run.
+        IncrementalAnalysisState.Plan incrementalPlan = null;
+        if (this.config != null && this.config.isIncremental() && !requireFullRun) {
+            long planningStarted = System.nanoTime();
+            incrementalPlan = incrementalState.plan(targets, monitor);
+            timings.record(PhaseTimings.Phase.INCREMENTAL_PLANNING, planningStarted);
+        }
+        for (String t : incrementalPlan != null ? incrementalPlan.getAnalysisTargets() : targets) {
             project.addFile(t);
         }
-        ClasspathConfigurer.AppliedAuxClasspath appliedAuxClasspath = cpCfg.apply(
-                project,
-                this.runtimeClasspaths,
-                this.extraAuxClasspaths
-        );
-        this.lastAuxClasspathCount = appliedAuxClasspath.getEntryCount();
+        if (incrementalPlan != null) {
+            for (String root : incrementalPlan.getSkippedClassRoots()) {
+                project.addAuxClasspathEntry(root);
+            }
+        }
+        // An up-to-date plan never reaches SpotBugs, so it needs no aux classpath.
+        if (incrementalPlan == null || !incrementalPlan.isUpToDate()) {
+            long auxClasspathStarted = System.nanoTime();
+            ClasspathConfigurer.AppliedAuxClasspath appliedAuxClasspath;
+            if (this.config != null && !this.config.isPruneAuxClasspath()) {
+                appliedAuxClasspath = cpCfg.apply(project, this.runtimeClasspaths, this.extraAuxClasspaths);
+            } else if (incrementalPlan != null) {
+                appliedAuxClasspath = cpCfg.applyReachable(
+                        project,
+                        this.runtimeClasspaths,
+                        this.extraAuxClasspaths,
+                        incrementalPlan.getReferencedPackages(),
+                        monitor
+                );
+            } else {
+                appliedAuxClasspath = cpCfg.apply(
+                        project,
+                        this.runtimeClasspaths,
+                        this.extraAuxClasspaths,
+                        targets,
+                        monitor
+                );
+            }
+            timings.record(PhaseTimings.Phase.AUX_CLASSPATH, auxClasspathStarted);
+            this.lastAuxClasspathCount = appliedAuxClasspath.getEntryCount();
+        }
         Integer rankThreshold = this.config != null ? this.config.getPriorityThreshold() : null;
         java.util.List<String> plugins = this.config != null
                 ? this.config.getPlugins()
                 : java.util.Collections.emptyList();
-        return new PreparedAnalysis(project, rankThreshold, plugins);
+        return new PreparedAnalysis(project, rankThreshold, plugins, incrementalPlan);
     }
 
     private void applyFullPaths(List<BugInfo> bugs, IProgressMonitor monitor, String... filePaths) {
@@ -145,7 +274,7 @@ public class AnalyzerService {
         }
         List<String> sourcepaths = this.config != null ? this.config.getSourcepaths() : java.util.Collections.emptyList();
         String targetPath = (filePaths != null && filePaths.length > 0) ? filePaths[0] : null;
-        SourcePathResolver resolver = new SourcePathResolver();
+        SourcePathResolver resolver = new SourcePathResolver(sourcepaths, targetPath);
         for (BugInfo bug : bugs) {
             checkCanceled(monitor);
             if (bug == null) {
@@ -154,13 +283,38 @@ public class AnalyzerService {
             if (bug.getFullPath() != null && !bug.getFullPath().isEmpty()) {
                 continue;
             }
-            String fullPath = resolver.resolve(bug.getRealSourcePath(), sourcepaths, targetPath, monitor);
+            String fullPath = resolver.resolve(bug.getRealSourcePath(), monitor);
             if (fullPath != null && !fullPath.isEmpty()) {
                 bug.setFullPath(fullPath);
             }
         }
     }
 
+    private static List<java.nio.file.Path> watchRoots(AnalysisConfig cfg) {
+        List<java.nio.file.Path> roots = new java.util.ArrayList<>();
+        for (java.io.File dir : new ClasspathConfigurer().directoriesFrom(cfg.getTargetResolutionRoots())) {
+            roots.add(dir.toPath());
+        }
+        for (String sourcepath : cfg.getSourcepaths()) {
+            if (sourcepath == null) {
+                continue;
+            }
+            try {
+                roots.add(java.nio.file.Paths.get(sourcepath));
+            } catch (java.nio.file.InvalidPathException ignored) {
+                // Unusable source paths are not resolved against either.
+            }
+        }
+        return roots;
+    }
+
+    private void closeTargetWatcher() {
+        if (targetWatcher != null) {
+            targetWatcher.close();
+            targetWatcher = null;
+        }
+    }
+
     private static void checkCanceled(IProgressMonitor monitor) {
         if (monitor != null && monitor.isCanceled()) {
             throw new java.util.concurrent.CancellationException("Command cancelled");
@@ -171,11 +325,18 @@ public class AnalyzerService {
         private final Project project;
         private final Integer rankThreshold;
         private final List<String> plugins;
+        private final IncrementalAnalysisState.Plan incrementalPlan;
 
-        private PreparedAnalysis(Project project, Integer rankThreshold, List<String> plugins) {
+        private PreparedAnalysis(
+                Project project,
+                Integer rankThreshold,
+                List<String> plugins,
+                IncrementalAnalysisState.Plan incrementalPlan
+        ) {
             this.project = project;
             this.rankThreshold = rankThreshold;
             this.plugins = plugins;
+            this.incrementalPlan = incrementalPlan;
         }
     }
 
@@ -0,0 +1,292 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Records which packages each aux classpath entry provides and which packages its classes refer
+ * to, so that an analysis only hands SpotBugs the entries its targets can reach. Archive indexes
+ * are shared by all engines in the JVM and reused while the archive's size and modification time
+ * are unchanged; the packages an archive refers to are only read once the archive is found to be
+ * reachable. The packages each target class declares and refers to are kept the same way, so a
+ * full run only parses the target classes that changed since the previous one. Directories,
+ * typically the output folders of other workspace projects, are always kept without being read,
+ * since indexing them would mean reading every class file on every run.
+ */
+final class AuxClasspathIndex {
+
+    private static final AuxClasspathIndex SHARED = new AuxClasspathIndex();
+    private static final String VERSIONED_PREFIX = "META-INF/versions/";
+
+    private final Map<String, ArchiveIndex> archives = new ConcurrentHashMap<>();
+    private final Map<String, ClassPackages> targetClasses = new ConcurrentHashMap<>();
+
+    static AuxClasspathIndex shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the entries of {@code auxEntries} reachable from {@code targets}, in their original
+     * order: entries providing a package the targets refer to, then transitively the entries
+     * providing packages those entries refer to. Directories and entries that cannot be indexed are
+     * always kept. Returns {@code auxEntries} itself when the targets cannot be read as class
+     * files, for example because they include archives.
+     */
+    List<String> reachableEntries(List<String> auxEntries, List<String> targets, IProgressMonitor monitor) {
+        return reachableFromPackages(auxEntries, targetPackages(targets, monitor), monitor);
+    }
+
+    /**
+     * Like {@link #reachableEntries}, for targets whose declared and referenced packages are
+     * already known, e.g. from an incremental plan. Returns {@code auxEntries} itself when
+     * {@code needed} is {@code null}.
+     */
+    List<String> reachableFromPackages(List<String> auxEntries, Set<String> needed, IProgressMonitor monitor) {
+        if (needed == null || auxEntries.isEmpty()) {
+            return auxEntries;
+        }
+
+        List<ArchiveIndex> indexes = new ArrayList<>(auxEntries.size());
+        Map<String, List<Integer>> providers = new HashMap<>();
+        boolean[] kept = new boolean[auxEntries.size()];
+        for (int i = 0; i < auxEntries.size(); i++) {
+            checkCanceled(monitor);
+            ArchiveIndex index = index(auxEntries.get(i));
+            indexes.add(index);
+            if (index == null) {
+                kept[i] = true;
+                continue;
+            }
+            for (String pkg : index.packages()) {
+                providers.computeIfAbsent(pkg, ignored -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Deque<String> pending = new ArrayDeque<>(needed);
+        Set<String> visited = new HashSet<>(needed);
+        while (!pending.isEmpty()) {
+            checkCanceled(monitor);
+            List<Integer> candidates = providers.get(pending.poll());
+            if (candidates == null) {
+                continue;
+            }
+            for (int i : candidates) {
+                if (kept[i]) {
+                    continue;
+                }
+                kept[i] = true;
+                for (String reference : indexes.get(i).references(monitor)) {
+                    if (visited.add(reference)) {
+                        pending.add(reference);
+                    }
+                }
+            }
+        }
+
+        List<String> reachable = new ArrayList<>();
+        for (int i = 0; i < kept.length; i++) {
+            if (kept[i]) {
+                reachable.add(auxEntries.get(i));
+            }
+        }
+        return reachable;
+    }
+
+    int cachedArchiveCount() {
+        return archives.size();
+    }
+
+    int cachedTargetClassCount() {
+        return targetClasses.size();
+    }
+
+    private Set<String> targetPackages(List<String> targets, IProgressMonitor monitor) {
+        if (targets == null || targets.isEmpty()) {
+            return null;
+        }
+        Set<String> packages = new HashSet<>();
+        for (String target : targets) {
+            checkCanceled(monitor);
+            if (target == null || !target.toLowerCase(Locale.ROOT).endsWith(".class")) {
+                return null;
+            }
+            Set<String> classPackages = classPackages(target);
+            if (classPackages == null) {
+                return null;
+            }
+            packages.addAll(classPackages);
+        }
+        return packages;
+    }
+
+    /** The package {@code target} declares plus those it refers to, or {@code null} if unreadable. */
+    private Set<String> classPackages(String target) {
+        File file = new File(target).getAbsoluteFile();
+        long size = file.length();
+        long lastModified = file.lastModified();
+        ClassPackages cached = targetClasses.get(file.getPath());
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached.packages;
+        }
+        ClassReader reader;
+        try {
+            reader = new ClassReader(Files.readAllBytes(file.toPath()));
+        } catch (IOException | RuntimeException unreadable) {
+            targetClasses.remove(file.getPath());
+            return null;
+        }
+        Set<String> packages = ClassReferences.referencedPackages(reader);
+        packages.add(ClassReferences.packageOf(reader.getClassName()));
+        ClassPackages read = new ClassPackages(size, lastModified, Collections.unmodifiableSet(packages));
+        targetClasses.put(file.getPath(), read);
+        return read.packages;
+    }
+
+    private ArchiveIndex index(String entry) {
+        File file = new File(entry).getAbsoluteFile();
+        if (!file.isFile()) {
+            archives.remove(file.getPath());
+            return null;
+        }
+        long size = file.length();
+        long lastModified = file.lastModified();
+        ArchiveIndex cached = archives.get(file.getPath());
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached;
+        }
+        ArchiveIndex index = ArchiveIndex.of(file, size, lastModified);
+        if (index == null) {
+            archives.remove(file.getPath());
+            return null;
+        }
+        archives.put(file.getPath(), index);
+        return index;
+    }
+
+    private static String entryPackage(String entryName) {
+        String name = entryName;
+        if (name.startsWith(VERSIONED_PREFIX)) {
+            int slash = name.indexOf('/', VERSIONED_PREFIX.length());
+            if (slash < 0) {
+                return null;
+            }
+            name = name.substring(slash + 1);
+        } else if (name.startsWith("META-INF/")) {
+            return null;
+        }
+        if (name.equals("module-info.class")) {
+            return null;
+        }
+        return ClassReferences.packageOf(name);
+    }
+
+    private static Set<String> referencedPackages(byte[] bytes, Set<String> out) {
+        try {
+            out.addAll(ClassReferences.referencedPackages(new ClassReader(bytes)));
+        } catch (RuntimeException unsupportedClassFile) {
+            // SpotBugs cannot load what this reader cannot parse; it contributes no references.
+        }
+        return out;
+    }
+
+    private static void checkCanceled(IProgressMonitor monitor) {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new java.util.concurrent.CancellationException("Command cancelled");
+        }
+    }
+
+    private static final class ClassPackages {
+        private final long size;
+        private final long lastModified;
+        private final Set<String> packages;
+
+        private ClassPackages(long size, long lastModified, Set<String> packages) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.packages = packages;
+        }
+    }
+
+    private static final class ArchiveIndex {
+        private final File file;
+        private final long size;
+        private final long lastModified;
+        private final Set<String> packages;
+        private Set<String> references;
+
+        private ArchiveIndex(File file, long size, long lastModified, Set<String> packages) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.packages = packages;
+        }
+
+        /** Reads the archive's central directory only; returns {@code null} for non-archives. */
+        static ArchiveIndex of(File file, long size, long lastModified) {
+            Set<String> packages = new HashSet<>();
+            try (ZipFile zip = new ZipFile(file)) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || !entry.getName().endsWith(".class")) {
+                        continue;
+                    }
+                    String pkg = entryPackage(entry.getName());
+                    if (pkg != null) {
+                        packages.add(pkg);
+                    }
+                }
+            } catch (IOException | RuntimeException notAnArchive) {
+                return null;
+            }
+            return new ArchiveIndex(file, size, lastModified, Collections.unmodifiableSet(packages));
+        }
+
+        Set<String> packages() {
+            return packages;
+        }
+
+        synchronized Set<String> references(IProgressMonitor monitor) {
+            if (references != null) {
+                return references;
+            }
+            Set<String> found = new HashSet<>();
+            try (ZipFile zip = new ZipFile(file)) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    checkCanceled(monitor);
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || !entry.getName().endsWith(".class")) {
+                        continue;
+                    }
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        referencedPackages(in.readAllBytes(), found);
+                    }
+                }
+            } catch (IOException unreadable) {
+                // Keep what was read; SpotBugs will report the archive itself.
+            }
+            references = Collections.unmodifiableSet(found);
+            return references;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Remembers the class files of every output package directory a source file has been mapped into,
+ * so that resolving {@code Foo.java} to {@code Foo.class} and its {@code Foo$*.class} siblings is a
+ * lookup rather than a directory listing. A listing is reused while its directory's modification
+ * time is unchanged; adding, removing or renaming a class file updates that time and the directory
+ * is listed again on the next lookup.
+ */
+final class ClassFamilyIndex {
+
+    /**
+     * Directories modified this close to their listing may have changed again within the same
+     * timestamp tick, so such listings are not trusted. Two seconds covers the coarsest common
+     * file system timestamp resolution.
+     */
+    private static final long RACY_WINDOW_MILLIS = 2000L;
+    private static final long UNOBSERVED = -1L;
+
+    private final Map<Path, PackageListing> listings = new HashMap<>();
+
+    /**
+     * Returns the absolute paths of {@code classRel} under {@code outputRoot} followed by its nested
+     * classes in name order, or an empty list when the class file does not exist.
+     */
+    List<String> classFamily(File outputRoot, String classRel) throws IOException {
+        return classFamily(outputRoot, classRel, null);
+    }
+
+    /**
+     * Like {@link #classFamily(File, String)}, but reuses a listing without touching the file
+     * system while {@code watcher} has seen no change in its directory.
+     */
+    List<String> classFamily(File outputRoot, String classRel, TargetWatcher watcher) throws IOException {
+        File anchor = new File(outputRoot, classRel);
+        File packageDir = anchor.getParentFile();
+        if (packageDir == null) {
+            return Collections.emptyList();
+        }
+        PackageListing listing = listing(packageDir.toPath().toAbsolutePath(), watcher);
+        String anchorName = anchor.getName();
+        if (listing == null || !listing.classNames.contains(anchorName)) {
+            return Collections.emptyList();
+        }
+
+        List<String> family = new ArrayList<>();
+        family.add(anchor.getAbsolutePath());
+        String nestedPrefix = anchorName.substring(0, anchorName.length() - ".class".length()) + "$";
+        for (String name : listing.classNames.tailSet(nestedPrefix, true)) {
+            if (!name.startsWith(nestedPrefix)) {
+                break;
+            }
+            family.add(new File(packageDir, name).getAbsolutePath());
+        }
+        return family;
+    }
+
+    int size() {
+        return listings.size();
+    }
+
+    private PackageListing listing(Path packageDir, TargetWatcher watcher) throws IOException {
+        PackageListing cached = listings.get(packageDir);
+        if (cached != null
+                && cached.observedAt != UNOBSERVED
+                && watcher != null
+                && watcher.unchangedSince(packageDir, cached.observedAt)) {
+            return cached;
+        }
+
+        long observedAt = watcher != null ? watcher.generation() : UNOBSERVED;
+        FileTime modified;
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(packageDir, BasicFileAttributes.class);
+            if (!attrs.isDirectory()) {
+                listings.remove(packageDir);
+                return null;
+            }
+            modified = attrs.lastModifiedTime();
+        } catch (NoSuchFileException e) {
+            listings.remove(packageDir);
+            return null;
+        }
+
+        if (cached != null && cached.isCurrent(modified)) {
+            PackageListing confirmed = cached.observedAt(observedAt);
+            listings.put(packageDir, confirmed);
+            return confirmed;
+        }
+
+        long listedAt = System.currentTimeMillis();
+        NavigableSet<String> classNames = new TreeSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(packageDir, "*.class")) {
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry)) {
+                    classNames.add(entry.getFileName().toString());
+                }
+            }
+        } catch (NoSuchFileException e) {
+            listings.remove(packageDir);
+            return null;
+        }
+        PackageListing listing = new PackageListing(modified, listedAt, observedAt, classNames);
+        listings.put(packageDir, listing);
+        return listing;
+    }
+
+    private static final class PackageListing {
+        private final FileTime modified;
+        private final long listedAt;
+        private final long observedAt;
+        private final NavigableSet<String> classNames;
+
+        private PackageListing(FileTime modified, long listedAt, long observedAt, NavigableSet<String> classNames) {
+            this.modified = modified;
+            this.listedAt = listedAt;
+            this.observedAt = observedAt;
+            this.classNames = classNames;
+        }
+
+        private PackageListing observedAt(long generation) {
+            return generation == observedAt ? this : new PackageListing(modified, listedAt, generation, classNames);
+        }
+
+        private boolean isCurrent(FileTime currentModified) {
+            return modified.equals(currentModified)
+                    && listedAt - modified.toMillis() >= RACY_WINDOW_MILLIS;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Reads the types a class file refers to straight from its constant pool, without visiting the
+ * class structure.
+ */
+final class ClassReferences {
+
+    private static final int CONSTANT_UTF8_TAG = 1;
+    private static final int CONSTANT_CLASS_TAG = 7;
+
+    private ClassReferences() {
+    }
+
+    /** Internal names of the classes named by {@code CONSTANT_Class} entries, except the class itself. */
+    static Set<String> classConstants(ClassReader reader) {
+        Set<String> references = new HashSet<>();
+        char[] buffer = new char[reader.getMaxStringLength()];
+        for (int index = 1; index < reader.getItemCount(); index++) {
+            int offset = reader.getItem(index);
+            // Long and double constants occupy two slots; the second slot has no item offset.
+            if (offset == 0 || reader.readByte(offset - 1) != CONSTANT_CLASS_TAG) {
+                continue;
+            }
+            String name = reader.readUTF8(offset, buffer);
+            if (name != null) {
+                references.add(name);
+            }
+        }
+        references.remove(reader.getClassName());
+        return Collections.unmodifiableSet(references);
+    }
+
+    /**
+     * Internal package names of every type the class refers to, including types that only occur in
+     * field, method, generic signature and annotation descriptors, such as type qualifier
+     * annotations.
+     */
+    static Set<String> referencedPackages(ClassReader reader) {
+        Set<String> packages = new HashSet<>();
+        for (String name : classConstants(reader)) {
+            if (name.startsWith("[")) {
+                addDescriptorPackages(name, packages);
+            } else {
+                addPackage(name, packages);
+            }
+        }
+        for (int index = 1; index < reader.getItemCount(); index++) {
+            int offset = reader.getItem(index);
+            if (offset == 0 || reader.readByte(offset - 1) != CONSTANT_UTF8_TAG) {
+                continue;
+            }
+            String value = readDescriptorCandidate(reader, offset);
+            if (value != null) {
+                addDescriptorPackages(value, packages);
+            }
+        }
+        return packages;
+    }
+
+    /** Internal package name of {@code internalName}, or {@code ""} for the default package. */
+    static String packageOf(String internalName) {
+        int slash = internalName.lastIndexOf('/');
+        return slash < 0 ? "" : internalName.substring(0, slash);
+    }
+
+    /** Decodes a UTF8 constant only when it could hold an object type descriptor. */
+    private static String readDescriptorCandidate(ClassReader reader, int offset) {
+        int length = reader.readUnsignedShort(offset);
+        int start = offset + 2;
+        boolean hasTerminator = false;
+        for (int i = 0; i < length && !hasTerminator; i++) {
+            hasTerminator = reader.readByte(start + i) == ';';
+        }
+        if (!hasTerminator) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) reader.readByte(start + i);
+        }
+        // Modified UTF-8 only differs from UTF-8 for NUL and supplementary characters, neither of
+        // which can appear in a type name that matters here.
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void addDescriptorPackages(String descriptor, Set<String> packages) {
+        int length = descriptor.length();
+        for (int i = 0; i < length; i++) {
+            if (descriptor.charAt(i) != 'L' || (i > 0 && !isDescriptorDelimiter(descriptor.charAt(i - 1)))) {
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && isNameChar(descriptor.charAt(end))) {
+                end++;
+            }
+            if (end < length && end > i + 1 && (descriptor.charAt(end) == ';' || descriptor.charAt(end) == '<')) {
+                addPackage(descriptor.substring(i + 1, end), packages);
+                i = end;
+            }
+        }
+    }
+
+    private static boolean isDescriptorDelimiter(char c) {
+        return c == '(' || c == ')' || c == '[' || c == ';' || c == '<' || c == '>'
+                || c == ':' || c == '^' || c == '*' || c == '+' || c == '-';
+    }
+
+    private static boolean isNameChar(char c) {
+        return c != ';' && c != '<' && c != '>' && c != '.' && c != '[' && c != '(' && c != ')'
+                && !Character.isWhitespace(c);
+    }
+
+    private static void addPackage(String internalName, Set<String> packages) {
+        String pkg = packageOf(internalName);
+        if (!pkg.isEmpty()) {
+            packages.add(pkg);
+        }
+    }
+}
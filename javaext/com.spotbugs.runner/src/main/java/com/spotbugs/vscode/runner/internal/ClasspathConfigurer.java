@@ -6,6 +6,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import edu.umd.cs.findbugs.Project;
 
 /**
@@ -26,6 +28,50 @@ public class ClasspathConfigurer {
         return new AppliedAuxClasspath(auxEntries.size());
     }
 
+    /**
+     * Like {@link #apply(Project, List, List)}, but only applies the entries reachable from the
+     * analyzed {@code targets}, so SpotBugs does not open archives those classes can never load from.
+     */
+    public AppliedAuxClasspath apply(
+            Project project,
+            List<String> runtimeClasspaths,
+            List<String> extraAuxClasspaths,
+            List<String> targets,
+            IProgressMonitor monitor
+    ) {
+        List<String> auxEntries = AuxClasspathIndex.shared().reachableEntries(
+                buildEffectiveAuxClasspath(runtimeClasspaths, extraAuxClasspaths),
+                targets,
+                monitor
+        );
+        for (String entry : auxEntries) {
+            project.addAuxClasspathEntry(entry);
+        }
+        return new AppliedAuxClasspath(auxEntries.size());
+    }
+
+    /**
+     * Like {@link #apply(Project, List, List, List, IProgressMonitor)}, for targets whose declared
+     * and referenced packages are already known, so the targets are not parsed again.
+     */
+    public AppliedAuxClasspath applyReachable(
+            Project project,
+            List<String> runtimeClasspaths,
+            List<String> extraAuxClasspaths,
+            Set<String> targetPackages,
+            IProgressMonitor monitor
+    ) {
+        List<String> auxEntries = AuxClasspathIndex.shared().reachableFromPackages(
+                buildEffectiveAuxClasspath(runtimeClasspaths, extraAuxClasspaths),
+                targetPackages,
+                monitor
+        );
+        for (String entry : auxEntries) {
+            project.addAuxClasspathEntry(entry);
+        }
+        return new AppliedAuxClasspath(auxEntries.size());
+    }
+
     public List<File> directoriesFrom(List<String> targetResolutionRoots) {
         List<File> dirs = new ArrayList<>();
         if (targetResolutionRoots == null) return dirs;
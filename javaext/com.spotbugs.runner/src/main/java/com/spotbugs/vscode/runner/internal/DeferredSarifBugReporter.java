@@ -1,7 +1,9 @@
 package com.spotbugs.vscode.runner.internal;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 
 import edu.umd.cs.findbugs.Project;
 import edu.umd.cs.findbugs.sarif.SarifBugReporter;
@@ -20,13 +22,30 @@ final class DeferredSarifBugReporter extends SarifBugReporter {
 
     String writeSarif() {
         StringWriter writer = new StringWriter();
-        setWriter(new PrintWriter(writer));
+        render(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    void writeSarif(Writer out) throws IOException {
+        PrintWriter writer = new PrintWriter(out);
+        render(writer);
+        if (writer.checkError()) {
+            throw new IOException("Failed to write the native SARIF report");
+        }
+    }
+
+    private void render(PrintWriter writer) {
+        setWriter(writer);
         try {
             super.finish();
-            return writer.toString();
         } finally {
             // SarifBugReporter skips this when serialization throws.
             getBugCollection().bugsPopulated();
         }
     }
+
+    /** Completes the run like {@link #writeSarif()} would, without rendering the report. */
+    void skipSarif() {
+        getBugCollection().bugsPopulated();
+    }
 }
@@ -0,0 +1,215 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.spotbugs.vscode.runner.api.AnalysisPassProfile;
+import com.spotbugs.vscode.runner.api.AnalysisProfile;
+import com.spotbugs.vscode.runner.api.DetectorProfile;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.Detector;
+import edu.umd.cs.findbugs.Detector2;
+import edu.umd.cs.findbugs.DetectorFactory;
+import edu.umd.cs.findbugs.DetectorFactoryCollection;
+import edu.umd.cs.findbugs.DetectorToDetector2Adapter;
+import edu.umd.cs.findbugs.log.Profiler;
+
+/**
+ * Splits the per-class timings SpotBugs' {@link Profiler} keeps for every run into analysis
+ * passes and detectors. SpotBugs only exposes a profile's total time, so the profile map and the
+ * invocation counters are read reflectively; when that fails the run simply has no profile.
+ * <p>
+ * Pass boundaries come from {@code FindBugsProgress.startAnalysis}, which SpotBugs calls on the
+ * analysing thread at the start of each pass, so all readings are taken on that thread.
+ */
+final class DetectorProfiler {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Profiler profiler;
+    private final List<AnalysisPassProfile> passes = new ArrayList<>();
+    private final Map<String, Sample> samples = new LinkedHashMap<>();
+    private Map<Class<?>, long[]> previous = new HashMap<>();
+    private int pass;
+    private int passClassCount;
+    private long passStartedNanos;
+    private long passStartedCpuNanos;
+    private boolean unavailable;
+
+    DetectorProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /** Closes the running pass, if any, and opens the next one. */
+    void passStarted(int classCount) {
+        finishPass();
+        pass++;
+        passClassCount = classCount;
+        passStartedNanos = System.nanoTime();
+        passStartedCpuNanos = threadCpuNanos();
+    }
+
+    /** Closes the last pass once SpotBugs is done. */
+    void finished() {
+        finishPass();
+        pass = 0;
+    }
+
+    /**
+     * The profile of the run, attributing each of {@code findings} to the detector that reported
+     * it, or {@code null} when the profiler could not be read or no pass ran.
+     */
+    AnalysisProfile build(Collection<BugInstance> findings) {
+        if (unavailable || passes.isEmpty()) {
+            return null;
+        }
+        Map<String, Integer> findingCounts = new HashMap<>();
+        for (BugInstance finding : findings) {
+            DetectorFactory factory = finding.getDetectorFactory();
+            if (factory != null) {
+                findingCounts.merge(factory.getFullName(), 1, Integer::sum);
+            }
+        }
+        DetectorFactoryCollection factories = DetectorFactoryCollection.instance();
+        List<DetectorProfile> detectors = new ArrayList<>();
+        for (Sample sample : samples.values()) {
+            Integer found = findingCounts.remove(sample.detector);
+            detectors.add(sample.toProfile(factories, found != null ? found : 0));
+        }
+        for (Map.Entry<String, Integer> unseen : findingCounts.entrySet()) {
+            detectors.add(new Sample(unseen.getKey(), 0).toProfile(factories, unseen.getValue()));
+        }
+        detectors.sort(Comparator.comparingLong(DetectorProfile::getTimeNanos).reversed()
+                .thenComparing(DetectorProfile::getDetector));
+        return new AnalysisProfile(new ArrayList<>(passes), detectors);
+    }
+
+    private void finishPass() {
+        if (pass == 0 || unavailable) {
+            return;
+        }
+        long wallNanos = System.nanoTime() - passStartedNanos;
+        long cpuNanos = passStartedCpuNanos < 0 ? -1L : Math.max(-1L, threadCpuNanos() - passStartedCpuNanos);
+        Map<Class<?>, long[]> current;
+        try {
+            current = detectorTotals();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unavailable = true;
+            return;
+        }
+        long detectorNanos = 0L;
+        for (Map.Entry<Class<?>, long[]> entry : current.entrySet()) {
+            long[] before = previous.getOrDefault(entry.getKey(), new long[2]);
+            long time = entry.getValue()[0] - before[0];
+            long calls = entry.getValue()[1] - before[1];
+            if (time <= 0L && calls <= 0L) {
+                continue;
+            }
+            String detector = entry.getKey().getName();
+            Sample sample = samples.computeIfAbsent(detector + '#' + pass, ignored -> new Sample(detector, pass));
+            sample.timeNanos += Math.max(0L, time);
+            sample.invocations += (int) Math.max(0L, calls);
+            detectorNanos += Math.max(0L, time);
+        }
+        previous = current;
+        passes.add(new AnalysisPassProfile(pass, passClassCount, wallNanos, cpuNanos, detectorNanos));
+    }
+
+    private Map<Class<?>, long[]> detectorTotals() throws ReflectiveOperationException {
+        Map<Class<?>, long[]> totals = new HashMap<>();
+        for (Map.Entry<?, ?> entry : ProfilerFields.profiles(profiler).entrySet()) {
+            if (!(entry.getKey() instanceof Class) || !(entry.getValue() instanceof Profiler.Profile)) {
+                continue;
+            }
+            Class<?> type = (Class<?>) entry.getKey();
+            if (!isDetector(type)) {
+                continue;
+            }
+            Profiler.Profile profile = (Profiler.Profile) entry.getValue();
+            totals.put(type, new long[] {profile.getTotalTime(), ProfilerFields.calls(profile)});
+        }
+        return totals;
+    }
+
+    /** The adapter around a {@link Detector} only times itself around the detector it wraps. */
+    private static boolean isDetector(Class<?> type) {
+        return type != DetectorToDetector2Adapter.class
+                && (Detector.class.isAssignableFrom(type) || Detector2.class.isAssignableFrom(type));
+    }
+
+    private static long threadCpuNanos() {
+        try {
+            return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled()
+                    ? THREADS.getCurrentThreadCpuTime()
+                    : -1L;
+        } catch (UnsupportedOperationException e) {
+            return -1L;
+        }
+    }
+
+    private static final class Sample {
+        private final String detector;
+        private final int pass;
+        private long timeNanos;
+        private int invocations;
+
+        private Sample(String detector, int pass) {
+            this.detector = detector;
+            this.pass = pass;
+        }
+
+        private DetectorProfile toProfile(DetectorFactoryCollection factories, int findingCount) {
+            DetectorFactory factory = factories.getFactoryByClassName(detector);
+            String shortName = factory != null ? factory.getShortName() : null;
+            String pluginId = factory != null && factory.getPlugin() != null
+                    ? factory.getPlugin().getPluginId()
+                    : null;
+            return new DetectorProfile(detector, shortName, pluginId, pass, timeNanos, invocations, findingCount);
+        }
+    }
+
+    /** Package-private state of SpotBugs' {@link Profiler}; {@code null} fields if it has moved. */
+    private static final class ProfilerFields {
+        private static final Field PROFILES = declaredField(Profiler.class, "profile");
+        private static final Field CALLS = declaredField(Profiler.Profile.class, "totalCalls");
+
+        private ProfilerFields() {
+        }
+
+        private static Map<?, ?> profiles(Profiler profiler) throws ReflectiveOperationException {
+            Object value = PROFILES != null ? PROFILES.get(profiler) : null;
+            if (!(value instanceof Map)) {
+                throw new IllegalStateException("SpotBugs profiler profiles are not readable");
+            }
+            return (Map<?, ?>) value;
+        }
+
+        private static long calls(Profiler.Profile profile) throws ReflectiveOperationException {
+            Object value = CALLS != null ? CALLS.get(profile) : null;
+            if (!(value instanceof AtomicInteger)) {
+                throw new IllegalStateException("SpotBugs profile call counts are not readable");
+            }
+            return ((AtomicInteger) value).get();
+        }
+
+        private static Field declaredField(Class<?> owner, String name) {
+            try {
+                Field field = owner.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Walks directory trees with a single attribute read per entry, fanning out across subdirectories
+ * on a small fork/join pool of its own. The walk blocks on file system calls, so it stays off the
+ * common pool that parallel streams and other callers in the language server rely on.
+ */
+final class DirectoryWalker {
+
+    private static final Set<FileVisitOption> FOLLOW_LINKS = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+    private static final int MAX_WALK_THREADS = 8;
+    private static final ForkJoinPool WALK_POOL = new ForkJoinPool(
+            Math.max(2, Math.min(MAX_WALK_THREADS, Runtime.getRuntime().availableProcessors())),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("spotbugs-directory-walker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    private DirectoryWalker() {
+    }
+
+    /**
+     * Returns the regular files under {@code root} whose names match {@code nameFilter}, in the
+     * depth-first order a sequential walk of each directory listing would produce. Unreadable
+     * directories are skipped.
+     */
+    static List<Path> collectFiles(File root, Predicate<String> nameFilter, IProgressMonitor monitor) {
+        return WALK_POOL.invoke(new WalkTask(root.toPath(), null, nameFilter, monitor));
+    }
+
+    /**
+     * Returns whether any regular file under {@code root} matches {@code nameFilter}, stopping at
+     * the first match.
+     */
+    static boolean containsFile(File root, Predicate<String> nameFilter, IProgressMonitor monitor) {
+        boolean[] found = new boolean[1];
+        try {
+            Files.walkFileTree(root.toPath(), FOLLOW_LINKS, Integer.MAX_VALUE, new SkippingVisitor() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    checkCanceled(monitor);
+                    if (attrs.isRegularFile() && nameFilter.test(file.getFileName().toString())) {
+                        found[0] = true;
+                        return FileVisitResult.TERMINATE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            // SkippingVisitor swallows per-entry failures; nothing else can surface here.
+        }
+        return found[0];
+    }
+
+    private static void checkCanceled(IProgressMonitor monitor) {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new CancellationException("Command cancelled");
+        }
+    }
+
+    /** Lists one directory and forks a task per subdirectory, joining them back in listing order. */
+    private static final class WalkTask extends RecursiveTask<List<Path>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        private final Ancestor ancestors;
+        private final Predicate<String> nameFilter;
+        private final IProgressMonitor monitor;
+
+        WalkTask(Path dir, Ancestor ancestors, Predicate<String> nameFilter, IProgressMonitor monitor) {
+            this.dir = dir;
+            this.ancestors = ancestors;
+            this.nameFilter = nameFilter;
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            checkCanceled(monitor);
+            List<Object> entries = new ArrayList<>();
+            try {
+                Files.walkFileTree(dir, FOLLOW_LINKS, 1, new SkippingVisitor() {
+                    private Ancestor self = ancestors;
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) {
+                        self = new Ancestor(attrs.fileKey(), ancestors);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        checkCanceled(monitor);
+                        if (attrs.isDirectory()) {
+                            // A followed link back to an ancestor would otherwise recurse forever.
+                            if (!Ancestor.contains(self, attrs.fileKey())) {
+                                WalkTask child = new WalkTask(file, self, nameFilter, monitor);
+                                child.fork();
+                                entries.add(child);
+                            }
+                        } else if (attrs.isRegularFile() && nameFilter.test(file.getFileName().toString())) {
+                            entries.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                // SkippingVisitor swallows per-entry failures; nothing else can surface here.
+            }
+
+            List<Path> files = new ArrayList<>();
+            for (Object entry : entries) {
+                if (entry instanceof WalkTask) {
+                    files.addAll(((WalkTask) entry).join());
+                } else {
+                    files.add((Path) entry);
+                }
+            }
+            return files;
+        }
+    }
+
+    /** Directory identity chain from the walk root down to the current directory. */
+    private static final class Ancestor {
+        private final Object fileKey;
+        private final Ancestor parent;
+
+        Ancestor(Object fileKey, Ancestor parent) {
+            this.fileKey = fileKey;
+            this.parent = parent;
+        }
+
+        static boolean contains(Ancestor chain, Object fileKey) {
+            if (fileKey == null) {
+                return false;
+            }
+            for (Ancestor a = chain; a != null; a = a.parent) {
+                if (Objects.equals(a.fileKey, fileKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** Treats unreadable entries the way {@link File#listFiles()} returning {@code null} did: skip them. */
+    private static class SkippingVisitor extends SimpleFileVisitor<Path> {
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+            return FileVisitResult.CONTINUE;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.BugPatternInfo;
+import com.spotbugs.vscode.runner.api.FindingDetail;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.BugPattern;
+import edu.umd.cs.findbugs.I18N;
+
+/**
+ * Renders the finding details that runs with lazy finding details leave out, when
+ * {@code java.spotbugs.describe} asks for them. Pattern details are rendered once per bug type
+ * and cached; annotation messages are copied from the bug instances of recent runs, of which at
+ * most a fixed number are kept, least recently described first out. No bug instance is kept, so
+ * the store never holds on to the classes of a custom plugin.
+ * <p>
+ * The patterns of custom plugins are remembered from the runs that reported them, since the
+ * plugins may have been unloaded by the time a finding is opened. The store belongs to the
+ * engine cache whose runs fill it and is emptied with that cache.
+ */
+public final class FindingDetails {
+
+    static final int DEFAULT_MAX_INSTANCES = 50_000;
+
+    private final Map<String, BugPattern> reportedPatterns = new HashMap<>();
+    private final Map<String, BugPatternInfo> renderedPatterns = new HashMap<>();
+    private final Map<String, RememberedFinding> findings;
+
+    public FindingDetails() {
+        this(DEFAULT_MAX_INSTANCES);
+    }
+
+    FindingDetails(int maxInstances) {
+        this.findings = new LinkedHashMap<String, RememberedFinding>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RememberedFinding> eldest) {
+                return size() > maxInstances;
+            }
+        };
+    }
+
+    /** Keeps what is needed to describe the findings of a finished run later. */
+    public synchronized void remember(Collection<BugInstance> bugs) {
+        for (BugInstance bug : bugs) {
+            BugPattern pattern = bug.getBugPattern();
+            if (pattern != null && reportedPatterns.put(pattern.getType(), pattern) != pattern) {
+                // A plugin reloaded since the last run may describe its patterns differently.
+                renderedPatterns.remove(pattern.getType());
+            }
+            String instanceHash = bug.getInstanceHash();
+            if (instanceHash != null && !instanceHash.isEmpty()) {
+                findings.put(instanceHash, new RememberedFinding(bug.getType(), BugInfo.annotationMessages(bug)));
+            }
+        }
+    }
+
+    /** Forgets every remembered finding and pattern. */
+    public synchronized void clear() {
+        reportedPatterns.clear();
+        renderedPatterns.clear();
+        findings.clear();
+    }
+
+    /**
+     * Details of the finding with {@code instanceHash}, or only those of bug type {@code type} when
+     * that finding is not known. Either argument may be {@code null}.
+     *
+     * @return {@code null} when neither the finding nor the bug type is known
+     */
+    public synchronized FindingDetail describe(String type, String instanceHash) {
+        RememberedFinding finding = instanceHash != null ? findings.get(instanceHash) : null;
+        String bugType = finding != null ? finding.type : type;
+        BugPatternInfo pattern = bugType != null ? patternInfo(bugType) : null;
+        if (finding == null) {
+            return pattern != null ? new FindingDetail(bugType, null, pattern, null) : null;
+        }
+        return new FindingDetail(bugType, instanceHash, pattern, finding.annotationMessages);
+    }
+
+    private BugPatternInfo patternInfo(String type) {
+        BugPatternInfo rendered = renderedPatterns.get(type);
+        if (rendered != null) {
+            return rendered;
+        }
+        BugPattern pattern = reportedPatterns.get(type);
+        if (pattern == null) {
+            pattern = SpotBugsExecutor.lookupBugPattern(type);
+        }
+        if (pattern == null) {
+            return null;
+        }
+        rendered = render(pattern);
+        renderedPatterns.put(type, rendered);
+        return rendered;
+    }
+
+    /** The same details {@link BugInfo#patternInfo()} carries for a finding of {@code pattern}. */
+    static BugPatternInfo render(BugPattern pattern) {
+        String category = pattern.getCategory() != null ? pattern.getCategory() : "";
+        return new BugPatternInfo(
+                optionalString(pattern.getShortDescription()),
+                optionalString(pattern.getDetailPlainText()),
+                optionalString(pattern.getDetailText()),
+                optionalString(pattern.getUri().map(URI::toString).orElse(null)),
+                optionalString(I18N.instance().getBugCategoryDescription(category)),
+                optionalString(pattern.getCategoryAbbrev()),
+                pattern.getCWEid() > 0 ? Integer.valueOf(pattern.getCWEid()) : null
+        );
+    }
+
+    private static String optionalString(String value) {
+        String trimmed = value == null ? "" : value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    synchronized int retainedFindingCount() {
+        return findings.size();
+    }
+
+    private static final class RememberedFinding {
+        private final String type;
+        private final List<String> annotationMessages;
+
+        private RememberedFinding(String type, List<String> annotationMessages) {
+            this.type = type;
+            this.annotationMessages = annotationMessages;
+        }
+    }
+}
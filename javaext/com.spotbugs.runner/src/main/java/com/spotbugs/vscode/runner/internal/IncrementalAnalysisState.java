@@ -0,0 +1,296 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.objectweb.asm.ClassReader;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+
+/**
+ * Remembers the bytecode fingerprint, direct class references, referenced packages and findings of
+ * every class file analyzed by one engine, so that later runs only re-analyze classes whose bytecode changed plus
+ * the classes that reference them directly. Findings for untouched classes are replayed from the
+ * previous run.
+ */
+final class IncrementalAnalysisState {
+
+    private final Map<String, ClassRecord> records = new HashMap<>();
+
+    /**
+     * Compares {@code targets} against the recorded state. Returns {@code null} when the targets
+     * cannot be analyzed incrementally, e.g. because they include archives or unreadable classes.
+     */
+    Plan plan(List<String> targets, IProgressMonitor monitor) throws IOException {
+        if (targets == null || targets.isEmpty()) {
+            return null;
+        }
+        Map<String, ClassSnapshot> snapshots = new LinkedHashMap<>();
+        Set<String> changedClassNames = new HashSet<>();
+        for (String target : targets) {
+            checkCanceled(monitor);
+            if (!isClassFile(target)) {
+                return null;
+            }
+            ClassSnapshot snapshot = snapshot(new File(target), records.get(target));
+            if (snapshot == null) {
+                return null;
+            }
+            snapshots.put(target, snapshot);
+            if (snapshot.changed) {
+                changedClassNames.add(snapshot.className);
+            }
+        }
+        // A class that is no longer a target, e.g. a deleted one, changes what its dependents see.
+        for (Map.Entry<String, ClassRecord> entry : records.entrySet()) {
+            if (!snapshots.containsKey(entry.getKey())) {
+                changedClassNames.add(entry.getValue().className);
+            }
+        }
+
+        List<String> analysisTargets = new ArrayList<>();
+        for (Map.Entry<String, ClassSnapshot> entry : snapshots.entrySet()) {
+            ClassSnapshot snapshot = entry.getValue();
+            if (snapshot.changed || referencesAny(snapshot.references, changedClassNames)) {
+                analysisTargets.add(entry.getKey());
+            }
+        }
+        return new Plan(snapshots, analysisTargets);
+    }
+
+    /**
+     * Stores the fresh findings for the classes analyzed under {@code plan} and returns them merged
+     * with the replayed findings of every target that was skipped.
+     */
+    List<BugInfo> record(Plan plan, List<BugInfo> freshBugs) {
+        Map<String, String> targetByClassName = new HashMap<>();
+        for (Map.Entry<String, ClassSnapshot> entry : plan.snapshots.entrySet()) {
+            targetByClassName.put(entry.getValue().className, entry.getKey());
+        }
+
+        Map<String, List<BugInfo>> bugsByTarget = new HashMap<>();
+        List<BugInfo> merged = new ArrayList<>();
+        if (freshBugs != null) {
+            for (BugInfo bug : freshBugs) {
+                merged.add(bug);
+                String target = bug != null ? targetByClassName.get(internalName(bug.getClassName())) : null;
+                if (target != null) {
+                    bugsByTarget.computeIfAbsent(target, ignored -> new ArrayList<>()).add(bug);
+                }
+            }
+        }
+
+        Set<String> analyzed = new HashSet<>(plan.analysisTargets);
+        for (Map.Entry<String, ClassSnapshot> entry : plan.snapshots.entrySet()) {
+            String target = entry.getKey();
+            ClassSnapshot snapshot = entry.getValue();
+            if (analyzed.contains(target)) {
+                List<BugInfo> bugs = bugsByTarget.get(target);
+                records.put(target, new ClassRecord(snapshot, bugs != null
+                        ? Collections.unmodifiableList(bugs)
+                        : Collections.<BugInfo>emptyList()));
+                continue;
+            }
+            ClassRecord previous = records.get(target);
+            if (previous != null) {
+                records.put(target, new ClassRecord(snapshot, previous.bugs));
+                merged.addAll(previous.bugs);
+            }
+        }
+        // Forget class files that are no longer targets, e.g. deleted classes or another folder.
+        records.keySet().retainAll(plan.snapshots.keySet());
+        return merged;
+    }
+
+    int recordCount() {
+        return records.size();
+    }
+
+    private ClassSnapshot snapshot(File classFile, ClassRecord previous) throws IOException {
+        // Always stat: a watch event can still be in flight when a class file was just written.
+        long size = classFile.length();
+        long lastModified = classFile.lastModified();
+        if (previous != null && previous.size == size && previous.lastModified == lastModified) {
+            return new ClassSnapshot(size, lastModified, previous.hash, previous.className, previous.references,
+                    previous.packages, false);
+        }
+
+        byte[] bytes = Files.readAllBytes(classFile.toPath());
+        byte[] hash = sha256(bytes);
+        if (previous != null && Arrays.equals(previous.hash, hash)) {
+            return new ClassSnapshot(size, lastModified, hash, previous.className, previous.references,
+                    previous.packages, false);
+        }
+        ClassReader reader;
+        try {
+            reader = new ClassReader(bytes);
+        } catch (RuntimeException unsupportedClassFile) {
+            // Let SpotBugs decide how to report class files this reader cannot parse.
+            return null;
+        }
+        Set<String> packages = ClassReferences.referencedPackages(reader);
+        packages.add(ClassReferences.packageOf(reader.getClassName()));
+        return new ClassSnapshot(size, lastModified, hash, reader.getClassName(),
+                ClassReferences.classConstants(reader), Collections.unmodifiableSet(packages), true);
+    }
+
+    private static boolean referencesAny(Set<String> references, Set<String> changedClassNames) {
+        if (changedClassNames.isEmpty()) {
+            return false;
+        }
+        for (String reference : references) {
+            if (changedClassNames.contains(reference)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String internalName(String className) {
+        return className != null ? className.replace('.', '/') : null;
+    }
+
+    private static String classRoot(String target, String className) {
+        String suffix = className.replace('/', File.separatorChar) + ".class";
+        String path = new File(target).getAbsolutePath();
+        if (!path.endsWith(suffix) || path.length() == suffix.length()) {
+            return null;
+        }
+        return path.substring(0, path.length() - suffix.length());
+    }
+
+    private static boolean isClassFile(String path) {
+        return path != null && path.toLowerCase(Locale.ROOT).endsWith(".class");
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void checkCanceled(IProgressMonitor monitor) {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new java.util.concurrent.CancellationException("Command cancelled");
+        }
+    }
+
+    /** Outcome of comparing the current targets against the recorded state. */
+    static final class Plan {
+        private final Map<String, ClassSnapshot> snapshots;
+        private final List<String> analysisTargets;
+
+        private Plan(Map<String, ClassSnapshot> snapshots, List<String> analysisTargets) {
+            this.snapshots = snapshots;
+            this.analysisTargets = Collections.unmodifiableList(analysisTargets);
+        }
+
+        List<String> getAnalysisTargets() {
+            return analysisTargets;
+        }
+
+        /**
+         * Class path roots of the skipped targets, so SpotBugs can still resolve the types they
+         * declare while analyzing the classes that reference them.
+         */
+        List<String> getSkippedClassRoots() {
+            Set<String> analyzed = new HashSet<>(analysisTargets);
+            Set<String> roots = new LinkedHashSet<>();
+            for (Map.Entry<String, ClassSnapshot> entry : snapshots.entrySet()) {
+                if (analyzed.contains(entry.getKey())) {
+                    continue;
+                }
+                String root = classRoot(entry.getKey(), entry.getValue().className);
+                if (root != null) {
+                    roots.add(root);
+                }
+            }
+            return new ArrayList<>(roots);
+        }
+
+        /**
+         * Packages every target declares or refers to, read when the target's bytecode was last
+         * parsed, so the aux classpath can be narrowed without parsing the targets again.
+         */
+        Set<String> getReferencedPackages() {
+            Set<String> packages = new HashSet<>();
+            for (ClassSnapshot snapshot : snapshots.values()) {
+                packages.addAll(snapshot.packages);
+            }
+            return packages;
+        }
+
+        boolean isUpToDate() {
+            return analysisTargets.isEmpty();
+        }
+
+        boolean isFull() {
+            return analysisTargets.size() == snapshots.size();
+        }
+    }
+
+    private static final class ClassSnapshot {
+        private final long size;
+        private final long lastModified;
+        private final byte[] hash;
+        private final String className;
+        private final Set<String> references;
+        private final Set<String> packages;
+        private final boolean changed;
+
+        private ClassSnapshot(
+                long size,
+                long lastModified,
+                byte[] hash,
+                String className,
+                Set<String> references,
+                Set<String> packages,
+                boolean changed
+        ) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.className = className;
+            this.references = references;
+            this.packages = packages;
+            this.changed = changed;
+        }
+    }
+
+    private static final class ClassRecord {
+        private final long size;
+        private final long lastModified;
+        private final byte[] hash;
+        private final String className;
+        private final Set<String> references;
+        private final Set<String> packages;
+        private final List<BugInfo> bugs;
+
+        private ClassRecord(ClassSnapshot snapshot, List<BugInfo> bugs) {
+            this.size = snapshot.size;
+            this.lastModified = snapshot.lastModified;
+            this.hash = snapshot.hash;
+            this.className = snapshot.className;
+            this.references = snapshot.references;
+            this.packages = snapshot.packages;
+            this.bugs = bugs;
+        }
+    }
+}
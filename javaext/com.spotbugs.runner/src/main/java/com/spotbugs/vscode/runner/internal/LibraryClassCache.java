@@ -0,0 +1,163 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.ba.XClass;
+
+/**
+ * Keeps the class metadata SpotBugs parsed from library archives, with the method facts SpotBugs
+ * records beside it, so that later runs of the same engine can reuse it instead of parsing the archives again. Classes are grouped by archive and an
+ * archive's classes are dropped as soon as its size or modification time changes. Archives are
+ * evicted least recently used first once the estimated size of the retained metadata exceeds the
+ * budget.
+ */
+final class LibraryClassCache {
+
+    static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private static final long CLASS_BYTES = 512;
+    private static final long METHOD_BYTES = 160;
+    private static final long FIELD_BYTES = 96;
+    private static final long ANNOTATION_BYTES = 64;
+    private static final long FACT_BYTES = 48;
+
+    private final long budgetBytes;
+    private final LinkedHashMap<String, Library> libraries = new LinkedHashMap<>(16, 0.75f, true);
+    private long retainedBytes;
+
+    LibraryClassCache() {
+        this(DEFAULT_BUDGET_BYTES);
+    }
+
+    LibraryClassCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Returns the retained classes of {@code archive} keyed by slashed class name, or an empty map
+     * when nothing is retained for the archive's current fingerprint. The map is a snapshot.
+     */
+    synchronized Map<String, RetainedLibraryClass> classes(File archive) {
+        String key = archive.getAbsolutePath();
+        Library library = libraries.get(key);
+        if (library == null) {
+            return Collections.emptyMap();
+        }
+        if (!library.fingerprint.equals(Fingerprint.of(archive))) {
+            drop(key);
+            return Collections.emptyMap();
+        }
+        return new HashMap<>(library.classes);
+    }
+
+    /**
+     * Retains {@code classes} parsed from {@code archive}, provided the archive still has the
+     * fingerprint it had when they were parsed.
+     */
+    synchronized void retain(File archive, Fingerprint parsedFrom, Collection<RetainedLibraryClass> classes) {
+        String key = archive.getAbsolutePath();
+        Fingerprint current = Fingerprint.of(archive);
+        if (current == null || !current.equals(parsedFrom)) {
+            drop(key);
+            return;
+        }
+        Library library = libraries.get(key);
+        if (library == null || !library.fingerprint.equals(current)) {
+            drop(key);
+            library = new Library(current);
+            libraries.put(key, library);
+        }
+        for (RetainedLibraryClass retained : classes) {
+            String className = retained.getXClass().getClassDescriptor().getClassName();
+            RetainedLibraryClass previous = library.classes.put(className, retained);
+            if (previous != null) {
+                library.bytes -= estimate(previous);
+                retainedBytes -= estimate(previous);
+            }
+            library.bytes += estimate(retained);
+            retainedBytes += estimate(retained);
+        }
+        evict();
+    }
+
+    synchronized int libraryCount() {
+        return libraries.size();
+    }
+
+    synchronized long retainedBytes() {
+        return retainedBytes;
+    }
+
+    private void evict() {
+        Iterator<Library> eldestFirst = libraries.values().iterator();
+        while (retainedBytes > budgetBytes && eldestFirst.hasNext()) {
+            retainedBytes -= eldestFirst.next().bytes;
+            eldestFirst.remove();
+        }
+    }
+
+    private void drop(String key) {
+        Library removed = libraries.remove(key);
+        if (removed != null) {
+            retainedBytes -= removed.bytes;
+        }
+    }
+
+    /** A rough size of the parsed metadata, good enough to bound the cache. */
+    private static long estimate(RetainedLibraryClass retained) {
+        XClass xClass = retained.getXClass();
+        return CLASS_BYTES
+                + METHOD_BYTES * xClass.getXMethods().size()
+                + FIELD_BYTES * xClass.getXFields().size()
+                + ANNOTATION_BYTES * xClass.getAnnotations().size()
+                + FACT_BYTES * retained.factCount();
+    }
+
+    /** Size and modification time of an archive; {@code null} from {@link #of} for anything but a file. */
+    static final class Fingerprint {
+        private final long size;
+        private final long lastModified;
+
+        private Fingerprint(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        static Fingerprint of(File archive) {
+            if (!archive.isFile()) {
+                return null;
+            }
+            return new Fingerprint(archive.length(), archive.lastModified());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint that = (Fingerprint) other;
+            return size == that.size && lastModified == that.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) * 31 + Long.hashCode(lastModified);
+        }
+    }
+
+    private static final class Library {
+        private final Fingerprint fingerprint;
+        private final Map<String, RetainedLibraryClass> classes = new HashMap<>();
+        private long bytes;
+
+        private Library(Fingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.umd.cs.findbugs.FindBugs2;
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.classfile.CheckedAnalysisException;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.IAnalysisCache;
+import edu.umd.cs.findbugs.classfile.IClassAnalysisEngine;
+import edu.umd.cs.findbugs.classfile.IClassPath;
+import edu.umd.cs.findbugs.classfile.ICodeBase;
+import edu.umd.cs.findbugs.classfile.ICodeBaseEntry;
+import edu.umd.cs.findbugs.classfile.IDatabaseFactory;
+import edu.umd.cs.findbugs.classfile.IErrorLogger;
+import edu.umd.cs.findbugs.classfile.IMethodAnalysisEngine;
+import edu.umd.cs.findbugs.classfile.MethodDescriptor;
+import edu.umd.cs.findbugs.classfile.ResourceNotFoundException;
+import edu.umd.cs.findbugs.classfile.analysis.ClassInfo;
+import edu.umd.cs.findbugs.classfile.impl.AnalysisCache;
+import edu.umd.cs.findbugs.log.Profiler;
+
+/**
+ * A {@link FindBugs2} that carries the {@link XClass} metadata of library classes from one run to
+ * the next through a {@link LibraryClassCache}, registering the method facts SpotBugs keeps outside
+ * of it with each run that reuses a class. A retained class is only handed to a run when the
+ * run's class path still resolves the class to the same, unchanged, non-application archive, so
+ * application classes that shadow a library class are always parsed afresh.
+ */
+final class LibraryClassReusingFindBugs extends FindBugs2 {
+
+    private final LibraryClassCache libraryClasses;
+    private ReusingAnalysisCache current;
+
+    LibraryClassReusingFindBugs(LibraryClassCache libraryClasses) {
+        this.libraryClasses = libraryClasses;
+    }
+
+    @Override
+    protected IAnalysisCache createAnalysisCache() throws IOException {
+        IAnalysisCache created = super.createAnalysisCache();
+        if (!(created instanceof AnalysisCache)) {
+            return created;
+        }
+        current = new ReusingAnalysisCache((AnalysisCache) created, libraryClasses);
+        Global.setAnalysisCacheForCurrentThread(current);
+        return current;
+    }
+
+    @Override
+    protected void clearCaches() {
+        ReusingAnalysisCache finished = current;
+        current = null;
+        try {
+            if (finished != null) {
+                finished.retainLibraryClasses();
+            }
+        } catch (RuntimeException unexpected) {
+            // Reuse is an optimization; the next run simply parses the libraries again.
+        } finally {
+            super.clearCaches();
+        }
+    }
+
+    /**
+     * Delegates to the analysis cache SpotBugs created, seeding each library class from the
+     * retained metadata the first time a run asks for it.
+     */
+    private static final class ReusingAnalysisCache implements IAnalysisCache {
+        private final AnalysisCache delegate;
+        private final LibraryClassCache libraryClasses;
+        private final Set<String> considered = ConcurrentHashMap.newKeySet();
+        private final Map<String, Archive> archives = new ConcurrentHashMap<>();
+
+        ReusingAnalysisCache(AnalysisCache delegate, LibraryClassCache libraryClasses) {
+            this.delegate = delegate;
+            this.libraryClasses = libraryClasses;
+        }
+
+        private void seed(ClassDescriptor descriptor) {
+            if (!considered.add(descriptor.getClassName())) {
+                return;
+            }
+            ICodeBaseEntry entry;
+            try {
+                entry = delegate.getClassPath().lookupResource(descriptor.toResourceName());
+            } catch (ResourceNotFoundException missing) {
+                return;
+            }
+            Archive archive = archive(entry.getCodeBase());
+            if (archive == null) {
+                return;
+            }
+            RetainedLibraryClass retained = archive.retained.get(descriptor.getClassName());
+            if (retained != null && retained.registerWithCurrentRun()) {
+                delegate.reuseClassAnalysis(XClass.class, Collections.singletonMap(descriptor, retained.getXClass()));
+            }
+        }
+
+        /** Returns the run's view of a library archive, or {@code null} for anything else. */
+        private Archive archive(ICodeBase codeBase) {
+            if (codeBase == null || codeBase.isApplicationCodeBase() || codeBase.getPathName() == null) {
+                return null;
+            }
+            Archive archive = archives.computeIfAbsent(codeBase.getPathName(), pathName -> {
+                File file = new File(pathName).getAbsoluteFile();
+                LibraryClassCache.Fingerprint fingerprint = LibraryClassCache.Fingerprint.of(file);
+                return fingerprint == null
+                        ? Archive.NONE
+                        : new Archive(file, fingerprint, libraryClasses.classes(file));
+            });
+            return archive == Archive.NONE ? null : archive;
+        }
+
+        void retainLibraryClasses() {
+            Map<ClassDescriptor, Object> parsed = delegate.getClassAnalysis(XClass.class);
+            if (parsed == null) {
+                return;
+            }
+            Map<Archive, List<RetainedLibraryClass>> byArchive = new HashMap<>();
+            for (Object value : parsed.values()) {
+                if (!(value instanceof ClassInfo)) {
+                    continue;
+                }
+                ClassInfo info = (ClassInfo) value;
+                ICodeBaseEntry entry = info.getCodeBaseEntry();
+                Archive archive = entry != null ? archive(entry.getCodeBase()) : null;
+                if (archive == null) {
+                    continue;
+                }
+                RetainedLibraryClass retained = RetainedLibraryClass.capture(info);
+                if (retained != null) {
+                    byArchive.computeIfAbsent(archive, ignored -> new ArrayList<>()).add(retained);
+                }
+            }
+            for (Map.Entry<Archive, List<RetainedLibraryClass>> entry : byArchive.entrySet()) {
+                Archive archive = entry.getKey();
+                libraryClasses.retain(archive.file, archive.fingerprint, entry.getValue());
+            }
+        }
+
+        @Override
+        public <E> E getClassAnalysis(Class<E> analysisClass, ClassDescriptor classDescriptor)
+                throws CheckedAnalysisException {
+            if (analysisClass == XClass.class) {
+                seed(classDescriptor);
+            }
+            return delegate.getClassAnalysis(analysisClass, classDescriptor);
+        }
+
+        @Override
+        public <E> void registerClassAnalysisEngine(Class<E> analysisResultType, IClassAnalysisEngine<E> engine) {
+            delegate.registerClassAnalysisEngine(analysisResultType, engine);
+        }
+
+        @Override
+        public <E> void registerMethodAnalysisEngine(Class<E> analysisResultType, IMethodAnalysisEngine<E> engine) {
+            delegate.registerMethodAnalysisEngine(analysisResultType, engine);
+        }
+
+        @Override
+        public <E> E probeClassAnalysis(Class<E> analysisClass, ClassDescriptor classDescriptor) {
+            return delegate.probeClassAnalysis(analysisClass, classDescriptor);
+        }
+
+        @Override
+        public <E> E getMethodAnalysis(Class<E> analysisClass, MethodDescriptor methodDescriptor)
+                throws CheckedAnalysisException {
+            return delegate.getMethodAnalysis(analysisClass, methodDescriptor);
+        }
+
+        @Override
+        public <E> void eagerlyPutMethodAnalysis(Class<E> analysisClass, MethodDescriptor methodDescriptor, E analysisObject) {
+            delegate.eagerlyPutMethodAnalysis(analysisClass, methodDescriptor, analysisObject);
+        }
+
+        @Override
+        public void purgeMethodAnalyses(MethodDescriptor methodDescriptor) {
+            delegate.purgeMethodAnalyses(methodDescriptor);
+        }
+
+        @Override
+        public void purgeAllMethodAnalysis() {
+            delegate.purgeAllMethodAnalysis();
+        }
+
+        @Override
+        public void purgeClassAnalysis(Class<?> analysisClass) {
+            delegate.purgeClassAnalysis(analysisClass);
+        }
+
+        @Override
+        public <E> void registerDatabaseFactory(Class<E> databaseClass, IDatabaseFactory<E> databaseFactory) {
+            delegate.registerDatabaseFactory(databaseClass, databaseFactory);
+        }
+
+        @Override
+        public <E> E getDatabase(Class<E> databaseClass) {
+            return delegate.getDatabase(databaseClass);
+        }
+
+        @Override
+        public <E> E getOptionalDatabase(Class<E> databaseClass) {
+            return delegate.getOptionalDatabase(databaseClass);
+        }
+
+        @Override
+        public <E> void eagerlyPutDatabase(Class<E> databaseClass, E database) {
+            delegate.eagerlyPutDatabase(databaseClass, database);
+        }
+
+        @Override
+        public IClassPath getClassPath() {
+            return delegate.getClassPath();
+        }
+
+        @Override
+        public IErrorLogger getErrorLogger() {
+            return delegate.getErrorLogger();
+        }
+
+        @Override
+        @Deprecated
+        public Map<?, ?> getAnalysisLocals() {
+            return delegate.getAnalysisLocals();
+        }
+
+        @Override
+        public Profiler getProfiler() {
+            return delegate.getProfiler();
+        }
+    }
+
+    /** A library archive as first seen by a run, with the classes retained for that fingerprint. */
+    private static final class Archive {
+        static final Archive NONE = new Archive(null, null, Collections.emptyMap());
+
+        final File file;
+        final LibraryClassCache.Fingerprint fingerprint;
+        final Map<String, RetainedLibraryClass> retained;
+
+        Archive(File file, LibraryClassCache.Fingerprint fingerprint, Map<String, RetainedLibraryClass> retained) {
+            this.file = file;
+            this.fingerprint = fingerprint;
+            this.retained = retained;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Monotonic {@link System#nanoTime()} durations of the phases of one analysis run. Phases that did
+ * not run are left out; a phase entered more than once accumulates.
+ */
+public final class PhaseTimings {
+
+    public enum Phase {
+        /** Expanding the requested paths into class files, including class families. */
+        TARGET_RESOLUTION("targetResolution"),
+        /** Comparing targets against the previous run when incremental analysis is on. */
+        INCREMENTAL_PLANNING("incrementalPlanning"),
+        /** Assembling and pruning the aux classpath handed to SpotBugs. */
+        AUX_CLASSPATH("auxClasspath"),
+        /** Loading custom plugin jars into SpotBugs' plugin registry. */
+        PLUGIN_LOADING("pluginLoading"),
+        /** SpotBugs' own work before the first detector pass: class path, referenced classes, plan. */
+        CLASS_PATH_BUILD("classPathBuild"),
+        /** The detector passes of {@code FindBugs2.execute()}. */
+        ANALYSIS("analysis"),
+        /** Rendering or writing the native SARIF report. */
+        SARIF("sarif"),
+        /** Rendering or writing the native baseline XML report. */
+        BASELINE_XML("baselineXml"),
+        /** Converting SpotBugs bug instances into {@code BugInfo}s and the report summary. */
+        BUG_CONVERSION("bugConversion"),
+        /** Resolving findings' source files against the configured source paths. */
+        SOURCE_PATHS("sourcePaths");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    private final Map<Phase, Long> nanos = new EnumMap<>(Phase.class);
+
+    /** Adds the time elapsed since {@code startNanos}, a {@link System#nanoTime()} reading, to {@code phase}. */
+    public synchronized void record(Phase phase, long startNanos) {
+        add(phase, System.nanoTime() - startNanos);
+    }
+
+    public synchronized void add(Phase phase, long elapsedNanos) {
+        nanos.merge(phase, Math.max(0L, elapsedNanos), Long::sum);
+    }
+
+    public synchronized long nanos(Phase phase) {
+        Long value = nanos.get(phase);
+        return value != null ? value : 0L;
+    }
+
+    /** Durations in nanoseconds keyed by phase name, in phase order. */
+    public synchronized Map<String, Long> asMap() {
+        Map<String, Long> byName = new LinkedHashMap<>();
+        for (Map.Entry<Phase, Long> entry : nanos.entrySet()) {
+            byName.put(entry.getKey().key(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+
+    /** Rebuilds timings from {@link #asMap()}; unknown phase names are ignored. */
+    public static PhaseTimings fromMap(Map<String, Long> byName) {
+        PhaseTimings timings = new PhaseTimings();
+        if (byName == null) {
+            return timings;
+        }
+        for (Phase phase : Phase.values()) {
+            Long value = byName.get(phase.key());
+            if (value != null) {
+                timings.add(phase, value);
+            }
+        }
+        return timings;
+    }
+}
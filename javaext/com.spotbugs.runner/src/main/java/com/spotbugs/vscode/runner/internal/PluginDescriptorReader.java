@@ -0,0 +1,256 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads what the plugin inventory shows about a plugin jar in a single open of the jar: the checks
+ * and summary of SpotBugs' {@code PluginLoader.validate}, plus the descriptor's version and its
+ * detector and bug pattern counts. Each XML file is streamed once instead of being built into a
+ * document, by a StAX reader that rejects DTDs and external entities as SpotBugs' own parser does.
+ */
+final class PluginDescriptorReader {
+
+    private static final String DESCRIPTOR = "findbugs.xml";
+    private static final String MESSAGES = "messages.xml";
+
+    private PluginDescriptorReader() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code jar} is not a plugin jar SpotBugs would load
+     * @throws XMLStreamException if the descriptor or a message file is malformed or has a DTD
+     */
+    static PluginDescriptor read(File jar) throws IOException, XMLStreamException {
+        if (!jar.isFile() || !jar.canRead()) {
+            throw new IllegalArgumentException(jar.getPath() + " is not a readable file");
+        }
+        if (jar.length() == 0) {
+            throw new IllegalArgumentException(jar.getPath() + " is empty");
+        }
+        try (ZipFile zip = new ZipFile(jar)) {
+            ZipEntry descriptorEntry = zip.getEntry(DESCRIPTOR);
+            if (descriptorEntry == null) {
+                throw new IllegalArgumentException("plugin doesn't contain a findbugs.xml file");
+            }
+            if (zip.getEntry(MESSAGES) == null) {
+                throw new IllegalArgumentException("plugin doesn't contain a messages.xml file");
+            }
+
+            XMLInputFactory factory = hardenedFactory();
+            PluginDescriptor descriptor;
+            try (InputStream input = zip.getInputStream(descriptorEntry)) {
+                descriptor = readDescriptor(factory, input);
+            }
+            // Like SpotBugs, every message file must parse, and the most specific one describes the plugin.
+            String shortDescription = null;
+            for (String name : messageFiles(Locale.getDefault())) {
+                ZipEntry messages = zip.getEntry(name);
+                if (messages == null) {
+                    continue;
+                }
+                try (InputStream input = zip.getInputStream(messages)) {
+                    String description = readShortDescription(factory, input);
+                    if (shortDescription == null) {
+                        shortDescription = description;
+                    }
+                }
+            }
+            descriptor.shortDescription = shortDescription;
+            return descriptor;
+        }
+    }
+
+    private static PluginDescriptor readDescriptor(XMLInputFactory factory, InputStream input)
+            throws XMLStreamException {
+        PluginDescriptor descriptor = new PluginDescriptor();
+        XMLStreamReader reader = open(factory, input);
+        try {
+            boolean pluginRoot = false;
+            int detectorCount = 0;
+            int bugPatternCount = 0;
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = next(reader);
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                } else if (event == XMLStreamConstants.START_ELEMENT && ++depth == 1) {
+                    pluginRoot = "FindbugsPlugin".equals(reader.getLocalName());
+                    if (pluginRoot) {
+                        descriptor.pluginId = reader.getAttributeValue(null, "pluginid");
+                        descriptor.provider = reader.getAttributeValue(null, "provider");
+                        descriptor.website = reader.getAttributeValue(null, "website");
+                        descriptor.version = reader.getAttributeValue(null, "version");
+                    }
+                } else if (event == XMLStreamConstants.START_ELEMENT && depth == 2 && pluginRoot) {
+                    if ("Detector".equals(reader.getLocalName())) {
+                        detectorCount++;
+                    } else if ("BugPattern".equals(reader.getLocalName())) {
+                        bugPatternCount++;
+                    }
+                }
+            }
+            if (pluginRoot) {
+                descriptor.detectorCount = detectorCount;
+                descriptor.bugPatternCount = bugPatternCount;
+            }
+            return descriptor;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /** The text of the first {@code /MessageCollection/Plugin/ShortDescription}, or {@code null}. */
+    private static String readShortDescription(XMLInputFactory factory, InputStream input)
+            throws XMLStreamException {
+        XMLStreamReader reader = open(factory, input);
+        try {
+            String[] path = {"MessageCollection", "Plugin", "ShortDescription"};
+            String found = null;
+            StringBuilder text = null;
+            int matched = 0;
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = next(reader);
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (found == null && text == null && depth == matched + 1 && depth <= path.length
+                            && path[depth - 1].equals(reader.getLocalName())) {
+                        matched = depth;
+                        if (matched == path.length) {
+                            text = new StringBuilder();
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (text != null && depth == path.length) {
+                        found = text.toString();
+                        text = null;
+                    }
+                    if (depth == matched) {
+                        matched--;
+                    }
+                    depth--;
+                } else if (text != null && depth == path.length && isText(event)) {
+                    text.append(reader.getText());
+                }
+            }
+            return found;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static XMLStreamReader open(XMLInputFactory factory, InputStream input) throws XMLStreamException {
+        // SpotBugs reads plugin XML as UTF-8 whatever its declaration says.
+        return factory.createXMLStreamReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
+    private static int next(XMLStreamReader reader) throws XMLStreamException {
+        int event = reader.next();
+        if (event == XMLStreamConstants.DTD || event == XMLStreamConstants.ENTITY_REFERENCE) {
+            throw new XMLStreamException("DOCTYPE and entity references are not allowed in plugin XML",
+                    reader.getLocation());
+        }
+        return event;
+    }
+
+    private static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS
+                || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE;
+    }
+
+    /** The message files SpotBugs reads for {@code locale}, most specific first. */
+    static List<String> messageFiles(Locale locale) {
+        List<String> names = new ArrayList<>(3);
+        String language = locale.getLanguage();
+        String country = locale.getCountry();
+        if (!language.isEmpty() && !country.isEmpty()) {
+            names.add("messages_" + language + "_" + country + ".xml");
+        }
+        if (!language.isEmpty()) {
+            names.add("messages_" + language + ".xml");
+        }
+        names.add(MESSAGES);
+        return names;
+    }
+
+    /**
+     * A fresh factory per jar: StAX factories are not guaranteed to be thread-safe, and jars are
+     * read in parallel.
+     */
+    private static XMLInputFactory hardenedFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        setIfSupported(factory, XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        setIfSupported(factory, XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        return factory;
+    }
+
+    private static void setIfSupported(XMLInputFactory factory, String property, Object value) {
+        try {
+            factory.setProperty(property, value);
+        } catch (IllegalArgumentException unsupported) {
+            // SUPPORT_DTD already keeps such implementations from resolving anything external.
+        }
+    }
+
+    /**
+     * What a plugin jar declares about itself. Strings are as written; the counts are {@code null}
+     * when the descriptor's root is not {@code FindbugsPlugin}.
+     */
+    static final class PluginDescriptor {
+        private String pluginId;
+        private String provider;
+        private String website;
+        private String version;
+        private String shortDescription;
+        private Integer detectorCount;
+        private Integer bugPatternCount;
+
+        String getPluginId() {
+            return pluginId;
+        }
+
+        String getProvider() {
+            return provider;
+        }
+
+        String getWebsite() {
+            return website;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        String getShortDescription() {
+            return shortDescription;
+        }
+
+        Integer getDetectorCount() {
+            return detectorCount;
+        }
+
+        Integer getBugPatternCount() {
+            return bugPatternCount;
+        }
+    }
+}
@@ -2,95 +2,169 @@ package com.spotbugs.vscode.runner.internal;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.spotbugs.vscode.runner.api.PluginInventoryEntry;
+import com.spotbugs.vscode.runner.internal.PluginDescriptorReader.PluginDescriptor;
 
-import edu.umd.cs.findbugs.PluginLoader;
-
+/**
+ * Validates configured plugin jars for the plugin inventory view. What a jar validates to is cached
+ * by its canonical path, size and modification time, so refreshing the view only validates the
+ * jars that changed since, in parallel when there are several.
+ */
 public class PluginInventoryService {
 
     private static final String STATUS_VALIDATED = "VALIDATED";
     private static final String STATUS_DUPLICATE_PLUGIN_ID = "DUPLICATE_PLUGIN_ID";
     private static final String STATUS_VALIDATION_FAILED = "VALIDATION_FAILED";
 
+    private final Map<String, JarInspection> inspections = new ConcurrentHashMap<>();
+
     public List<PluginInventoryEntry> inspect(List<String> pluginPaths) {
         List<String> paths = pluginPaths != null ? pluginPaths : java.util.Collections.emptyList();
+        List<ConfiguredJar> jars = new ArrayList<>(paths.size());
+        Map<String, ConfiguredJar> changed = new LinkedHashMap<>();
+        for (int index = 0; index < paths.size(); index++) {
+            ConfiguredJar jar = resolve(index, paths.get(index));
+            jars.add(jar);
+            if (jar.failure == null && cachedInspection(jar) == null) {
+                changed.putIfAbsent(jar.canonicalPath, jar);
+            }
+        }
+        inspectInParallel(new ArrayList<>(changed.values()));
+
         Map<String, Integer> firstIndexByPluginId = new HashMap<>();
         Set<String> canonicalPaths = new HashSet<>();
-        List<PluginInventoryEntry> entries = new ArrayList<>();
-
-        for (int index = 0; index < paths.size(); index++) {
-            entries.add(inspectOne(index, paths.get(index), firstIndexByPluginId, canonicalPaths));
+        List<PluginInventoryEntry> entries = new ArrayList<>(jars.size());
+        for (ConfiguredJar jar : jars) {
+            entries.add(entry(jar, firstIndexByPluginId, canonicalPaths));
         }
         return entries;
     }
 
-    private PluginInventoryEntry inspectOne(
-            int index,
-            String configuredPath,
-            Map<String, Integer> firstIndexByPluginId,
-            Set<String> canonicalPaths
-    ) {
+    /** Validates a plugin jar and reads its descriptor; package-private so tests can count reads. */
+    PluginDescriptor read(File pluginJar) throws Exception {
+        return PluginDescriptorReader.read(pluginJar);
+    }
+
+    private static ConfiguredJar resolve(int index, String configuredPath) {
         String path = configuredPath != null ? configuredPath : "";
         if (path.trim().isEmpty()) {
-            return failed(index, path, null, "Plugin path is empty.");
+            return ConfiguredJar.failed(failed(index, path, null, "Plugin path is empty."));
         }
 
         File canonicalFile;
         try {
             canonicalFile = new File(path).getCanonicalFile();
         } catch (IOException e) {
-            return failed(index, path, null, message("Could not resolve plugin path", e));
+            return ConfiguredJar.failed(failed(index, path, null, message("Could not resolve plugin path", e)));
         }
 
         String canonicalPath = canonicalFile.getAbsolutePath();
-        boolean firstCanonicalPath = canonicalPaths.add(canonicalPath);
         if (!canonicalFile.exists()) {
-            return failed(index, path, canonicalPath, "Plugin jar not found: " + canonicalPath);
+            return new ConfiguredJar(index, path, canonicalPath, null,
+                    failed(index, path, canonicalPath, "Plugin jar not found: " + canonicalPath));
         }
         if (!canonicalFile.isFile()) {
-            return failed(index, path, canonicalPath, "Plugin path is not a file: " + canonicalPath);
+            return new ConfiguredJar(index, path, canonicalPath, null,
+                    failed(index, path, canonicalPath, "Plugin path is not a file: " + canonicalPath));
         }
         if (!canonicalFile.getName().endsWith(".jar")) {
-            return failed(index, path, canonicalPath, "Plugin path is not a jar file: " + canonicalPath);
+            return new ConfiguredJar(index, path, canonicalPath, null,
+                    failed(index, path, canonicalPath, "Plugin path is not a jar file: " + canonicalPath));
         }
+        return new ConfiguredJar(index, path, canonicalPath, canonicalFile, null);
+    }
 
-        PluginLoader.Summary summary;
+    private JarInspection cachedInspection(ConfiguredJar jar) {
+        JarInspection cached = inspections.get(jar.canonicalPath);
+        return cached != null && cached.matches(jar.file) ? cached : null;
+    }
+
+    /**
+     * Validates {@code jars} up front, one thread per jar up to the processor count. This only
+     * fills the cache: a jar it did not get to is validated when its entry is built.
+     */
+    private void inspectInParallel(List<ConfiguredJar> jars) {
+        if (jars.size() < 2) {
+            return;
+        }
+        int threads = Math.min(jars.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new InventoryThreadFactory());
         try {
-            synchronized (PluginLoader.class) {
-                summary = PluginLoader.validate(canonicalFile);
+            List<Future<?>> futures = new ArrayList<>(jars.size());
+            for (ConfiguredJar jar : jars) {
+                futures.add(executor.submit(() -> inspectJar(jar)));
             }
-        } catch (Exception e) {
-            return failed(index, path, canonicalPath, message("Plugin jar failed validation", e));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // The failing jar is validated again, and reported, when its entry is built.
+        } finally {
+            executor.shutdownNow();
         }
+    }
 
-        DescriptorInfo descriptor = DescriptorInfo.EMPTY;
+    private JarInspection inspectJar(ConfiguredJar jar) {
+        // Read before validating, so a jar replaced while it is validated is validated again.
+        long size = jar.file.length();
+        long lastModified = jar.file.lastModified();
+
+        PluginDescriptor descriptor;
         try {
-            descriptor = inspectDescriptor(canonicalFile);
-        } catch (Exception ignored) {
-            // Descriptor metadata is optional and must not override SpotBugs validation.
+            descriptor = read(jar.file);
+        } catch (Exception e) {
+            return cache(jar, JarInspection.failed(size, lastModified, message("Plugin jar failed validation", e)));
         }
+        return cache(jar, new JarInspection(size, lastModified, descriptor, null));
+    }
+
+    private JarInspection cache(ConfiguredJar jar, JarInspection inspection) {
+        inspections.put(jar.canonicalPath, inspection);
+        return inspection;
+    }
 
-        String pluginId = trimToNull(summary != null ? summary.id : null);
-        String shortDescription = trimToNull(summary != null ? summary.description : null);
-        String provider = trimToNull(summary != null ? summary.provider : null);
-        String website = trimToNull(summary != null ? summary.webbsite : null);
+    private PluginInventoryEntry entry(
+            ConfiguredJar jar,
+            Map<String, Integer> firstIndexByPluginId,
+            Set<String> canonicalPaths
+    ) {
+        boolean firstCanonicalPath = jar.canonicalPath == null || canonicalPaths.add(jar.canonicalPath);
+        if (jar.failure != null) {
+            return jar.failure;
+        }
+        int index = jar.index;
+        String path = jar.path;
+        String canonicalPath = jar.canonicalPath;
+
+        JarInspection inspection = cachedInspection(jar);
+        if (inspection == null) {
+            inspection = inspectJar(jar);
+        }
+        if (inspection.failure != null) {
+            return failed(index, path, canonicalPath, inspection.failure);
+        }
+
+        String pluginId = inspection.pluginId;
+        String shortDescription = inspection.shortDescription;
+        String provider = inspection.provider;
+        String website = inspection.website;
         if (pluginId != null && firstCanonicalPath) {
             Integer duplicateIndex = firstIndexByPluginId.get(pluginId);
             if (duplicateIndex != null) {
@@ -103,9 +177,9 @@ public class PluginInventoryService {
                         shortDescription,
                         provider,
                         website,
-                        descriptor.version,
-                        descriptor.detectorCount,
-                        descriptor.bugPatternCount,
+                        inspection.version,
+                        inspection.detectorCount,
+                        inspection.bugPatternCount,
                         "Duplicate plugin id: " + pluginId
                 );
             }
@@ -121,9 +195,9 @@ public class PluginInventoryService {
                 shortDescription,
                 provider,
                 website,
-                descriptor.version,
-                descriptor.detectorCount,
-                descriptor.bugPatternCount,
+                inspection.version,
+                inspection.detectorCount,
+                inspection.bugPatternCount,
                 null
         );
     }
@@ -150,47 +224,6 @@ public class PluginInventoryService {
         );
     }
 
-    private static DescriptorInfo inspectDescriptor(File pluginJar) throws Exception {
-        try (ZipFile zipFile = new ZipFile(pluginJar)) {
-            ZipEntry descriptorEntry = zipFile.getEntry("findbugs.xml");
-            if (descriptorEntry == null) {
-                throw new IllegalArgumentException("Plugin descriptor findbugs.xml was not found.");
-            }
-
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            factory.setXIncludeAware(false);
-            factory.setExpandEntityReferences(false);
-            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-
-            try (InputStream input = zipFile.getInputStream(descriptorEntry)) {
-                Document document = factory.newDocumentBuilder().parse(input);
-                Element root = document.getDocumentElement();
-                if (root == null || !"FindbugsPlugin".equals(root.getTagName())) {
-                    throw new IllegalArgumentException("Plugin descriptor root must be FindbugsPlugin.");
-                }
-
-                int detectorCount = 0;
-                int bugPatternCount = 0;
-                for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
-                    if (child.getNodeType() != Node.ELEMENT_NODE) {
-                        continue;
-                    }
-                    if ("Detector".equals(child.getNodeName())) {
-                        detectorCount++;
-                    } else if ("BugPattern".equals(child.getNodeName())) {
-                        bugPatternCount++;
-                    }
-                }
-                return new DescriptorInfo(trimToNull(root.getAttribute("version")), detectorCount, bugPatternCount);
-            }
-        }
-    }
-
     private static String message(String prefix, Exception exception) {
         String detail = exception != null ? exception.getMessage() : null;
         if (detail == null || detail.trim().isEmpty()) {
@@ -207,17 +240,70 @@ public class PluginInventoryService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private static final class DescriptorInfo {
-        private static final DescriptorInfo EMPTY = new DescriptorInfo(null, null, null);
+    /** A configured plugin path, resolved to a jar to validate or to the entry reporting why not. */
+    private static final class ConfiguredJar {
+        private final int index;
+        private final String path;
+        private final String canonicalPath;
+        private final File file;
+        private final PluginInventoryEntry failure;
 
+        private ConfiguredJar(int index, String path, String canonicalPath, File file, PluginInventoryEntry failure) {
+            this.index = index;
+            this.path = path;
+            this.canonicalPath = canonicalPath;
+            this.file = file;
+            this.failure = failure;
+        }
+
+        private static ConfiguredJar failed(PluginInventoryEntry failure) {
+            return new ConfiguredJar(failure.getIndex(), failure.getPath(), null, null, failure);
+        }
+    }
+
+    /** What a jar validated to, valid while its size and modification time are unchanged. */
+    private static final class JarInspection {
+        private final long size;
+        private final long lastModified;
+        private final String pluginId;
+        private final String shortDescription;
+        private final String provider;
+        private final String website;
         private final String version;
         private final Integer detectorCount;
         private final Integer bugPatternCount;
+        private final String failure;
+
+        private JarInspection(long size, long lastModified, PluginDescriptor descriptor, String failure) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.pluginId = trimToNull(descriptor != null ? descriptor.getPluginId() : null);
+            this.shortDescription = trimToNull(descriptor != null ? descriptor.getShortDescription() : null);
+            this.provider = trimToNull(descriptor != null ? descriptor.getProvider() : null);
+            this.website = trimToNull(descriptor != null ? descriptor.getWebsite() : null);
+            this.version = trimToNull(descriptor != null ? descriptor.getVersion() : null);
+            this.detectorCount = descriptor != null ? descriptor.getDetectorCount() : null;
+            this.bugPatternCount = descriptor != null ? descriptor.getBugPatternCount() : null;
+            this.failure = failure;
+        }
+
+        private static JarInspection failed(long size, long lastModified, String failure) {
+            return new JarInspection(size, lastModified, null, failure);
+        }
+
+        private boolean matches(File jar) {
+            return jar.length() == size && jar.lastModified() == lastModified;
+        }
+    }
+
+    private static final class InventoryThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
 
-        private DescriptorInfo(String version, Integer detectorCount, Integer bugPatternCount) {
-            this.version = version;
-            this.detectorCount = detectorCount;
-            this.bugPatternCount = bugPatternCount;
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "spotbugs-plugin-inventory-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
     }
 }
@@ -0,0 +1,36 @@
+package com.spotbugs.vscode.runner.internal;
+
+/**
+ * Files that native reports of a run are written to instead of being returned as strings. A
+ * {@code null} path leaves that report to the in-memory flags.
+ */
+public final class ReportExport {
+
+    public static final ReportExport NONE = new ReportExport(null, null);
+
+    private final String nativeSarifPath;
+    private final String baselineXmlPath;
+
+    private ReportExport(String nativeSarifPath, String baselineXmlPath) {
+        this.nativeSarifPath = nativeSarifPath;
+        this.baselineXmlPath = baselineXmlPath;
+    }
+
+    public static ReportExport of(String nativeSarifPath, String baselineXmlPath) {
+        return nativeSarifPath == null && baselineXmlPath == null
+                ? NONE
+                : new ReportExport(nativeSarifPath, baselineXmlPath);
+    }
+
+    public String getNativeSarifPath() {
+        return nativeSarifPath;
+    }
+
+    public String getBaselineXmlPath() {
+        return baselineXmlPath;
+    }
+
+    public boolean isEmpty() {
+        return nativeSarifPath == null && baselineXmlPath == null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.spotbugs.vscode.runner.api.ReportFile;
+import com.spotbugs.vscode.runner.internal.jfr.RunnerEvents;
+
+/**
+ * Streams a report to disk through a buffered {@link FileChannel}, so the report never has to be
+ * held in memory as a whole.
+ */
+final class ReportFileWriter {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    interface Body {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    private ReportFileWriter() {
+    }
+
+    /**
+     * Writes {@code body} to a temporary file next to {@code target} and moves it into place once
+     * complete, so a failed or cancelled export never leaves a truncated report behind.
+     */
+    static ReportFile write(String target, Body body) throws IOException {
+        try (RunnerEvents.Span event = RunnerEvents.reportWrite(target)) {
+            ReportFile written = writeFile(target, body);
+            event.bytes(written.getByteCount());
+            return written;
+        }
+    }
+
+    private static ReportFile writeFile(String target, Body body) throws IOException {
+        Path path = Paths.get(target).toAbsolutePath().normalize();
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "." + path.getFileName(), ".tmp");
+        try {
+            try (Writer out = new BufferedWriter(
+                    Channels.newWriter(
+                            FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                            StandardCharsets.UTF_8.newEncoder(),
+                            BUFFER_CHARS
+                    ),
+                    BUFFER_CHARS
+            )) {
+                // Report writers close their output when done; keep the channel open until flushed.
+                body.writeTo(new FilterWriter(out) {
+                    @Override
+                    public void close() throws IOException {
+                        flush();
+                    }
+                });
+            }
+            long byteCount = Files.size(temp);
+            move(temp, path);
+            return new ReportFile(path.toString(), byteCount);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
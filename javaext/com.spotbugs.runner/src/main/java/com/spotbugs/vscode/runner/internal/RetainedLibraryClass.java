@@ -0,0 +1,168 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.ba.AnalysisContext;
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.ba.XMethod;
+import edu.umd.cs.findbugs.classfile.analysis.MethodInfo;
+
+/**
+ * A library class kept across runs together with what SpotBugs records about its methods outside
+ * of the {@link MethodInfo} objects themselves: the entries of the run's
+ * {@code MethodInfo.MethodInfoDatabase} (unconditional throwers, unsupported, identity, access and
+ * invokedynamic methods) and the bridge method pairs of its {@link AnalysisContext}. Both are
+ * dropped at the end of every run, so a reused class is only correct once they are registered with
+ * the run that reuses it.
+ */
+final class RetainedLibraryClass {
+
+    private static final String[] DATABASE_FIELD_NAMES = {
+            "unconditionalThrowers",
+            "unsupportedMethods",
+            "accessMethodForMethod",
+            "accessMethodForField",
+            "identityMethods",
+            "invokeDynamicMethods",
+    };
+    private static final Method GET_DATABASE;
+    private static final List<Field> DATABASE_FIELDS;
+
+    static {
+        Method getDatabase = null;
+        List<Field> fields = new ArrayList<>(DATABASE_FIELD_NAMES.length);
+        try {
+            getDatabase = MethodInfo.class.getDeclaredMethod("getDatabase");
+            getDatabase.setAccessible(true);
+            Class<?> database = getDatabase.getReturnType();
+            for (String name : DATABASE_FIELD_NAMES) {
+                Field field = database.getDeclaredField(name);
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            getDatabase = null;
+        }
+        GET_DATABASE = getDatabase;
+        DATABASE_FIELDS = getDatabase != null ? Collections.unmodifiableList(fields) : Collections.emptyList();
+    }
+
+    private final XClass xClass;
+    /** This class's entries of each map named by {@link #DATABASE_FIELD_NAMES}, in that order. */
+    private final List<Map<MethodInfo, Object>> databaseEntries;
+    private final Map<MethodInfo, MethodInfo> bridgeTargets;
+
+    private RetainedLibraryClass(
+            XClass xClass,
+            List<Map<MethodInfo, Object>> databaseEntries,
+            Map<MethodInfo, MethodInfo> bridgeTargets
+    ) {
+        this.xClass = xClass;
+        this.databaseEntries = databaseEntries;
+        this.bridgeTargets = bridgeTargets;
+    }
+
+    /**
+     * Captures {@code xClass} with its method facts. Must be called while the run that parsed the
+     * class is still current; returns {@code null} when the facts cannot be read, in which case
+     * the class has to be parsed again by later runs.
+     */
+    static RetainedLibraryClass capture(XClass xClass) {
+        List<Map<MethodInfo, Object>> databases = currentDatabase();
+        AnalysisContext context = AnalysisContext.currentAnalysisContext();
+        if (databases == null || context == null) {
+            return null;
+        }
+        List<Map<MethodInfo, Object>> entries = new ArrayList<>(databases.size());
+        for (int i = 0; i < databases.size(); i++) {
+            entries.add(Collections.emptyMap());
+        }
+        Map<MethodInfo, MethodInfo> bridgeTargets = Collections.emptyMap();
+        for (XMethod xMethod : xClass.getXMethods()) {
+            if (!(xMethod instanceof MethodInfo)) {
+                continue;
+            }
+            MethodInfo method = (MethodInfo) xMethod;
+            for (int i = 0; i < databases.size(); i++) {
+                Map<MethodInfo, Object> database = databases.get(i);
+                if (database.containsKey(method)) {
+                    if (entries.get(i).isEmpty()) {
+                        entries.set(i, new IdentityHashMap<>());
+                    }
+                    entries.get(i).put(method, database.get(method));
+                }
+            }
+            XMethod target = context.getBridgeTo(method);
+            if (target instanceof MethodInfo) {
+                if (bridgeTargets.isEmpty()) {
+                    bridgeTargets = new IdentityHashMap<>();
+                }
+                bridgeTargets.put(method, (MethodInfo) target);
+            }
+        }
+        return new RetainedLibraryClass(xClass, entries, bridgeTargets);
+    }
+
+    XClass getXClass() {
+        return xClass;
+    }
+
+    /** Number of method facts kept besides the class itself. */
+    int factCount() {
+        int count = bridgeTargets.size();
+        for (Map<MethodInfo, Object> entries : databaseEntries) {
+            count += entries.size();
+        }
+        return count;
+    }
+
+    /**
+     * Registers the retained method facts with the current run. Returns {@code false} when they
+     * cannot be registered, in which case the class must not be reused by that run.
+     */
+    boolean registerWithCurrentRun() {
+        List<Map<MethodInfo, Object>> databases = currentDatabase();
+        AnalysisContext context = AnalysisContext.currentAnalysisContext();
+        if (databases == null || context == null) {
+            return false;
+        }
+        for (int i = 0; i < databases.size(); i++) {
+            databases.get(i).putAll(databaseEntries.get(i));
+        }
+        for (Map.Entry<MethodInfo, MethodInfo> bridge : bridgeTargets.entrySet()) {
+            context.setBridgeMethod(bridge.getKey(), bridge.getValue());
+        }
+        return true;
+    }
+
+    /** The maps of the current run's {@code MethodInfoDatabase}, or {@code null} when unreachable. */
+    @SuppressWarnings("unchecked")
+    private static List<Map<MethodInfo, Object>> currentDatabase() {
+        if (GET_DATABASE == null) {
+            return null;
+        }
+        try {
+            Object database = GET_DATABASE.invoke(null);
+            if (database == null) {
+                return null;
+            }
+            List<Map<MethodInfo, Object>> maps = new ArrayList<>(DATABASE_FIELDS.size());
+            for (Field field : DATABASE_FIELDS) {
+                Object value = field.get(database);
+                if (!(value instanceof Map)) {
+                    return null;
+                }
+                maps.add((Map<MethodInfo, Object>) value);
+            }
+            return maps;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -5,39 +5,80 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
 public class SourcePathResolver {
 
+    private static final String UNRESOLVED = "";
+
+    private final List<Path> sourceRoots;
+    private final String targetPath;
+    private final Map<String, String> resolved = new HashMap<>();
+
+    public SourcePathResolver() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a resolver for one run. Source roots are normalized once and every
+     * {@code realSourcePath} is resolved at most once, so findings that share a source file cost a
+     * single lookup.
+     */
+    public SourcePathResolver(List<String> sourcepaths, String targetPath) {
+        this.sourceRoots = normalizeRoots(sourcepaths);
+        this.targetPath = targetPath;
+    }
+
     public String resolve(String realSourcePath, List<String> sourcepaths, String targetPath) {
         return resolve(realSourcePath, sourcepaths, targetPath, null);
     }
 
     public String resolve(String realSourcePath, List<String> sourcepaths, String targetPath, IProgressMonitor monitor) {
+        return resolveAgainst(realSourcePath, normalizeRoots(sourcepaths), targetPath, monitor);
+    }
+
+    /** Resolves against the source roots and target this resolver was created with, memoizing the result. */
+    public String resolve(String realSourcePath, IProgressMonitor monitor) {
+        checkCanceled(monitor);
+        if (realSourcePath == null) {
+            return null;
+        }
+        String cached = resolved.get(realSourcePath);
+        if (cached == null) {
+            String fullPath = resolveAgainst(realSourcePath, sourceRoots, targetPath, monitor);
+            cached = fullPath != null ? fullPath : UNRESOLVED;
+            resolved.put(realSourcePath, cached);
+        }
+        return cached.isEmpty() ? null : cached;
+    }
+
+    private static String resolveAgainst(
+            String realSourcePath,
+            List<Path> sourceRoots,
+            String targetPath,
+            IProgressMonitor monitor
+    ) {
         checkCanceled(monitor);
         String safeRelativePath = SourcePathPolicy.relativeSourcePath(realSourcePath);
         if (safeRelativePath == null) {
             return null;
         }
 
-        if (sourcepaths != null && !sourcepaths.isEmpty()) {
-            for (String sourceRoot : sourcepaths) {
-                checkCanceled(monitor);
-                if (sourceRoot == null || sourceRoot.trim().isEmpty()) {
-                    continue;
-                }
-
-                try {
-                    Path normalizedRoot = Paths.get(sourceRoot).toAbsolutePath().normalize();
-                    Path candidate = normalizedRoot.resolve(safeRelativePath).normalize();
-                    if (candidate.startsWith(normalizedRoot) && Files.isRegularFile(candidate)) {
-                        return candidate.toString();
-                    }
-                } catch (InvalidPathException ignored) {
-                    // Ignore malformed configured source roots and try the next one.
+        for (Path normalizedRoot : sourceRoots) {
+            checkCanceled(monitor);
+            try {
+                Path candidate = normalizedRoot.resolve(safeRelativePath).normalize();
+                if (candidate.startsWith(normalizedRoot) && Files.isRegularFile(candidate)) {
+                    return candidate.toString();
                 }
+            } catch (InvalidPathException ignored) {
+                // Ignore relative paths this file system cannot represent under the root.
             }
         }
 
@@ -56,6 +97,24 @@ public class SourcePathResolver {
         return null;
     }
 
+    private static List<Path> normalizeRoots(List<String> sourcepaths) {
+        if (sourcepaths == null || sourcepaths.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Path> roots = new ArrayList<>(sourcepaths.size());
+        for (String sourceRoot : sourcepaths) {
+            if (sourceRoot == null || sourceRoot.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                roots.add(Paths.get(sourceRoot).toAbsolutePath().normalize());
+            } catch (InvalidPathException ignored) {
+                // Ignore malformed configured source roots and try the next one.
+            }
+        }
+        return roots;
+    }
+
     private static String normalize(String value) {
         return value.replace('\\', '/');
     }
@@ -4,9 +4,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.spotbugs.vscode.runner.api.AnalysisProfile;
 import com.spotbugs.vscode.runner.api.AnalysisReportSummary;
 import com.spotbugs.vscode.runner.api.BugInfo;
 import com.spotbugs.vscode.runner.api.CommandWarning;
+import com.spotbugs.vscode.runner.api.ReportFile;
 
 public class SpotBugsAnalysisResult {
 
@@ -15,6 +17,9 @@ public class SpotBugsAnalysisResult {
     private final AnalysisReportSummary reportSummary;
     private final String nativeSarif;
     private final String baselineXml;
+    private final ReportFile nativeSarifFile;
+    private final ReportFile baselineXmlFile;
+    private final AnalysisProfile profile;
 
     public SpotBugsAnalysisResult(List<BugInfo> bugs, List<CommandWarning> warnings) {
         this(bugs, warnings, null, null, null);
@@ -26,12 +31,40 @@ public class SpotBugsAnalysisResult {
             AnalysisReportSummary reportSummary,
             String nativeSarif,
             String baselineXml
+    ) {
+        this(bugs, warnings, reportSummary, nativeSarif, baselineXml, null, null);
+    }
+
+    public SpotBugsAnalysisResult(
+            List<BugInfo> bugs,
+            List<CommandWarning> warnings,
+            AnalysisReportSummary reportSummary,
+            String nativeSarif,
+            String baselineXml,
+            ReportFile nativeSarifFile,
+            ReportFile baselineXmlFile
+    ) {
+        this(bugs, warnings, reportSummary, nativeSarif, baselineXml, nativeSarifFile, baselineXmlFile, null);
+    }
+
+    public SpotBugsAnalysisResult(
+            List<BugInfo> bugs,
+            List<CommandWarning> warnings,
+            AnalysisReportSummary reportSummary,
+            String nativeSarif,
+            String baselineXml,
+            ReportFile nativeSarifFile,
+            ReportFile baselineXmlFile,
+            AnalysisProfile profile
     ) {
         this.bugs = normalize(bugs);
         this.warnings = normalize(warnings);
         this.reportSummary = reportSummary;
         this.nativeSarif = nativeSarif;
         this.baselineXml = baselineXml;
+        this.nativeSarifFile = nativeSarifFile;
+        this.baselineXmlFile = baselineXmlFile;
+        this.profile = profile;
     }
 
     public List<BugInfo> getBugs() {
@@ -54,6 +87,21 @@ public class SpotBugsAnalysisResult {
         return baselineXml;
     }
 
+    /** The native SARIF report written by a {@link ReportExport}, or {@code null}. */
+    public ReportFile getNativeSarifFile() {
+        return nativeSarifFile;
+    }
+
+    /** The baseline XML report written by a {@link ReportExport}, or {@code null}. */
+    public ReportFile getBaselineXmlFile() {
+        return baselineXmlFile;
+    }
+
+    /** Per-pass and per-detector cost of the run when detector profiling was on, or {@code null}. */
+    public AnalysisProfile getProfile() {
+        return profile;
+    }
+
     public static SpotBugsAnalysisResult empty() {
         return new SpotBugsAnalysisResult(Collections.emptyList(), Collections.emptyList());
     }
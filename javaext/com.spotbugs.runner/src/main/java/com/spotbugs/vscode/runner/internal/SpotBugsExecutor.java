@@ -3,6 +3,7 @@ package com.spotbugs.vscode.runner.internal;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.util.ArrayList;
@@ -13,15 +14,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import com.spotbugs.vscode.runner.api.AnalysisProfile;
 import com.spotbugs.vscode.runner.api.AnalysisReportSummary;
 import com.spotbugs.vscode.runner.api.BugInfo;
 import com.spotbugs.vscode.runner.api.CommandWarning;
+import com.spotbugs.vscode.runner.api.ReportFile;
+import com.spotbugs.vscode.runner.internal.jfr.RunnerEvents;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import edu.umd.cs.findbugs.BugCollectionBugReporter;
 import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.BugPattern;
 import edu.umd.cs.findbugs.BugRanker;
 import edu.umd.cs.findbugs.DetectorFactoryCollection;
 import edu.umd.cs.findbugs.FindBugs2;
@@ -37,7 +44,17 @@ import edu.umd.cs.findbugs.config.UserPreferences;
 
 public class SpotBugsExecutor {
 
-    private static final Object SPOTBUGS_GLOBAL_LOCK = new Object();
+    /**
+     * Guards SpotBugs' JVM-wide plugin registry and {@link DetectorFactoryCollection} singleton.
+     * {@code FindBugs2} keeps its {@code AnalysisContext} and analysis cache in thread locals, so
+     * runs that leave the registry untouched share the read lock and run in parallel. Runs that
+     * load custom plugin jars mutate the registry and take the write lock.
+     * <p>
+     * A retained plugin set (see {@link RetainedPlugins}) is only swapped under the write lock, so
+     * the read lock holders double as its reference count: the set stays loaded while any run
+     * uses it, and is unloaded by the first run that asks for a different one.
+     */
+    private static final ReentrantReadWriteLock SPOTBUGS_GLOBAL_STATE = new ReentrantReadWriteLock();
 
     private final FindBugs2 findBugs;
     private final Project project;
@@ -46,35 +63,43 @@ public class SpotBugsExecutor {
     private final int effectiveRankThreshold;
     private final List<String> pluginJars; // optional
     private final PluginLifecycle pluginLifecycle;
+    private final boolean retainPlugins;
+    private final PhaseTimings timings;
+    private final boolean profileDetectors;
+    private final FindingDetails findingDetails; // optional
+    private final UserPreferences userPreferences; // optional
 
     public SpotBugsExecutor(FindBugs2 findBugs, Project project, Integer rankThreshold, List<String> pluginJars) {
-        this(findBugs, project, rankThreshold, pluginJars, PluginLifecycle.DEFAULT);
+        this(newBuilder(findBugs, project).rankThreshold(rankThreshold).pluginJars(pluginJars));
     }
 
-    SpotBugsExecutor(
-            FindBugs2 findBugs,
-            Project project,
-            Integer rankThreshold,
-            List<String> pluginJars,
-            PluginLifecycle pluginLifecycle
-    ) {
-        this.findBugs = findBugs;
-        this.project = project;
+    private SpotBugsExecutor(Builder b) {
+        this.findBugs = b.findBugs;
+        this.project = b.project;
         this.defaultBugReporter = new DeferredSarifBugReporter(project);
-        this.effectivePriorityThreshold = rankThreshold == null
+        this.effectivePriorityThreshold = b.rankThreshold == null
                 ? Priorities.HIGH_PRIORITY
                 : Priorities.LOW_PRIORITY;
-        this.effectiveRankThreshold = rankThreshold == null
+        this.effectiveRankThreshold = b.rankThreshold == null
                 ? BugRanker.VISIBLE_RANK_MAX
                 : Math.max(
                         BugRanker.VISIBLE_RANK_MIN,
-                        Math.min(BugRanker.VISIBLE_RANK_MAX, rankThreshold.intValue())
+                        Math.min(BugRanker.VISIBLE_RANK_MAX, b.rankThreshold.intValue())
                 );
-        this.pluginJars = pluginJars;
-        this.pluginLifecycle = pluginLifecycle != null ? pluginLifecycle : PluginLifecycle.DEFAULT;
+        this.pluginJars = b.pluginJars;
+        this.pluginLifecycle = b.pluginLifecycle != null ? b.pluginLifecycle : PluginLifecycle.DEFAULT;
+        this.retainPlugins = b.retainPlugins;
+        this.timings = b.timings != null ? b.timings : new PhaseTimings();
+        this.profileDetectors = b.profileDetectors;
+        this.findingDetails = b.findingDetails;
+        this.userPreferences = b.userPreferences;
         configureReporter(this.defaultBugReporter);
     }
 
+    static Builder newBuilder(FindBugs2 findBugs, Project project) {
+        return new Builder(findBugs, project);
+    }
+
     public List<BugInfo> executeBugs() throws IOException, InterruptedException {
         return executeBugsWithWarnings(null, false).getBugs();
     }
@@ -87,119 +112,322 @@ public class SpotBugsExecutor {
             IProgressMonitor monitor,
             boolean includeBaselineXml
     ) throws IOException, InterruptedException {
-        synchronized (SPOTBUGS_GLOBAL_LOCK) {
-            checkCanceled(monitor);
-            LoadedPlugins loadedPlugins = LoadedPlugins.load(pluginJars, project, pluginLifecycle);
-            List<BugInfo> bugs;
-            AnalysisReportSummary reportSummary;
-            String nativeSarif = null;
-            String baselineXml = null;
-            CommandWarning sarifWarning = null;
-            CommandWarning baselineWarning = null;
-            boolean analysisIncomplete;
+        return executeBugsWithWarnings(monitor, true, includeBaselineXml);
+    }
+
+    public SpotBugsAnalysisResult executeBugsWithWarnings(
+            IProgressMonitor monitor,
+            boolean includeNativeSarif,
+            boolean includeBaselineXml
+    ) throws IOException, InterruptedException {
+        return executeBugsWithWarnings(monitor, includeNativeSarif, includeBaselineXml, ReportExport.NONE);
+    }
+
+    /**
+     * Runs the analysis. The native SARIF and baseline XML reports are only rendered when asked
+     * for, since rendering them can cost as much as collecting the findings on large projects.
+     * Reports with a path in {@code export} are streamed to that file instead of returned.
+     */
+    public SpotBugsAnalysisResult executeBugsWithWarnings(
+            IProgressMonitor monitor,
+            boolean includeNativeSarif,
+            boolean includeBaselineXml,
+            ReportExport export
+    ) throws IOException, InterruptedException {
+        ReportExport reports = export != null ? export : ReportExport.NONE;
+        if (!retainPlugins && hasPluginJars(pluginJars)) {
+            Lock writeLock = SPOTBUGS_GLOBAL_STATE.writeLock();
+            writeLock.lockInterruptibly();
             try {
-                execute(defaultBugReporter, monitor);
+                checkCanceled(monitor);
+                long loadingStarted = System.nanoTime();
+                List<CommandWarning> warnings = RetainedPlugins.evict();
+                LoadedPlugins loadedPlugins = LoadedPlugins.load(pluginJars, project, pluginLifecycle);
+                timings.record(PhaseTimings.Phase.PLUGIN_LOADING, loadingStarted);
+                return analyze(monitor, includeNativeSarif, includeBaselineXml, reports, loadedPlugins, warnings);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        PluginSetKey requested = retainPlugins
+                ? PluginSetKey.of(pluginJarFiles(pluginJars), pluginLifecycle)
+                : PluginSetKey.EMPTY;
+        List<CommandWarning> warnings = new ArrayList<>();
+        Lock readLock = SPOTBUGS_GLOBAL_STATE.readLock();
+        readLock.lockInterruptibly();
+        boolean reading = true;
+        try {
+            if (!RetainedPlugins.holds(requested)) {
+                readLock.unlock();
+                reading = false;
+                Lock writeLock = SPOTBUGS_GLOBAL_STATE.writeLock();
+                writeLock.lockInterruptibly();
+                try {
+                    checkCanceled(monitor);
+                    if (!RetainedPlugins.holds(requested)) {
+                        long loadingStarted = System.nanoTime();
+                        warnings.addAll(RetainedPlugins.replace(requested, pluginJars, project, pluginLifecycle));
+                        timings.record(PhaseTimings.Phase.PLUGIN_LOADING, loadingStarted);
+                    }
+                } finally {
+                    // Downgrade so the plugin set cannot be swapped out before this run starts.
+                    readLock.lock();
+                    reading = true;
+                    writeLock.unlock();
+                }
+            }
+            checkCanceled(monitor);
+            return analyze(monitor, includeNativeSarif, includeBaselineXml, reports, null, warnings);
+        } finally {
+            if (reading) {
+                readLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Unloads the retained plugin set, if any, once no analysis is using it. Close failures are
+     * dropped since there is no run left to report them on.
+     */
+    public static void releaseRetainedPlugins() {
+        Lock writeLock = SPOTBUGS_GLOBAL_STATE.writeLock();
+        writeLock.lock();
+        try {
+            RetainedPlugins.evict();
+        } catch (RuntimeException ignored) {
+            // The registry has been reset; nothing else can be done with a failed plugin.
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** The bug pattern SpotBugs' registry currently knows as {@code type}, or {@code null}. */
+    static BugPattern lookupBugPattern(String type) {
+        Lock readLock = SPOTBUGS_GLOBAL_STATE.readLock();
+        readLock.lock();
+        try {
+            return DetectorFactoryCollection.instance().lookupBugPattern(type);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private SpotBugsAnalysisResult analyze(
+            IProgressMonitor monitor,
+            boolean includeNativeSarif,
+            boolean includeBaselineXml,
+            ReportExport export,
+            LoadedPlugins runPlugins,
+            List<CommandWarning> warnings
+    ) throws IOException, InterruptedException {
+        List<BugInfo> bugs;
+        AnalysisReportSummary reportSummary;
+        String nativeSarif = null;
+        String baselineXml = null;
+        ReportFile nativeSarifFile = null;
+        ReportFile baselineXmlFile = null;
+        CommandWarning sarifWarning = null;
+        CommandWarning baselineWarning = null;
+        boolean analysisIncomplete;
+        AnalysisProfile profile = null;
+        try {
+            DetectorProfiler profiler = profileDetectors
+                    ? new DetectorProfiler(defaultBugReporter.getProjectStats().getProfiler())
+                    : null;
+            execute(defaultBugReporter, monitor, profiler);
+            long sarifStarted = System.nanoTime();
+            if (export.getNativeSarifPath() != null) {
                 try {
-                    nativeSarif = defaultBugReporter.writeSarif();
+                    nativeSarifFile = ReportFileWriter.write(
+                            export.getNativeSarifPath(),
+                            defaultBugReporter::writeSarif
+                    );
+                } catch (IOException | RuntimeException | LinkageError e) {
+                    sarifWarning = new CommandWarning(
+                            "SARIF_REPORT_UNAVAILABLE",
+                            "Failed to write the native SpotBugs SARIF report: " + failureMessage(e)
+                    );
+                }
+            } else if (includeNativeSarif) {
+                try {
+                    try (RunnerEvents.Span event = RunnerEvents.reportWrite("sarif")) {
+                        nativeSarif = defaultBugReporter.writeSarif();
+                        event.bytes(nativeSarif.length());
+                    }
                 } catch (RuntimeException | LinkageError e) {
                     sarifWarning = new CommandWarning(
                             "SARIF_REPORT_UNAVAILABLE",
                             "Failed to generate the native SpotBugs SARIF report: " + failureMessage(e)
                     );
                 }
-                bugs = collectBugs(defaultBugReporter);
-                reportSummary = collectReportSummary(defaultBugReporter);
-                analysisIncomplete = !defaultBugReporter.getQueuedErrors().isEmpty()
-                        || ((SortedBugCollection) defaultBugReporter.getBugCollection())
-                                .missingClassIterator().hasNext();
-                if (includeBaselineXml && !analysisIncomplete) {
-                    try {
-                        checkCanceled(monitor);
-                        baselineXml = writeBaselineXml(defaultBugReporter.getBugCollection().getCollection());
-                        checkCanceled(monitor);
-                    } catch (CancellationException cancellation) {
-                        throw cancellation;
-                    } catch (IOException | RuntimeException | LinkageError e) {
-                        baselineWarning = new CommandWarning(
-                                "BASELINE_REPORT_UNAVAILABLE",
-                                "Failed to generate the native SpotBugs baseline report: " + failureMessage(e)
+            } else {
+                defaultBugReporter.skipSarif();
+            }
+            if (export.getNativeSarifPath() != null || includeNativeSarif) {
+                timings.record(PhaseTimings.Phase.SARIF, sarifStarted);
+            }
+            long conversionStarted = System.nanoTime();
+            bugs = collectBugs(defaultBugReporter);
+            reportSummary = collectReportSummary(defaultBugReporter);
+            timings.record(PhaseTimings.Phase.BUG_CONVERSION, conversionStarted);
+            if (profiler != null) {
+                profile = profiler.build(defaultBugReporter.getBugCollection().getCollection());
+            }
+            analysisIncomplete = !defaultBugReporter.getQueuedErrors().isEmpty()
+                    || ((SortedBugCollection) defaultBugReporter.getBugCollection())
+                            .missingClassIterator().hasNext();
+            boolean exportBaselineXml = export.getBaselineXmlPath() != null;
+            if ((includeBaselineXml || exportBaselineXml) && !analysisIncomplete) {
+                long baselineStarted = System.nanoTime();
+                try {
+                    checkCanceled(monitor);
+                    Collection<BugInstance> source = defaultBugReporter.getBugCollection().getCollection();
+                    if (exportBaselineXml) {
+                        baselineXmlFile = ReportFileWriter.write(
+                                export.getBaselineXmlPath(),
+                                writer -> writeBaselineXml(source, writer)
                         );
+                    } else {
+                        try (RunnerEvents.Span event = RunnerEvents.reportWrite("baseline")) {
+                            baselineXml = writeBaselineXml(source);
+                            event.bytes(baselineXml.length());
+                        }
                     }
+                    checkCanceled(monitor);
+                } catch (CancellationException cancellation) {
+                    throw cancellation;
+                } catch (IOException | RuntimeException | LinkageError e) {
+                    baselineWarning = new CommandWarning(
+                            "BASELINE_REPORT_UNAVAILABLE",
+                            "Failed to generate the native SpotBugs baseline report: " + failureMessage(e)
+                    );
+                } finally {
+                    timings.record(PhaseTimings.Phase.BASELINE_XML, baselineStarted);
                 }
-            } catch (IOException | InterruptedException | RuntimeException | Error failure) {
-                loadedPlugins.closeAfterFailure(failure);
-                throw failure;
-            }
-            List<CommandWarning> warnings = loadedPlugins.closeAfterSuccess();
-            if (sarifWarning != null) {
-                warnings.add(sarifWarning);
-            }
-            if (baselineWarning != null) {
-                warnings.add(baselineWarning);
             }
-            if (analysisIncomplete) {
-                warnings.add(new CommandWarning(
-                        "ANALYSIS_INCOMPLETE",
-                        "SpotBugs analysis may be incomplete because classes were missing or recoverable errors occurred."
-                ));
+        } catch (IOException | InterruptedException | RuntimeException | Error failure) {
+            if (runPlugins != null) {
+                runPlugins.closeAfterFailure(failure);
             }
-            return new SpotBugsAnalysisResult(bugs, warnings, reportSummary, nativeSarif, baselineXml);
+            throw failure;
+        }
+        if (runPlugins != null) {
+            warnings.addAll(runPlugins.closeAfterSuccess());
+        }
+        if (sarifWarning != null) {
+            warnings.add(sarifWarning);
         }
+        if (baselineWarning != null) {
+            warnings.add(baselineWarning);
+        }
+        if (analysisIncomplete) {
+            warnings.add(new CommandWarning(
+                    "ANALYSIS_INCOMPLETE",
+                    "SpotBugs analysis may be incomplete because classes were missing or recoverable errors occurred."
+            ));
+        }
+        return new SpotBugsAnalysisResult(
+                bugs,
+                warnings,
+                reportSummary,
+                nativeSarif,
+                baselineXml,
+                nativeSarifFile,
+                baselineXmlFile,
+                profile
+        );
     }
 
     private static String writeBaselineXml(Collection<BugInstance> source) throws IOException {
+        StringWriter writer = new StringWriter();
+        writeBaselineXml(source, writer);
+        return writer.toString();
+    }
+
+    private static void writeBaselineXml(Collection<BugInstance> source, Writer writer) throws IOException {
         SortedBugCollection baseline = new SortedBugCollection(new Project());
         baseline.addAll(source, false);
         baseline.setWithMessages(false);
         baseline.setMinimalXML(true);
-        StringWriter writer = new StringWriter();
         baseline.writeXML(writer);
-        return writer.toString();
     }
 
-    private void execute(BugCollectionBugReporter reporter, IProgressMonitor monitor)
+    private void execute(BugCollectionBugReporter reporter, IProgressMonitor monitor, DetectorProfiler profiler)
             throws IOException, InterruptedException {
         findBugs.setProject(project);
         findBugs.setBugReporter(reporter);
-        UserPreferences currentPreferences = findBugs.getUserPreferences();
+        UserPreferences currentPreferences = userPreferences != null ? userPreferences : findBugs.getUserPreferences();
         if (currentPreferences != null) {
-            // Re-apply current preferences so filter wrappers bind to the current bug reporter chain.
+            // Apply preferences after the reporter so filter wrappers bind to the current bug reporter chain.
             findBugs.setUserPreferences(currentPreferences);
         }
         DetectorFactoryCollection dfc = DetectorFactoryCollection.instance();
         findBugs.setDetectorFactoryCollection(dfc);
-        if (monitor == null) {
+        RunProgress progress = new RunProgress(monitor, profiler);
+        findBugs.setProgressCallback(progress);
+        long started = System.nanoTime();
+        try (RunnerEvents.Span event = RunnerEvents.engineExecution()) {
+            event.targets(project.getFileCount());
             findBugs.execute();
-            return;
+            event.findings(reporter.getBugCollection().getCollection().size());
+            checkCanceled(monitor);
+        } finally {
+            long finished = System.nanoTime();
+            long analysisStarted = progress.analysisStartedNanos;
+            if (analysisStarted == 0L) {
+                timings.add(PhaseTimings.Phase.CLASS_PATH_BUILD, finished - started);
+            } else {
+                timings.add(PhaseTimings.Phase.CLASS_PATH_BUILD, analysisStarted - started);
+                timings.add(PhaseTimings.Phase.ANALYSIS, finished - analysisStarted);
+            }
+            if (profiler != null) {
+                profiler.finished();
+            }
+            findBugs.setProgressCallback(new NoOpFindBugsProgress());
         }
+    }
 
-        findBugs.setProgressCallback(new NoOpFindBugsProgress() {
-            private void interruptIfCanceled() {
-                if (monitor.isCanceled()) {
-                    Thread.currentThread().interrupt();
-                }
-            }
+    /**
+     * Interrupts SpotBugs once the run is cancelled and notes when the first detector pass
+     * starts, which separates SpotBugs' setup from the analysis itself. Every pass start is
+     * passed on to the detector profiler, if the run has one.
+     */
+    private static final class RunProgress extends NoOpFindBugsProgress {
+        private final IProgressMonitor monitor;
+        private final DetectorProfiler profiler;
+        private volatile long analysisStartedNanos;
+
+        private RunProgress(IProgressMonitor monitor, DetectorProfiler profiler) {
+            this.monitor = monitor;
+            this.profiler = profiler;
+        }
 
-            @Override
-            public void finishArchive() {
-                interruptIfCanceled();
+        private void interruptIfCanceled() {
+            if (monitor != null && monitor.isCanceled()) {
+                Thread.currentThread().interrupt();
             }
+        }
 
-            @Override
-            public void startAnalysis(int numClasses) {
-                interruptIfCanceled();
-            }
+        @Override
+        public void finishArchive() {
+            interruptIfCanceled();
+        }
 
-            @Override
-            public void finishClass() {
-                interruptIfCanceled();
+        @Override
+        public void startAnalysis(int numClasses) {
+            if (analysisStartedNanos == 0L) {
+                analysisStartedNanos = System.nanoTime();
             }
-        });
-        try {
-            findBugs.execute();
-            checkCanceled(monitor);
-        } finally {
-            findBugs.setProgressCallback(new NoOpFindBugsProgress());
+            if (profiler != null) {
+                profiler.passStarted(numClasses);
+            }
+            interruptIfCanceled();
+        }
+
+        @Override
+        public void finishClass() {
+            interruptIfCanceled();
         }
     }
 
@@ -215,6 +443,18 @@ public class SpotBugsExecutor {
         reporter.setRankThreshold(this.effectiveRankThreshold);
     }
 
+    private static boolean hasPluginJars(List<String> jars) {
+        if (jars == null) {
+            return false;
+        }
+        for (String jar : jars) {
+            if (jar != null && !jar.trim().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static List<File> pluginJarFiles(List<String> jars) throws IOException {
         List<File> files = new ArrayList<>();
         Set<String> seen = new LinkedHashSet<>();
@@ -242,9 +482,13 @@ public class SpotBugsExecutor {
 
     private List<BugInfo> collectBugs(BugCollectionBugReporter reporter) {
         Collection<BugInstance> bugs = reporter.getBugCollection().getCollection();
-        List<BugInfo> bugList = new ArrayList<>();
+        List<BugInfo> bugList = new ArrayList<>(bugs.size());
+        StringPool strings = new StringPool();
         for (BugInstance bug : bugs) {
-            bugList.add(new BugInfo(bug));
+            bugList.add(new BugInfo(bug, strings, findingDetails == null));
+        }
+        if (findingDetails != null) {
+            findingDetails.remember(bugs);
         }
         return bugList;
     }
@@ -277,14 +521,17 @@ public class SpotBugsExecutor {
         private static LoadedPlugins load(List<String> pluginJars, Project project, PluginLifecycle lifecycle)
                 throws IOException {
             LoadedPlugins loaded = new LoadedPlugins(lifecycle);
-            try {
-                for (File pluginJar : pluginJarFiles(pluginJars)) {
-                    loaded.load(pluginJar, project);
+            try (RunnerEvents.Span event = RunnerEvents.pluginLoad()) {
+                try {
+                    for (File pluginJar : pluginJarFiles(pluginJars)) {
+                        loaded.load(pluginJar, project);
+                    }
+                    return loaded;
+                } catch (IOException | RuntimeException e) {
+                    event.failed(e.getClass().getSimpleName());
+                    loaded.closeAfterFailure(e);
+                    throw e;
                 }
-                return loaded;
-            } catch (IOException | RuntimeException e) {
-                loaded.closeAfterFailure(e);
-                throw e;
             }
         }
 
@@ -314,6 +561,21 @@ public class SpotBugsExecutor {
         }
 
         private List<CommandWarning> closeAfterSuccess() {
+            try (RunnerEvents.Span event = RunnerEvents.pluginUnload()) {
+                try {
+                    List<CommandWarning> warnings = closeAll();
+                    if (!warnings.isEmpty()) {
+                        event.failed(warnings.get(0).getCode());
+                    }
+                    return warnings;
+                } catch (RuntimeException e) {
+                    event.failed(e.getClass().getSimpleName());
+                    throw e;
+                }
+            }
+        }
+
+        private List<CommandWarning> closeAll() {
             boolean resetDetectorFactories = !loadedPlugins.isEmpty();
             RuntimeException terminalFailure = null;
             List<CloseFailure> closeFailures = new ArrayList<>();
@@ -360,15 +622,24 @@ public class SpotBugsExecutor {
             return warnings;
         }
 
+        /** Drops plugins that were already removed from SpotBugs' registry by someone else. */
+        private void forgetUnregistered() {
+            Collection<Plugin> registered = Plugin.getAllPluginsMap().values();
+            loadedPlugins.removeIf(plugin -> !registered.contains(plugin));
+        }
+
         private void closeAfterFailure(Throwable failure) {
             boolean resetDetectorFactories = !loadedPlugins.isEmpty();
-            try {
-                for (int i = loadedPlugins.size() - 1; i >= 0; i--) {
-                    removeAndClose(loadedPlugins.get(i), failure);
-                }
-            } finally {
-                if (resetDetectorFactories) {
-                    DetectorFactoryCollection.resetInstance(null);
+            try (RunnerEvents.Span event = RunnerEvents.pluginUnload()) {
+                event.failed(failure.getClass().getSimpleName());
+                try {
+                    for (int i = loadedPlugins.size() - 1; i >= 0; i--) {
+                        removeAndClose(loadedPlugins.get(i), failure);
+                    }
+                } finally {
+                    if (resetDetectorFactories) {
+                        DetectorFactoryCollection.resetInstance(null);
+                    }
                 }
             }
         }
@@ -446,6 +717,110 @@ public class SpotBugsExecutor {
         }
     }
 
+    /**
+     * The custom plugin set kept loaded between runs. Only read under the read lock and only
+     * changed under the write lock of {@link #SPOTBUGS_GLOBAL_STATE}.
+     */
+    private static final class RetainedPlugins {
+
+        private static PluginSetKey key = PluginSetKey.EMPTY;
+        private static LoadedPlugins plugins;
+
+        private RetainedPlugins() {
+        }
+
+        private static boolean holds(PluginSetKey requested) {
+            if (!key.equals(requested)) {
+                return false;
+            }
+            // Someone else may have removed the plugins from SpotBugs' registry behind our back.
+            return key.isEmpty() || Plugin.getAllPluginsMap().keySet().containsAll(key.uris());
+        }
+
+        private static List<CommandWarning> replace(
+                PluginSetKey requested,
+                List<String> pluginJars,
+                Project project,
+                PluginLifecycle lifecycle
+        ) throws IOException {
+            List<CommandWarning> warnings = evict();
+            if (!requested.isEmpty()) {
+                plugins = LoadedPlugins.load(pluginJars, project, lifecycle);
+                key = requested;
+            }
+            return warnings;
+        }
+
+        private static List<CommandWarning> evict() {
+            LoadedPlugins evicted = plugins;
+            plugins = null;
+            key = PluginSetKey.EMPTY;
+            if (evicted == null) {
+                return new ArrayList<>();
+            }
+            try {
+                evicted.forgetUnregistered();
+                return evicted.closeAfterSuccess();
+            } finally {
+                DetectorFactoryCollection.resetInstance(null);
+            }
+        }
+    }
+
+    /** Identifies a set of plugin jars by canonical path, modification time and size. */
+    private static final class PluginSetKey {
+
+        private static final PluginSetKey EMPTY = new PluginSetKey(new ArrayList<>(), new ArrayList<>(), null);
+
+        private final List<URI> uris;
+        private final List<String> stamps;
+        private final PluginLifecycle lifecycle;
+
+        private PluginSetKey(List<URI> uris, List<String> stamps, PluginLifecycle lifecycle) {
+            this.uris = uris;
+            this.stamps = stamps;
+            this.lifecycle = lifecycle;
+        }
+
+        private static PluginSetKey of(List<File> jars, PluginLifecycle lifecycle) {
+            if (jars.isEmpty()) {
+                return EMPTY;
+            }
+            List<URI> uris = new ArrayList<>();
+            List<String> stamps = new ArrayList<>();
+            for (File jar : jars) {
+                uris.add(jar.toURI());
+                stamps.add(jar.getPath() + '|' + jar.lastModified() + '|' + jar.length());
+            }
+            return new PluginSetKey(uris, stamps, lifecycle);
+        }
+
+        private boolean isEmpty() {
+            return stamps.isEmpty();
+        }
+
+        private List<URI> uris() {
+            return uris;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PluginSetKey)) {
+                return false;
+            }
+            PluginSetKey that = (PluginSetKey) other;
+            return stamps.equals(that.stamps) && (isEmpty() || lifecycle == that.lifecycle);
+        }
+
+        @Override
+        public int hashCode() {
+            return stamps.hashCode();
+        }
+    }
+
     private static final class SpotBugsPluginState {
 
         private final Map<URI, Plugin> pluginsByUri;
@@ -495,4 +870,56 @@ public class SpotBugsExecutor {
             return (Set<String>) value;
         }
     }
+
+    /** Options of one run; everything but the engine and the project is optional. */
+    static final class Builder {
+        private final FindBugs2 findBugs;
+        private final Project project;
+        private Integer rankThreshold;
+        private List<String> pluginJars;
+        private PluginLifecycle pluginLifecycle;
+        private boolean retainPlugins;
+        private PhaseTimings timings;
+        private boolean profileDetectors;
+        private FindingDetails findingDetails;
+        private UserPreferences userPreferences;
+
+        private Builder(FindBugs2 findBugs, Project project) {
+            this.findBugs = findBugs;
+            this.project = project;
+        }
+
+        Builder rankThreshold(Integer r) { this.rankThreshold = r; return this; }
+        Builder pluginJars(List<String> jars) { this.pluginJars = jars; return this; }
+        Builder pluginLifecycle(PluginLifecycle l) { this.pluginLifecycle = l; return this; }
+
+        /** Preferences to run with, instead of those already set on the engine. */
+        Builder userPreferences(UserPreferences p) { this.userPreferences = p; return this; }
+
+        /**
+         * Keep the custom plugins and the detector factories built from them loaded after the
+         * run, so the next run with the same plugin jars skips loading them.
+         */
+        Builder retainPlugins(boolean r) { this.retainPlugins = r; return this; }
+
+        /**
+         * Receives the durations of plugin loading, SpotBugs' own phases, report rendering and
+         * bug conversion.
+         */
+        Builder timings(PhaseTimings t) { this.timings = t; return this; }
+
+        /**
+         * Split the run's time into analysis passes and detectors and count the findings of
+         * each detector, see {@link SpotBugsAnalysisResult#getProfile()}.
+         */
+        Builder profileDetectors(boolean p) { this.profileDetectors = p; return this; }
+
+        /**
+         * When set, convert findings without their detail text and annotation messages and let
+         * {@code details} describe them on demand.
+         */
+        Builder findingDetails(FindingDetails details) { this.findingDetails = details; return this; }
+
+        SpotBugsExecutor build() { return new SpotBugsExecutor(this); }
+    }
 }
@@ -0,0 +1,29 @@
+package com.spotbugs.vscode.runner.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out one shared instance per distinct string for the lifetime of a run. Findings repeat the
+ * same bug types, categories, classes and source paths many times over, and they stay live in the
+ * language server long after the run; pooling keeps one copy of each instead of one per finding.
+ * The pool itself is dropped with the run, so nothing outlives the findings that use it.
+ * <p>
+ * Not thread-safe; a pool is filled by the single thread that collects a run's findings.
+ */
+public final class StringPool {
+
+    private final Map<String, String> strings = new HashMap<>();
+
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
@@ -11,6 +11,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -20,6 +21,27 @@ import org.eclipse.core.runtime.IProgressMonitor;
  */
 public class TargetResolver {
 
+    private static final String WALK_TARGETS = "targets";
+    private static final String WALK_SOURCES = "sources";
+    private static final String WALK_CLASSES = "classes";
+
+    private final ClassFamilyIndex classFamilies;
+    private final TargetWatcher watcher;
+
+    public TargetResolver() {
+        this(new ClassFamilyIndex(), null);
+    }
+
+    /**
+     * Resolves against a shared {@link ClassFamilyIndex}, so output package listings carry over
+     * from earlier resolutions. When {@code watcher} is set, directory walks and listings under
+     * its roots are reused until it reports a change.
+     */
+    TargetResolver(ClassFamilyIndex classFamilies, TargetWatcher watcher) {
+        this.classFamilies = classFamilies;
+        this.watcher = watcher;
+    }
+
     public List<String> resolveTargets(String[] inputs, List<File> targetResolutionRootDirs) throws IOException {
         return resolveTargets(inputs, targetResolutionRootDirs, null);
     }
@@ -86,26 +108,20 @@ public class TargetResolver {
             Set<String> seen,
             IProgressMonitor monitor
     ) throws IOException {
-        File[] children = dir.listFiles();
-        if (children == null) return;
-        for (File c : children) {
+        List<Path> files = walk(
+                dir,
+                WALK_TARGETS,
+                name -> isAnalysisTargetFile(name) || isJavaSourceFile(name),
+                monitor
+        );
+        for (Path file : files) {
             checkCanceled(monitor);
-            if (c.isDirectory()) {
-                collectTargetsRecursively(c, targetResolutionRootDirs, sourceRoots, out, seen, monitor);
-                continue;
-            }
-            if (!c.isFile()) {
-                continue;
-            }
-            String name = c.getName();
-            if (isAnalysisTargetFile(name)) {
-                addIfNew(c.getAbsolutePath(), out, seen);
-                continue;
-            }
-            if (isJavaSourceFile(name)) {
-                addTargetsForJavaFile(c.getAbsolutePath(), targetResolutionRootDirs, sourceRoots, out, seen, monitor);
+            String path = file.toAbsolutePath().toString();
+            if (isAnalysisTargetFile(file.getFileName().toString())) {
+                addIfNew(path, out, seen);
                 continue;
             }
+            addTargetsForJavaFile(path, targetResolutionRootDirs, sourceRoots, out, seen, monitor);
         }
     }
 
@@ -174,21 +190,10 @@ public class TargetResolver {
     }
 
     private boolean containsJavaSourceRecursively(File dir, IProgressMonitor monitor) {
-        File[] children = dir.listFiles();
-        if (children == null) return false;
-        for (File c : children) {
-            checkCanceled(monitor);
-            if (c.isDirectory()) {
-                if (containsJavaSourceRecursively(c, monitor)) {
-                    return true;
-                }
-                continue;
-            }
-            if (c.isFile() && isJavaSourceFile(c.getName())) {
-                return true;
-            }
+        if (watcher != null) {
+            return !walk(dir, WALK_SOURCES, this::isJavaSourceFile, monitor).isEmpty();
         }
-        return false;
+        return DirectoryWalker.containsFile(dir, this::isJavaSourceFile, monitor);
     }
 
     private void collectMappedClassesForSourceTree(
@@ -199,17 +204,16 @@ public class TargetResolver {
             Set<String> seen,
             IProgressMonitor monitor
     ) throws IOException {
-        File[] children = sourceDir.listFiles();
-        if (children == null) return;
-        for (File c : children) {
+        for (Path file : walk(sourceDir, WALK_SOURCES, this::isJavaSourceFile, monitor)) {
             checkCanceled(monitor);
-            if (c.isDirectory()) {
-                collectMappedClassesForSourceTree(c, targetResolutionRootDirs, sourceRoots, out, seen, monitor);
-                continue;
-            }
-            if (c.isFile() && isJavaSourceFile(c.getName())) {
-                addTargetsForJavaFile(c.getAbsolutePath(), targetResolutionRootDirs, sourceRoots, out, seen, monitor);
-            }
+            addTargetsForJavaFile(
+                    file.toAbsolutePath().toString(),
+                    targetResolutionRootDirs,
+                    sourceRoots,
+                    out,
+                    seen,
+                    monitor
+            );
         }
     }
 
@@ -219,20 +223,17 @@ public class TargetResolver {
             Set<String> seen,
             IProgressMonitor monitor
     ) {
-        File[] children = dir.listFiles();
-        if (children == null) return;
-        for (File c : children) {
-            checkCanceled(monitor);
-            if (c.isDirectory()) {
-                collectClassFilesRecursively(c, out, seen, monitor);
-                continue;
-            }
-            if (c.isFile() && isClassFile(c.getName())) {
-                addIfNew(c.getAbsolutePath(), out, seen);
-            }
+        for (Path file : walk(dir, WALK_CLASSES, this::isClassFile, monitor)) {
+            addIfNew(file.toAbsolutePath().toString(), out, seen);
         }
     }
 
+    private List<Path> walk(File dir, String filterKey, Predicate<String> nameFilter, IProgressMonitor monitor) {
+        return watcher != null
+                ? watcher.collectFiles(dir, filterKey, nameFilter, monitor)
+                : DirectoryWalker.collectFiles(dir, nameFilter, monitor);
+    }
+
     private boolean addTargetsForJavaFile(
             String javaPath,
             List<File> targetResolutionRootDirs,
@@ -271,40 +272,13 @@ public class TargetResolver {
             List<String> out,
             Set<String> seen,
             IProgressMonitor monitor
-    ) {
-        File anchor = new File(outputRoot, classRel);
-        if (!anchor.exists() || !anchor.isFile()) {
-            return false;
-        }
-
-        File packageDir = anchor.getParentFile();
-        String anchorName = anchor.getName();
-        String baseName = anchorName.substring(0, anchorName.length() - ".class".length());
-        addIfNew(anchor.getAbsolutePath(), out, seen);
-
-        File[] siblings = packageDir != null ? packageDir.listFiles() : null;
-        if (siblings == null) {
-            return true;
-        }
-
-        List<File> nestedClasses = new ArrayList<>();
-        String nestedPrefix = baseName + "$";
-        for (File sibling : siblings) {
-            checkCanceled(monitor);
-            if (!sibling.isFile()) {
-                continue;
-            }
-            String siblingName = sibling.getName();
-            if (siblingName.startsWith(nestedPrefix) && siblingName.endsWith(".class")) {
-                nestedClasses.add(sibling);
-            }
-        }
-        nestedClasses.sort((a, b) -> a.getName().compareTo(b.getName()));
-        for (File nestedClass : nestedClasses) {
+    ) throws IOException {
+        List<String> family = classFamilies.classFamily(outputRoot, classRel, watcher);
+        for (String classFile : family) {
             checkCanceled(monitor);
-            addIfNew(nestedClass.getAbsolutePath(), out, seen);
+            addIfNew(classFile, out, seen);
         }
-        return true;
+        return !family.isEmpty();
     }
 
     private List<String> deriveRelativePathsFromSource(
@@ -0,0 +1,245 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Watches the directory trees an engine resolves targets from, so that directory listings read
+ * during one run can be reused by the next for every directory no event has touched since.
+ *
+ * <p>Each processed event bumps a generation counter and stamps the directory it happened in.
+ * Events are drained on the caller's thread by every query, so a query never answers from a state
+ * older than the events the watch service has already queued. Callers record {@link #generation()}
+ * before reading the file system and may keep using what they read while {@link #unchangedSince}
+ * holds. Overflowed event queues and failed registrations invalidate everything read before them,
+ * so the watcher only ever errs towards a fresh read.
+ */
+final class TargetWatcher implements Closeable {
+
+    private static final Set<FileVisitOption> FOLLOW_LINKS = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
+    private final Map<Path, Boolean> watched = new ConcurrentHashMap<>();
+    private final Map<Path, Long> changed = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidated = new AtomicLong();
+    private final Map<String, Walk> walks = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private TargetWatcher(WatchService watchService) {
+        this.watchService = watchService;
+    }
+
+    /**
+     * Starts watching every existing directory under {@code roots}. Returns {@code null} when the
+     * platform only offers a polling watch service, whose delayed events could hide changes made
+     * just before a run, or when the roots cannot be registered.
+     */
+    static TargetWatcher start(List<Path> roots) {
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+        if (watchService.getClass().getName().endsWith("PollingWatchService")) {
+            closeQuietly(watchService);
+            return null;
+        }
+        TargetWatcher watcher = new TargetWatcher(watchService);
+        try {
+            for (Path root : roots) {
+                if (root != null && Files.isDirectory(root)) {
+                    watcher.registerTree(root.toAbsolutePath().normalize());
+                }
+            }
+        } catch (IOException e) {
+            // Typically the OS limit on watched directories; fall back to plain file system reads.
+            watcher.close();
+            return null;
+        }
+        return watcher;
+    }
+
+    /** Returns the current generation; record it before reading anything that is to be reused. */
+    long generation() {
+        drain();
+        return generation.get();
+    }
+
+    /** Whether {@code dir} is watched and no event has touched it since {@code since}. */
+    boolean unchangedSince(Path dir, long since) {
+        drain();
+        if (closed || invalidated.get() > since) {
+            return false;
+        }
+        Path normalized = dir.toAbsolutePath().normalize();
+        if (!watched.containsKey(normalized)) {
+            return false;
+        }
+        Long last = changed.get(normalized);
+        return last == null || last <= since;
+    }
+
+    /**
+     * Whether {@code root} is watched and no event has touched it or any directory below
+     * it since {@code since}.
+     */
+    boolean treeUnchangedSince(Path root, long since) {
+        if (!unchangedSince(root, since)) {
+            return false;
+        }
+        Path normalized = root.toAbsolutePath().normalize();
+        for (Map.Entry<Path, Long> entry : changed.entrySet()) {
+            if (entry.getValue() > since && entry.getKey().startsWith(normalized)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the files {@link DirectoryWalker#collectFiles} would, reusing the previous walk of
+     * {@code root} with the same {@code filterKey} while nothing under it has changed.
+     */
+    List<Path> collectFiles(File root, String filterKey, Predicate<String> nameFilter, IProgressMonitor monitor) {
+        Path rootPath = root.toPath();
+        String cacheKey = filterKey + '|' + root.getAbsolutePath();
+        Walk previous = walks.get(cacheKey);
+        if (previous != null && treeUnchangedSince(rootPath, previous.generation)) {
+            return previous.files;
+        }
+        long before = generation();
+        Walk walk = new Walk(before, DirectoryWalker.collectFiles(root, nameFilter, monitor));
+        if (watched.containsKey(rootPath.toAbsolutePath().normalize())) {
+            walks.put(cacheKey, walk);
+        }
+        return walk.files;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(watchService);
+    }
+
+    private void registerTree(Path root) throws IOException {
+        // Follow links like DirectoryWalker does, so every directory a walk can reach is watched.
+        Files.walkFileTree(root, FOLLOW_LINKS, Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (watched.containsKey(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                keys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+                watched.put(dir, Boolean.TRUE);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /** Processes every key the watch service has queued so far, without waiting for more. */
+    private synchronized void drain() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.poll();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            if (key == null) {
+                return;
+            }
+            process(key);
+        }
+    }
+
+    private void process(WatchKey key) {
+        Path dir = keys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                invalidated.set(generation.incrementAndGet());
+                continue;
+            }
+            changed.put(dir, generation.incrementAndGet());
+            Path child = dir.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(child)) {
+                try {
+                    registerTree(child);
+                } catch (IOException e) {
+                    invalidated.set(generation.incrementAndGet());
+                }
+            }
+            if (event.kind() == ENTRY_DELETE) {
+                forgetTree(child);
+            }
+        }
+        if (!key.reset()) {
+            keys.remove(key);
+            if (dir != null) {
+                forgetTree(dir);
+            }
+        }
+    }
+
+    private void forgetTree(Path root) {
+        long stamp = generation.incrementAndGet();
+        for (Path dir : watched.keySet()) {
+            if (dir.startsWith(root)) {
+                watched.remove(dir);
+                changed.put(dir, stamp);
+            }
+        }
+    }
+
+    private static void closeQuietly(WatchService watchService) {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Nothing left to release.
+        }
+    }
+
+    private static final class Walk {
+        private final long generation;
+        private final List<Path> files;
+
+        private Walk(long generation, List<Path> files) {
+            this.generation = generation;
+            this.files = Collections.unmodifiableList(files);
+        }
+    }
+}
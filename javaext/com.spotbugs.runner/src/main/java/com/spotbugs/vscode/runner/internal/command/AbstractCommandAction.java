@@ -1,11 +1,14 @@
 package com.spotbugs.vscode.runner.internal.command;
 
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
-import com.google.gson.Gson;
+import com.spotbugs.vscode.runner.api.CommandError;
 import com.spotbugs.vscode.runner.api.CommandResponse;
+import com.spotbugs.vscode.runner.api.RunAnalysisSummary;
+import com.spotbugs.vscode.runner.internal.jfr.RunnerEvents;
 
 /**
  * Base implementation for SpotBugs workspace command handlers. Concrete actions only
@@ -16,28 +19,51 @@ public abstract class AbstractCommandAction {
 
     private static final String DEFAULT_ERROR_CODE = "COMMAND_FAILED";
 
-    private final Gson gson = new Gson();
-
     public final String execute(Object[] args, IProgressMonitor monitor) {
         ActionContext context = new ActionContext(args, monitor);
-        try {
-            context.checkCanceled(cancellationErrorCode());
-            CommandResponse response = run(context);
-            if (shouldCheckCanceledAfterRun()) {
+        try (RunnerEvents.Span event = RunnerEvents.command(id())) {
+            try {
                 context.checkCanceled(cancellationErrorCode());
+                CommandResponse response = run(context);
+                if (shouldCheckCanceledAfterRun()) {
+                    context.checkCanceled(cancellationErrorCode());
+                }
+                if (response == null) {
+                    return toJson(Collections.emptyMap(), event);
+                }
+                describe(event, response);
+                return toJson(response, event);
+            } catch (CommandActionException cae) {
+                event.failed(cae.getCode());
+                return toJson(errorEnvelope(cae.getCode(), cae.getMessage()), event);
+            } catch (Exception exception) {
+                String message = exception.getMessage();
+                if (message == null || message.trim().isEmpty()) {
+                    message = exception.getClass().getSimpleName();
+                }
+                event.failed(DEFAULT_ERROR_CODE);
+                return toJson(errorEnvelope(DEFAULT_ERROR_CODE, message), event);
             }
-            if (response == null) {
-                return gson.toJson(Collections.emptyMap());
-            }
-            return gson.toJson(response);
-        } catch (CommandActionException cae) {
-            return gson.toJson(errorEnvelope(cae.getCode(), cae.getMessage()));
-        } catch (Exception exception) {
-            String message = exception.getMessage();
-            if (message == null || message.trim().isEmpty()) {
-                message = exception.getClass().getSimpleName();
-            }
-            return gson.toJson(errorEnvelope(DEFAULT_ERROR_CODE, message));
+        }
+    }
+
+    private String toJson(Object response, RunnerEvents.Span command) {
+        try (RunnerEvents.Span event = RunnerEvents.serialization(id())) {
+            String json = ResponseJson.toJson(response);
+            event.bytes(json.length());
+            command.bytes(json.length());
+            return json;
+        }
+    }
+
+    private static void describe(RunnerEvents.Span event, CommandResponse response) {
+        RunAnalysisSummary stats = response.getStats();
+        if (stats != null) {
+            event.targets(stats.getTargetCount()).findings(stats.getFindingCount());
+        }
+        List<CommandError> errors = response.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            event.failed(errors.get(0).getCode());
         }
     }
 
@@ -0,0 +1,152 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.spotbugs.vscode.runner.internal.Analyzer;
+import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.FindingDetails;
+import com.spotbugs.vscode.runner.internal.SpotBugsExecutor;
+import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
+import com.spotbugs.vscode.runner.internal.worker.AnalysisWorkerPool;
+import com.spotbugs.vscode.runner.internal.worker.OutOfProcessAnalyzerService;
+
+/**
+ * Keeps configured {@link Analyzer} engines warm between {@code java.spotbugs.run}
+ * invocations. Engines are keyed by {@link AnalysisConfig#fingerprint()} and checked out for
+ * the duration of a single run, so concurrent runs never share an engine. Configs that ask for
+ * out-of-process analysis get engines backed by the shared {@link AnalysisWorkerPool}. The
+ * engines it creates remember the details of lazily converted findings in one
+ * {@link FindingDetails} store, which lives as long as the cache.
+ */
+public final class AnalysisEngineCache {
+
+    static final int DEFAULT_MAX_IDLE_ENGINES = 4;
+    static final int MAX_IDLE_ENGINES = 16;
+
+    private final AnalyzerServiceFactory analyzerFactory;
+    private final AnalysisWorkerPool workers = new AnalysisWorkerPool();
+    private final FindingDetails findingDetails = new FindingDetails();
+    private int maxIdleEngines;
+    private final Map<String, Analyzer> idleEngines = new LinkedHashMap<>(16, 0.75f, true);
+
+    public AnalysisEngineCache() {
+        this(null, DEFAULT_MAX_IDLE_ENGINES);
+    }
+
+    AnalysisEngineCache(AnalyzerServiceFactory analyzerFactory) {
+        this(analyzerFactory, DEFAULT_MAX_IDLE_ENGINES);
+    }
+
+    AnalysisEngineCache(AnalyzerServiceFactory analyzerFactory, int maxIdleEngines) {
+        this.analyzerFactory = analyzerFactory != null
+                ? analyzerFactory
+                : () -> new AnalyzerService(findingDetails);
+        this.maxIdleEngines = Math.max(0, maxIdleEngines);
+    }
+
+    /** The details of the findings that engines from this cache converted lazily. */
+    public FindingDetails findingDetails() {
+        return findingDetails;
+    }
+
+    /**
+     * Lets up to {@code engines} idle engines stay warm, capped at {@link #MAX_IDLE_ENGINES}, so
+     * that a batch whose targets each need their own engine does not evict its own engines before
+     * the next batch. The limit only grows.
+     */
+    synchronized void reserveIdleEngines(int engines) {
+        maxIdleEngines = Math.max(maxIdleEngines, Math.min(engines, MAX_IDLE_ENGINES));
+    }
+
+    /**
+     * Checks out an engine configured for {@code config}. A warm engine with the same
+     * fingerprint is reused as-is; otherwise a new engine is created and configured.
+     */
+    Analyzer acquire(AnalysisConfig config) {
+        String key = fingerprint(config);
+        Analyzer warm;
+        synchronized (this) {
+            warm = idleEngines.remove(key);
+        }
+        if (warm != null) {
+            return warm;
+        }
+        Analyzer analyzer = config != null && config.isOutOfProcess()
+                ? new OutOfProcessAnalyzerService(workers)
+                : analyzerFactory.create();
+        analyzer.setConfiguration(config);
+        return analyzer;
+    }
+
+    /**
+     * Returns an engine after a completed run so the next run with the same config can reuse it.
+     */
+    void release(AnalysisConfig config, Analyzer analyzer) {
+        if (analyzer == null) {
+            return;
+        }
+        String key = fingerprint(config);
+        List<Analyzer> evicted = new ArrayList<>();
+        synchronized (this) {
+            Analyzer previous = idleEngines.put(key, analyzer);
+            if (previous != null && previous != analyzer) {
+                evicted.add(previous);
+            }
+            Iterator<Analyzer> eldest = idleEngines.values().iterator();
+            while (idleEngines.size() > maxIdleEngines && eldest.hasNext()) {
+                evicted.add(eldest.next());
+                eldest.remove();
+            }
+        }
+        closeAll(evicted);
+    }
+
+    /**
+     * Drops an engine whose state can no longer be trusted, e.g. after a failed or cancelled run.
+     */
+    void discard(Analyzer analyzer) {
+        if (analyzer == null) {
+            return;
+        }
+        closeAll(Collections.singletonList(analyzer));
+    }
+
+    /**
+     * Closes every idle engine, stops idle analysis workers, forgets the remembered finding
+     * details and unloads retained custom plugins.
+     */
+    public void clear() {
+        List<Analyzer> evicted;
+        synchronized (this) {
+            evicted = new ArrayList<>(idleEngines.values());
+            idleEngines.clear();
+        }
+        closeAll(evicted);
+        workers.shutdown();
+        findingDetails.clear();
+        SpotBugsExecutor.releaseRetainedPlugins();
+    }
+
+    synchronized int idleEngineCount() {
+        return idleEngines.size();
+    }
+
+    private static String fingerprint(AnalysisConfig config) {
+        return config != null ? config.fingerprint() : "";
+    }
+
+    private static void closeAll(List<Analyzer> engines) {
+        for (Analyzer engine : engines) {
+            try {
+                engine.close();
+            } catch (RuntimeException ignored) {
+                // A broken engine is being dropped anyway; the next run creates a fresh one.
+            }
+        }
+    }
+}
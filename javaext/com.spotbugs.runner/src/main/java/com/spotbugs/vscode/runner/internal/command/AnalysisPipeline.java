@@ -4,29 +4,42 @@ import java.util.concurrent.CancellationException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
-import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.Analyzer;
 import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
 
 final class AnalysisPipeline {
 
-    private final AnalyzerServiceFactory analyzerFactory;
+    private final AnalysisEngineCache engines;
 
     AnalysisPipeline() {
-        this(AnalyzerService::new);
+        this(new AnalysisEngineCache());
     }
 
     AnalysisPipeline(AnalyzerServiceFactory analyzerFactory) {
-        this.analyzerFactory = analyzerFactory != null ? analyzerFactory : AnalyzerService::new;
+        this(new AnalysisEngineCache(analyzerFactory));
+    }
+
+    AnalysisPipeline(AnalysisEngineCache engines) {
+        this.engines = engines != null ? engines : new AnalysisEngineCache();
     }
 
     AnalysisPipelineResult run(IProgressMonitor monitor, RunAnalysisRequest request) {
-        AnalyzerService analyzer = analyzerFactory.create();
-        analyzer.setConfiguration(request.getConfig());
+        Analyzer analyzer = engines.acquire(request.getConfig());
         long startMillis = System.currentTimeMillis();
         try {
-            SpotBugsAnalysisResult result = request.isIncludeBaselineXml()
-                    ? analyzer.analyzeToBugsWithWarnings(monitor, true, request.getTargetPath())
-                    : analyzer.analyzeToBugsWithWarnings(monitor, request.getTargetPath());
+            SpotBugsAnalysisResult result;
+            if (!request.getReportExport().isEmpty()) {
+                result = analyzer.analyzeToBugsWithWarnings(
+                        monitor,
+                        request.isIncludeBaselineXml(),
+                        request.getReportExport(),
+                        request.getTargetPath()
+                );
+            } else if (request.isIncludeBaselineXml()) {
+                result = analyzer.analyzeToBugsWithWarnings(monitor, true, request.getTargetPath());
+            } else {
+                result = analyzer.analyzeToBugsWithWarnings(monitor, request.getTargetPath());
+            }
             if (monitor != null && monitor.isCanceled()) {
                 return AnalysisPipelineResult.cancelled(analyzer, startMillis);
             }
@@ -43,4 +56,16 @@ final class AnalysisPipeline {
             return AnalysisPipelineResult.failed(analyzer, startMillis, analysisFailure);
         }
     }
+
+    /**
+     * Hands the engine used by {@code result} back to the cache. Only successful runs keep their
+     * engine warm; cancelled or failed runs may leave SpotBugs state half-initialised.
+     */
+    void release(RunAnalysisRequest request, AnalysisPipelineResult result) {
+        if (result.getStatus() == AnalysisPipelineResult.Status.SUCCESS) {
+            engines.release(request.getConfig(), result.getAnalyzer());
+        } else {
+            engines.discard(result.getAnalyzer());
+        }
+    }
 }
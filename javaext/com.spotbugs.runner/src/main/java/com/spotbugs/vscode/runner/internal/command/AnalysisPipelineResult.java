@@ -1,9 +1,11 @@
 package com.spotbugs.vscode.runner.internal.command;
 
+import com.spotbugs.vscode.runner.api.AnalysisProfile;
 import com.spotbugs.vscode.runner.api.AnalysisReportSummary;
 import com.spotbugs.vscode.runner.api.BugInfo;
 import com.spotbugs.vscode.runner.api.CommandWarning;
-import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.api.ReportFile;
+import com.spotbugs.vscode.runner.internal.Analyzer;
 import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
 
 final class AnalysisPipelineResult {
@@ -15,14 +17,14 @@ final class AnalysisPipelineResult {
     }
 
     private final Status status;
-    private final AnalyzerService analyzer;
+    private final Analyzer analyzer;
     private final long startMillis;
     private final SpotBugsAnalysisResult result;
     private final Throwable failure;
 
     private AnalysisPipelineResult(
             Status status,
-            AnalyzerService analyzer,
+            Analyzer analyzer,
             long startMillis,
             SpotBugsAnalysisResult result,
             Throwable failure
@@ -34,15 +36,15 @@ final class AnalysisPipelineResult {
         this.failure = failure;
     }
 
-    static AnalysisPipelineResult success(AnalyzerService analyzer, long startMillis, SpotBugsAnalysisResult result) {
+    static AnalysisPipelineResult success(Analyzer analyzer, long startMillis, SpotBugsAnalysisResult result) {
         return new AnalysisPipelineResult(Status.SUCCESS, analyzer, startMillis, result, null);
     }
 
-    static AnalysisPipelineResult cancelled(AnalyzerService analyzer, long startMillis) {
+    static AnalysisPipelineResult cancelled(Analyzer analyzer, long startMillis) {
         return new AnalysisPipelineResult(Status.CANCELLED, analyzer, startMillis, null, null);
     }
 
-    static AnalysisPipelineResult failed(AnalyzerService analyzer, long startMillis, Throwable failure) {
+    static AnalysisPipelineResult failed(Analyzer analyzer, long startMillis, Throwable failure) {
         return new AnalysisPipelineResult(Status.FAILED, analyzer, startMillis, null, failure);
     }
 
@@ -50,7 +52,7 @@ final class AnalysisPipelineResult {
         return status;
     }
 
-    AnalyzerService getAnalyzer() {
+    Analyzer getAnalyzer() {
         return analyzer;
     }
 
@@ -78,6 +80,18 @@ final class AnalysisPipelineResult {
         return result.getBaselineXml();
     }
 
+    ReportFile getNativeSarifFile() {
+        return result.getNativeSarifFile();
+    }
+
+    ReportFile getBaselineXmlFile() {
+        return result.getBaselineXmlFile();
+    }
+
+    AnalysisProfile getProfile() {
+        return result.getProfile();
+    }
+
     int getFindingCount() {
         return getResults().size();
     }
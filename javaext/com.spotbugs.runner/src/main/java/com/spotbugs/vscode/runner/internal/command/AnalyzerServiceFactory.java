@@ -1,7 +1,7 @@
 package com.spotbugs.vscode.runner.internal.command;
 
-import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.Analyzer;
 
 interface AnalyzerServiceFactory {
-    AnalyzerService create();
+    Analyzer create();
 }
@@ -0,0 +1,53 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.BugPatternInfo;
+
+/**
+ * Bug pattern details of one run keyed by bug type, so a response can send them once per type
+ * instead of once per finding.
+ */
+final class BugPatternDictionary {
+
+    private final Map<String, BugPatternInfo> patterns;
+
+    private BugPatternDictionary(Map<String, BugPatternInfo> patterns) {
+        this.patterns = patterns;
+    }
+
+    /**
+     * Moves the pattern details out of {@code findings}: each finding is replaced with a copy
+     * without them, and the details are recorded once per bug type.
+     */
+    static BugPatternDictionary extract(List<BugInfo> findings) {
+        Map<String, BugPatternInfo> patterns = new LinkedHashMap<>();
+        for (int i = 0; i < findings.size(); i++) {
+            BugInfo finding = findings.get(i);
+            if (finding == null) {
+                continue;
+            }
+            patterns.computeIfAbsent(finding.getType(), type -> finding.patternInfo());
+            findings.set(i, finding.withoutPatternInfo());
+        }
+        return new BugPatternDictionary(patterns);
+    }
+
+    /** The patterns of the bug types that occur in {@code findings}. */
+    Map<String, BugPatternInfo> forFindings(List<BugInfo> findings) {
+        Map<String, BugPatternInfo> used = new LinkedHashMap<>();
+        for (BugInfo finding : findings) {
+            if (finding == null || used.containsKey(finding.getType())) {
+                continue;
+            }
+            BugPatternInfo pattern = patterns.get(finding.getType());
+            if (pattern != null) {
+                used.put(finding.getType(), pattern);
+            }
+        }
+        return used;
+    }
+}
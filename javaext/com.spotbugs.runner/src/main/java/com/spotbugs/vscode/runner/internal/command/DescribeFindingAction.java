@@ -0,0 +1,74 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import java.util.Collections;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.spotbugs.vscode.runner.api.CommandResponse;
+import com.spotbugs.vscode.runner.api.FindingDetail;
+import com.spotbugs.vscode.runner.internal.FindingDetails;
+
+/**
+ * Handles the {@code java.spotbugs.describe} workspace command, which returns the details a run
+ * with {@code lazyFindingDetails} left out of its findings: the bug pattern's descriptions for a
+ * {@code type}, plus the annotation messages for an {@code instanceHash}.
+ */
+public final class DescribeFindingAction extends AbstractCommandAction {
+
+    private static final String COMMAND_ID = "java.spotbugs.describe";
+    private static final String ERROR_DETAILS_UNAVAILABLE = "DETAILS_UNAVAILABLE";
+
+    private final FindingDetails details;
+
+    public DescribeFindingAction(FindingDetails details) {
+        this.details = details != null ? details : new FindingDetails();
+    }
+
+    @Override
+    public String id() {
+        return COMMAND_ID;
+    }
+
+    @Override
+    protected CommandResponse run(ActionContext context) throws Exception {
+        JsonObject request = parseObject(context.requireStringArg(0, "request"));
+        String type = optionalString(request, "type");
+        String instanceHash = optionalString(request, "instanceHash");
+        if (type == null && instanceHash == null) {
+            throw new CommandActionException("INVALID_ARGUMENT", "Argument 'type' or 'instanceHash' is required");
+        }
+        FindingDetail detail = details.describe(type, instanceHash);
+        if (detail == null) {
+            throw new CommandActionException(
+                    ERROR_DETAILS_UNAVAILABLE,
+                    "No details are available for this finding; run the analysis again"
+            );
+        }
+        return CommandResponse.success(Collections.singletonList(detail), null);
+    }
+
+    private static String optionalString(JsonObject request, String name) throws CommandActionException {
+        JsonElement element = request.get(name);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (!element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString()) {
+            throw new CommandActionException("INVALID_ARGUMENT",
+                    String.format("Argument '%s' must be a string", name));
+        }
+        String value = element.getAsString().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static JsonObject parseObject(String json) throws CommandActionException {
+        try {
+            JsonElement parsed = JsonParser.parseString(json);
+            if (parsed != null && parsed.isJsonObject()) {
+                return parsed.getAsJsonObject();
+            }
+        } catch (RuntimeException ignored) {
+        }
+        throw new CommandActionException("INVALID_ARGUMENT", "Invalid describe request JSON");
+    }
+}
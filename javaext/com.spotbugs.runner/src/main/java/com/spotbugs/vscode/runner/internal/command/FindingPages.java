@@ -0,0 +1,174 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.BugPatternInfo;
+
+/**
+ * Findings of paged runs that have not been fetched yet, keyed by continuation token. Each page
+ * is serialised on its own, so no single response has to hold every finding. Only a few runs are
+ * kept, unless a batch reserves room for its own, and a run that is not read for a while is dropped.
+ */
+public final class FindingPages {
+
+    static final int DEFAULT_MAX_OPEN = 4;
+    static final int MAX_OPEN = 64;
+    static final long DEFAULT_IDLE_MILLIS = 5L * 60L * 1000L;
+
+    private int maxOpen;
+    private final long idleMillis;
+    private final Map<String, Cursor> open = new LinkedHashMap<>(16, 0.75f, true);
+
+    public FindingPages() {
+        this(DEFAULT_MAX_OPEN, DEFAULT_IDLE_MILLIS);
+    }
+
+    FindingPages(int maxOpen, long idleMillis) {
+        this.maxOpen = Math.max(1, maxOpen);
+        this.idleMillis = idleMillis;
+    }
+
+    /**
+     * Keeps room for {@code runs} more open runs on top of the default, capped at {@link #MAX_OPEN},
+     * so that a batch whose targets are all paged does not evict the runs of its earlier targets
+     * before the client has fetched their pages. The limit only grows.
+     */
+    synchronized void reserveOpenRuns(int runs) {
+        maxOpen = Math.max(maxOpen, Math.min(DEFAULT_MAX_OPEN + runs, MAX_OPEN));
+    }
+
+    synchronized String open(List<BugInfo> remaining, int pageSize, String nativeSarif, String baselineXml) {
+        return open(remaining, pageSize, nativeSarif, baselineXml, null);
+    }
+
+    /**
+     * Keeps {@code remaining} for later pages and returns the token to fetch them with. The native
+     * reports are handed out with the last page. With a {@code dictionary}, each page carries the
+     * patterns of its own findings.
+     */
+    synchronized String open(
+            List<BugInfo> remaining,
+            int pageSize,
+            String nativeSarif,
+            String baselineXml,
+            BugPatternDictionary dictionary
+    ) {
+        expireIdle();
+        while (open.size() >= maxOpen) {
+            Iterator<String> eldest = open.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        String token = UUID.randomUUID().toString();
+        open.put(token, new Cursor(remaining, pageSize, nativeSarif, baselineXml, dictionary));
+        return token;
+    }
+
+    /**
+     * Returns the next page for {@code token}, or {@code null} when the token is unknown, already
+     * finished or expired.
+     */
+    synchronized Page next(String token) {
+        expireIdle();
+        Cursor cursor = token != null ? open.get(token) : null;
+        if (cursor == null) {
+            return null;
+        }
+        List<BugInfo> findings = new ArrayList<>();
+        while (findings.size() < cursor.pageSize && cursor.position < cursor.remaining.size()) {
+            // Let served findings be collected while the rest are still waiting.
+            findings.add(cursor.remaining.set(cursor.position++, null));
+        }
+        cursor.lastAccessMillis = System.currentTimeMillis();
+        Map<String, BugPatternInfo> patterns = cursor.dictionary != null
+                ? cursor.dictionary.forFindings(findings)
+                : null;
+        if (cursor.position < cursor.remaining.size()) {
+            return new Page(findings, null, null, token, patterns);
+        }
+        open.remove(token);
+        return new Page(findings, cursor.nativeSarif, cursor.baselineXml, null, patterns);
+    }
+
+    synchronized int openCount() {
+        return open.size();
+    }
+
+    private void expireIdle() {
+        long now = System.currentTimeMillis();
+        open.values().removeIf(cursor -> now - cursor.lastAccessMillis > idleMillis);
+    }
+
+    static final class Page {
+        private final List<BugInfo> findings;
+        private final String nativeSarif;
+        private final String baselineXml;
+        private final String continuationToken;
+        private final Map<String, BugPatternInfo> patterns;
+
+        private Page(
+                List<BugInfo> findings,
+                String nativeSarif,
+                String baselineXml,
+                String continuationToken,
+                Map<String, BugPatternInfo> patterns
+        ) {
+            this.findings = findings;
+            this.nativeSarif = nativeSarif;
+            this.baselineXml = baselineXml;
+            this.continuationToken = continuationToken;
+            this.patterns = patterns;
+        }
+
+        List<BugInfo> getFindings() {
+            return findings;
+        }
+
+        String getNativeSarif() {
+            return nativeSarif;
+        }
+
+        String getBaselineXml() {
+            return baselineXml;
+        }
+
+        String getContinuationToken() {
+            return continuationToken;
+        }
+
+        /** Patterns of this page's findings, or {@code null} when the run sends them inline. */
+        Map<String, BugPatternInfo> getPatterns() {
+            return patterns;
+        }
+    }
+
+    private static final class Cursor {
+        private final List<BugInfo> remaining;
+        private final int pageSize;
+        private int position;
+        private final String nativeSarif;
+        private final String baselineXml;
+        private final BugPatternDictionary dictionary;
+        private long lastAccessMillis = System.currentTimeMillis();
+
+        private Cursor(
+                List<BugInfo> remaining,
+                int pageSize,
+                String nativeSarif,
+                String baselineXml,
+                BugPatternDictionary dictionary
+        ) {
+            this.remaining = new ArrayList<>(remaining);
+            this.pageSize = Math.max(1, pageSize);
+            this.nativeSarif = nativeSarif;
+            this.baselineXml = baselineXml;
+            this.dictionary = dictionary;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import com.spotbugs.vscode.runner.api.CommandResponse;
+
+/**
+ * Handles the {@code java.spotbugs.results.next} workspace command, which returns the next page of
+ * findings of a paged {@code java.spotbugs.run}.
+ */
+public final class NextFindingsPageAction extends AbstractCommandAction {
+
+    private static final String COMMAND_ID = "java.spotbugs.results.next";
+    private static final String ERROR_RESULTS_EXPIRED = "RESULTS_EXPIRED";
+
+    private final FindingPages pages;
+
+    public NextFindingsPageAction(FindingPages pages) {
+        this.pages = pages != null ? pages : new FindingPages();
+    }
+
+    @Override
+    public String id() {
+        return COMMAND_ID;
+    }
+
+    @Override
+    protected CommandResponse run(ActionContext context) throws Exception {
+        FindingPages.Page page = pages.next(context.requireStringArg(0, "continuationToken"));
+        if (page == null) {
+            throw new CommandActionException(
+                    ERROR_RESULTS_EXPIRED,
+                    "The remaining findings are no longer available; run the analysis again"
+            );
+        }
+        return CommandResponse.page(
+                page.getFindings(),
+                null,
+                null,
+                null,
+                page.getNativeSarif(),
+                page.getBaselineXml(),
+                page.getContinuationToken(),
+                page.getPatterns()
+        );
+    }
+}
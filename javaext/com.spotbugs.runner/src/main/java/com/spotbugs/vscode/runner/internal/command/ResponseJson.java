@@ -0,0 +1,386 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.spotbugs.vscode.runner.api.AnalysisProfile;
+import com.spotbugs.vscode.runner.api.AnalysisReportSummary;
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.BugPatternInfo;
+import com.spotbugs.vscode.runner.api.CommandError;
+import com.spotbugs.vscode.runner.api.CommandResponse;
+import com.spotbugs.vscode.runner.api.CommandWarning;
+import com.spotbugs.vscode.runner.api.PluginInventoryEntry;
+import com.spotbugs.vscode.runner.api.ReportFile;
+import com.spotbugs.vscode.runner.api.RunAnalysisSummary;
+
+/**
+ * Serialises command responses for the VS Code client. The response types that make up the bulk
+ * of a large result set are written field by field instead of through Gson's reflection; the JSON
+ * is the same as a plain {@code new Gson()} would produce, down to field order, omitted
+ * {@code null}s and HTML-safe escaping. Reading still goes through reflection.
+ */
+public final class ResponseJson {
+
+    /** Characters reserved per result up front; most findings fit without the buffer growing. */
+    private static final int CHARS_PER_RESULT = 512;
+    private static final int MIN_CAPACITY = 256;
+    private static final int MAX_INITIAL_CAPACITY = 8 * 1024 * 1024;
+
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapterFactory(new Adapters()).create();
+
+    private ResponseJson() {
+    }
+
+    public static String toJson(Object response) {
+        StringBuilderWriter buffer = new StringBuilderWriter(initialCapacity(response));
+        try {
+            JsonWriter writer = GSON.newJsonWriter(buffer);
+            if (response == null) {
+                writer.nullValue();
+            } else {
+                GSON.toJson(response, response.getClass(), writer);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return buffer.toString();
+    }
+
+    private static int initialCapacity(Object response) {
+        Object results = response instanceof CommandResponse ? ((CommandResponse) response).getResults() : null;
+        int resultCount = results instanceof Collection ? ((Collection<?>) results).size() : 0;
+        long estimate = MIN_CAPACITY + (long) resultCount * CHARS_PER_RESULT;
+        return (int) Math.min(estimate, MAX_INITIAL_CAPACITY);
+    }
+
+    private static final class Adapters implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> raw = type.getRawType();
+            if (raw == CommandResponse.class) {
+                return (TypeAdapter<T>) new CommandResponseAdapter(gson, reader(gson, CommandResponse.class));
+            }
+            if (raw == BugInfo.class) {
+                return (TypeAdapter<T>) new BugInfoAdapter(gson, reader(gson, BugInfo.class));
+            }
+            if (raw == RunAnalysisSummary.class) {
+                return (TypeAdapter<T>) new RunAnalysisSummaryAdapter(reader(gson, RunAnalysisSummary.class));
+            }
+            if (raw == CommandWarning.class) {
+                return (TypeAdapter<T>) new CommandWarningAdapter(reader(gson, CommandWarning.class));
+            }
+            if (raw == PluginInventoryEntry.class) {
+                return (TypeAdapter<T>) new PluginInventoryEntryAdapter(reader(gson, PluginInventoryEntry.class));
+            }
+            return null;
+        }
+
+        private <T> TypeAdapter<T> reader(Gson gson, Class<T> type) {
+            return gson.getDelegateAdapter(this, TypeToken.get(type));
+        }
+    }
+
+    /** Writes a JSON object by hand and leaves reading to Gson's reflective adapter. */
+    private abstract static class ObjectAdapter<T> extends TypeAdapter<T> {
+        private final TypeAdapter<T> reader;
+
+        ObjectAdapter(TypeAdapter<T> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public final void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, value);
+            out.endObject();
+        }
+
+        abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        @Override
+        public final T read(JsonReader in) throws IOException {
+            return reader.read(in);
+        }
+    }
+
+    private static final class CommandResponseAdapter extends ObjectAdapter<CommandResponse> {
+        private final Gson gson;
+        private final TypeAdapter<CommandError> errors;
+        private final TypeAdapter<CommandWarning> warnings;
+        private final TypeAdapter<RunAnalysisSummary> stats;
+        private final TypeAdapter<AnalysisReportSummary> reportSummary;
+        private final TypeAdapter<BugPatternInfo> patterns;
+        private final TypeAdapter<ReportFile> reportFiles;
+        private final TypeAdapter<AnalysisProfile> profile;
+
+        CommandResponseAdapter(Gson gson, TypeAdapter<CommandResponse> reader) {
+            super(reader);
+            this.gson = gson;
+            this.errors = gson.getAdapter(CommandError.class);
+            this.warnings = gson.getAdapter(CommandWarning.class);
+            this.stats = gson.getAdapter(RunAnalysisSummary.class);
+            this.reportSummary = gson.getAdapter(AnalysisReportSummary.class);
+            this.patterns = gson.getAdapter(BugPatternInfo.class);
+            this.reportFiles = gson.getAdapter(ReportFile.class);
+            this.profile = gson.getAdapter(AnalysisProfile.class);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, CommandResponse response) throws IOException {
+            out.name("schemaVersion").value(response.getSchemaVersion());
+            out.name("results");
+            writeResults(out, response.getResults());
+            out.name("errors");
+            writeList(out, response.getErrors(), errors);
+            // The response keeps no list or map when it would be empty, so those are left out.
+            if (!response.getWarnings().isEmpty()) {
+                out.name("warnings");
+                writeList(out, response.getWarnings(), warnings);
+            }
+            out.name("stats");
+            stats.write(out, response.getStats());
+            out.name("reportSummary");
+            reportSummary.write(out, response.getReportSummary());
+            out.name("nativeSarif").value(response.getNativeSarif());
+            out.name("baselineXml").value(response.getBaselineXml());
+            out.name("continuationToken").value(response.getContinuationToken());
+            if (!response.getPatterns().isEmpty()) {
+                out.name("patterns").beginObject();
+                for (Map.Entry<String, BugPatternInfo> pattern : response.getPatterns().entrySet()) {
+                    out.name(String.valueOf(pattern.getKey()));
+                    patterns.write(out, pattern.getValue());
+                }
+                out.endObject();
+            }
+            out.name("nativeSarifFile");
+            reportFiles.write(out, response.getNativeSarifFile());
+            out.name("baselineXmlFile");
+            reportFiles.write(out, response.getBaselineXmlFile());
+            out.name("profile");
+            profile.write(out, response.getProfile());
+        }
+
+        /** Findings, plugin entries or batch targets; the element adapter is looked up per type. */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void writeResults(JsonWriter out, Object results) throws IOException {
+            if (!(results instanceof Collection)) {
+                if (results == null) {
+                    out.nullValue();
+                } else {
+                    ((TypeAdapter) gson.getAdapter(results.getClass())).write(out, results);
+                }
+                return;
+            }
+            Class<?> elementType = null;
+            TypeAdapter elementAdapter = null;
+            out.beginArray();
+            for (Object element : (Collection<?>) results) {
+                if (element == null) {
+                    out.nullValue();
+                    continue;
+                }
+                if (element.getClass() != elementType) {
+                    elementType = element.getClass();
+                    elementAdapter = gson.getAdapter(elementType);
+                }
+                elementAdapter.write(out, element);
+            }
+            out.endArray();
+        }
+    }
+
+    private static final class BugInfoAdapter extends ObjectAdapter<BugInfo> {
+        private final TypeAdapter<BugInfo.LocationOrigin> locationOrigin;
+
+        BugInfoAdapter(Gson gson, TypeAdapter<BugInfo> reader) {
+            super(reader);
+            this.locationOrigin = gson.getAdapter(BugInfo.LocationOrigin.class);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, BugInfo bug) throws IOException {
+            out.name("type").value(bug.getType());
+            out.name("rank").value(bug.getRank());
+            out.name("priority").value(bug.getPriority());
+            out.name("category").value(bug.getCategory());
+            out.name("abbrev").value(bug.getAbbrev());
+            out.name("message").value(bug.getMessage());
+            out.name("longMessage").value(bug.getLongMessage());
+            out.name("categoryDescription").value(bug.getCategoryDescription());
+            out.name("annotationMessages");
+            writeStrings(out, bug.getAnnotationMessages());
+            out.name("sourceFile").value(bug.getSourceFile());
+            out.name("startLine").value(bug.getStartLine());
+            out.name("endLine").value(bug.getEndLine());
+            out.name("realSourcePath").value(bug.getRealSourcePath());
+            out.name("shortDescription").value(bug.getShortDescription());
+            out.name("longDescription").value(bug.getLongDescription());
+            out.name("detailHtml").value(bug.getDetailHtml());
+            out.name("helpUri").value(bug.getHelpUri());
+            out.name("categoryAbbrev").value(bug.getCategoryAbbrev());
+            out.name("cweId").value(bug.getCweId());
+            out.name("instanceHash").value(bug.getInstanceHash());
+            out.name("className").value(bug.getClassName());
+            out.name("methodName").value(bug.getMethodName());
+            out.name("methodSignature").value(bug.getMethodSignature());
+            out.name("fieldName").value(bug.getFieldName());
+            out.name("locationOrigin");
+            locationOrigin.write(out, bug.getLocationOrigin());
+            out.name("fullPath").value(bug.getFullPath());
+        }
+    }
+
+    private static final class RunAnalysisSummaryAdapter extends ObjectAdapter<RunAnalysisSummary> {
+        RunAnalysisSummaryAdapter(TypeAdapter<RunAnalysisSummary> reader) {
+            super(reader);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, RunAnalysisSummary stats) throws IOException {
+            out.name("target").value(stats.getTarget());
+            out.name("durationMs").value(stats.getDurationMs());
+            out.name("findingCount").value(stats.getFindingCount());
+            out.name("spotbugsVersion").value(stats.getSpotbugsVersion());
+            out.name("targetResolutionRootCount").value(stats.getTargetResolutionRootCount());
+            out.name("runtimeClasspathCount").value(stats.getRuntimeClasspathCount());
+            out.name("extraAuxClasspathCount").value(stats.getExtraAuxClasspathCount());
+            out.name("auxClasspathCount").value(stats.getAuxClasspathCount());
+            out.name("targetCount").value(stats.getTargetCount());
+            out.name("pluginCount").value(stats.getPluginCount());
+            Map<String, Long> phaseNanos = stats.getPhaseNanos();
+            if (phaseNanos == null || phaseNanos.isEmpty()) {
+                return;
+            }
+            out.name("phaseNanos").beginObject();
+            for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+                out.name(String.valueOf(phase.getKey())).value(phase.getValue());
+            }
+            out.endObject();
+        }
+    }
+
+    private static final class CommandWarningAdapter extends ObjectAdapter<CommandWarning> {
+        CommandWarningAdapter(TypeAdapter<CommandWarning> reader) {
+            super(reader);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, CommandWarning warning) throws IOException {
+            out.name("code").value(warning.getCode());
+            out.name("message").value(warning.getMessage());
+        }
+    }
+
+    private static final class PluginInventoryEntryAdapter extends ObjectAdapter<PluginInventoryEntry> {
+        PluginInventoryEntryAdapter(TypeAdapter<PluginInventoryEntry> reader) {
+            super(reader);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, PluginInventoryEntry entry) throws IOException {
+            out.name("index").value(entry.getIndex());
+            out.name("path").value(entry.getPath());
+            out.name("canonicalPath").value(entry.getCanonicalPath());
+            out.name("status").value(entry.getStatus());
+            out.name("pluginId").value(entry.getPluginId());
+            out.name("shortDescription").value(entry.getShortDescription());
+            out.name("provider").value(entry.getProvider());
+            out.name("website").value(entry.getWebsite());
+            out.name("version").value(entry.getVersion());
+            out.name("detectorCount").value(entry.getDetectorCount());
+            out.name("bugPatternCount").value(entry.getBugPatternCount());
+            out.name("errorMessage").value(entry.getErrorMessage());
+        }
+    }
+
+    private static <T> void writeList(JsonWriter out, List<T> values, TypeAdapter<T> adapter) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T value : values) {
+            adapter.write(out, value);
+        }
+        out.endArray();
+    }
+
+    private static void writeStrings(JsonWriter out, List<String> values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    /** An unsynchronised {@link java.io.StringWriter} with a caller-chosen starting capacity. */
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder buffer;
+
+        StringBuilderWriter(int capacity) {
+            this.buffer = new StringBuilder(capacity);
+        }
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            buffer.append(str, offset, offset + length);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            buffer.append(csq);
+            return this;
+        }
+
+        @Override
+        public Writer append(CharSequence csq, int start, int end) {
+            buffer.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
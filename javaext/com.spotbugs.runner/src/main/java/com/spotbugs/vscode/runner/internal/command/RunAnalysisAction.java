@@ -1,15 +1,22 @@
 package com.spotbugs.vscode.runner.internal.command;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
 import com.spotbugs.vscode.runner.api.CommandResponse;
 import com.spotbugs.vscode.runner.api.RunAnalysisSummary;
 import com.spotbugs.vscode.runner.internal.AnalyzerService;
-import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
 import com.spotbugs.vscode.runner.internal.config.ConfigParser;
 import com.spotbugs.vscode.runner.internal.config.ConfigValidator;
 
 /**
  * Handles the {@code java.spotbugs.run} workspace command by invoking SpotBugs analysis
- * on the requested target path.
+ * on the requested target path. When the request sets {@code pageSize}, only the first page of
+ * findings is returned along with a continuation token for {@link NextFindingsPageAction}. When it
+ * sets {@code patternDictionary}, bug pattern details are sent once per type in {@code patterns}.
  */
 public final class RunAnalysisAction extends AbstractCommandAction {
 
@@ -19,12 +26,23 @@ public final class RunAnalysisAction extends AbstractCommandAction {
 
     private final RunAnalysisRequestParser requestParser;
     private final AnalysisPipeline pipeline;
+    private final FindingPages pages;
     private final RunAnalysisStatsBuilder statsBuilder = new RunAnalysisStatsBuilder();
 
     public RunAnalysisAction() {
         this(new ConfigParser(), new ConfigValidator(), AnalyzerService::new);
     }
 
+    public RunAnalysisAction(AnalysisEngineCache engines) {
+        this(engines, new FindingPages());
+    }
+
+    public RunAnalysisAction(AnalysisEngineCache engines, FindingPages pages) {
+        this.requestParser = new RunAnalysisRequestParser(new ConfigParser(), new ConfigValidator());
+        this.pipeline = new AnalysisPipeline(engines);
+        this.pages = pages != null ? pages : new FindingPages();
+    }
+
     RunAnalysisAction(ConfigParser parser, ConfigValidator validator) {
         this(parser, validator, AnalyzerService::new);
     }
@@ -34,8 +52,18 @@ public final class RunAnalysisAction extends AbstractCommandAction {
     }
 
     RunAnalysisAction(ConfigParser parser, ConfigValidator validator, AnalyzerServiceFactory analyzerFactory) {
+        this(parser, validator, analyzerFactory, new FindingPages());
+    }
+
+    RunAnalysisAction(
+            ConfigParser parser,
+            ConfigValidator validator,
+            AnalyzerServiceFactory analyzerFactory,
+            FindingPages pages
+    ) {
         this.requestParser = new RunAnalysisRequestParser(parser, validator);
         this.pipeline = new AnalysisPipeline(analyzerFactory);
+        this.pages = pages != null ? pages : new FindingPages();
     }
 
     @Override
@@ -55,15 +83,27 @@ public final class RunAnalysisAction extends AbstractCommandAction {
 
     @Override
     protected CommandResponse run(ActionContext context) throws Exception {
-        RunAnalysisRequest request = requestParser.parse(context);
-        String targetPath = request.getTargetPath();
-        AnalysisConfig config = request.getConfig();
+        return analyze(context.monitor(), requestParser.parse(context));
+    }
+
+    /**
+     * Runs one parsed request and builds its response, including the cancelled and failed
+     * envelopes. Safe to call from several threads at once.
+     */
+    CommandResponse analyze(IProgressMonitor monitor, RunAnalysisRequest request) {
+        AnalysisPipelineResult pipelineResult = pipeline.run(monitor, request);
+        try {
+            return respond(request, pipelineResult);
+        } finally {
+            pipeline.release(request, pipelineResult);
+        }
+    }
 
-        AnalysisPipelineResult pipelineResult = pipeline.run(context.monitor(), request);
+    private CommandResponse respond(RunAnalysisRequest request, AnalysisPipelineResult pipelineResult) {
         RunAnalysisSummary stats = statsBuilder.build(
-                targetPath,
+                request.getTargetPath(),
                 pipelineResult.getStartMillis(),
-                config,
+                request.getConfig(),
                 pipelineResult.getAnalyzer(),
                 pipelineResult.getFindingCount()
         );
@@ -84,8 +124,60 @@ public final class RunAnalysisAction extends AbstractCommandAction {
             );
         }
 
+        // Reports written to disk are complete already, so the first response can point at them.
+        return findingsResponse(request, stats, pipelineResult)
+                .withReportFiles(pipelineResult.getNativeSarifFile(), pipelineResult.getBaselineXmlFile())
+                .withProfile(pipelineResult.getProfile());
+    }
+
+    private CommandResponse findingsResponse(
+            RunAnalysisRequest request,
+            RunAnalysisSummary stats,
+            AnalysisPipelineResult pipelineResult
+    ) {
+        List<BugInfo> results = pipelineResult.getResults();
+        BugPatternDictionary dictionary = null;
+        if (request.isPatternDictionary()) {
+            results = new ArrayList<>(results);
+            dictionary = BugPatternDictionary.extract(results);
+        }
+        int pageSize = request.getPageSize();
+        if (pageSize > 0 && results.size() > pageSize) {
+            String continuationToken = pages.open(
+                    results.subList(pageSize, results.size()),
+                    pageSize,
+                    pipelineResult.getNativeSarif(),
+                    pipelineResult.getBaselineXml(),
+                    dictionary
+            );
+            List<BugInfo> firstPage = new ArrayList<>(results.subList(0, pageSize));
+            return CommandResponse.page(
+                    firstPage,
+                    stats,
+                    pipelineResult.getReportSummary(),
+                    pipelineResult.getWarnings(),
+                    null,
+                    null,
+                    continuationToken,
+                    dictionary != null ? dictionary.forFindings(firstPage) : null
+            );
+        }
+
+        if (dictionary != null) {
+            return CommandResponse.page(
+                    results,
+                    stats,
+                    pipelineResult.getReportSummary(),
+                    pipelineResult.getWarnings(),
+                    pipelineResult.getNativeSarif(),
+                    pipelineResult.getBaselineXml(),
+                    null,
+                    dictionary.forFindings(results)
+            );
+        }
+
         return CommandResponse.success(
-                pipelineResult.getResults(),
+                results,
                 stats,
                 pipelineResult.getReportSummary(),
                 pipelineResult.getWarnings(),
@@ -1,16 +1,48 @@
 package com.spotbugs.vscode.runner.internal.command;
 
+import com.spotbugs.vscode.runner.internal.ReportExport;
 import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
 
 final class RunAnalysisRequest {
     private final String targetPath;
     private final AnalysisConfig config;
     private final boolean includeBaselineXml;
+    private final int pageSize;
+    private final boolean patternDictionary;
+    private final ReportExport reportExport;
 
     RunAnalysisRequest(String targetPath, AnalysisConfig config, boolean includeBaselineXml) {
+        this(targetPath, config, includeBaselineXml, 0);
+    }
+
+    RunAnalysisRequest(String targetPath, AnalysisConfig config, boolean includeBaselineXml, int pageSize) {
+        this(targetPath, config, includeBaselineXml, pageSize, false);
+    }
+
+    RunAnalysisRequest(
+            String targetPath,
+            AnalysisConfig config,
+            boolean includeBaselineXml,
+            int pageSize,
+            boolean patternDictionary
+    ) {
+        this(targetPath, config, includeBaselineXml, pageSize, patternDictionary, ReportExport.NONE);
+    }
+
+    RunAnalysisRequest(
+            String targetPath,
+            AnalysisConfig config,
+            boolean includeBaselineXml,
+            int pageSize,
+            boolean patternDictionary,
+            ReportExport reportExport
+    ) {
         this.targetPath = targetPath;
         this.config = config;
         this.includeBaselineXml = includeBaselineXml;
+        this.pageSize = Math.max(0, pageSize);
+        this.patternDictionary = patternDictionary;
+        this.reportExport = reportExport != null ? reportExport : ReportExport.NONE;
     }
 
     String getTargetPath() {
@@ -24,4 +56,19 @@ final class RunAnalysisRequest {
     boolean isIncludeBaselineXml() {
         return includeBaselineXml;
     }
+
+    /** Findings per response page, or {@code 0} to return every finding in one response. */
+    int getPageSize() {
+        return pageSize;
+    }
+
+    /** Whether findings leave their bug pattern details to the response's {@code patterns} map. */
+    boolean isPatternDictionary() {
+        return patternDictionary;
+    }
+
+    /** Reports to write to disk instead of returning them in the response. */
+    ReportExport getReportExport() {
+        return reportExport;
+    }
 }
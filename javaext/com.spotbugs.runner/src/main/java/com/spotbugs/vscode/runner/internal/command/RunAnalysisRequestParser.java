@@ -1,7 +1,12 @@
 package com.spotbugs.vscode.runner.internal.command;
 
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import com.spotbugs.vscode.runner.api.ConfigError;
 import com.spotbugs.vscode.runner.api.ConfigSchema;
+import com.spotbugs.vscode.runner.internal.ReportExport;
 import com.spotbugs.vscode.runner.internal.config.ConfigParseResult;
 import com.spotbugs.vscode.runner.internal.config.ConfigParser;
 import com.spotbugs.vscode.runner.internal.config.ConfigValidationResult;
@@ -9,6 +14,8 @@ import com.spotbugs.vscode.runner.internal.config.ConfigValidator;
 
 final class RunAnalysisRequestParser {
 
+    private static final String ERROR_OUTPUT_PATH_INVALID = "CFG_OUTPUT_PATH_INVALID";
+
     private final ConfigParser configParser;
     private final ConfigValidator configValidator;
 
@@ -32,7 +39,7 @@ final class RunAnalysisRequestParser {
         return parseAndValidateRequest(targetPath, configJson);
     }
 
-    private RunAnalysisRequest parseAndValidateRequest(String targetPath, String configJson)
+    RunAnalysisRequest parseAndValidateRequest(String targetPath, String configJson)
             throws AbstractCommandAction.CommandActionException {
         ConfigParseResult parseResult = configParser.parse(configJson);
         if (parseResult.hasError()) {
@@ -44,8 +51,43 @@ final class RunAnalysisRequestParser {
         if (validationResult.hasError()) {
             throw configFailure(validationResult.getError());
         }
+        Integer pageSize = schema.getPageSize();
         return new RunAnalysisRequest(targetPath, validationResult.getConfig(),
-                Boolean.TRUE.equals(schema.getIncludeBaselineXml()));
+                Boolean.TRUE.equals(schema.getIncludeBaselineXml()),
+                pageSize != null ? pageSize.intValue() : 0,
+                Boolean.TRUE.equals(schema.getPatternDictionary()),
+                reportExport(schema));
+    }
+
+    private ReportExport reportExport(ConfigSchema schema) throws AbstractCommandAction.CommandActionException {
+        String nativeSarifPath = outputPath(schema.getNativeSarifOutputPath(), "nativeSarifOutputPath");
+        String baselineXmlPath = outputPath(schema.getBaselineXmlOutputPath(), "baselineXmlOutputPath");
+        if (nativeSarifPath != null && nativeSarifPath.equals(baselineXmlPath)) {
+            throw new AbstractCommandAction.CommandActionException(
+                    ERROR_OUTPUT_PATH_INVALID,
+                    "nativeSarifOutputPath and baselineXmlOutputPath must name different files"
+            );
+        }
+        return ReportExport.of(nativeSarifPath, baselineXmlPath);
+    }
+
+    private String outputPath(String value, String fieldName) throws AbstractCommandAction.CommandActionException {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        Path path;
+        try {
+            path = Paths.get(value.trim());
+        } catch (InvalidPathException e) {
+            path = null;
+        }
+        if (path == null || !path.isAbsolute() || path.getFileName() == null) {
+            throw new AbstractCommandAction.CommandActionException(
+                    ERROR_OUTPUT_PATH_INVALID,
+                    fieldName + " must be an absolute file path: " + value
+            );
+        }
+        return path.normalize().toString();
     }
 
     private AbstractCommandAction.CommandActionException configFailure(ConfigError error) {
@@ -1,7 +1,7 @@
 package com.spotbugs.vscode.runner.internal.command;
 
 import com.spotbugs.vscode.runner.api.RunAnalysisSummary;
-import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.Analyzer;
 import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
 
 import edu.umd.cs.findbugs.Version;
@@ -12,7 +12,7 @@ final class RunAnalysisStatsBuilder {
             String targetPath,
             long startMillis,
             AnalysisConfig config,
-            AnalyzerService analyzer,
+            Analyzer analyzer,
             int findingCount
     ) {
         long elapsed = System.currentTimeMillis() - startMillis;
@@ -26,7 +26,8 @@ final class RunAnalysisStatsBuilder {
                 config.getExtraAuxClasspaths().size(),
                 analyzer.getLastAuxClasspathCount(),
                 analyzer.getLastTargetCount(),
-                config.getPlugins().size()
+                config.getPlugins().size(),
+                analyzer.getLastPhaseTimings().asMap()
         );
     }
 }
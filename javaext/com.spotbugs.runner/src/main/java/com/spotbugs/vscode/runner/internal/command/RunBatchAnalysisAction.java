@@ -0,0 +1,228 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.spotbugs.vscode.runner.api.BatchTargetResponse;
+import com.spotbugs.vscode.runner.api.CommandResponse;
+import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.config.ConfigParser;
+import com.spotbugs.vscode.runner.internal.config.ConfigValidator;
+
+/**
+ * Handles the {@code java.spotbugs.runBatch} workspace command by analysing several targets,
+ * each with its own configuration, on a bounded pool of threads. The engine cache keeps an idle
+ * engine per target between batches, targets share the retained plugin set, and filter and aux
+ * classpath lists the targets have in common are validated once per batch. Unless the request
+ * says otherwise, only {@link #DEFAULT_PARALLELISM} targets run at a time, since every running
+ * target holds a whole SpotBugs engine in the language server's heap.
+ * Results come back in request order, one {@link CommandResponse} per target.
+ */
+public final class RunBatchAnalysisAction extends AbstractCommandAction {
+
+    static final int DEFAULT_PARALLELISM = 2;
+
+    private static final String COMMAND_ID = "java.spotbugs.runBatch";
+    private static final String ERROR_ANALYSIS_CANCELLED = "ANALYSIS_CANCELLED";
+    private static final String INVALID_REQUEST = "Invalid batch analysis request JSON";
+
+    private final AnalysisEngineCache engines;
+    private final FindingPages pages;
+    private final RunAnalysisAction single;
+    private final int maxParallelism;
+
+    public RunBatchAnalysisAction(AnalysisEngineCache engines, FindingPages pages) {
+        this(engines, pages, Runtime.getRuntime().availableProcessors());
+    }
+
+    RunBatchAnalysisAction(AnalyzerServiceFactory analyzerFactory, int maxParallelism) {
+        this(analyzerFactory, new FindingPages(), maxParallelism);
+    }
+
+    RunBatchAnalysisAction(AnalyzerServiceFactory analyzerFactory, FindingPages pages, int maxParallelism) {
+        this(new AnalysisEngineCache(analyzerFactory != null ? analyzerFactory : AnalyzerService::new),
+                pages, maxParallelism);
+    }
+
+    private RunBatchAnalysisAction(AnalysisEngineCache engines, FindingPages pages, int maxParallelism) {
+        this.engines = engines;
+        this.pages = pages != null ? pages : new FindingPages();
+        this.single = new RunAnalysisAction(engines, this.pages);
+        this.maxParallelism = Math.max(1, maxParallelism);
+    }
+
+    @Override
+    public String id() {
+        return COMMAND_ID;
+    }
+
+    @Override
+    protected String cancellationErrorCode() {
+        return ERROR_ANALYSIS_CANCELLED;
+    }
+
+    @Override
+    protected boolean shouldCheckCanceledAfterRun() {
+        return false;
+    }
+
+    @Override
+    protected CommandResponse run(ActionContext context) throws Exception {
+        JsonObject request = parseObject(context.requireStringArg(0, "request"));
+        List<BatchTarget> targets = parseTargets(request);
+        if (targets.isEmpty()) {
+            return CommandResponse.success(Collections.emptyList(), null);
+        }
+        // Every target has its own classpath and so its own engine; keep them all warm.
+        engines.reserveIdleEngines(targets.size());
+        // Paged targets keep their findings until the client fetches them after the whole batch.
+        pages.reserveOpenRuns(targets.size());
+        int parallelism = Math.min(targets.size(), parallelism(request));
+
+        IProgressMonitor monitor = context.monitor();
+        BatchTargetResponse[] responses = new BatchTargetResponse[targets.size()];
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new BatchThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (BatchTarget target : schedulingOrder(targets)) {
+                futures.add(executor.submit(() -> {
+                    responses[target.index] = new BatchTargetResponse(target.path, analyze(monitor, target));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new CommandActionException(ERROR_ANALYSIS_CANCELLED, "Command cancelled");
+        } catch (ExecutionException failure) {
+            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+            throw cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        List<BatchTargetResponse> results = new ArrayList<>();
+        Collections.addAll(results, responses);
+        return CommandResponse.success(results, null);
+    }
+
+    private CommandResponse analyze(IProgressMonitor monitor, BatchTarget target) {
+        if (monitor != null && monitor.isCanceled()) {
+            return CommandResponse.error(ERROR_ANALYSIS_CANCELLED, "Command cancelled");
+        }
+        if (target.configError != null) {
+            return target.configError;
+        }
+        return single.analyze(monitor, target.request);
+    }
+
+    /**
+     * Orders targets so that those loading the same custom plugins run back to back; the plugin
+     * set is only swapped when it changes, so interleaving different sets would reload them.
+     */
+    private static List<BatchTarget> schedulingOrder(List<BatchTarget> targets) {
+        List<BatchTarget> ordered = new ArrayList<>(targets);
+        ordered.sort(Comparator.comparing(target -> target.pluginKey));
+        return ordered;
+    }
+
+    private List<BatchTarget> parseTargets(JsonObject request) throws CommandActionException {
+        JsonElement targetsElement = request.get("targets");
+        if (targetsElement == null || !targetsElement.isJsonArray()) {
+            throw new CommandActionException("INVALID_ARGUMENT", "Argument 'targets' must be an array");
+        }
+        JsonArray array = targetsElement.getAsJsonArray();
+        RunAnalysisRequestParser requestParser =
+                new RunAnalysisRequestParser(new ConfigParser(), ConfigValidator.forBatch());
+        List<BatchTarget> targets = new ArrayList<>();
+        for (int index = 0; index < array.size(); index++) {
+            JsonElement element = array.get(index);
+            if (element == null || !element.isJsonObject()) {
+                throw new CommandActionException("INVALID_ARGUMENT", "Batch target " + index + " must be an object");
+            }
+            JsonObject target = element.getAsJsonObject();
+            JsonElement pathElement = target.get("path");
+            if (pathElement == null || !pathElement.isJsonPrimitive() || !pathElement.getAsJsonPrimitive().isString()
+                    || pathElement.getAsString().trim().isEmpty()) {
+                throw new CommandActionException(
+                        "INVALID_ARGUMENT", "Batch target " + index + " must have a non-empty 'path'");
+            }
+            JsonElement configElement = target.get("config");
+            String configJson = configElement != null && configElement.isJsonObject()
+                    ? configElement.toString()
+                    : "{}";
+            targets.add(parseTarget(requestParser, index, pathElement.getAsString(), configJson));
+        }
+        return targets;
+    }
+
+    private BatchTarget parseTarget(
+            RunAnalysisRequestParser requestParser, int index, String path, String configJson) {
+        try {
+            return new BatchTarget(index, path, requestParser.parseAndValidateRequest(path, configJson), null);
+        } catch (CommandActionException invalidConfig) {
+            // A bad configuration only fails its own target.
+            return new BatchTarget(index, path, null, errorEnvelope(invalidConfig.getCode(), invalidConfig.getMessage()));
+        }
+    }
+
+    private int parallelism(JsonObject request) {
+        JsonElement element = request.get("parallelism");
+        if (element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()) {
+            return Math.max(1, Math.min(maxParallelism, element.getAsInt()));
+        }
+        return Math.min(DEFAULT_PARALLELISM, maxParallelism);
+    }
+
+    private JsonObject parseObject(String json) throws CommandActionException {
+        try {
+            JsonElement parsed = JsonParser.parseString(json);
+            if (parsed != null && parsed.isJsonObject()) {
+                return parsed.getAsJsonObject();
+            }
+        } catch (RuntimeException ignored) {
+        }
+        throw new CommandActionException("INVALID_ARGUMENT", INVALID_REQUEST);
+    }
+
+    private static final class BatchTarget {
+        private final int index;
+        private final String path;
+        private final RunAnalysisRequest request;
+        private final CommandResponse configError;
+        private final String pluginKey;
+
+        private BatchTarget(int index, String path, RunAnalysisRequest request, CommandResponse configError) {
+            this.index = index;
+            this.path = path;
+            this.request = request;
+            this.configError = configError;
+            this.pluginKey = request != null ? String.join("\n", request.getConfig().getPlugins()) : "";
+        }
+    }
+
+    private static final class BatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "spotbugs-batch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
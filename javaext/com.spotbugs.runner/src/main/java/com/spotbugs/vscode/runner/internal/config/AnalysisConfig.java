@@ -1,5 +1,6 @@
 package com.spotbugs.vscode.runner.internal.config;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +21,17 @@ public class AnalysisConfig {
     private final List<String> excludeFilterPaths; // optional
     private final List<String> excludeBaselineBugsPaths; // optional
     private final List<String> plugins;      // optional
+    private final boolean incremental;
+    private final boolean watchTargets;
+    private final boolean pruneAuxClasspath;
+    private final boolean includeNativeSarif;
+    private final boolean profileDetectors;
+    private final boolean lazyFindingDetails;
+    private final boolean outOfProcess;
+    private final List<String> workerVmArgs;
+    private final int workerMaxRuns;
+    private final int workerRecycleHeapMb; // 0 disables heap-based recycling
+    private transient String fingerprint;
 
     private AnalysisConfig(Builder b) {
         this.effort = b.effort == null ? Effort.DEFAULT : b.effort;
@@ -48,6 +60,18 @@ public class AnalysisConfig {
         this.plugins = b.plugins == null
                 ? Collections.emptyList()
                 : Collections.unmodifiableList(new ArrayList<>(b.plugins));
+        this.incremental = b.incremental;
+        this.watchTargets = b.watchTargets;
+        this.pruneAuxClasspath = b.pruneAuxClasspath;
+        this.includeNativeSarif = b.includeNativeSarif;
+        this.profileDetectors = b.profileDetectors;
+        this.lazyFindingDetails = b.lazyFindingDetails;
+        this.outOfProcess = b.outOfProcess;
+        this.workerVmArgs = b.workerVmArgs == null
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(b.workerVmArgs));
+        this.workerMaxRuns = b.workerMaxRuns;
+        this.workerRecycleHeapMb = b.workerRecycleHeapMb;
     }
 
     public Effort getEffort() { return effort; }
@@ -60,6 +84,69 @@ public class AnalysisConfig {
     public List<String> getExcludeFilterPaths() { return excludeFilterPaths; }
     public List<String> getExcludeBaselineBugsPaths() { return excludeBaselineBugsPaths; }
     public List<String> getPlugins() { return plugins; }
+    public boolean isIncremental() { return incremental; }
+    public boolean isWatchTargets() { return watchTargets; }
+    public boolean isPruneAuxClasspath() { return pruneAuxClasspath; }
+    public boolean isIncludeNativeSarif() { return includeNativeSarif; }
+    public boolean isProfileDetectors() { return profileDetectors; }
+    public boolean isLazyFindingDetails() { return lazyFindingDetails; }
+    public boolean isOutOfProcess() { return outOfProcess; }
+    public List<String> getWorkerVmArgs() { return workerVmArgs; }
+    public int getWorkerMaxRuns() { return workerMaxRuns; }
+    public int getWorkerRecycleHeapMb() { return workerRecycleHeapMb; }
+
+    /**
+     * Stable key describing every setting that shapes a SpotBugs engine. Two configs with the
+     * same fingerprint can share a warm engine without re-applying preferences. Filter and
+     * baseline files are keyed by size and modification time as well as path: every run parses
+     * them again, but a warm engine replays the findings of unchanged classes from earlier runs,
+     * which were filtered by the old rules. The key is computed once per config so an engine
+     * acquired before a file edit is not released under the edited file's key.
+     */
+    public String fingerprint() {
+        String cached = fingerprint;
+        if (cached == null) {
+            cached = computeFingerprint();
+            fingerprint = cached;
+        }
+        return cached;
+    }
+
+    private String computeFingerprint() {
+        StringBuilder key = new StringBuilder(256);
+        key.append(effort.name()).append('|').append(priorityThreshold).append('|').append(incremental);
+        key.append('|').append(watchTargets).append('|').append(pruneAuxClasspath);
+        key.append('|').append(includeNativeSarif).append('|').append(profileDetectors);
+        key.append('|').append(lazyFindingDetails);
+        key.append('|').append(outOfProcess).append('|').append(workerMaxRuns).append('|').append(workerRecycleHeapMb);
+        appendList(key, workerVmArgs);
+        appendList(key, targetResolutionRoots);
+        appendList(key, runtimeClasspaths);
+        appendList(key, extraAuxClasspaths);
+        appendList(key, sourcepaths);
+        appendFiles(key, includeFilterPaths);
+        appendFiles(key, excludeFilterPaths);
+        appendFiles(key, excludeBaselineBugsPaths);
+        appendList(key, plugins);
+        return key.toString();
+    }
+
+    private static void appendList(StringBuilder key, List<String> values) {
+        key.append('|').append(values.size());
+        for (String value : values) {
+            key.append('\u0000').append(value);
+        }
+    }
+
+    private static void appendFiles(StringBuilder key, List<String> paths) {
+        key.append('|').append(paths.size());
+        for (String path : paths) {
+            File file = new File(path);
+            key.append('\u0000').append(path)
+                    .append('\u0000').append(file.length())
+                    .append('\u0000').append(file.lastModified());
+        }
+    }
 
     // Package-private to keep creation within the config pipeline
     static Builder newBuilder() { return new Builder(); }
@@ -75,6 +162,16 @@ public class AnalysisConfig {
         private List<String> excludeFilterPaths;
         private List<String> excludeBaselineBugsPaths;
         private List<String> plugins;
+        private boolean incremental;
+        private boolean watchTargets;
+        private boolean pruneAuxClasspath = true;
+        private boolean includeNativeSarif;
+        private boolean profileDetectors;
+        private boolean lazyFindingDetails;
+        private boolean outOfProcess;
+        private List<String> workerVmArgs;
+        private int workerMaxRuns;
+        private int workerRecycleHeapMb;
 
         Builder effort(Effort e) { this.effort = e; return this; }
         Builder targetResolutionRoots(List<String> roots) { this.targetResolutionRoots = roots; return this; }
@@ -86,6 +183,16 @@ public class AnalysisConfig {
         Builder excludeFilterPaths(List<String> p) { this.excludeFilterPaths = p; return this; }
         Builder excludeBaselineBugsPaths(List<String> p) { this.excludeBaselineBugsPaths = p; return this; }
         Builder plugins(List<String> p) { this.plugins = p; return this; }
+        Builder incremental(boolean i) { this.incremental = i; return this; }
+        Builder watchTargets(boolean w) { this.watchTargets = w; return this; }
+        Builder pruneAuxClasspath(boolean p) { this.pruneAuxClasspath = p; return this; }
+        Builder includeNativeSarif(boolean s) { this.includeNativeSarif = s; return this; }
+        Builder profileDetectors(boolean p) { this.profileDetectors = p; return this; }
+        Builder lazyFindingDetails(boolean l) { this.lazyFindingDetails = l; return this; }
+        Builder outOfProcess(boolean o) { this.outOfProcess = o; return this; }
+        Builder workerVmArgs(List<String> args) { this.workerVmArgs = args; return this; }
+        Builder workerMaxRuns(int runs) { this.workerMaxRuns = runs; return this; }
+        Builder workerRecycleHeapMb(int mb) { this.workerRecycleHeapMb = mb; return this; }
 
         AnalysisConfig build() { return new AnalysisConfig(this); }
     }
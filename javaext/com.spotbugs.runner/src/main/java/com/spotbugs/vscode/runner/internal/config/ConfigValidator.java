@@ -1,9 +1,13 @@
 package com.spotbugs.vscode.runner.internal.config;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.spotbugs.vscode.runner.api.ConfigError;
 import com.spotbugs.vscode.runner.api.ConfigSchema;
@@ -11,6 +15,26 @@ import com.spotbugs.vscode.runner.api.ConfigSchema;
 /** Validates a wire schema and maps to a domain AnalysisConfig. */
 public class ConfigValidator {
 
+    static final int DEFAULT_WORKER_MAX_RUNS = 20;
+
+    private final Map<String, Optional<ConfigError>> checkedFiles;
+
+    public ConfigValidator() {
+        this(null);
+    }
+
+    private ConfigValidator(Map<String, Optional<ConfigError>> checkedFiles) {
+        this.checkedFiles = checkedFiles;
+    }
+
+    /**
+     * A validator for the targets of one batch, which usually share their filter, baseline and
+     * aux classpath lists: each distinct list is checked once. Not thread-safe.
+     */
+    public static ConfigValidator forBatch() {
+        return new ConfigValidator(new HashMap<>());
+    }
+
     public ConfigValidationResult validate(ConfigSchema schema) {
         if (schema == null) {
             return ConfigValidationResult.error("CFG_BAD_JSON", "Missing configuration");
@@ -30,20 +54,32 @@ public class ConfigValidator {
         List<String> excludeFilterPaths = normalizeList(schema.getExcludeFilterPaths());
         List<String> excludeBaselineBugsPaths = normalizeList(schema.getExcludeBaselineBugsPaths());
         List<String> plugins = normalizeList(schema.getPlugins());
+        List<String> workerVmArgs = normalizeArgs(schema.getWorkerVmArgs());
+        int workerMaxRuns = schema.getWorkerMaxRuns() != null && schema.getWorkerMaxRuns() > 0
+                ? schema.getWorkerMaxRuns()
+                : DEFAULT_WORKER_MAX_RUNS;
+        int workerRecycleHeapMb = schema.getWorkerRecycleHeapMb() != null && schema.getWorkerRecycleHeapMb() > 0
+                ? schema.getWorkerRecycleHeapMb()
+                : 0;
+        boolean outOfProcess = Boolean.TRUE.equals(schema.getOutOfProcess());
+        // A worker's findings live in another JVM, where java.spotbugs.describe cannot reach them.
+        boolean lazyFindingDetails = Boolean.TRUE.equals(schema.getLazyFindingDetails()) && !outOfProcess;
 
-        ConfigError includeFilterError = FilterFileValidator.validateIncludeFilters(includeFilterPaths);
+        ConfigError includeFilterError = check("include", includeFilterPaths, FilterFileValidator::validateIncludeFilters);
         if (includeFilterError != null) {
             return ConfigValidationResult.error(includeFilterError.getCode(), includeFilterError.getMessage());
         }
-        ConfigError excludeFilterError = FilterFileValidator.validateExcludeFilters(excludeFilterPaths);
+        ConfigError excludeFilterError = check("exclude", excludeFilterPaths, FilterFileValidator::validateExcludeFilters);
         if (excludeFilterError != null) {
             return ConfigValidationResult.error(excludeFilterError.getCode(), excludeFilterError.getMessage());
         }
-        ConfigError baselineFilterError = FilterFileValidator.validateBaselineFilters(excludeBaselineBugsPaths);
+        ConfigError baselineFilterError = check(
+                "baseline", excludeBaselineBugsPaths, FilterFileValidator::validateBaselineFilters);
         if (baselineFilterError != null) {
             return ConfigValidationResult.error(baselineFilterError.getCode(), baselineFilterError.getMessage());
         }
-        ConfigError extraAuxClasspathError = FilterFileValidator.validateExtraAuxClasspaths(extraAuxClasspaths);
+        ConfigError extraAuxClasspathError = check(
+                "aux", extraAuxClasspaths, FilterFileValidator::validateExtraAuxClasspaths);
         if (extraAuxClasspathError != null) {
             return ConfigValidationResult.error(extraAuxClasspathError.getCode(), extraAuxClasspathError.getMessage());
         }
@@ -60,11 +96,30 @@ public class ConfigValidator {
             .excludeFilterPaths(excludeFilterPaths)
             .excludeBaselineBugsPaths(excludeBaselineBugsPaths)
             .plugins(plugins)
+            .incremental(Boolean.TRUE.equals(schema.getIncremental()))
+            .watchTargets(Boolean.TRUE.equals(schema.getWatchTargets()))
+            .pruneAuxClasspath(!Boolean.FALSE.equals(schema.getPruneAuxClasspath()))
+            .includeNativeSarif(Boolean.TRUE.equals(schema.getIncludeNativeSarif()))
+            .profileDetectors(Boolean.TRUE.equals(schema.getProfileDetectors()))
+            .lazyFindingDetails(lazyFindingDetails)
+            .outOfProcess(outOfProcess)
+            .workerVmArgs(workerVmArgs)
+            .workerMaxRuns(workerMaxRuns)
+            .workerRecycleHeapMb(workerRecycleHeapMb)
             .build();
 
         return ConfigValidationResult.ok(cfg);
     }
 
+    private ConfigError check(String kind, List<String> paths, Function<List<String>, ConfigError> validation) {
+        if (checkedFiles == null || paths.isEmpty()) {
+            return validation.apply(paths);
+        }
+        String key = kind + '\u0000' + String.join("\u0000", paths);
+        return checkedFiles.computeIfAbsent(key, ignored -> Optional.ofNullable(validation.apply(paths)))
+                .orElse(null);
+    }
+
     private static List<String> normalizeList(List<String> in) {
         if (in == null || in.isEmpty()) return java.util.Collections.emptyList();
         Set<String> set = new LinkedHashSet<>();
@@ -75,4 +130,16 @@ public class ConfigValidator {
         }
         return new ArrayList<>(set);
     }
+
+    // JVM options may legitimately repeat (e.g. --add-opens), so order and duplicates are kept.
+    private static List<String> normalizeArgs(List<String> in) {
+        if (in == null || in.isEmpty()) return java.util.Collections.emptyList();
+        List<String> args = new ArrayList<>();
+        for (String v : in) {
+            if (v == null) continue;
+            String t = v.trim();
+            if (!t.isEmpty()) args.add(t);
+        }
+        return args;
+    }
 }
@@ -0,0 +1,156 @@
+package com.spotbugs.vscode.runner.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@code jdk.jfr} side of {@link RunnerEvents}; only loaded once that module is known to be
+ * present.
+ */
+final class FlightRecorderSpans {
+
+    private FlightRecorderSpans() {
+    }
+
+    static RunnerEvents.Span command(String commandId) {
+        return start(new CommandEvent(), commandId);
+    }
+
+    static RunnerEvents.Span targetResolution() {
+        return start(new TargetResolutionEvent(), null);
+    }
+
+    static RunnerEvents.Span pluginLoad() {
+        return start(new PluginLoadEvent(), null);
+    }
+
+    static RunnerEvents.Span pluginUnload() {
+        return start(new PluginUnloadEvent(), null);
+    }
+
+    static RunnerEvents.Span engineExecution() {
+        return start(new EngineExecutionEvent(), null);
+    }
+
+    static RunnerEvents.Span reportWrite(String report) {
+        return start(new ReportWriteEvent(), report);
+    }
+
+    static RunnerEvents.Span serialization(String payload) {
+        return start(new SerializationEvent(), payload);
+    }
+
+    private static RunnerEvents.Span start(RunnerEvent event, String subject) {
+        if (!event.isEnabled()) {
+            return RunnerEvents.NONE;
+        }
+        event.subject = subject;
+        event.begin();
+        return new EventSpan(event);
+    }
+
+    private static final class EventSpan implements RunnerEvents.Span {
+        private final RunnerEvent event;
+
+        private EventSpan(RunnerEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public RunnerEvents.Span targets(int count) {
+            event.targetCount = count;
+            return this;
+        }
+
+        @Override
+        public RunnerEvents.Span findings(int count) {
+            event.findingCount = count;
+            return this;
+        }
+
+        @Override
+        public RunnerEvents.Span bytes(long count) {
+            event.bytes = count;
+            return this;
+        }
+
+        @Override
+        public RunnerEvents.Span failed(String code) {
+            event.failure = code;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    @Category({"SpotBugs", "Runner"})
+    @StackTrace(false)
+    abstract static class RunnerEvent extends Event {
+        @Label("Subject")
+        String subject;
+
+        @Label("Target Count")
+        int targetCount;
+
+        @Label("Finding Count")
+        int findingCount;
+
+        @Label("Bytes Produced")
+        @DataAmount
+        long bytes;
+
+        @Label("Failure Code")
+        String failure;
+    }
+
+    @Name("com.spotbugs.runner.Command")
+    @Label("SpotBugs Command")
+    @Description("A SpotBugs workspace command, including serialisation of its response")
+    static final class CommandEvent extends RunnerEvent {
+    }
+
+    @Name("com.spotbugs.runner.TargetResolution")
+    @Label("SpotBugs Target Resolution")
+    @Description("Resolution of the requested paths into class file targets")
+    static final class TargetResolutionEvent extends RunnerEvent {
+    }
+
+    @Name("com.spotbugs.runner.PluginLoad")
+    @Label("SpotBugs Plugin Load")
+    static final class PluginLoadEvent extends RunnerEvent {
+    }
+
+    @Name("com.spotbugs.runner.PluginUnload")
+    @Label("SpotBugs Plugin Unload")
+    static final class PluginUnloadEvent extends RunnerEvent {
+    }
+
+    @Name("com.spotbugs.runner.EngineExecution")
+    @Label("SpotBugs Engine Execution")
+    @Description("SpotBugs building the class path and running every detector pass")
+    static final class EngineExecutionEvent extends RunnerEvent {
+    }
+
+    @Name("com.spotbugs.runner.ReportWrite")
+    @Label("SpotBugs Report Write")
+    @Description("Rendering of a native SpotBugs report, in memory or to disk")
+    static final class ReportWriteEvent extends RunnerEvent {
+    }
+
+    @Name("com.spotbugs.runner.Serialization")
+    @Label("SpotBugs Serialization")
+    @Description("JSON serialisation of a command response")
+    static final class SerializationEvent extends RunnerEvent {
+    }
+}
@@ -0,0 +1,97 @@
+package com.spotbugs.vscode.runner.internal.jfr;
+
+/**
+ * Java Flight Recorder events for the runner's pipeline, so slow or memory-heavy runs show up in
+ * JMC next to the language server's GC and thread data.
+ * <p>
+ * The bundle targets Java 11, where {@code jdk.jfr} may be missing from a trimmed runtime or not
+ * visible to the bundle. Event classes are only loaded once the module is known to be present, and
+ * a span is a shared no-op unless a recording has its event type enabled.
+ */
+public final class RunnerEvents {
+
+    /** An in-flight event; committed on {@link #close()} if a recording wants it. */
+    public interface Span extends AutoCloseable {
+        Span targets(int count);
+
+        Span findings(int count);
+
+        /** Bytes written to disk, or the character count of a payload built in memory. */
+        Span bytes(long count);
+
+        Span failed(String code);
+
+        @Override
+        void close();
+    }
+
+    static final Span NONE = new Span() {
+        @Override
+        public Span targets(int count) {
+            return this;
+        }
+
+        @Override
+        public Span findings(int count) {
+            return this;
+        }
+
+        @Override
+        public Span bytes(long count) {
+            return this;
+        }
+
+        @Override
+        public Span failed(String code) {
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private static final boolean AVAILABLE = flightRecorderPresent();
+
+    private RunnerEvents() {
+    }
+
+    /** One workspace command, from argument parsing to its serialised response. */
+    public static Span command(String commandId) {
+        return AVAILABLE ? FlightRecorderSpans.command(commandId) : NONE;
+    }
+
+    public static Span targetResolution() {
+        return AVAILABLE ? FlightRecorderSpans.targetResolution() : NONE;
+    }
+
+    public static Span pluginLoad() {
+        return AVAILABLE ? FlightRecorderSpans.pluginLoad() : NONE;
+    }
+
+    public static Span pluginUnload() {
+        return AVAILABLE ? FlightRecorderSpans.pluginUnload() : NONE;
+    }
+
+    /** SpotBugs' own execution, from class path building through the last detector pass. */
+    public static Span engineExecution() {
+        return AVAILABLE ? FlightRecorderSpans.engineExecution() : NONE;
+    }
+
+    public static Span reportWrite(String report) {
+        return AVAILABLE ? FlightRecorderSpans.reportWrite(report) : NONE;
+    }
+
+    public static Span serialization(String payload) {
+        return AVAILABLE ? FlightRecorderSpans.serialization(payload) : NONE;
+    }
+
+    private static boolean flightRecorderPresent() {
+        try {
+            Class.forName("jdk.jfr.Event", false, RunnerEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+            return false;
+        }
+    }
+}
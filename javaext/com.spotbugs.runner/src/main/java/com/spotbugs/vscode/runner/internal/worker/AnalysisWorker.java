@@ -0,0 +1,119 @@
+package com.spotbugs.vscode.runner.internal.worker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * One worker JVM and the pipes used to talk to it. Responses are read by a daemon thread per
+ * worker, so a caller waiting for one can still notice cancellation while a line is half-written.
+ */
+final class AnalysisWorker {
+
+    private static final long POLL_MILLIS = 50L;
+
+    private final Process process;
+    private final List<String> vmArgs;
+    private final BufferedWriter requests;
+    private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+    private volatile boolean outputClosed;
+    private int runs;
+    private long lastUsedHeapBytes;
+
+    AnalysisWorker(Process process, List<String> vmArgs) {
+        this.process = process;
+        this.vmArgs = vmArgs;
+        this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        Thread reader = new Thread(this::readResponses, "spotbugs-worker-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Sends {@code request} and waits for the answer. Cancelling {@code monitor} kills the worker,
+     * since SpotBugs offers no way to abort a run from another process.
+     */
+    WorkerProtocol.Response call(WorkerProtocol.Request request, IProgressMonitor monitor)
+            throws IOException, InterruptedException {
+        requests.write(WorkerProtocol.toJson(request));
+        requests.write('\n');
+        requests.flush();
+        String line;
+        try {
+            while ((line = responses.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                if (monitor != null && monitor.isCanceled()) {
+                    throw new CancellationException("Command cancelled");
+                }
+                // The reader queues every line before flagging the end of output.
+                if (outputClosed && responses.isEmpty()) {
+                    throw new IOException(process.isAlive()
+                            ? "SpotBugs analysis worker closed its output"
+                            : "SpotBugs analysis worker exited with code " + process.exitValue());
+                }
+            }
+        } catch (CancellationException | InterruptedException e) {
+            destroy();
+            throw e;
+        }
+        runs++;
+        WorkerProtocol.Response response = WorkerProtocol.readResponse(line);
+        if (response == null) {
+            throw new IOException("SpotBugs analysis worker sent an empty response");
+        }
+        lastUsedHeapBytes = response.usedHeapBytes;
+        return response;
+    }
+
+    private void readResponses() {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                responses.add(line);
+            }
+        } catch (IOException ignored) {
+            // The worker was destroyed or died; the caller reports it.
+        } finally {
+            outputClosed = true;
+        }
+    }
+
+    List<String> getVmArgs() {
+        return vmArgs;
+    }
+
+    int getRuns() {
+        return runs;
+    }
+
+    long getLastUsedHeapBytes() {
+        return lastUsedHeapBytes;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    void destroy() {
+        try {
+            requests.close();
+        } catch (IOException ignored) {
+            // Closing stdin is only a polite shutdown request.
+        }
+        process.destroyForcibly();
+    }
+}
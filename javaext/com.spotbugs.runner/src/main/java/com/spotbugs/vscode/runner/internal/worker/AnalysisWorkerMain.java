@@ -0,0 +1,143 @@
+package com.spotbugs.vscode.runner.internal.worker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+
+import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
+import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
+
+import edu.umd.cs.findbugs.DetectorFactoryCollection;
+
+/**
+ * Entry point of an analysis worker JVM. Reads one {@link WorkerProtocol.Request} per line from
+ * stdin, runs it on a warm engine and answers with one {@link WorkerProtocol.Response} per line on
+ * stdout. The worker exits when stdin is closed, which also happens when the language server dies.
+ */
+public final class AnalysisWorkerMain {
+
+    private AnalyzerService engine;
+    private String engineFingerprint;
+
+    AnalysisWorkerMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Writer protocolOut = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8));
+        // Anything SpotBugs or a plugin prints must not corrupt the protocol stream.
+        System.setOut(System.err);
+        BufferedReader protocolIn = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        // Workers are forked ahead of need; load SpotBugs' core plugin while no request is waiting.
+        warmUp();
+        new AnalysisWorkerMain().serve(protocolIn, protocolOut);
+    }
+
+    private static void warmUp() {
+        try {
+            DetectorFactoryCollection.instance();
+        } catch (RuntimeException | LinkageError ignored) {
+            // The first run fails the same way and reports it.
+        }
+    }
+
+    void serve(BufferedReader in, Writer out) throws IOException {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                out.write(WorkerProtocol.toJson(handle(line)));
+                out.write('\n');
+                out.flush();
+            }
+        } finally {
+            closeEngine();
+        }
+    }
+
+    private WorkerProtocol.Response handle(String line) {
+        try {
+            WorkerProtocol.Request request = WorkerProtocol.readRequest(line);
+            AnalyzerService analyzer = engineFor(request.config);
+            SpotBugsAnalysisResult result = analyzer.analyzeToBugsWithWarnings(
+                    null,
+                    request.includeBaselineXml,
+                    request.export,
+                    request.filePaths
+            );
+            WorkerProtocol.Response response = new WorkerProtocol.Response();
+            response.result = result;
+            response.targetCount = analyzer.getLastTargetCount();
+            response.targetResolutionRootCount = analyzer.getLastTargetResolutionRootCount();
+            response.auxClasspathCount = analyzer.getLastAuxClasspathCount();
+            response.phaseNanos = analyzer.getLastPhaseTimings().asMap();
+            response.usedHeapBytes = usedHeapBytes();
+            return response;
+        } catch (Exception | LinkageError failure) {
+            // A failed run may leave SpotBugs state half-initialised; start the next one fresh.
+            closeEngine();
+            return WorkerProtocol.Response.failure(describe(failure), usedHeapBytes());
+        }
+    }
+
+    private AnalyzerService engineFor(AnalysisConfig config) {
+        String fingerprint = config != null ? config.fingerprint() : "";
+        if (engine == null || !fingerprint.equals(engineFingerprint)) {
+            closeEngine();
+            engine = new AnalyzerService();
+            engine.setConfiguration(config);
+            engineFingerprint = fingerprint;
+        }
+        return engine;
+    }
+
+    private void closeEngine() {
+        if (engine == null) {
+            return;
+        }
+        try {
+            engine.close();
+        } catch (RuntimeException ignored) {
+            // The engine is being dropped anyway.
+        }
+        engine = null;
+        engineFingerprint = null;
+    }
+
+    /**
+     * Heap the worker retained as of its last garbage collection. The current heap usage would
+     * also count garbage that simply has not been collected yet and recycle workers needlessly.
+     */
+    private static long usedHeapBytes() {
+        long retained = 0L;
+        boolean measured = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage afterCollection = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (afterCollection != null) {
+                retained += afterCollection.getUsed();
+                measured = true;
+            }
+        }
+        return measured ? retained : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static String describe(Throwable failure) {
+        String message = failure.getMessage();
+        return message != null && !message.trim().isEmpty()
+                ? failure.getClass().getSimpleName() + ": " + message.trim()
+                : failure.getClass().getSimpleName();
+    }
+}
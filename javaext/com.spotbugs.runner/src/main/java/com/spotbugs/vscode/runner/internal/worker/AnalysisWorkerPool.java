@@ -0,0 +1,244 @@
+package com.spotbugs.vscode.runner.internal.worker;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+
+import com.google.gson.Gson;
+
+import edu.umd.cs.findbugs.FindBugs2;
+
+/**
+ * Pool of analysis worker JVMs, keyed by their JVM options. Idle workers are reused across runs,
+ * most recently used first since those hold a warm engine, and recycled after a number of runs or
+ * once their heap grows past a threshold. Workers are forked ahead of need: a spare is started
+ * whenever a run takes the last idle worker for its options, and a replacement as soon as a worker
+ * is recycled, so JVM start-up overlaps the run in progress instead of delaying the next one.
+ */
+public final class AnalysisWorkerPool {
+
+    static final int DEFAULT_MAX_IDLE_WORKERS = 2;
+
+    private final String javaCommand;
+    private final List<String> classpath;
+    private final int maxIdleWorkers;
+    private final Map<List<String>, Deque<AnalysisWorker>> idleWorkers = new HashMap<>();
+
+    public AnalysisWorkerPool() {
+        this(defaultJavaCommand(), defaultClasspath(), DEFAULT_MAX_IDLE_WORKERS);
+    }
+
+    AnalysisWorkerPool(String javaCommand, List<String> classpath, int maxIdleWorkers) {
+        this.javaCommand = javaCommand;
+        this.classpath = Collections.unmodifiableList(new ArrayList<>(classpath));
+        this.maxIdleWorkers = Math.max(0, maxIdleWorkers);
+    }
+
+    /**
+     * Runs {@code request} on a pooled worker started with {@code vmArgs}. The worker is kept for
+     * later runs unless it has served {@code maxRuns} runs or reported more than
+     * {@code recycleHeapMb} megabytes of used heap.
+     */
+    WorkerProtocol.Response run(
+            WorkerProtocol.Request request,
+            List<String> vmArgs,
+            int maxRuns,
+            int recycleHeapMb,
+            IProgressMonitor monitor
+    ) throws IOException, InterruptedException {
+        AnalysisWorker worker = borrow(vmArgs);
+        WorkerProtocol.Response response;
+        try {
+            response = worker.call(request, monitor);
+        } catch (IOException | InterruptedException | RuntimeException | Error failure) {
+            worker.destroy();
+            throw failure;
+        }
+        giveBack(worker, maxRuns, recycleHeapMb);
+        return response;
+    }
+
+    /** Stops every idle worker. */
+    public void shutdown() {
+        List<AnalysisWorker> stopped = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<AnalysisWorker> workers : idleWorkers.values()) {
+                stopped.addAll(workers);
+            }
+            idleWorkers.clear();
+        }
+        for (AnalysisWorker worker : stopped) {
+            worker.destroy();
+        }
+    }
+
+    synchronized int idleWorkerCount() {
+        int count = 0;
+        for (Deque<AnalysisWorker> workers : idleWorkers.values()) {
+            count += workers.size();
+        }
+        return count;
+    }
+
+    private AnalysisWorker borrow(List<String> vmArgs) throws IOException {
+        List<String> key = Collections.unmodifiableList(new ArrayList<>(vmArgs));
+        AnalysisWorker worker = pollIdle(key);
+        if (worker == null) {
+            worker = start(key);
+        }
+        if (needsSpare(key)) {
+            startSpare(key);
+        }
+        return worker;
+    }
+
+    private synchronized AnalysisWorker pollIdle(List<String> key) {
+        Deque<AnalysisWorker> workers = idleWorkers.get(key);
+        while (workers != null && !workers.isEmpty()) {
+            AnalysisWorker worker = workers.pollLast();
+            if (worker.isAlive()) {
+                return worker;
+            }
+        }
+        return null;
+    }
+
+    private synchronized boolean needsSpare(List<String> key) {
+        Deque<AnalysisWorker> workers = idleWorkers.get(key);
+        return (workers == null || workers.isEmpty()) && idleWorkerCount() + 1 < maxIdleWorkers;
+    }
+
+    private void startSpare(List<String> key) {
+        try {
+            AnalysisWorker spare = start(key);
+            if (!offer(spare)) {
+                spare.destroy();
+            }
+        } catch (IOException ignored) {
+            // Only an optimisation; the next run starts its own worker and reports the failure.
+        }
+    }
+
+    private void giveBack(AnalysisWorker worker, int maxRuns, int recycleHeapMb) {
+        boolean exhausted = worker.getRuns() >= Math.max(1, maxRuns)
+                || (recycleHeapMb > 0 && worker.getLastUsedHeapBytes() > recycleHeapMb * 1024L * 1024L);
+        if (!exhausted && worker.isAlive() && offer(worker)) {
+            return;
+        }
+        worker.destroy();
+        if (exhausted) {
+            startSpare(worker.getVmArgs());
+        }
+    }
+
+    private synchronized boolean offer(AnalysisWorker worker) {
+        pruneDeadWorkers();
+        if (idleWorkerCount() >= maxIdleWorkers) {
+            return false;
+        }
+        idleWorkers.computeIfAbsent(worker.getVmArgs(), ignored -> new ArrayDeque<>()).addLast(worker);
+        return true;
+    }
+
+    private void pruneDeadWorkers() {
+        for (Iterator<Deque<AnalysisWorker>> workers = idleWorkers.values().iterator(); workers.hasNext();) {
+            Deque<AnalysisWorker> deque = workers.next();
+            deque.removeIf(worker -> !worker.isAlive());
+            if (deque.isEmpty()) {
+                workers.remove();
+            }
+        }
+    }
+
+    private AnalysisWorker start(List<String> vmArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(javaCommand);
+        command.addAll(vmArgs);
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, classpath));
+        command.add(AnalysisWorkerMain.class.getName());
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return new AnalysisWorker(process, vmArgs);
+    }
+
+    static String defaultJavaCommand() {
+        String executable = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows")
+                ? "java.exe"
+                : "java";
+        return new File(new File(System.getProperty("java.home"), "bin"), executable).getAbsolutePath();
+    }
+
+    /**
+     * The runner classes, SpotBugs, Gson and the Eclipse runtime types used by the analyzer, taken
+     * from wherever the current class loaders found them, plus the launching JVM's class path.
+     * Inside the language server those are OSGi bundles, whose nested jars are extracted first.
+     */
+    private static List<String> defaultClasspath() {
+        Set<String> entries = new LinkedHashSet<>();
+        for (Class<?> type : new Class<?>[] {
+                AnalysisWorkerMain.class, FindBugs2.class, Gson.class, IProgressMonitor.class }) {
+            entries.addAll(classpathOf(type));
+        }
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.trim().isEmpty()) {
+                entries.add(entry.trim());
+            }
+        }
+        return new ArrayList<>(entries);
+    }
+
+    private static List<String> classpathOf(Class<?> type) {
+        try {
+            Bundle bundle = FrameworkUtil.getBundle(type);
+            if (bundle != null) {
+                return BundleClasspath.resolve(FileLocator.getBundleFile(bundle), extractionRoot(bundle));
+            }
+        } catch (IOException | RuntimeException | LinkageError e) {
+            // Not running in OSGi, or the bundle is not on disk; try the code source below.
+        }
+        String location = codeSourcePath(type);
+        return location != null ? Collections.singletonList(location) : Collections.emptyList();
+    }
+
+    private static File extractionRoot(Bundle bundle) {
+        BundleContext context = bundle.getBundleContext();
+        File dataArea = context != null ? context.getDataFile("worker-classpath") : null;
+        return dataArea != null
+                ? dataArea
+                : new File(System.getProperty("java.io.tmpdir"), "spotbugs-worker-classpath");
+    }
+
+    private static String codeSourcePath(Class<?> type) {
+        try {
+            CodeSource source = type.getProtectionDomain().getCodeSource();
+            URL location = source != null ? source.getLocation() : null;
+            if (location == null || !"file".equalsIgnoreCase(location.getProtocol())) {
+                return null;
+            }
+            return new File(location.toURI()).getAbsolutePath();
+        } catch (URISyntaxException | SecurityException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
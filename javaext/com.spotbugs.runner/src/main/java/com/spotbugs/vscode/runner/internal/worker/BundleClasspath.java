@@ -0,0 +1,106 @@
+package com.spotbugs.vscode.runner.internal.worker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Class path entries a plain JVM needs to load the classes of an OSGi bundle. A packaged bundle
+ * keeps its libraries as jars nested inside the bundle jar, listed in its {@code Bundle-ClassPath},
+ * which only the OSGi class loader can read; those are extracted into a cache directory keyed by
+ * the bundle's size and modification time, so an updated bundle never reuses stale copies.
+ */
+final class BundleClasspath {
+
+    static final String BUNDLE_CLASSPATH = "Bundle-ClassPath";
+
+    private BundleClasspath() {
+    }
+
+    /**
+     * Resolves {@code bundle}, a bundle jar or an exploded bundle directory, into class path
+     * entries, extracting nested jars below {@code cacheRoot}. A bundle without a
+     * {@code Bundle-ClassPath} header is its own single entry.
+     */
+    static List<String> resolve(File bundle, File cacheRoot) throws IOException {
+        List<String> entries = new ArrayList<>();
+        if (bundle.isDirectory()) {
+            for (String path : bundleClassPath(readManifest(bundle))) {
+                File entry = ".".equals(path) ? bundle : new File(bundle, path);
+                if (entry.exists()) {
+                    entries.add(entry.getAbsolutePath());
+                }
+            }
+            return entries;
+        }
+        try (JarFile jar = new JarFile(bundle)) {
+            File cache = new File(cacheRoot, bundle.getName() + "-" + bundle.length() + "-" + bundle.lastModified());
+            for (String path : bundleClassPath(jar.getManifest())) {
+                if (".".equals(path)) {
+                    entries.add(bundle.getAbsolutePath());
+                    continue;
+                }
+                JarEntry nested = jar.getJarEntry(path);
+                if (nested != null && !nested.isDirectory()) {
+                    entries.add(extract(jar, nested, new File(cache, path)).getAbsolutePath());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static Manifest readManifest(File directory) throws IOException {
+        File file = new File(directory, JarFile.MANIFEST_NAME);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return new Manifest(in);
+        }
+    }
+
+    private static List<String> bundleClassPath(Manifest manifest) {
+        String header = manifest != null ? manifest.getMainAttributes().getValue(BUNDLE_CLASSPATH) : null;
+        List<String> paths = new ArrayList<>();
+        if (header != null) {
+            for (String clause : header.split(",")) {
+                // Attributes such as ";optional=true" do not change where the entry lives.
+                String path = clause.split(";", 2)[0].trim();
+                if (!path.isEmpty()) {
+                    paths.add(path.startsWith("/") ? path.substring(1) : path);
+                }
+            }
+        }
+        if (paths.isEmpty()) {
+            paths.add(".");
+        }
+        return paths;
+    }
+
+    private static File extract(JarFile jar, JarEntry entry, File target) throws IOException {
+        if (target.isFile() && (entry.getSize() < 0 || target.length() == entry.getSize())) {
+            return target;
+        }
+        File parent = target.getParentFile();
+        Files.createDirectories(parent.toPath());
+        // Several language servers may start at once; each writes its own copy and moves it in place.
+        Path partial = Files.createTempFile(parent.toPath(), target.getName(), ".part");
+        try {
+            try (InputStream in = jar.getInputStream(entry)) {
+                Files.copy(in, partial, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(partial, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,91 @@
+package com.spotbugs.vscode.runner.internal.worker;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.spotbugs.vscode.runner.internal.Analyzer;
+import com.spotbugs.vscode.runner.internal.PhaseTimings;
+import com.spotbugs.vscode.runner.internal.ReportExport;
+import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
+import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
+
+/**
+ * Analyzer that delegates every run to a pooled worker JVM, keeping SpotBugs' heap and GC
+ * pauses out of the language server. The warm engine lives in the worker.
+ */
+public class OutOfProcessAnalyzerService implements Analyzer {
+
+    private final AnalysisWorkerPool workers;
+    private AnalysisConfig config;
+    private int lastTargetCount = 0;
+    private int lastTargetResolutionRootCount = 0;
+    private int lastAuxClasspathCount = 0;
+    private PhaseTimings lastPhaseTimings = new PhaseTimings();
+
+    public OutOfProcessAnalyzerService(AnalysisWorkerPool workers) {
+        this.workers = workers;
+    }
+
+    @Override
+    public void setConfiguration(AnalysisConfig cfg) {
+        this.config = cfg;
+    }
+
+    @Override
+    public int getLastTargetCount() {
+        return lastTargetCount;
+    }
+
+    @Override
+    public int getLastTargetResolutionRootCount() {
+        return lastTargetResolutionRootCount;
+    }
+
+    @Override
+    public int getLastAuxClasspathCount() {
+        return lastAuxClasspathCount;
+    }
+
+    @Override
+    public PhaseTimings getLastPhaseTimings() {
+        return lastPhaseTimings;
+    }
+
+    /** Nothing to release here: the worker and its engine belong to the pool. */
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public SpotBugsAnalysisResult analyzeToBugsWithWarnings(
+            IProgressMonitor monitor,
+            boolean includeBaselineXml,
+            ReportExport export,
+            String... filePaths
+    ) throws IOException, InterruptedException {
+        this.lastTargetCount = 0;
+        this.lastTargetResolutionRootCount = 0;
+        this.lastAuxClasspathCount = 0;
+        this.lastPhaseTimings = new PhaseTimings();
+        if (filePaths == null || filePaths.length == 0) {
+            return SpotBugsAnalysisResult.empty();
+        }
+        WorkerProtocol.Response response = workers.run(
+                new WorkerProtocol.Request(config, filePaths, includeBaselineXml, export),
+                config != null ? config.getWorkerVmArgs() : Collections.emptyList(),
+                config != null ? config.getWorkerMaxRuns() : 1,
+                config != null ? config.getWorkerRecycleHeapMb() : 0,
+                monitor
+        );
+        if (response.error != null) {
+            throw new IOException("SpotBugs analysis worker failed: " + response.error);
+        }
+        this.lastTargetCount = response.targetCount;
+        this.lastTargetResolutionRootCount = response.targetResolutionRootCount;
+        this.lastAuxClasspathCount = response.auxClasspathCount;
+        this.lastPhaseTimings = PhaseTimings.fromMap(response.phaseNanos);
+        return response.result != null ? response.result : SpotBugsAnalysisResult.empty();
+    }
+}
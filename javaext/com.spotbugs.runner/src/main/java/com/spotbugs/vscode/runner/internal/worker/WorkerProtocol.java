@@ -0,0 +1,63 @@
+package com.spotbugs.vscode.runner.internal.worker;
+
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.spotbugs.vscode.runner.internal.ReportExport;
+import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
+import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
+
+/**
+ * Line-delimited JSON messages exchanged with an analysis worker JVM. Each request and each
+ * response is written as a single line; Gson escapes embedded line breaks.
+ */
+final class WorkerProtocol {
+
+    private static final Gson GSON = new Gson();
+
+    private WorkerProtocol() {
+    }
+
+    static String toJson(Object message) {
+        return GSON.toJson(message);
+    }
+
+    static Request readRequest(String line) {
+        return GSON.fromJson(line, Request.class);
+    }
+
+    static Response readResponse(String line) {
+        return GSON.fromJson(line, Response.class);
+    }
+
+    static final class Request {
+        AnalysisConfig config;
+        String[] filePaths;
+        boolean includeBaselineXml;
+        ReportExport export;
+
+        Request(AnalysisConfig config, String[] filePaths, boolean includeBaselineXml, ReportExport export) {
+            this.config = config;
+            this.filePaths = filePaths;
+            this.includeBaselineXml = includeBaselineXml;
+            this.export = export;
+        }
+    }
+
+    static final class Response {
+        SpotBugsAnalysisResult result;
+        int targetCount;
+        int targetResolutionRootCount;
+        int auxClasspathCount;
+        Map<String, Long> phaseNanos;
+        long usedHeapBytes;
+        String error;
+
+        static Response failure(String error, long usedHeapBytes) {
+            Response response = new Response();
+            response.error = error;
+            response.usedHeapBytes = usedHeapBytes;
+            return response;
+        }
+    }
+}
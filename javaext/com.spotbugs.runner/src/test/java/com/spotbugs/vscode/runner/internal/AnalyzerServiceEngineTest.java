@@ -0,0 +1,55 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.junit.Test;
+
+import com.spotbugs.vscode.runner.internal.fixtures.NegativeShiftFixture;
+
+import edu.umd.cs.findbugs.FindBugs2;
+
+public class AnalyzerServiceEngineTest {
+
+    @Test
+    public void runsDoNotKeepTheReportersOfEarlierRuns() throws Exception {
+        List<FindBugs2> engines = new ArrayList<>();
+        AnalyzerService analyzer = new AnalyzerService() {
+            @Override
+            FindBugs2 newEngine() {
+                FindBugs2 engine = super.newEngine();
+                engines.add(engine);
+                return engine;
+            }
+        };
+        analyzer.setConfiguration(null);
+        String target = fixtureClassPath();
+
+        for (int run = 0; run < 3; run++) {
+            analyzer.analyzeToBugs((IProgressMonitor) null, target);
+        }
+
+        assertEquals(3, engines.size());
+        // FindBugs2 registers one class observer per bug reporter it is given.
+        assertEquals(1, classObservers(engines.get(engines.size() - 1)).size());
+    }
+
+    private static List<?> classObservers(FindBugs2 engine) throws ReflectiveOperationException {
+        Field field = FindBugs2.class.getDeclaredField("classObserverList");
+        field.setAccessible(true);
+        return (List<?>) field.get(engine);
+    }
+
+    private static String fixtureClassPath() throws Exception {
+        URL classFile = NegativeShiftFixture.class.getResource("NegativeShiftFixture.class");
+        assertNotNull("Compiled negative-shift fixture should be available", classFile);
+        return new File(classFile.toURI()).getAbsolutePath();
+    }
+}
@@ -12,6 +12,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -21,8 +22,11 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.spotbugs.vscode.runner.api.AnalysisPassProfile;
+import com.spotbugs.vscode.runner.api.AnalysisProfile;
 import com.spotbugs.vscode.runner.api.AnalysisReportSummary;
 import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.DetectorProfile;
 import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
 import com.spotbugs.vscode.runner.internal.config.ConfigParseResult;
 import com.spotbugs.vscode.runner.internal.config.ConfigParser;
@@ -59,6 +63,95 @@ public class AnalyzerServiceRankThresholdTest {
         assertNativeSarifPresence(null, false);
     }
 
+    @Test
+    public void nativeSarifIsOnlyRenderedOnRequest() throws Exception {
+        SpotBugsAnalysisResult analysis = configuredAnalyzer(20, false)
+                .analyzeToBugsWithWarnings(null, fixtureClassPath());
+
+        assertNull(analysis.getNativeSarif());
+        onlyFixtureBug(analysis.getBugs());
+    }
+
+    @Test
+    public void runRecordsTheDurationOfEachPhaseThatRan() throws Exception {
+        AnalyzerService analyzer = configuredAnalyzer(20, false);
+        analyzer.analyzeToBugsWithWarnings(null, fixtureClassPath());
+
+        Map<String, Long> phases = analyzer.getLastPhaseTimings().asMap();
+        for (String phase : new String[] {
+                "targetResolution", "auxClasspath", "classPathBuild", "analysis", "bugConversion", "sourcePaths"
+        }) {
+            assertTrue(phase, phases.containsKey(phase));
+        }
+        assertFalse(phases.containsKey("sarif"));
+        assertFalse(phases.containsKey("baselineXml"));
+    }
+
+    @Test
+    public void profiledRunsAttributeTimeAndFindingsToDetectors() throws Exception {
+        SpotBugsAnalysisResult analysis = configuredAnalyzer(20, false, true)
+                .analyzeToBugsWithWarnings(null, fixtureClassPath());
+
+        AnalysisProfile profile = analysis.getProfile();
+        assertNotNull(profile);
+        assertFalse(profile.getPasses().isEmpty());
+        for (AnalysisPassProfile pass : profile.getPasses()) {
+            assertTrue(pass.getWallNanos() >= pass.getDetectorNanos());
+        }
+        DetectorProfile reporter = null;
+        long previousTime = Long.MAX_VALUE;
+        for (DetectorProfile detector : profile.getDetectors()) {
+            assertTrue(detector.getTimeNanos() <= previousTime);
+            previousTime = detector.getTimeNanos();
+            if (detector.getFindingCount() > 0) {
+                assertNull("Only one detector should report the fixture bug", reporter);
+                reporter = detector;
+            }
+        }
+        assertNotNull(reporter);
+        assertEquals(1, reporter.getFindingCount());
+        assertTrue(reporter.getPass() >= 1);
+        assertTrue(reporter.getInvocations() > 0);
+        assertEquals("edu.umd.cs.findbugs.plugins.core", reporter.getPluginId());
+    }
+
+    @Test
+    public void unprofiledRunsHaveNoProfile() throws Exception {
+        assertNull(configuredAnalyzer(20, false).analyzeToBugsWithWarnings(null, fixtureClassPath()).getProfile());
+    }
+
+    @Test
+    public void exportedReportsAreStreamedToDisk() throws Exception {
+        Path directory = Files.createTempDirectory("spotbugs-export");
+        Path sarif = directory.resolve("reports/spotbugs.sarif");
+        Path baseline = directory.resolve("baseline.xml");
+        try {
+            SpotBugsAnalysisResult result = configuredAnalyzer(20, true).analyzeToBugsWithWarnings(
+                    null,
+                    false,
+                    ReportExport.of(sarif.toString(), baseline.toString()),
+                    fixtureClassPath()
+            );
+
+            assertNull(result.getNativeSarif());
+            assertNull(result.getBaselineXml());
+            assertEquals(sarif.toString(), result.getNativeSarifFile().getPath());
+            assertEquals(Files.size(sarif), result.getNativeSarifFile().getByteCount());
+            assertEquals("2.1.0", JsonParser.parseString(Files.readString(sarif))
+                    .getAsJsonObject().get("version").getAsString());
+            assertEquals(Files.size(baseline), result.getBaselineXmlFile().getByteCount());
+            assertTrue(Files.readString(baseline).contains(BUG_TYPE));
+            try (java.util.stream.Stream<Path> leftovers = Files.list(directory.resolve("reports"))) {
+                assertEquals("No temporary files should be left behind", 1L, leftovers.count());
+            }
+        } finally {
+            Files.deleteIfExists(sarif);
+            Files.deleteIfExists(sarif.getParent());
+            Files.deleteIfExists(baseline);
+            Files.deleteIfExists(directory);
+        }
+    }
+
     @Test
     public void structuredResultIncludesPlainReportData() throws Exception {
         SpotBugsAnalysisResult result = configuredAnalyzer(20).analyzeToBugsWithWarnings(
@@ -102,7 +195,7 @@ public class AnalyzerServiceRankThresholdTest {
     }
 
     private void assertNativeSarifPresence(Integer threshold, boolean expected) throws Exception {
-        AnalyzerService analyzer = configuredAnalyzer(threshold);
+        AnalyzerService analyzer = configuredAnalyzer(threshold, true);
         SpotBugsAnalysisResult analysis = analyzer.analyzeToBugsWithWarnings(null, fixtureClassPath());
         String sarif = analysis.getNativeSarif();
         assertNull(analysis.getBaselineXml());
@@ -143,16 +236,30 @@ public class AnalyzerServiceRankThresholdTest {
     }
 
     private AnalyzerService configuredAnalyzer(Integer threshold) {
+        return configuredAnalyzer(threshold, false);
+    }
+
+    private AnalyzerService configuredAnalyzer(Integer threshold, boolean includeNativeSarif) {
+        return configuredAnalyzer(threshold, includeNativeSarif, false);
+    }
+
+    private AnalyzerService configuredAnalyzer(Integer threshold, boolean includeNativeSarif, boolean profileDetectors) {
         AnalyzerService analyzer = new AnalyzerService();
-        analyzer.setConfiguration(config(threshold));
+        analyzer.setConfiguration(config(threshold, includeNativeSarif, profileDetectors));
         return analyzer;
     }
 
-    private AnalysisConfig config(Integer threshold) {
+    private AnalysisConfig config(Integer threshold, boolean includeNativeSarif, boolean profileDetectors) {
         JsonObject json = new JsonObject();
+        if (profileDetectors) {
+            json.addProperty("profileDetectors", true);
+        }
         if (threshold != null) {
             json.addProperty("priorityThreshold", threshold);
         }
+        if (includeNativeSarif) {
+            json.addProperty("includeNativeSarif", true);
+        }
         JsonArray sourcepaths = new JsonArray();
         sourcepaths.add(fixtureSourceRoot().getAbsolutePath());
         json.add("sourcepaths", sourcepaths);
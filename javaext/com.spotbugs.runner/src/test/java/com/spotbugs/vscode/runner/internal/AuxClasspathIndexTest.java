@@ -0,0 +1,141 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+public class AuxClasspathIndexTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void keepsOnlyEntriesReachableFromTargets() throws Exception {
+        String target = writeClass(temp.newFolder("classes"), "app/Main", "lib/a/Base", "Lqual/Nullable;");
+        String base = jar("base.jar", "lib/a/Base", "lib/b/Root", null);
+        String unrelated = jar("unrelated.jar", "other/Thing", "java/lang/Object", null);
+        String root = jar("root.jar", "lib/b/Root", "java/lang/Object", null);
+        String qualifiers = jar("qualifiers.jar", "qual/Nullable", "java/lang/Object", null);
+        File siblingModule = temp.newFolder("sibling");
+        writeClass(siblingModule, "sibling/Helper", "java/lang/Object", null);
+        String missing = new File(temp.getRoot(), "missing.jar").getAbsolutePath();
+
+        List<String> reachable = new AuxClasspathIndex().reachableEntries(
+                Arrays.asList(base, unrelated, root, qualifiers, siblingModule.getAbsolutePath(), missing),
+                Collections.singletonList(target),
+                null
+        );
+
+        assertEquals(Arrays.asList(base, root, qualifiers, siblingModule.getAbsolutePath(), missing), reachable);
+    }
+
+    @Test
+    public void knownTargetPackagesSkipParsingTheTargets() throws Exception {
+        String library = jar("library.jar", "lib/a/Base", "java/lang/Object", null);
+        String unrelated = jar("unrelated.jar", "other/Thing", "java/lang/Object", null);
+
+        assertEquals(Collections.singletonList(library), new AuxClasspathIndex().reachableFromPackages(
+                Arrays.asList(library, unrelated),
+                new HashSet<>(Arrays.asList("app", "lib/a")),
+                null
+        ));
+    }
+
+    @Test
+    public void archiveTargetsKeepEveryEntry() throws Exception {
+        String library = jar("library.jar", "lib/a/Base", "java/lang/Object", null);
+        String unrelated = jar("unrelated.jar", "other/Thing", "java/lang/Object", null);
+        List<String> auxEntries = Arrays.asList(library, unrelated);
+
+        assertEquals(auxEntries, new AuxClasspathIndex().reachableEntries(
+                auxEntries,
+                Collections.singletonList(library),
+                null
+        ));
+    }
+
+    @Test
+    public void archiveIndexIsReusedUntilTheArchiveChanges() throws Exception {
+        String target = writeClass(temp.newFolder("classes"), "app/Main", "lib/a/Base", null);
+        String library = jar("library.jar", "lib/a/Base", "java/lang/Object", null);
+        AuxClasspathIndex index = new AuxClasspathIndex();
+
+        index.reachableEntries(Collections.singletonList(library), Collections.singletonList(target), null);
+        assertEquals(1, index.cachedArchiveCount());
+
+        jar("library.jar", "other/Thing", "java/lang/Object", null);
+        assertEquals(Collections.emptyList(), index.reachableEntries(
+                Collections.singletonList(library),
+                Collections.singletonList(target),
+                null
+        ));
+    }
+
+    @Test
+    public void targetClassPackagesAreReusedUntilTheClassChanges() throws Exception {
+        File classes = temp.newFolder("classes");
+        String target = writeClass(classes, "app/Main", "lib/a/Base", null);
+        String library = jar("library.jar", "lib/a/Base", "java/lang/Object", null);
+        String unrelated = jar("unrelated.jar", "other/Thing", "java/lang/Object", null);
+        List<String> auxEntries = Arrays.asList(library, unrelated);
+        AuxClasspathIndex index = new AuxClasspathIndex();
+        index.reachableEntries(auxEntries, Collections.singletonList(target), null);
+        assertEquals(1, index.cachedTargetClassCount());
+
+        // Same size and time stamp: the cached packages are used, so the unreadable bytes are not parsed.
+        File file = new File(target);
+        long lastModified = file.lastModified();
+        Files.write(file.toPath(), new byte[(int) file.length()]);
+        file.setLastModified(lastModified);
+        assertEquals(Collections.singletonList(library),
+                index.reachableEntries(auxEntries, Collections.singletonList(target), null));
+
+        writeClass(classes, "app/Main", "other/Thing", null);
+        file.setLastModified(lastModified + 2000L);
+        assertEquals(Collections.singletonList(unrelated),
+                index.reachableEntries(auxEntries, Collections.singletonList(target), null));
+    }
+
+    private String jar(String name, String className, String superName, String annotation) throws Exception {
+        File file = new File(temp.getRoot(), name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            out.putNextEntry(new ZipEntry(className + ".class"));
+            out.write(classBytes(className, superName, annotation));
+            out.closeEntry();
+        }
+        return file.getAbsolutePath();
+    }
+
+    private static String writeClass(File root, String className, String superName, String annotation) throws Exception {
+        File file = new File(root, className + ".class");
+        file.getParentFile().mkdirs();
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            out.write(classBytes(className, superName, annotation));
+        }
+        return file.getAbsolutePath();
+    }
+
+    private static byte[] classBytes(String className, String superName, String annotation) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, className, null, superName, null);
+        if (annotation != null) {
+            writer.visitAnnotation(annotation, true).visitEnd();
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
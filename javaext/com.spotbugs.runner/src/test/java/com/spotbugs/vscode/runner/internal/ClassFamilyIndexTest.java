@@ -0,0 +1,103 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassFamilyIndexTest {
+
+    private static final long SETTLED_MILLIS = System.currentTimeMillis() - 60_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void returnsAnchorFollowedBySortedNestedClasses() throws Exception {
+        File outputRoot = temporaryFolder.newFolder("classes");
+        File packageDir = mkdirs(outputRoot, "demo");
+        File anchor = touch(packageDir, "Repro.class");
+        File inner = touch(packageDir, "Repro$Inner.class");
+        File anonymous = touch(packageDir, "Repro$1.class");
+        touch(packageDir, "ReproOther.class");
+        touch(packageDir, "Repro$Inner.txt");
+
+        List<String> family = new ClassFamilyIndex().classFamily(outputRoot, "demo/Repro.class");
+
+        assertEquals(Arrays.asList(
+                anchor.getAbsolutePath(),
+                anonymous.getAbsolutePath(),
+                inner.getAbsolutePath()
+        ), family);
+    }
+
+    @Test
+    public void missingAnchorOrPackageYieldsEmptyFamily() throws Exception {
+        File outputRoot = temporaryFolder.newFolder("classes");
+        touch(mkdirs(outputRoot, "demo"), "Repro$Inner.class");
+        ClassFamilyIndex index = new ClassFamilyIndex();
+
+        assertEquals(Collections.emptyList(), index.classFamily(outputRoot, "demo/Repro.class"));
+        assertEquals(Collections.emptyList(), index.classFamily(outputRoot, "missing/Repro.class"));
+    }
+
+    @Test
+    public void reusesListingUntilPackageDirectoryChanges() throws Exception {
+        File outputRoot = temporaryFolder.newFolder("classes");
+        File packageDir = mkdirs(outputRoot, "demo");
+        File anchor = touch(packageDir, "Repro.class");
+        assertTrue(packageDir.setLastModified(SETTLED_MILLIS));
+        ClassFamilyIndex index = new ClassFamilyIndex();
+
+        assertEquals(Collections.singletonList(anchor.getAbsolutePath()), index.classFamily(outputRoot, "demo/Repro.class"));
+
+        // A new file behind an unchanged directory timestamp proves the listing was reused.
+        File inner = touch(packageDir, "Repro$Inner.class");
+        assertTrue(packageDir.setLastModified(SETTLED_MILLIS));
+        assertEquals(Collections.singletonList(anchor.getAbsolutePath()), index.classFamily(outputRoot, "demo/Repro.class"));
+        assertEquals(1, index.size());
+
+        assertTrue(packageDir.setLastModified(SETTLED_MILLIS + 1000L));
+        assertEquals(
+                Arrays.asList(anchor.getAbsolutePath(), inner.getAbsolutePath()),
+                index.classFamily(outputRoot, "demo/Repro.class")
+        );
+    }
+
+    @Test
+    public void recentlyModifiedPackageDirectoryIsListedAgain() throws Exception {
+        File outputRoot = temporaryFolder.newFolder("classes");
+        File packageDir = mkdirs(outputRoot, "demo");
+        File anchor = touch(packageDir, "Repro.class");
+        ClassFamilyIndex index = new ClassFamilyIndex();
+        index.classFamily(outputRoot, "demo/Repro.class");
+
+        long modified = packageDir.lastModified();
+        File inner = touch(packageDir, "Repro$Inner.class");
+        assertTrue(packageDir.setLastModified(modified));
+
+        assertEquals(
+                Arrays.asList(anchor.getAbsolutePath(), inner.getAbsolutePath()),
+                index.classFamily(outputRoot, "demo/Repro.class")
+        );
+    }
+
+    private File touch(File parent, String name) throws Exception {
+        File file = new File(parent, name);
+        assertTrue(file.createNewFile());
+        return file;
+    }
+
+    private File mkdirs(File parent, String relativePath) {
+        File dir = new File(parent, relativePath);
+        assertTrue(dir.mkdirs());
+        return dir;
+    }
+}
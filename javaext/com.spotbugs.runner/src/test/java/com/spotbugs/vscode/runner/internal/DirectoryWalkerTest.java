@@ -0,0 +1,46 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DirectoryWalkerTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void collectFilesWalksOnItsOwnPool() throws Exception {
+        File root = temp.newFolder("classes");
+        Path a = Files.createDirectories(root.toPath().resolve("a"));
+        Path b = Files.createDirectories(root.toPath().resolve("b"));
+        Path first = Files.createFile(a.resolve("First.class"));
+        Path second = Files.createFile(b.resolve("Second.class"));
+        Files.createFile(b.resolve("notes.txt"));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Path> files = DirectoryWalker.collectFiles(root, name -> {
+            threads.add(Thread.currentThread().getName());
+            return name.endsWith(".class");
+        }, null);
+
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), new HashSet<>(files));
+        assertFalse(threads.isEmpty());
+        for (String thread : threads) {
+            assertTrue(thread, thread.startsWith("spotbugs-directory-walker-"));
+        }
+    }
+}
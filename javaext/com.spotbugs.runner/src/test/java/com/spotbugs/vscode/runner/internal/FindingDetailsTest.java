@@ -0,0 +1,83 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.FindingDetail;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.MethodAnnotation;
+import edu.umd.cs.findbugs.Priorities;
+import edu.umd.cs.findbugs.SourceLineAnnotation;
+
+public class FindingDetailsTest {
+
+    private static final Gson GSON = new Gson();
+
+    @Test
+    public void lazyFindingsLeaveOutTheirDetails() {
+        BugInfo lazy = new BugInfo(finding("run", 10), null, false);
+
+        assertNull(lazy.getDetailHtml());
+        assertNull(lazy.getLongDescription());
+        assertNull(lazy.getCategoryDescription());
+        assertNull(lazy.getAnnotationMessages());
+        assertEquals("NP_NULL_ON_SOME_PATH", lazy.getType());
+    }
+
+    @Test
+    public void describesARememberedFindingLikeAnEagerConversion() {
+        BugInstance instance = finding("run", 10);
+        BugInfo eager = new BugInfo(instance);
+        FindingDetails details = new FindingDetails(10);
+        details.remember(Collections.singletonList(instance));
+
+        FindingDetail detail = details.describe(null, eager.getInstanceHash());
+
+        assertNotNull(detail);
+        assertEquals("NP_NULL_ON_SOME_PATH", detail.getType());
+        assertEquals(eager.getInstanceHash(), detail.getInstanceHash());
+        assertEquals(eager.getAnnotationMessages(), detail.getAnnotationMessages());
+        assertEquals(GSON.toJson(eager.patternInfo()), GSON.toJson(detail.getPattern()));
+    }
+
+    @Test
+    public void fallsBackToTheBugTypeForFindingsNoLongerKept() {
+        FindingDetails details = new FindingDetails(10);
+
+        FindingDetail detail = details.describe("NP_NULL_ON_SOME_PATH", "unknown-hash");
+
+        assertNotNull(detail);
+        assertNull(detail.getInstanceHash());
+        assertNull(detail.getAnnotationMessages());
+        assertEquals(
+                GSON.toJson(new BugInfo(finding("run", 10)).patternInfo()),
+                GSON.toJson(detail.getPattern())
+        );
+        assertNull(details.describe("NO_SUCH_PATTERN", "unknown-hash"));
+    }
+
+    @Test
+    public void keepsOnlyTheMostRecentFindings() {
+        FindingDetails details = new FindingDetails(2);
+        details.remember(Arrays.asList(finding("first", 10), finding("second", 20), finding("third", 30)));
+
+        assertEquals(2, details.retainedFindingCount());
+    }
+
+    private static BugInstance finding(String method, int line) {
+        String className = "com.example.Type";
+        return new BugInstance("NP_NULL_ON_SOME_PATH", Priorities.HIGH_PRIORITY)
+                .addClass(className)
+                .addMethod(new MethodAnnotation(className, method, "()V", false))
+                .addSourceLine(new SourceLineAnnotation(className, "Type.java", line, line + 1, 0, 0));
+    }
+}
@@ -0,0 +1,156 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.Priorities;
+
+public class IncrementalAnalysisStateTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void firstRunAnalyzesEveryTarget() throws Exception {
+        List<String> targets = copyFixtureClasses();
+        IncrementalAnalysisState state = new IncrementalAnalysisState();
+
+        IncrementalAnalysisState.Plan plan = state.plan(targets, null);
+
+        assertTrue(plan.isFull());
+        assertEquals(targets, plan.getAnalysisTargets());
+    }
+
+    @Test
+    public void unchangedTargetsReplayRecordedFindings() throws Exception {
+        List<String> targets = copyFixtureClasses();
+        IncrementalAnalysisState state = new IncrementalAnalysisState();
+        BugInfo unrelatedBug = bug(Unrelated.class);
+        state.record(state.plan(targets, null), Collections.singletonList(unrelatedBug));
+
+        Files.setLastModifiedTime(Path.of(targets.get(2)), FileTime.fromMillis(1_000L));
+        IncrementalAnalysisState.Plan plan = state.plan(targets, null);
+        List<BugInfo> bugs = state.record(plan, Collections.emptyList());
+
+        assertTrue(plan.isUpToDate());
+        assertEquals(Collections.singletonList(unrelatedBug), bugs);
+    }
+
+    @Test
+    public void changedClassReanalyzesDirectDependentsOnly() throws Exception {
+        List<String> targets = copyFixtureClasses();
+        IncrementalAnalysisState state = new IncrementalAnalysisState();
+        BugInfo staleBaseBug = bug(Base.class);
+        BugInfo unrelatedBug = bug(Unrelated.class);
+        state.record(state.plan(targets, null), Arrays.asList(staleBaseBug, unrelatedBug));
+
+        Files.write(Path.of(targets.get(0)), new byte[] { 0 }, StandardOpenOption.APPEND);
+        IncrementalAnalysisState.Plan plan = state.plan(targets, null);
+        BugInfo freshDependentBug = bug(Dependent.class);
+        List<BugInfo> bugs = state.record(plan, Collections.singletonList(freshDependentBug));
+
+        assertFalse(plan.isFull());
+        assertEquals(Arrays.asList(targets.get(0), targets.get(1)), plan.getAnalysisTargets());
+        assertEquals(Collections.singletonList(temp.getRoot().getAbsolutePath() + java.io.File.separator),
+                plan.getSkippedClassRoots());
+        assertEquals(Arrays.asList(freshDependentBug, unrelatedBug), bugs);
+    }
+
+    @Test
+    public void recordForgetsClassesThatAreNoLongerTargets() throws Exception {
+        List<String> targets = copyFixtureClasses();
+        IncrementalAnalysisState state = new IncrementalAnalysisState();
+        state.record(state.plan(targets, null), Collections.singletonList(bug(Unrelated.class)));
+
+        List<String> remaining = targets.subList(0, 2);
+        List<BugInfo> bugs = state.record(state.plan(remaining, null), Collections.emptyList());
+
+        assertEquals(2, state.recordCount());
+        assertTrue(bugs.isEmpty());
+        assertTrue(state.plan(targets, null).getAnalysisTargets().contains(targets.get(2)));
+    }
+
+    @Test
+    public void deletedClassReanalyzesItsDependents() throws Exception {
+        List<String> targets = copyFixtureClasses();
+        IncrementalAnalysisState state = new IncrementalAnalysisState();
+        state.record(state.plan(targets, null), Collections.singletonList(bug(Dependent.class)));
+
+        Files.delete(Path.of(targets.get(0)));
+        IncrementalAnalysisState.Plan plan = state.plan(targets.subList(1, 3), null);
+
+        assertEquals(Collections.singletonList(targets.get(1)), plan.getAnalysisTargets());
+    }
+
+    @Test
+    public void planKeepsReferencedPackagesOfSkippedTargets() throws Exception {
+        List<String> targets = copyFixtureClasses();
+        IncrementalAnalysisState state = new IncrementalAnalysisState();
+        state.record(state.plan(targets, null), Collections.emptyList());
+
+        IncrementalAnalysisState.Plan plan = state.plan(targets, null);
+
+        assertTrue(plan.isUpToDate());
+        assertTrue(plan.getReferencedPackages().contains("com/spotbugs/vscode/runner/internal"));
+        assertTrue(plan.getReferencedPackages().contains("java/lang"));
+    }
+
+    @Test
+    public void archiveTargetsFallBackToFullAnalysis() throws Exception {
+        IncrementalAnalysisState state = new IncrementalAnalysisState();
+
+        assertNull(state.plan(Collections.singletonList(temp.newFile("app.jar").getPath()), null));
+    }
+
+    private List<String> copyFixtureClasses() throws Exception {
+        return Arrays.asList(copy(Base.class), copy(Dependent.class), copy(Unrelated.class));
+    }
+
+    private String copy(Class<?> type) throws Exception {
+        String resource = type.getName().replace('.', '/') + ".class";
+        Path target = temp.getRoot().toPath().resolve(resource);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+            Files.copy(in, target);
+        }
+        return target.toString();
+    }
+
+    private static BugInfo bug(Class<?> type) {
+        return new BugInfo(new BugInstance("ICAST_BAD_SHIFT_AMOUNT", Priorities.LOW_PRIORITY)
+                .addClass(type.getName()));
+    }
+
+    static class Base {
+        int value() {
+            return 1;
+        }
+    }
+
+    static class Dependent {
+        int value() {
+            return new Base().value();
+        }
+    }
+
+    static class Unrelated {
+    }
+}
@@ -0,0 +1,229 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+
+import edu.umd.cs.findbugs.FindBugs2;
+import edu.umd.cs.findbugs.Project;
+import edu.umd.cs.findbugs.ba.XClass;
+import edu.umd.cs.findbugs.config.UserPreferences;
+
+public class LibraryClassCacheTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void laterRunsOfAnEngineReuseLibraryClassesUntilTheArchiveChanges() throws Exception {
+        File classes = temp.newFolder("classes");
+        writeClass(classes, "app/Main", "lib/Base");
+        File library = jar("library.jar", "lib/Base", 0);
+        LibraryClassCache cache = new LibraryClassCache();
+        FindBugs2 findBugs = engine(cache);
+
+        analyze(findBugs, classes, library);
+        XClass base = cache.classes(library).get("lib/Base").getXClass();
+        assertNotNull(base);
+
+        analyze(findBugs, classes, library);
+        assertSame(base, cache.classes(library).get("lib/Base").getXClass());
+        int libraries = cache.libraryCount();
+
+        jar("library.jar", "lib/Base", 1);
+        assertTrue(library.setLastModified(library.lastModified() + 2000));
+        assertEquals(Collections.emptyMap(), cache.classes(library));
+        assertEquals(libraries - 1, cache.libraryCount());
+    }
+
+    @Test
+    public void classesParsedBeforeTheArchiveChangedAreNotRetained() throws Exception {
+        RetainedLibraryClass parsed = parsedLibraryClass();
+        File library = jar("other.jar", "lib/Base", 0);
+        LibraryClassCache.Fingerprint parsedFrom = LibraryClassCache.Fingerprint.of(library);
+        LibraryClassCache cache = new LibraryClassCache();
+
+        jar("other.jar", "lib/Base", 1);
+        assertTrue(library.setLastModified(library.lastModified() + 2000));
+        cache.retain(library, parsedFrom, Collections.singletonList(parsed));
+
+        assertEquals(0, cache.libraryCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedArchiveIsEvictedOverBudget() throws Exception {
+        RetainedLibraryClass parsed = parsedLibraryClass();
+        File first = jar("first.jar", "lib/First", 0);
+        File second = jar("second.jar", "lib/Second", 0);
+        File third = jar("third.jar", "lib/Third", 0);
+        LibraryClassCache sizing = new LibraryClassCache();
+        retain(sizing, first, parsed);
+        LibraryClassCache cache = new LibraryClassCache(sizing.retainedBytes() * 2);
+
+        retain(cache, first, parsed);
+        retain(cache, second, parsed);
+        cache.classes(first);
+        retain(cache, third, parsed);
+
+        assertEquals(2, cache.libraryCount());
+        assertSame(parsed, cache.classes(first).get("lib/Base"));
+        assertEquals(Collections.emptyMap(), cache.classes(second));
+        assertSame(parsed, cache.classes(third).get("lib/Base"));
+    }
+
+    @Test
+    public void warmRunsSeeTheMethodFactsOfColdRuns() throws Exception {
+        File classes = temp.newFolder("classes");
+        copyClass(Caller.class, classes);
+        File library = new File(temp.getRoot(), "thrower.jar");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(library.toPath()))) {
+            out.putNextEntry(new ZipEntry(resourceName(Thrower.class)));
+            out.write(classBytes(Thrower.class));
+            out.closeEntry();
+        }
+        String thrower = Thrower.class.getName().replace('.', '/');
+        LibraryClassCache cache = new LibraryClassCache();
+        FindBugs2 findBugs = engine(cache);
+
+        List<String> cold = bugTypes(analyze(findBugs, classes, library));
+        RetainedLibraryClass parsed = cache.classes(library).get(thrower);
+        List<String> warm = bugTypes(analyze(findBugs, classes, library));
+        RetainedLibraryClass reused = cache.classes(library).get(thrower);
+
+        assertSame(parsed.getXClass(), reused.getXClass());
+        // Facts are read back from the warm run, so they only survive if reuse registered them.
+        assertEquals(2, parsed.factCount());
+        assertEquals(parsed.factCount(), reused.factCount());
+        assertTrue(cold.contains("NP_ALWAYS_NULL"));
+        assertEquals(cold, warm);
+    }
+
+    private RetainedLibraryClass parsedLibraryClass() throws Exception {
+        File classes = temp.newFolder("classes");
+        writeClass(classes, "app/Main", "lib/Base");
+        File library = jar("library.jar", "lib/Base", 0);
+        LibraryClassCache cache = new LibraryClassCache();
+        analyze(engine(cache), classes, library);
+        RetainedLibraryClass parsed = cache.classes(library).get("lib/Base");
+        assertNotNull(parsed);
+        return parsed;
+    }
+
+    private static void retain(LibraryClassCache cache, File archive, RetainedLibraryClass retained) {
+        cache.retain(archive, LibraryClassCache.Fingerprint.of(archive), Collections.singletonList(retained));
+    }
+
+    private static FindBugs2 engine(LibraryClassCache cache) {
+        FindBugs2 findBugs = new LibraryClassReusingFindBugs(cache);
+        findBugs.setUserPreferences(UserPreferences.createDefaultUserPreferences());
+        return findBugs;
+    }
+
+    private static SpotBugsAnalysisResult analyze(FindBugs2 findBugs, File classes, File library) throws Exception {
+        Project project = new Project();
+        project.addFile(classes.getAbsolutePath());
+        project.addAuxClasspathEntry(library.getAbsolutePath());
+        return new SpotBugsExecutor(findBugs, project, 20, Collections.emptyList())
+                .executeBugsWithWarnings(null, false);
+    }
+
+    private static List<String> bugTypes(SpotBugsAnalysisResult result) {
+        List<String> types = new ArrayList<>();
+        for (BugInfo bug : result.getBugs()) {
+            types.add(bug.getType());
+        }
+        Collections.sort(types);
+        return types;
+    }
+
+    private static void copyClass(Class<?> type, File root) throws Exception {
+        File file = new File(root, resourceName(type));
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), classBytes(type));
+    }
+
+    private static String resourceName(Class<?> type) {
+        return type.getName().replace('.', '/') + ".class";
+    }
+
+    private static byte[] classBytes(Class<?> type) throws Exception {
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resourceName(type))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private File jar(String name, String className, int fields) throws Exception {
+        File file = new File(temp.getRoot(), name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            out.putNextEntry(new ZipEntry(className + ".class"));
+            out.write(classBytes(className, "java/lang/Object", fields));
+            out.closeEntry();
+        }
+        return file;
+    }
+
+    private static void writeClass(File root, String className, String superName) throws Exception {
+        File file = new File(root, className + ".class");
+        file.getParentFile().mkdirs();
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            out.write(classBytes(className, superName, 0));
+        }
+    }
+
+    private static byte[] classBytes(String className, String superName, int fields) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, className, null, superName, null);
+        for (int i = 0; i < fields; i++) {
+            writer.visitField(Opcodes.ACC_PUBLIC, "field" + i, "I", null, null).visitEnd();
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    static class Thrower {
+        static void fail() {
+            throw new IllegalStateException("unreachable");
+        }
+
+        static void unsupported() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class Caller {
+        int use(Object value) {
+            if (value == null) {
+                Thrower.fail();
+            }
+            return value.hashCode();
+        }
+
+        void callUnsupported() {
+            Thrower.unsupported();
+        }
+
+        int alwaysNull() {
+            Object value = null;
+            return value.hashCode();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 
@@ -19,6 +20,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import com.spotbugs.vscode.runner.api.PluginInventoryEntry;
+import com.spotbugs.vscode.runner.internal.PluginDescriptorReader.PluginDescriptor;
 
 import edu.umd.cs.findbugs.Plugin;
 
@@ -138,17 +140,98 @@ public class PluginInventoryServiceTest {
         assertNull(entry.getBugPatternCount());
     }
 
+    @Test
+    public void inspectRejectsDescriptorsWithADoctype() throws Exception {
+        File secret = temp.newFile("secret.txt");
+        File plugin = createPluginJarWithDescriptor("doctype.jar",
+                "<?xml version=\"1.0\"?><!DOCTYPE FindbugsPlugin [<!ENTITY secret SYSTEM \""
+                        + secret.toURI() + "\">]><FindbugsPlugin pluginid=\"&secret;\"/>");
+
+        PluginInventoryEntry entry = new PluginInventoryService()
+                .inspect(Collections.singletonList(plugin.getAbsolutePath())).get(0);
+
+        assertEquals("VALIDATION_FAILED", entry.getStatus());
+        assertTrue(entry.getErrorMessage().startsWith("Plugin jar failed validation"));
+    }
+
+    @Test
+    public void inspectReportsMissingMessagesAsValidationFailure() throws Exception {
+        File jar = temp.newFile("no-messages.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            writeJarEntry(out, "findbugs.xml", findbugsXml("com.example.nomessages"));
+        }
+
+        PluginInventoryEntry entry = new PluginInventoryService()
+                .inspect(Collections.singletonList(jar.getAbsolutePath())).get(0);
+
+        assertEquals("VALIDATION_FAILED", entry.getStatus());
+        assertTrue(entry.getErrorMessage().contains("messages.xml"));
+    }
+
+    @Test
+    public void inspectValidatesUnchangedJarsOnlyOnce() throws Exception {
+        File first = createPluginJar("com.example.first", "cached-first.jar");
+        File second = createPluginJar("com.example.second", "cached-second.jar");
+        CountingService service = new CountingService();
+        List<String> paths = Arrays.asList(first.getAbsolutePath(), second.getAbsolutePath(), first.getAbsolutePath());
+
+        List<PluginInventoryEntry> cold = service.inspect(paths);
+        List<PluginInventoryEntry> warm = service.inspect(paths);
+
+        assertEquals(2, service.validations.get());
+        assertEquals(3, warm.size());
+        for (int i = 0; i < cold.size(); i++) {
+            assertEquals(cold.get(i).getStatus(), warm.get(i).getStatus());
+            assertEquals(cold.get(i).getPluginId(), warm.get(i).getPluginId());
+            assertEquals(cold.get(i).getDetectorCount(), warm.get(i).getDetectorCount());
+        }
+    }
+
+    @Test
+    public void inspectValidatesAJarAgainAfterItChanges() throws Exception {
+        File plugin = createPluginJar("com.example.before", "changing.jar");
+        CountingService service = new CountingService();
+        assertEquals("com.example.before", service.inspect(Collections.singletonList(plugin.getPath()))
+                .get(0).getPluginId());
+
+        writePluginJar(plugin, findbugsXml("com.example.after.rebuild"));
+        assertTrue(plugin.setLastModified(plugin.lastModified() + 2000L));
+
+        assertEquals("com.example.after.rebuild", service.inspect(Collections.singletonList(plugin.getPath()))
+                .get(0).getPluginId());
+        assertEquals(2, service.validations.get());
+    }
+
+    @Test
+    public void inspectKeepsConfiguredOrderWhenValidatingJarsInParallel() throws Exception {
+        List<String> paths = new java.util.ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            paths.add(createPluginJar("com.example.parallel" + i, "parallel-" + i + ".jar").getAbsolutePath());
+        }
+
+        List<PluginInventoryEntry> entries = new PluginInventoryService().inspect(paths);
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, entries.get(i).getIndex());
+            assertEquals("com.example.parallel" + i, entries.get(i).getPluginId());
+        }
+    }
+
     private File createPluginJar(String pluginId, String fileName) throws Exception {
         return createPluginJarWithDescriptor(fileName, findbugsXml(pluginId));
     }
 
     private File createPluginJarWithDescriptor(String fileName, String descriptor) throws Exception {
         File jar = temp.newFile(fileName);
+        writePluginJar(jar, descriptor);
+        return jar;
+    }
+
+    private static void writePluginJar(File jar, String descriptor) throws Exception {
         try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
             writeJarEntry(out, "findbugs.xml", descriptor);
             writeJarEntry(out, "messages.xml", messagesXml());
         }
-        return jar;
     }
 
     private static void writeJarEntry(JarOutputStream out, String name, String content) throws Exception {
@@ -171,6 +254,16 @@ public class PluginInventoryServiceTest {
                 + "</FindbugsPlugin>";
     }
 
+    private static final class CountingService extends PluginInventoryService {
+        private final AtomicInteger validations = new AtomicInteger();
+
+        @Override
+        PluginDescriptor read(File pluginJar) throws Exception {
+            validations.incrementAndGet();
+            return super.read(pluginJar);
+        }
+    }
+
     private static String messagesXml() {
         return "<MessageCollection>"
                 + "<Plugin>"
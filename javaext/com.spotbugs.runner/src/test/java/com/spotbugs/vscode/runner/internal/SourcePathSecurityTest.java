@@ -5,6 +5,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.Rule;
@@ -80,6 +81,28 @@ public class SourcePathSecurityTest {
         ));
     }
 
+    @Test
+    public void runResolverMemoizesResultsPerSourcePath() throws Exception {
+        File workspace = temporaryFolder.newFolder("workspace");
+        File firstRoot = mkdirs(workspace, "generated");
+        File secondRoot = mkdirs(workspace, "src");
+        File source = touch(mkdirs(secondRoot, "com/acme"), "Example.java");
+        SourcePathResolver resolver = new SourcePathResolver(
+                Arrays.asList(firstRoot.getAbsolutePath(), secondRoot.getAbsolutePath()),
+                null
+        );
+
+        assertEquals(source.getAbsolutePath(), resolver.resolve("com/acme/Example.java", null));
+        assertNull(resolver.resolve("com/acme/Missing.java", null));
+        assertNull(resolver.resolve("../Outside.java", null));
+
+        // Later findings in the same file reuse the first answer instead of probing the roots again.
+        touch(mkdirs(firstRoot, "com/acme"), "Missing.java");
+        assertTrue(source.delete());
+        assertEquals(source.getAbsolutePath(), resolver.resolve("com/acme/Example.java", null));
+        assertNull(resolver.resolve("com/acme/Missing.java", null));
+    }
+
     private static BugInstance bugWithSource(String className, String sourceFile) {
         return new BugInstance("ICAST_BAD_SHIFT_AMOUNT", Priorities.LOW_PRIORITY)
                 .addClass(className)
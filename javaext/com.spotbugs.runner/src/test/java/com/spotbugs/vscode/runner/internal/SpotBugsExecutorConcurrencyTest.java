@@ -0,0 +1,120 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.umd.cs.findbugs.FindBugs2;
+import edu.umd.cs.findbugs.Plugin;
+import edu.umd.cs.findbugs.Project;
+
+public class SpotBugsExecutorConcurrencyTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void runsWithoutCustomPluginsExecuteInParallel() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<SpotBugsAnalysisResult> first = pool.submit(() -> executor(
+                    new BlockingFindBugs(bothRunning::countDown, () -> awaitQuietly(bothRunning)),
+                    Collections.emptyList()
+            ).executeBugsWithWarnings(null, false));
+            Future<SpotBugsAnalysisResult> second = pool.submit(() -> executor(
+                    new BlockingFindBugs(bothRunning::countDown, () -> awaitQuietly(bothRunning)),
+                    Collections.emptyList()
+            ).executeBugsWithWarnings(null, false));
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void runsLoadingCustomPluginsExcludeOtherRuns() throws Exception {
+        File pluginJar = temp.newFile("plugin.jar");
+        CountDownLatch pluginRunStarted = new CountDownLatch(1);
+        CountDownLatch releasePluginRun = new CountDownLatch(1);
+        CountDownLatch otherRunStarted = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<SpotBugsAnalysisResult> pluginRun = pool.submit(() -> executor(
+                    new BlockingFindBugs(pluginRunStarted::countDown, () -> awaitQuietly(releasePluginRun)),
+                    Collections.singletonList(pluginJar.getPath())
+            ).executeBugsWithWarnings(null, false));
+            assertTrue(pluginRunStarted.await(10, TimeUnit.SECONDS));
+
+            Future<SpotBugsAnalysisResult> otherRun = pool.submit(() -> executor(
+                    new BlockingFindBugs(otherRunStarted::countDown, () -> { }),
+                    Collections.emptyList()
+            ).executeBugsWithWarnings(null, false));
+            assertFalse(otherRunStarted.await(200, TimeUnit.MILLISECONDS));
+
+            releasePluginRun.countDown();
+            pluginRun.get(10, TimeUnit.SECONDS);
+            otherRun.get(10, TimeUnit.SECONDS);
+            assertTrue(otherRunStarted.await(0, TimeUnit.MILLISECONDS));
+        } finally {
+            releasePluginRun.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static SpotBugsExecutor executor(FindBugs2 findBugs, List<String> pluginJars) {
+        return SpotBugsExecutor.newBuilder(findBugs, new Project())
+                .rankThreshold(9)
+                .pluginJars(pluginJars)
+                .pluginLifecycle(new PluginLifecycle() {
+                    @Override
+                    public Plugin loadCustomPlugin(File jar, Project project) {
+                        return null;
+                    }
+                })
+                .build();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new AssertionError("Timed out waiting for concurrent SpotBugs execution");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    private static final class BlockingFindBugs extends FindBugs2 {
+
+        private final Runnable started;
+        private final Runnable body;
+
+        private BlockingFindBugs(Runnable started, Runnable body) {
+            this.started = started;
+            this.body = body;
+        }
+
+        @Override
+        public void execute() throws IOException, InterruptedException {
+            started.run();
+            body.run();
+        }
+    }
+}
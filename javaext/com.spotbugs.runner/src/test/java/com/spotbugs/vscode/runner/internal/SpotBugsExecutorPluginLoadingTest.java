@@ -135,13 +135,12 @@ public class SpotBugsExecutorPluginLoadingTest {
         File pluginJar = createPluginJar(pluginId, "linkage-error-plugin.jar", false);
 
         try {
-            new SpotBugsExecutor(
-                    new CapturingFindBugs(pluginId),
-                    new Project(),
-                    3,
-                    Collections.singletonList(pluginJar.getAbsolutePath()),
-                    new LinkageFailingLifecycle()
-            ).executeBugs();
+            SpotBugsExecutor.newBuilder(new CapturingFindBugs(pluginId), new Project())
+                    .rankThreshold(3)
+                    .pluginJars(Collections.singletonList(pluginJar.getAbsolutePath()))
+                    .pluginLifecycle(new LinkageFailingLifecycle())
+                    .build()
+                    .executeBugs();
             fail("Expected plugin linkage error to fail analysis");
         } catch (IOException expected) {
             assertTrue(expected.getCause() instanceof UnsupportedClassVersionError);
@@ -163,13 +162,12 @@ public class SpotBugsExecutorPluginLoadingTest {
     @Test
     public void closeOnlyCleanupFailureReturnsWarningAndDoesNotBlockLaterPluginLoad() throws Exception {
         File pluginJar = findSecBugsPluginJar();
-        SpotBugsExecutor executor = new SpotBugsExecutor(
-                new CapturingFindBugs(FINDSECBUGS_PLUGIN_ID),
-                new Project(),
-                3,
-                Collections.singletonList(pluginJar.getAbsolutePath()),
-                new CloseFailingLifecycle()
-        );
+        SpotBugsExecutor executor = SpotBugsExecutor
+                .newBuilder(new CapturingFindBugs(FINDSECBUGS_PLUGIN_ID), new Project())
+                .rankThreshold(3)
+                .pluginJars(Collections.singletonList(pluginJar.getAbsolutePath()))
+                .pluginLifecycle(new CloseFailingLifecycle())
+                .build();
 
         SpotBugsAnalysisResult result = executor.executeBugsWithWarnings();
 
@@ -213,16 +211,16 @@ public class SpotBugsExecutorPluginLoadingTest {
         IOException closeFailure = new IOException("close failed");
 
         try {
-            new SpotBugsExecutor(
-                    new CapturingFindBugs(removeFailurePluginId),
-                    new Project(),
-                    3,
-                    Arrays.asList(
+            SpotBugsExecutor.newBuilder(new CapturingFindBugs(removeFailurePluginId), new Project())
+                    .rankThreshold(3)
+                    .pluginJars(Arrays.asList(
                             removeFailurePlugin.getAbsolutePath(),
                             closeFailurePlugin.getAbsolutePath()
-                    ),
-                    new TargetedFailingLifecycle(removeFailurePluginId, removeFailure, closeFailurePluginId, closeFailure)
-            ).executeBugsWithWarnings();
+                    ))
+                    .pluginLifecycle(new TargetedFailingLifecycle(
+                            removeFailurePluginId, removeFailure, closeFailurePluginId, closeFailure))
+                    .build()
+                    .executeBugsWithWarnings();
             fail("Expected plugin removal failure to fail analysis");
         } catch (RuntimeException expected) {
             assertTrue("Terminal failure should be remove failure", expected == removeFailure);
@@ -233,6 +231,96 @@ public class SpotBugsExecutorPluginLoadingTest {
         }
     }
 
+    @Test
+    public void retainedPluginsAreLoadedOnceWhileThePluginSetIsUnchanged() throws Exception {
+        String pluginId = "com.spotbugs.vscode.test.retained." + System.nanoTime();
+        List<String> plugins = Collections.singletonList(
+                createPluginJar(pluginId, "retained-plugin.jar", false).getAbsolutePath());
+        CountingLifecycle lifecycle = new CountingLifecycle();
+
+        for (int run = 0; run < 3; run++) {
+            CapturingFindBugs findBugs = new CapturingFindBugs(pluginId);
+            SpotBugsExecutor.newBuilder(findBugs, new Project())
+                    .rankThreshold(3)
+                    .pluginJars(plugins)
+                    .pluginLifecycle(lifecycle)
+                    .retainPlugins(true)
+                    .build()
+                    .executeBugs();
+            assertTrue(findBugs.wasExecuted());
+        }
+
+        assertEquals(1, lifecycle.loads);
+        assertEquals(0, lifecycle.closes);
+        assertNotNull("Retained plugin should stay registered between runs", Plugin.getByPluginId(pluginId));
+
+        new SpotBugsExecutor(new FindBugs2() {
+            @Override
+            public void execute() {
+            }
+        }, new Project(), 3, Collections.emptyList()).executeBugs();
+
+        assertEquals(1, lifecycle.closes);
+        assertNull("A run without plugins should unload the retained set", Plugin.getByPluginId(pluginId));
+    }
+
+    @Test
+    public void retainedPluginIsReloadedWhenItsJarChanges() throws Exception {
+        String pluginId = "com.spotbugs.vscode.test.changed." + System.nanoTime();
+        File pluginJar = createPluginJar(pluginId, "changed-plugin.jar", false);
+        List<String> plugins = Collections.singletonList(pluginJar.getAbsolutePath());
+        CountingLifecycle lifecycle = new CountingLifecycle();
+
+        SpotBugsExecutor.newBuilder(new CapturingFindBugs(pluginId), new Project())
+                .rankThreshold(3)
+                .pluginJars(plugins)
+                .pluginLifecycle(lifecycle)
+                .retainPlugins(true)
+                .build()
+                .executeBugs();
+        assertTrue(pluginJar.setLastModified(pluginJar.lastModified() + 2000L));
+        SpotBugsExecutor.newBuilder(new CapturingFindBugs(pluginId), new Project())
+                .rankThreshold(3)
+                .pluginJars(plugins)
+                .pluginLifecycle(lifecycle)
+                .retainPlugins(true)
+                .build()
+                .executeBugs();
+
+        assertEquals(2, lifecycle.loads);
+        assertEquals(1, lifecycle.closes);
+        assertNotNull(Plugin.getByPluginId(pluginId));
+    }
+
+    @Test
+    public void retainedPluginSetIsReplacedWhenConfiguredJarsChange() throws Exception {
+        String firstId = "com.spotbugs.vscode.test.first." + System.nanoTime();
+        String secondId = "com.spotbugs.vscode.test.second." + System.nanoTime();
+        File firstJar = createPluginJar(firstId, "first-plugin.jar", false);
+        File secondJar = createPluginJar(secondId, "second-plugin.jar", false);
+        CountingLifecycle lifecycle = new CountingLifecycle();
+
+        SpotBugsExecutor.newBuilder(new CapturingFindBugs(firstId), new Project())
+                .rankThreshold(3)
+                .pluginJars(Collections.singletonList(firstJar.getAbsolutePath()))
+                .pluginLifecycle(lifecycle)
+                .retainPlugins(true)
+                .build()
+                .executeBugs();
+        SpotBugsExecutor.newBuilder(new CapturingFindBugs(secondId), new Project())
+                .rankThreshold(3)
+                .pluginJars(Collections.singletonList(secondJar.getAbsolutePath()))
+                .pluginLifecycle(lifecycle)
+                .retainPlugins(true)
+                .build()
+                .executeBugs();
+
+        assertEquals(2, lifecycle.loads);
+        assertEquals(1, lifecycle.closes);
+        assertNull("Replaced plugin set should be unloaded", Plugin.getByPluginId(firstId));
+        assertNotNull(Plugin.getByPluginId(secondId));
+    }
+
     private static File findSecBugsPluginJar() {
         File jar = new File(System.getProperty(
                 "findsecbugs.plugin.jar",
@@ -261,6 +349,7 @@ public class SpotBugsExecutorPluginLoadingTest {
     }
 
     private static void resetSpotBugsState() {
+        SpotBugsExecutor.releaseRetainedPlugins();
         Plugin existing = Plugin.getByPluginId(FINDSECBUGS_PLUGIN_ID);
         if (existing != null) {
             Plugin.removeCustomPlugin(existing);
@@ -325,6 +414,24 @@ public class SpotBugsExecutorPluginLoadingTest {
                 + "</MessageCollection>";
     }
 
+    private static final class CountingLifecycle implements PluginLifecycle {
+
+        private int loads;
+        private int closes;
+
+        @Override
+        public Plugin loadCustomPlugin(File pluginJar, Project project) throws PluginException {
+            loads++;
+            return PluginLifecycle.super.loadCustomPlugin(pluginJar, project);
+        }
+
+        @Override
+        public void closePlugin(Plugin plugin) throws IOException {
+            closes++;
+            PluginLifecycle.super.closePlugin(plugin);
+        }
+    }
+
     private static final class CloseFailingLifecycle implements PluginLifecycle {
 
         @Override
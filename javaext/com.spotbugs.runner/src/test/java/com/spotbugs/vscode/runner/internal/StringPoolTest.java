@@ -0,0 +1,62 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.spotbugs.vscode.runner.api.BugInfo;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.MethodAnnotation;
+import edu.umd.cs.findbugs.Priorities;
+import edu.umd.cs.findbugs.SourceLineAnnotation;
+
+public class StringPoolTest {
+
+    @Test
+    public void returnsTheFirstInstanceOfEachValue() {
+        StringPool pool = new StringPool();
+        String first = new String("com.example.Type");
+        String second = new String("com.example.Type");
+
+        assertSame(first, pool.canonical(first));
+        assertSame(first, pool.canonical(second));
+        assertNull(pool.canonical(null));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void findingsOfOneRunShareRepeatedStrings() {
+        StringPool pool = new StringPool();
+        BugInfo first = new BugInfo(finding(10), pool);
+        BugInfo second = new BugInfo(finding(20), pool);
+
+        assertSame(first.getType(), second.getType());
+        assertSame(first.getCategory(), second.getCategory());
+        assertSame(first.getClassName(), second.getClassName());
+        assertSame(first.getMethodName(), second.getMethodName());
+        assertSame(first.getRealSourcePath(), second.getRealSourcePath());
+        assertSame(first.getSourceFile(), second.getSourceFile());
+        assertSame(first.getLongDescription(), second.getLongDescription());
+    }
+
+    @Test
+    public void pooledFindingsSerialiseLikeUnpooledOnes() {
+        Gson gson = new Gson();
+        BugInfo unpooled = new BugInfo(finding(10));
+        BugInfo pooled = new BugInfo(finding(10), new StringPool());
+
+        assertEquals(gson.toJson(unpooled), gson.toJson(pooled));
+    }
+
+    private static BugInstance finding(int line) {
+        String className = "com.example.Type";
+        return new BugInstance("NP_NULL_ON_SOME_PATH", Priorities.HIGH_PRIORITY)
+                .addClass(className)
+                .addMethod(new MethodAnnotation(className, "run", "()V", false))
+                .addSourceLine(new SourceLineAnnotation(className, "Type.java", line, line + 1, 0, 0));
+    }
+}
@@ -300,6 +300,41 @@ public class TargetResolverTest {
         }
     }
 
+    @Test
+    public void parallelWalkKeepsDepthFirstListingOrder() throws Exception {
+        File root = temporaryFolder.newFolder("wide");
+        for (int i = 0; i < 8; i++) {
+            File module = mkdirs(root, "module" + i + "/pkg/inner");
+            touch(module.getParentFile(), "A" + i + ".class");
+            touch(module, "B" + i + ".class");
+            touch(module, "lib" + i + ".jar");
+            touch(root, "Top" + i + ".class");
+        }
+
+        List<String> actual = new TargetResolver().resolveTargets(
+                new String[] { root.getAbsolutePath() },
+                Collections.emptyList()
+        );
+
+        List<String> expected = new ArrayList<>();
+        listSequentially(root, expected);
+        assertEquals(32, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    private void listSequentially(File dir, List<String> out) {
+        File[] children = dir.listFiles();
+        if (children == null) return;
+        for (File c : children) {
+            if (c.isDirectory()) {
+                listSequentially(c, out);
+            }
+            else if (c.isFile()) {
+                out.add(c.getAbsolutePath());
+            }
+        }
+    }
+
     private File touch(File parent, String name) throws Exception {
         File file = new File(parent, name);
         assertTrue(file.createNewFile());
@@ -0,0 +1,108 @@
+package com.spotbugs.vscode.runner.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TargetWatcherTest {
+
+    private static final long EVENT_TIMEOUT_MILLIS = 10_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TargetWatcher watcher;
+
+    @After
+    public void closeWatcher() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    public void reusesWalkUntilTreeChanges() throws Exception {
+        File root = temporaryFolder.newFolder("classes");
+        File packageDir = new File(root, "demo");
+        assertTrue(packageDir.mkdirs());
+        assertTrue(new File(packageDir, "Foo.class").createNewFile());
+        watcher = TargetWatcher.start(Collections.singletonList(root.toPath()));
+        assumeNotNull(watcher);
+
+        long before = watcher.generation();
+        List<Path> first = watcher.collectFiles(root, "classes", name -> name.endsWith(".class"), null);
+        assertEquals(1, first.size());
+        assertSame(first, watcher.collectFiles(root, "classes", name -> name.endsWith(".class"), null));
+
+        assertTrue(new File(packageDir, "Bar.class").createNewFile());
+        awaitChange(packageDir.toPath(), before);
+
+        List<Path> second = watcher.collectFiles(root, "classes", name -> name.endsWith(".class"), null);
+        assertNotSame(first, second);
+        assertEquals(2, second.size());
+        assertFalse(watcher.treeUnchangedSince(root.toPath(), before));
+    }
+
+    @Test
+    public void watchesDirectoriesCreatedAfterStart() throws Exception {
+        File root = temporaryFolder.newFolder("classes");
+        watcher = TargetWatcher.start(Collections.singletonList(root.toPath()));
+        assumeNotNull(watcher);
+
+        long before = watcher.generation();
+        File packageDir = new File(root, "demo");
+        assertTrue(packageDir.mkdirs());
+        awaitChange(root.toPath(), before);
+        long registered = awaitWatched(packageDir.toPath());
+
+        assertTrue(watcher.unchangedSince(packageDir.toPath(), registered));
+        assertFalse(watcher.unchangedSince(temporaryFolder.getRoot().toPath(), registered));
+    }
+
+    @Test
+    public void generationDrainsQueuedEventsOnTheCallingThread() throws Exception {
+        File root = temporaryFolder.newFolder("classes");
+        watcher = TargetWatcher.start(Collections.singletonList(root.toPath()));
+        assumeNotNull(watcher);
+
+        long before = watcher.generation();
+        assertTrue(new File(root, "Foo.class").createNewFile());
+        long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        while (watcher.generation() == before) {
+            assertTrue("no watch event for " + root, System.currentTimeMillis() < deadline);
+            Thread.sleep(20L);
+        }
+
+        assertFalse(watcher.unchangedSince(root.toPath(), before));
+    }
+
+    private void awaitChange(Path dir, long since) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        while (watcher.unchangedSince(dir, since)) {
+            assertTrue("no watch event for " + dir, System.currentTimeMillis() < deadline);
+            Thread.sleep(20L);
+        }
+    }
+
+    private long awaitWatched(Path dir) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        while (!watcher.unchangedSince(dir, watcher.generation())) {
+            assertTrue(dir + " was not registered", System.currentTimeMillis() < deadline);
+            Thread.sleep(20L);
+        }
+        return watcher.generation();
+    }
+}
@@ -0,0 +1,205 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.Gson;
+import com.spotbugs.vscode.runner.internal.Analyzer;
+import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.FindingDetails;
+import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
+import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
+import com.spotbugs.vscode.runner.internal.config.ConfigParser;
+import com.spotbugs.vscode.runner.internal.config.ConfigValidator;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.Priorities;
+
+public class AnalysisEngineCacheTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void acquireReusesReleasedEngineForSameConfigWithoutReconfiguring() throws Exception {
+        List<TrackingAnalyzerService> created = new ArrayList<>();
+        AnalysisEngineCache cache = new AnalysisEngineCache(() -> track(created));
+
+        Analyzer first = cache.acquire(config("{\"effort\":\"max\"}"));
+        cache.release(config("{\"effort\":\"max\"}"), first);
+        Analyzer second = cache.acquire(config("{\"effort\":\"max\"}"));
+
+        assertSame(first, second);
+        assertEquals(1, created.size());
+        assertEquals(1, created.get(0).configurations);
+        assertEquals(0, created.get(0).closes);
+    }
+
+    @Test
+    public void acquireCreatesSeparateEnginesForDifferentConfigs() throws Exception {
+        List<TrackingAnalyzerService> created = new ArrayList<>();
+        AnalysisEngineCache cache = new AnalysisEngineCache(() -> track(created));
+
+        Analyzer min = cache.acquire(config("{\"effort\":\"min\"}"));
+        cache.release(config("{\"effort\":\"min\"}"), min);
+        Analyzer max = cache.acquire(config("{\"effort\":\"max\"}"));
+
+        assertNotSame(min, max);
+        assertEquals(2, created.size());
+        assertEquals(1, cache.idleEngineCount());
+    }
+
+    @Test
+    public void acquireDoesNotShareCheckedOutEngines() throws Exception {
+        List<TrackingAnalyzerService> created = new ArrayList<>();
+        AnalysisEngineCache cache = new AnalysisEngineCache(() -> track(created));
+
+        Analyzer first = cache.acquire(config("{}"));
+        Analyzer second = cache.acquire(config("{}"));
+        cache.release(config("{}"), first);
+        cache.release(config("{}"), second);
+
+        assertNotSame(first, second);
+        assertEquals(1, cache.idleEngineCount());
+        assertEquals(1, created.get(0).closes);
+    }
+
+    @Test
+    public void releaseEvictsLeastRecentlyUsedEnginesBeyondLimit() throws Exception {
+        List<TrackingAnalyzerService> created = new ArrayList<>();
+        AnalysisEngineCache cache = new AnalysisEngineCache(() -> track(created), 1);
+
+        cache.release(config("{\"effort\":\"min\"}"), cache.acquire(config("{\"effort\":\"min\"}")));
+        cache.release(config("{\"effort\":\"max\"}"), cache.acquire(config("{\"effort\":\"max\"}")));
+
+        assertEquals(1, cache.idleEngineCount());
+        assertEquals(1, created.get(0).closes);
+        assertEquals(0, created.get(1).closes);
+    }
+
+    @Test
+    public void acquireCreatesFreshEngineAfterFilterFileIsEdited() throws Exception {
+        List<TrackingAnalyzerService> created = new ArrayList<>();
+        AnalysisEngineCache cache = new AnalysisEngineCache(() -> track(created));
+        File filter = temp.newFile("exclude.xml");
+        Files.write(filter.toPath(), "<FindBugsFilter/>".getBytes(StandardCharsets.UTF_8));
+        String json = "{\"excludeFilterPaths\":[" + new Gson().toJson(filter.getPath()) + "]}";
+
+        AnalysisConfig before = config(json);
+        cache.release(before, cache.acquire(before));
+        Files.write(filter.toPath(),
+                "<FindBugsFilter><Match><Bug pattern=\"DLS_DEAD_LOCAL_STORE\"/></Match></FindBugsFilter>"
+                        .getBytes(StandardCharsets.UTF_8));
+        AnalysisConfig after = config(json);
+        cache.acquire(after);
+
+        assertEquals(2, created.size());
+        assertEquals(1, created.get(1).configurations);
+    }
+
+    @Test
+    public void clearForgetsTheFindingDetailsOfItsEngines() {
+        AnalysisEngineCache cache = new AnalysisEngineCache(() -> track(new ArrayList<>()));
+        FindingDetails details = cache.findingDetails();
+        BugInstance bug = new BugInstance("NP_NULL_ON_SOME_PATH", Priorities.HIGH_PRIORITY)
+                .addClass("com.example.Type");
+        details.remember(Collections.singletonList(bug));
+        assertNotNull(details.describe(null, bug.getInstanceHash()).getAnnotationMessages());
+
+        cache.clear();
+
+        assertNull(details.describe(null, bug.getInstanceHash()));
+    }
+
+    @Test
+    public void pipelineDiscardsEnginesAfterFailedRuns() throws Exception {
+        List<TrackingAnalyzerService> created = new ArrayList<>();
+        AnalysisEngineCache cache = new AnalysisEngineCache(() -> {
+            TrackingAnalyzerService analyzer = new TrackingAnalyzerService() {
+                @Override
+                public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor, String... filePaths) {
+                    throw new IllegalStateException("boom");
+                }
+            };
+            created.add(analyzer);
+            return analyzer;
+        });
+        AnalysisPipeline pipeline = new AnalysisPipeline(cache);
+        RunAnalysisRequest request = new RunAnalysisRequest("/workspace/build/classes", config("{}"), false);
+
+        AnalysisPipelineResult result = pipeline.run(new NullProgressMonitor(), request);
+        pipeline.release(request, result);
+
+        assertEquals(AnalysisPipelineResult.Status.FAILED, result.getStatus());
+        assertEquals(0, cache.idleEngineCount());
+        assertEquals(1, created.get(0).closes);
+    }
+
+    @Test
+    public void pipelineKeepsEnginesWarmAcrossSuccessfulRuns() throws Exception {
+        List<TrackingAnalyzerService> created = new ArrayList<>();
+        AnalysisPipeline pipeline = new AnalysisPipeline(new AnalysisEngineCache(() -> track(created)));
+        RunAnalysisRequest request = new RunAnalysisRequest("/workspace/build/classes", config("{}"), false);
+
+        AnalysisPipelineResult first = pipeline.run(new NullProgressMonitor(), request);
+        pipeline.release(request, first);
+        AnalysisPipelineResult second = pipeline.run(new NullProgressMonitor(), request);
+        pipeline.release(request, second);
+
+        assertSame(first.getAnalyzer(), second.getAnalyzer());
+        assertEquals(1, created.size());
+        assertEquals(2, created.get(0).runs);
+    }
+
+    private static TrackingAnalyzerService track(List<TrackingAnalyzerService> created) {
+        TrackingAnalyzerService analyzer = new TrackingAnalyzerService();
+        created.add(analyzer);
+        return analyzer;
+    }
+
+    private static AnalysisConfig config(String json) throws Exception {
+        return new RunAnalysisRequestParser(new ConfigParser(), new ConfigValidator())
+                .parse(new AbstractCommandAction.ActionContext(
+                        new Object[] { "/workspace/build/classes", json },
+                        new NullProgressMonitor()))
+                .getConfig();
+    }
+
+    private static class TrackingAnalyzerService extends AnalyzerService {
+        private int configurations;
+        private int closes;
+        private int runs;
+
+        @Override
+        public void setConfiguration(AnalysisConfig cfg) {
+            configurations++;
+        }
+
+        @Override
+        public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor, String... filePaths) {
+            runs++;
+            return new SpotBugsAnalysisResult(Collections.emptyList(), Collections.emptyList());
+        }
+
+        @Override
+        public void close() {
+            closes++;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.spotbugs.vscode.runner.internal.FindingDetails;
+
+public class DescribeFindingActionTest {
+
+    @Test
+    public void executeRequiresATypeOrAnInstanceHash() {
+        assertEquals("INVALID_ARGUMENT", errorCode(execute("{}")));
+        assertEquals("INVALID_ARGUMENT", errorCode(execute("{\"type\":1}")));
+        assertEquals("INVALID_ARGUMENT", errorCode(execute("{")));
+    }
+
+    @Test
+    public void executeReportsUnknownFindings() {
+        JsonObject response = execute("{\"type\":\"NO_SUCH_PATTERN\",\"instanceHash\":\"unknown\"}");
+
+        assertEquals("DETAILS_UNAVAILABLE", errorCode(response));
+    }
+
+    @Test
+    public void executeDescribesABugType() {
+        JsonObject response = execute("{\"type\":\" NP_NULL_ON_SOME_PATH \"}");
+        JsonObject detail = response.getAsJsonArray("results").get(0).getAsJsonObject();
+
+        assertEquals("NP_NULL_ON_SOME_PATH", detail.get("type").getAsString());
+        assertEquals("C", detail.getAsJsonObject("pattern").get("categoryAbbrev").getAsString());
+        assertFalse(detail.has("annotationMessages"));
+    }
+
+    private static JsonObject execute(Object... args) {
+        String raw = new DescribeFindingAction(new FindingDetails()).execute(args, new NullProgressMonitor());
+        return JsonParser.parseString(raw).getAsJsonObject();
+    }
+
+    private static String errorCode(JsonObject response) {
+        return response.getAsJsonArray("errors").get(0).getAsJsonObject().get("code").getAsString();
+    }
+}
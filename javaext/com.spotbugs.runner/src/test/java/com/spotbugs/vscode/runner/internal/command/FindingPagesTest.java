@@ -0,0 +1,71 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.Priorities;
+
+public class FindingPagesTest {
+
+    @Test
+    public void pagesAreServedInOrderAndTheLastOneCarriesTheReports() {
+        FindingPages pages = new FindingPages();
+        String token = pages.open(bugs(5), 2, "sarif", "baseline");
+
+        FindingPages.Page first = pages.next(token);
+        FindingPages.Page second = pages.next(token);
+        FindingPages.Page last = pages.next(token);
+
+        assertEquals(2, first.getFindings().size());
+        assertEquals("com.example.Type0", first.getFindings().get(0).getClassName());
+        assertEquals(token, first.getContinuationToken());
+        assertNull(first.getNativeSarif());
+        assertEquals("com.example.Type2", second.getFindings().get(0).getClassName());
+        assertEquals(1, last.getFindings().size());
+        assertNull(last.getContinuationToken());
+        assertEquals("sarif", last.getNativeSarif());
+        assertEquals("baseline", last.getBaselineXml());
+        assertNull("A finished run should be forgotten", pages.next(token));
+        assertEquals(0, pages.openCount());
+    }
+
+    @Test
+    public void oldestRunIsDroppedWhenTooManyAreOpen() {
+        FindingPages pages = new FindingPages(2, FindingPages.DEFAULT_IDLE_MILLIS);
+        String first = pages.open(bugs(3), 1, null, null);
+        String second = pages.open(bugs(3), 1, null, null);
+        pages.next(first);
+        String third = pages.open(bugs(3), 1, null, null);
+
+        assertEquals(2, pages.openCount());
+        assertNull(pages.next(second));
+        assertNotNull(pages.next(first));
+        assertNotNull(pages.next(third));
+    }
+
+    @Test
+    public void idleRunsExpire() {
+        FindingPages pages = new FindingPages(2, -1L);
+        String token = pages.open(bugs(3), 1, null, null);
+
+        assertNull(pages.next(token));
+    }
+
+    private static List<BugInfo> bugs(int count) {
+        List<BugInfo> bugs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bugs.add(new BugInfo(new BugInstance("ICAST_BAD_SHIFT_AMOUNT", Priorities.LOW_PRIORITY)
+                    .addClass("com.example.Type" + i)));
+        }
+        return bugs;
+    }
+}
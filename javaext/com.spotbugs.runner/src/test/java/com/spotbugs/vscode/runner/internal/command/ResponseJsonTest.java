@@ -0,0 +1,103 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.spotbugs.vscode.runner.api.AnalysisPassProfile;
+import com.spotbugs.vscode.runner.api.AnalysisProfile;
+import com.spotbugs.vscode.runner.api.BatchTargetResponse;
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.api.BugPatternInfo;
+import com.spotbugs.vscode.runner.api.CommandResponse;
+import com.spotbugs.vscode.runner.api.CommandWarning;
+import com.spotbugs.vscode.runner.api.DetectorProfile;
+import com.spotbugs.vscode.runner.api.PluginInventoryEntry;
+import com.spotbugs.vscode.runner.api.ReportFile;
+import com.spotbugs.vscode.runner.api.RunAnalysisSummary;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.MethodAnnotation;
+import edu.umd.cs.findbugs.Priorities;
+import edu.umd.cs.findbugs.SourceLineAnnotation;
+
+public class ResponseJsonTest {
+
+    private static final Gson REFLECTIVE = new Gson();
+
+    @Test
+    public void findingsResponsesMatchReflectiveGson() {
+        List<BugInfo> bugs = bugs();
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phases.put("targetResolution", 1200L);
+        phases.put("analysis", 98000L);
+        RunAnalysisSummary stats = new RunAnalysisSummary(
+                "/workspace/app", 42L, bugs.size(), "4.9.8", 1, 2, 0, 3, 4, 1, phases);
+        CommandResponse response = CommandResponse.success(
+                bugs,
+                stats,
+                null,
+                Collections.singletonList(new CommandWarning("ANALYSIS_INCOMPLETE", "Classes <missing> & more")),
+                "{\"runs\":[]}",
+                "<BugCollection/>"
+        ).withReportFiles(new ReportFile("/tmp/report.sarif", 12L), null).withProfile(new AnalysisProfile(
+                Collections.singletonList(new AnalysisPassProfile(1, 3, 100L, -1L, 80L)),
+                Collections.singletonList(new DetectorProfile("a.Detector", null, "core", 1, 80L, 3, 2))
+        ));
+
+        assertMatchesReflectiveGson(response);
+    }
+
+    @Test
+    public void pagedResponsesWithPatternDictionaryMatchReflectiveGson() {
+        List<BugInfo> slim = new ArrayList<>();
+        Map<String, BugPatternInfo> patterns = new LinkedHashMap<>();
+        for (BugInfo bug : bugs()) {
+            slim.add(bug.withoutPatternInfo());
+            patterns.put(bug.getType(), bug.patternInfo());
+        }
+        RunAnalysisSummary stats = new RunAnalysisSummary("/workspace/app", 1L, slim.size(), null, 0, 0, 0, 0, 1, 0);
+
+        assertMatchesReflectiveGson(CommandResponse.page(slim, stats, null, null, null, null, "token-1", patterns));
+    }
+
+    @Test
+    public void otherResponsesMatchReflectiveGson() {
+        PluginInventoryEntry validated = new PluginInventoryEntry(
+                0, "plugin.jar", "/abs/plugin.jar", "VALIDATED", "com.example", "Example <b>plugin</b>",
+                "Provider", "https://example.com", "1.0", 3, 4, null);
+        PluginInventoryEntry failed = new PluginInventoryEntry(
+                1, "", null, "VALIDATION_FAILED", null, null, null, null, null, null, null, "Plugin path is empty.");
+
+        assertMatchesReflectiveGson(CommandResponse.success(Arrays.asList(validated, failed), null));
+        assertMatchesReflectiveGson(CommandResponse.success(Arrays.asList(
+                new BatchTargetResponse("/a", CommandResponse.success(bugs(), null)),
+                new BatchTargetResponse("/b", CommandResponse.error("ANALYSIS_FAILED", "It's broken"))), null));
+        assertMatchesReflectiveGson(CommandResponse.error("COMMAND_FAILED", "Command failed"));
+        assertMatchesReflectiveGson(Collections.emptyMap());
+    }
+
+    private static void assertMatchesReflectiveGson(Object response) {
+        assertEquals(REFLECTIVE.toJson(response), ResponseJson.toJson(response));
+    }
+
+    private static List<BugInfo> bugs() {
+        String className = "com.example.Type";
+        BugInfo located = new BugInfo(new BugInstance("NP_NULL_ON_SOME_PATH", Priorities.HIGH_PRIORITY)
+                .addClass(className)
+                .addMethod(new MethodAnnotation(className, "run", "(Ljava/lang/String;)V", false))
+                .addSourceLine(new SourceLineAnnotation(className, "Type.java", 10, 12, 0, 0)));
+        located.setFullPath("/workspace/app/src/com/example/Type.java");
+        BugInfo bare = new BugInfo(new BugInstance("ICAST_BAD_SHIFT_AMOUNT", Priorities.LOW_PRIORITY)
+                .addClass(className));
+        return Arrays.asList(located, bare);
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -19,9 +20,17 @@ import com.spotbugs.vscode.runner.api.AnalysisReportSummary;
 import com.spotbugs.vscode.runner.api.BugInfo;
 import com.spotbugs.vscode.runner.api.CommandWarning;
 import com.spotbugs.vscode.runner.api.CommandResponse;
+import com.spotbugs.vscode.runner.api.ReportFile;
 import com.spotbugs.vscode.runner.api.RunAnalysisSummary;
 import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.PhaseTimings;
+import com.spotbugs.vscode.runner.internal.ReportExport;
 import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
+import com.spotbugs.vscode.runner.internal.config.ConfigParser;
+import com.spotbugs.vscode.runner.internal.config.ConfigValidator;
+
+import edu.umd.cs.findbugs.BugInstance;
+import edu.umd.cs.findbugs.Priorities;
 
 public class RunAnalysisActionTest {
 
@@ -101,6 +110,124 @@ public class RunAnalysisActionTest {
         assertTrue(response.get("baselineXml").getAsString().contains("BugCollection"));
     }
 
+    @Test
+    public void pagedRunReturnsFirstPageAndServesTheRestWithContinuationToken() {
+        FindingPages pages = new FindingPages();
+        RunAnalysisAction action = new RunAnalysisAction(new ConfigParser(), new ConfigValidator(),
+                () -> new AnalyzerService() {
+                    @Override
+                    public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor,
+                            String... filePaths) {
+                        return new SpotBugsAnalysisResult(
+                                Collections.nCopies(5, (BugInfo) null),
+                                Collections.emptyList(),
+                                null,
+                                "{\"version\":\"2.1.0\",\"runs\":[]}",
+                                null
+                        );
+                    }
+                }, pages);
+        NextFindingsPageAction next = new NextFindingsPageAction(pages);
+
+        JsonObject first = execute(action, "/workspace/build/classes", "{\"pageSize\":2}");
+        String token = first.get("continuationToken").getAsString();
+        JsonObject second = JsonParser.parseString(next.execute(new Object[] { token }, null)).getAsJsonObject();
+        JsonObject last = JsonParser.parseString(next.execute(new Object[] { token }, null)).getAsJsonObject();
+        JsonObject expired = JsonParser.parseString(next.execute(new Object[] { token }, null)).getAsJsonObject();
+
+        assertEquals(2, first.getAsJsonArray("results").size());
+        assertEquals(5, first.getAsJsonObject("stats").get("findingCount").getAsInt());
+        assertFalse(first.has("nativeSarif"));
+        assertEquals(2, second.getAsJsonArray("results").size());
+        assertEquals(token, second.get("continuationToken").getAsString());
+        assertEquals(1, last.getAsJsonArray("results").size());
+        assertFalse(last.has("continuationToken"));
+        assertTrue(last.get("nativeSarif").getAsString().contains("2.1.0"));
+        assertEquals("RESULTS_EXPIRED", firstError(expired).get("code").getAsString());
+    }
+
+    @Test
+    public void patternDictionaryCarriesEachPagesPatternsOnce() {
+        FindingPages pages = new FindingPages();
+        RunAnalysisAction action = new RunAnalysisAction(new ConfigParser(), new ConfigValidator(),
+                () -> new AnalyzerService() {
+                    @Override
+                    public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor,
+                            String... filePaths) {
+                        return new SpotBugsAnalysisResult(Arrays.asList(
+                                bug("SE_BAD_FIELD", "com.example.A"),
+                                bug("SE_BAD_FIELD", "com.example.B"),
+                                bug("ICAST_BAD_SHIFT_AMOUNT", "com.example.C")
+                        ), Collections.emptyList());
+                    }
+                }, pages);
+        NextFindingsPageAction next = new NextFindingsPageAction(pages);
+
+        JsonObject first = execute(action, "/workspace/build/classes",
+                "{\"pageSize\":2,\"patternDictionary\":true}");
+        String token = first.get("continuationToken").getAsString();
+        JsonObject last = JsonParser.parseString(next.execute(new Object[] { token }, null)).getAsJsonObject();
+
+        JsonObject finding = first.getAsJsonArray("results").get(0).getAsJsonObject();
+        assertEquals("SE_BAD_FIELD", finding.get("type").getAsString());
+        assertFalse(finding.has("shortDescription"));
+        assertFalse(finding.has("detailHtml"));
+        assertEquals(Collections.singleton("SE_BAD_FIELD"), first.getAsJsonObject("patterns").keySet());
+        assertEquals(Collections.singleton("ICAST_BAD_SHIFT_AMOUNT"), last.getAsJsonObject("patterns").keySet());
+    }
+
+    @Test
+    public void findingsKeepPatternDetailsWithoutPatternDictionary() {
+        RunAnalysisAction action = new RunAnalysisAction(() -> new AnalyzerService() {
+            @Override
+            public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor, String... filePaths) {
+                return new SpotBugsAnalysisResult(
+                        Collections.singletonList(bug("SE_BAD_FIELD", "com.example.A")),
+                        Collections.emptyList()
+                );
+            }
+        });
+
+        JsonObject response = executeDefault(action);
+
+        assertFalse(response.has("patterns"));
+        assertTrue(response.getAsJsonArray("results").get(0).getAsJsonObject().has("shortDescription"));
+    }
+
+    @Test
+    public void exportedReportFilesAreReportedInsteadOfTheirContent() {
+        RunAnalysisAction action = new RunAnalysisAction(() -> new AnalyzerService() {
+            @Override
+            public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor,
+                    boolean includeBaselineXml, ReportExport export, String... filePaths) {
+                assertEquals("/reports/spotbugs.sarif", export.getNativeSarifPath());
+                return new SpotBugsAnalysisResult(Collections.emptyList(), Collections.emptyList(), null, null, null,
+                        new ReportFile(export.getNativeSarifPath(), 42L), null);
+            }
+        });
+
+        JsonObject response = execute(action, "/workspace/build/classes",
+                "{\"nativeSarifOutputPath\":\"/reports/spotbugs.sarif\"}");
+
+        assertFalse(response.has("nativeSarif"));
+        assertFalse(response.has("baselineXmlFile"));
+        JsonObject file = response.getAsJsonObject("nativeSarifFile");
+        assertEquals("/reports/spotbugs.sarif", file.get("path").getAsString());
+        assertEquals(42L, file.get("byteCount").getAsLong());
+    }
+
+    @Test
+    public void runWithinPageSizeIsNotPaged() {
+        FindingPages pages = new FindingPages();
+        RunAnalysisAction action = new RunAnalysisAction(new ConfigParser(), new ConfigValidator(),
+                RunAnalysisActionTest::emptyAnalyzer, pages);
+
+        JsonObject response = execute(action, "/workspace/build/classes", "{\"pageSize\":2}");
+
+        assertFalse(response.has("continuationToken"));
+        assertEquals(0, pages.openCount());
+    }
+
     @Test
     public void executeSerializesWarningsFromSuccessfulAnalysis() {
         RunAnalysisAction action = new RunAnalysisAction(() -> new AnalyzerService() {
@@ -228,6 +355,10 @@ public class RunAnalysisActionTest {
         assertEquals(4, stats.get("auxClasspathCount").getAsInt());
         assertEquals(5, stats.get("targetCount").getAsInt());
         assertEquals(2, stats.get("pluginCount").getAsInt());
+        JsonObject phaseNanos = stats.getAsJsonObject("phaseNanos");
+        assertEquals(1500L, phaseNanos.get("targetResolution").getAsLong());
+        assertEquals(2500L, phaseNanos.get("analysis").getAsLong());
+        assertFalse(phaseNanos.has("sarif"));
     }
 
     @Test
@@ -294,6 +425,10 @@ public class RunAnalysisActionTest {
         return value.replace("\\", "\\\\").replace("\"", "\\\"");
     }
 
+    private static BugInfo bug(String type, String className) {
+        return new BugInfo(new BugInstance(type, Priorities.NORMAL_PRIORITY).addClass(className));
+    }
+
     private static AnalyzerService emptyAnalyzer() {
         return new AnalyzerService() {
             @Override
@@ -323,5 +458,13 @@ public class RunAnalysisActionTest {
         public int getLastAuxClasspathCount() {
             return 4;
         }
+
+        @Override
+        public PhaseTimings getLastPhaseTimings() {
+            PhaseTimings timings = new PhaseTimings();
+            timings.add(PhaseTimings.Phase.TARGET_RESOLUTION, 1500L);
+            timings.add(PhaseTimings.Phase.ANALYSIS, 2500L);
+            return timings;
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.spotbugs.vscode.runner.internal.command;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -75,6 +76,8 @@ public class RunAnalysisRequestParserTest {
                 request.getConfig().getPlugins()
         );
         assertTrue(request.isIncludeBaselineXml());
+        assertTrue(request.getConfig().isIncludeNativeSarif());
+        assertTrue(request.isPatternDictionary());
     }
 
     @Test
@@ -117,6 +120,30 @@ public class RunAnalysisRequestParserTest {
         assertTrue(failure.getMessage().contains(missingPath));
     }
 
+    @Test
+    public void parseAcceptsOnlyDistinctAbsoluteReportOutputPaths() throws Exception {
+        String sarif = new File(System.getProperty("java.io.tmpdir"), "spotbugs.sarif").getAbsolutePath();
+        RunAnalysisRequest request = parser.parse(context(
+                "/workspace/build/classes",
+                "{\"nativeSarifOutputPath\":\"" + jsonString(sarif) + "\"}"
+        ));
+        AbstractCommandAction.CommandActionException relative = expectFailure(() ->
+                parser.parse(context("/workspace/build/classes", "{\"baselineXmlOutputPath\":\"baseline.xml\"}"))
+        );
+        AbstractCommandAction.CommandActionException same = expectFailure(() ->
+                parser.parse(context(
+                        "/workspace/build/classes",
+                        "{\"nativeSarifOutputPath\":\"" + jsonString(sarif) + "\","
+                                + "\"baselineXmlOutputPath\":\"" + jsonString(sarif) + "\"}"
+                ))
+        );
+
+        assertEquals(sarif, request.getReportExport().getNativeSarifPath());
+        assertNull(request.getReportExport().getBaselineXmlPath());
+        assertEquals("CFG_OUTPUT_PATH_INVALID", relative.getCode());
+        assertEquals("CFG_OUTPUT_PATH_INVALID", same.getCode());
+    }
+
     @Test
     public void parseRaisesInvalidArgumentForBadTargetPath() {
         AbstractCommandAction.CommandActionException failure = expectFailure(() ->
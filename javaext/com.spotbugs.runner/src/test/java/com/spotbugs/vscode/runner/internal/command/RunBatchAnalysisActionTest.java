@@ -0,0 +1,188 @@
+package com.spotbugs.vscode.runner.internal.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.internal.AnalyzerService;
+import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
+
+public class RunBatchAnalysisActionTest {
+
+    @Test
+    public void executeReturnsOneResponsePerTargetInRequestOrder() {
+        RunBatchAnalysisAction action = new RunBatchAnalysisAction(RunBatchAnalysisActionTest::emptyAnalyzer, 4);
+
+        JsonObject response = execute(action,
+                "{\"targets\":["
+                        + "{\"path\":\"/workspace/a/classes\",\"config\":{\"effort\":\"min\"}},"
+                        + "{\"path\":\"/workspace/b/classes\"},"
+                        + "{\"path\":\"/workspace/c/classes\",\"config\":{\"effort\":\"max\"}}"
+                        + "]}");
+
+        JsonArray results = response.getAsJsonArray("results");
+        assertEquals(0, response.getAsJsonArray("errors").size());
+        assertEquals(3, results.size());
+        assertEquals("/workspace/a/classes", targetPath(results, 0));
+        assertEquals("/workspace/b/classes", targetPath(results, 1));
+        assertEquals("/workspace/c/classes", targetPath(results, 2));
+        for (int i = 0; i < results.size(); i++) {
+            JsonObject target = targetResponse(results, i);
+            assertEquals(0, target.getAsJsonArray("errors").size());
+            assertEquals(targetPath(results, i), target.getAsJsonObject("stats").get("target").getAsString());
+        }
+    }
+
+    @Test
+    public void invalidTargetConfigurationOnlyFailsThatTarget() {
+        String missingPath = new File(
+                System.getProperty("java.io.tmpdir"),
+                "spotbugs-missing-" + System.nanoTime() + ".jar"
+        ).getAbsolutePath();
+        RunBatchAnalysisAction action = new RunBatchAnalysisAction(RunBatchAnalysisActionTest::emptyAnalyzer, 2);
+
+        JsonObject response = execute(action,
+                "{\"targets\":["
+                        + "{\"path\":\"/workspace/a/classes\",\"config\":{\"extraAuxClasspaths\":[\""
+                        + missingPath.replace("\\", "\\\\") + "\"]}},"
+                        + "{\"path\":\"/workspace/b/classes\"}"
+                        + "]}");
+
+        JsonArray results = response.getAsJsonArray("results");
+        assertEquals("CFG_AUX_CLASSPATH_NOT_FOUND", firstError(targetResponse(results, 0)).get("code").getAsString());
+        assertEquals(0, targetResponse(results, 1).getAsJsonArray("errors").size());
+    }
+
+    @Test
+    public void targetsRunConcurrentlyUpToTheParallelismLimit() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        RunBatchAnalysisAction action = new RunBatchAnalysisAction(() -> new AnalyzerService() {
+            @Override
+            public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor, String... filePaths)
+                    throws InterruptedException {
+                bothStarted.countDown();
+                if (!bothStarted.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("targets did not run concurrently");
+                }
+                return SpotBugsAnalysisResult.empty();
+            }
+        }, 4);
+
+        JsonObject response = execute(action,
+                "{\"parallelism\":2,\"targets\":[{\"path\":\"/workspace/a/classes\"},{\"path\":\"/workspace/b/classes\"}]}");
+
+        JsonArray results = response.getAsJsonArray("results");
+        assertEquals(0, targetResponse(results, 0).getAsJsonArray("errors").size());
+        assertEquals(0, targetResponse(results, 1).getAsJsonArray("errors").size());
+    }
+
+    @Test
+    public void engineCacheKeepsOneEnginePerTargetOfLargeBatches() {
+        AtomicInteger created = new AtomicInteger();
+        RunBatchAnalysisAction action = new RunBatchAnalysisAction(() -> {
+            created.incrementAndGet();
+            return emptyAnalyzer();
+        }, 2);
+        StringBuilder request = new StringBuilder("{\"targets\":[");
+        for (int i = 0; i < AnalysisEngineCache.DEFAULT_MAX_IDLE_ENGINES + 2; i++) {
+            request.append(i > 0 ? "," : "")
+                    .append("{\"path\":\"/workspace/p").append(i).append("/classes\",")
+                    .append("\"config\":{\"sourcepaths\":[\"/workspace/p").append(i).append("/src\"]}}");
+        }
+        request.append("]}");
+
+        execute(action, request.toString());
+        execute(action, request.toString());
+
+        assertEquals(AnalysisEngineCache.DEFAULT_MAX_IDLE_ENGINES + 2, created.get());
+    }
+
+    @Test
+    public void pagedTargetsOfLargeBatchesCanAllBeFetchedAfterTheBatch() {
+        FindingPages pages = new FindingPages();
+        RunBatchAnalysisAction action = new RunBatchAnalysisAction(() -> new AnalyzerService() {
+            @Override
+            public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor, String... filePaths) {
+                return new SpotBugsAnalysisResult(Collections.nCopies(3, (BugInfo) null), Collections.emptyList());
+            }
+        }, pages, 2);
+        NextFindingsPageAction next = new NextFindingsPageAction(pages);
+        int targetCount = FindingPages.DEFAULT_MAX_OPEN + 2;
+        StringBuilder request = new StringBuilder("{\"targets\":[");
+        for (int i = 0; i < targetCount; i++) {
+            request.append(i > 0 ? "," : "")
+                    .append("{\"path\":\"/workspace/p").append(i).append("/classes\",\"config\":{\"pageSize\":2}}");
+        }
+        request.append("]}");
+
+        JsonArray results = execute(action, request.toString()).getAsJsonArray("results");
+
+        for (int i = 0; i < targetCount; i++) {
+            String token = targetResponse(results, i).get("continuationToken").getAsString();
+            JsonObject page = JsonParser.parseString(next.execute(new Object[] { token }, null)).getAsJsonObject();
+            assertEquals(0, page.getAsJsonArray("errors").size());
+            assertEquals(1, page.getAsJsonArray("results").size());
+        }
+    }
+
+    @Test
+    public void cancelledBatchReportsEveryTargetAsCancelled() {
+        RunBatchAnalysisAction action = new RunBatchAnalysisAction(RunBatchAnalysisActionTest::emptyAnalyzer, 2);
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+
+        JsonObject response = JsonParser.parseString(action.execute(
+                new Object[] { "{\"targets\":[{\"path\":\"/workspace/a/classes\"}]}" }, monitor)).getAsJsonObject();
+
+        assertEquals("ANALYSIS_CANCELLED", firstError(response).get("code").getAsString());
+    }
+
+    @Test
+    public void executeRejectsRequestsWithoutTargets() {
+        RunBatchAnalysisAction action = new RunBatchAnalysisAction(RunBatchAnalysisActionTest::emptyAnalyzer, 2);
+
+        JsonObject response = execute(action, "{\"parallelism\":2}");
+
+        assertEquals("INVALID_ARGUMENT", firstError(response).get("code").getAsString());
+        assertTrue(firstError(response).get("message").getAsString().contains("targets"));
+    }
+
+    private static JsonObject execute(RunBatchAnalysisAction action, String request) {
+        String json = action.execute(new Object[] { request }, new NullProgressMonitor());
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    private static String targetPath(JsonArray results, int index) {
+        return results.get(index).getAsJsonObject().get("path").getAsString();
+    }
+
+    private static JsonObject targetResponse(JsonArray results, int index) {
+        return results.get(index).getAsJsonObject().getAsJsonObject("response");
+    }
+
+    private static JsonObject firstError(JsonObject response) {
+        return response.getAsJsonArray("errors").get(0).getAsJsonObject();
+    }
+
+    private static AnalyzerService emptyAnalyzer() {
+        return new AnalyzerService() {
+            @Override
+            public SpotBugsAnalysisResult analyzeToBugsWithWarnings(IProgressMonitor monitor, String... filePaths) {
+                return SpotBugsAnalysisResult.empty();
+            }
+        };
+    }
+}
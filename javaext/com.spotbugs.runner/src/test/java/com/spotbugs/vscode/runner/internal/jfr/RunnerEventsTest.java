@@ -0,0 +1,59 @@
+package com.spotbugs.vscode.runner.internal.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class RunnerEventsTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void spansAreNoOpsWithoutARecording() {
+        assertSame(RunnerEvents.NONE, RunnerEvents.engineExecution());
+    }
+
+    @Test
+    public void enabledSpansCommitTheirFieldsAndDisabledOnesNothing() throws Exception {
+        Path dump = temp.getRoot().toPath().resolve("runner.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.spotbugs.runner.EngineExecution");
+            recording.disable("com.spotbugs.runner.ReportWrite");
+            recording.start();
+            try (RunnerEvents.Span event = RunnerEvents.engineExecution()) {
+                event.targets(3).findings(2).bytes(1024L).failed("ANALYSIS_FAILED");
+            }
+            try (RunnerEvents.Span event = RunnerEvents.reportWrite("sarif")) {
+                event.bytes(1L);
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getEventType().getName().startsWith("com.spotbugs.runner.")) {
+                events.add(event);
+            }
+        }
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("com.spotbugs.runner.EngineExecution", event.getEventType().getName());
+        assertEquals(3, event.getInt("targetCount"));
+        assertEquals(2, event.getInt("findingCount"));
+        assertEquals(1024L, event.getLong("bytes"));
+        assertEquals("ANALYSIS_FAILED", event.getString("failure"));
+    }
+}
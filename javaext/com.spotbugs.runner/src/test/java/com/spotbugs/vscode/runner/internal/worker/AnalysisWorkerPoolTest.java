@@ -0,0 +1,301 @@
+package com.spotbugs.vscode.runner.internal.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.Bundle;
+
+import com.spotbugs.vscode.runner.api.BugInfo;
+import com.spotbugs.vscode.runner.internal.PhaseTimings;
+import com.spotbugs.vscode.runner.internal.ReportExport;
+import com.spotbugs.vscode.runner.internal.SpotBugsAnalysisResult;
+import com.spotbugs.vscode.runner.internal.config.AnalysisConfig;
+import com.spotbugs.vscode.runner.internal.config.ConfigParser;
+import com.spotbugs.vscode.runner.internal.config.ConfigValidator;
+import com.spotbugs.vscode.runner.internal.fixtures.NegativeShiftFixture;
+
+public class AnalysisWorkerPoolTest {
+
+    private static final String BUG_TYPE = "ICAST_BAD_SHIFT_AMOUNT";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final AnalysisWorkerPool pool = new AnalysisWorkerPool();
+
+    @After
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void workerProtocolAnswersEachRequestAndSurvivesBadInput() throws Exception {
+        String request = WorkerProtocol.toJson(new WorkerProtocol.Request(
+                config("{\"priorityThreshold\":20}"), new String[] { fixtureClassPath() }, false, ReportExport.NONE));
+        StringWriter out = new StringWriter();
+
+        new AnalysisWorkerMain().serve(new BufferedReader(new StringReader("not json\n" + request + "\n")), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertNotNull(WorkerProtocol.readResponse(lines[0]).error);
+        WorkerProtocol.Response response = WorkerProtocol.readResponse(lines[1]);
+        assertNull(response.error);
+        assertEquals(1, response.targetCount);
+        assertTrue(hasFixtureBug(response.result));
+    }
+
+    @Test
+    public void outOfProcessAnalyzerRunsInPooledWorker() throws Exception {
+        OutOfProcessAnalyzerService analyzer = new OutOfProcessAnalyzerService(pool);
+        analyzer.setConfiguration(config("{\"priorityThreshold\":20,\"outOfProcess\":true}"));
+
+        SpotBugsAnalysisResult result = analyzer.analyzeToBugsWithWarnings(
+                new NullProgressMonitor(), false, fixtureClassPath());
+
+        assertTrue(hasFixtureBug(result));
+        assertEquals(1, analyzer.getLastTargetCount());
+        assertTrue(analyzer.getLastPhaseTimings().nanos(PhaseTimings.Phase.ANALYSIS) > 0L);
+        // The worker that ran plus the spare forked while it did.
+        assertEquals(2, pool.idleWorkerCount());
+    }
+
+    @Test
+    public void packagedBundleRunsAnalysisInWorker() throws Exception {
+        File bundle = packagedBundle();
+        File cache = temp.newFolder("cache");
+        List<String> classpath = new ArrayList<>(BundleClasspath.resolve(bundle, cache));
+        classpath.add(codeSource(IProgressMonitor.class).getAbsolutePath());
+        AnalysisWorkerPool bundlePool = new AnalysisWorkerPool(AnalysisWorkerPool.defaultJavaCommand(), classpath, 1);
+        try {
+            OutOfProcessAnalyzerService analyzer = new OutOfProcessAnalyzerService(bundlePool);
+            analyzer.setConfiguration(config("{\"priorityThreshold\":20,\"outOfProcess\":true}"));
+
+            SpotBugsAnalysisResult result = analyzer.analyzeToBugsWithWarnings(
+                    new NullProgressMonitor(), false, fixtureClassPath());
+
+            assertTrue(hasFixtureBug(result));
+        } finally {
+            bundlePool.shutdown();
+        }
+        // The bundle's own classes, then the nested jar extracted from it.
+        assertEquals(bundle.getAbsolutePath(), classpath.get(0));
+        assertTrue(classpath.get(1).startsWith(cache.getAbsolutePath()));
+        assertTrue(classpath.get(1).endsWith("spotbugs-runner-all.jar"));
+    }
+
+    @Test
+    public void cancellationKillsTheWorker() throws Exception {
+        OutOfProcessAnalyzerService analyzer = new OutOfProcessAnalyzerService(pool);
+        analyzer.setConfiguration(config("{\"outOfProcess\":true}"));
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+
+        try {
+            analyzer.analyzeToBugsWithWarnings(monitor, false, fixtureClassPath());
+            fail("Expected cancellation");
+        } catch (CancellationException expected) {
+            // Only the pre-forked spare is left.
+            assertEquals(1, pool.idleWorkerCount());
+        }
+    }
+
+    @Test(timeout = 10_000L)
+    public void cancellationInterruptsAHalfWrittenResponse() throws Exception {
+        PipedOutputStream workerStdout = new PipedOutputStream();
+        PipedInputStream responses = new PipedInputStream(workerStdout);
+        workerStdout.write('{');
+        workerStdout.flush();
+        AnalysisWorker worker = new AnalysisWorker(new StalledProcess(responses), Collections.emptyList());
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(200L);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            monitor.setCanceled(true);
+        });
+        canceller.start();
+
+        try {
+            worker.call(new WorkerProtocol.Request(config("{}"), new String[0], false, ReportExport.NONE), monitor);
+            fail("Expected cancellation");
+        } catch (CancellationException expected) {
+            assertFalse(worker.isAlive());
+        }
+    }
+
+    @Test
+    public void configDefaultsKeepWorkersForSeveralRuns() {
+        AnalysisConfig config = config("{\"outOfProcess\":true,\"workerVmArgs\":[\"-Xmx512m\",\" \"],\"workerMaxRuns\":0}");
+
+        assertTrue(config.isOutOfProcess());
+        assertEquals(1, config.getWorkerVmArgs().size());
+        assertTrue(config.getWorkerMaxRuns() > 1);
+        assertEquals(0, config.getWorkerRecycleHeapMb());
+        assertFalse(config("{}").isOutOfProcess());
+    }
+
+    /** A worker that has started an answer but never finishes the line. */
+    private static final class StalledProcess extends Process {
+        private final InputStream stdout;
+        private volatile boolean alive = true;
+
+        private StalledProcess(InputStream stdout) {
+            this.stdout = stdout;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return new ByteArrayOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return stdout;
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public int waitFor() {
+            return 0;
+        }
+
+        @Override
+        public int exitValue() {
+            return 0;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return alive;
+        }
+
+        @Override
+        public void destroy() {
+            alive = false;
+        }
+
+        @Override
+        public Process destroyForcibly() {
+            destroy();
+            return this;
+        }
+    }
+
+    /**
+     * Lays the runner out like the released bundle: its own classes at the root and SpotBugs with
+     * its dependencies shaded into a nested jar. The Eclipse runtime stays a bundle of its own.
+     */
+    private File packagedBundle() throws Exception {
+        Set<File> external = new HashSet<>(Arrays.asList(codeSource(IProgressMonitor.class), codeSource(Bundle.class)));
+        File shaded = temp.newFile("spotbugs-runner-all.jar");
+        Set<String> names = new HashSet<>();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(shaded))) {
+            for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                File file = new File(entry);
+                if (file.isFile() && !external.contains(file.getAbsoluteFile())) {
+                    copyClasses(file, out, names);
+                }
+            }
+        }
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue(BundleClasspath.BUNDLE_CLASSPATH, "., lib/spotbugs-runner-all.jar");
+        File bundle = temp.newFile("com.spotbugs.runner.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(bundle), manifest)) {
+            Path classes = codeSource(AnalysisWorkerMain.class).toPath();
+            try (Stream<Path> files = Files.walk(classes)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    String name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(file, out);
+                }
+            }
+            out.putNextEntry(new JarEntry("lib/spotbugs-runner-all.jar"));
+            Files.copy(shaded.toPath(), out);
+        }
+        return bundle;
+    }
+
+    private static void copyClasses(File jar, JarOutputStream out, Set<String> names) throws Exception {
+        try (JarFile in = new JarFile(jar)) {
+            for (JarEntry entry : Collections.list(in.entries())) {
+                String name = entry.getName();
+                if (entry.isDirectory() || name.startsWith("META-INF/") && !name.startsWith("META-INF/services/")
+                        || !names.add(name)) {
+                    continue;
+                }
+                out.putNextEntry(new JarEntry(name));
+                try (InputStream data = in.getInputStream(entry)) {
+                    data.transferTo(out);
+                }
+            }
+        }
+    }
+
+    private static File codeSource(Class<?> type) throws Exception {
+        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getAbsoluteFile();
+    }
+
+    private static boolean hasFixtureBug(SpotBugsAnalysisResult result) {
+        for (BugInfo bug : result.getBugs()) {
+            if (BUG_TYPE.equals(bug.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static AnalysisConfig config(String json) {
+        return new ConfigValidator().validate(new ConfigParser().parse(json).getSchema()).getConfig();
+    }
+
+    private static String fixtureClassPath() throws Exception {
+        URL classFile = NegativeShiftFixture.class.getResource("NegativeShiftFixture.class");
+        return new File(classFile.toURI()).getAbsolutePath();
+    }
+}
@@ -14,6 +14,7 @@ function readJavaBackendVersions(rootDir) {
   const packageJson = JSON.parse(readFile(rootDir, 'package.json'));
   const rootPom = readFile(rootDir, 'javaext/pom.xml');
   const runnerPom = readFile(rootDir, 'javaext/com.spotbugs.runner/pom.xml');
+  const benchmarksPom = readFile(rootDir, 'javaext/com.spotbugs.runner.benchmarks/pom.xml');
   const targetPom = readFile(rootDir, 'javaext/com.spotbugs.target/pom.xml');
   const manifest = readFile(rootDir, 'javaext/com.spotbugs.runner/META-INF/MANIFEST.MF');
 
@@ -24,6 +25,10 @@ function readJavaBackendVersions(rootDir) {
       runnerPom,
       'javaext/com.spotbugs.runner/pom.xml'
     ),
+    benchmarksParentVersion: extractParentVersion(
+      benchmarksPom,
+      'javaext/com.spotbugs.runner.benchmarks/pom.xml'
+    ),
     targetParentVersion: extractParentVersion(
       targetPom,
       'javaext/com.spotbugs.target/pom.xml'
@@ -37,6 +42,10 @@ function validateJavaBackendVersions(versions) {
   const checks = [
     ['javaext/pom.xml version', versions.rootPomVersion],
     ['javaext/com.spotbugs.runner/pom.xml parent version', versions.runnerParentVersion],
+    [
+      'javaext/com.spotbugs.runner.benchmarks/pom.xml parent version',
+      versions.benchmarksParentVersion,
+    ],
     ['javaext/com.spotbugs.target/pom.xml parent version', versions.targetParentVersion],
     ['javaext/com.spotbugs.runner/META-INF/MANIFEST.MF Bundle-Version', versions.bundleVersion],
   ];
@@ -0,0 +1,59 @@
+import { QuickPickItem, l10n, window } from 'vscode';
+import {
+  detectorLabel,
+  DetectorProfileSortKind,
+  mergeDetectorProfiles,
+  sortDetectorProfiles,
+} from '../model/detectorProfile';
+import { SpotBugsTreeDataProvider } from '../ui/spotbugsTreeDataProvider';
+
+type SortPickItem = QuickPickItem & { value: DetectorProfileSortKind };
+
+const SORT_ITEMS: SortPickItem[] = [
+  { label: l10n.t('Time'), value: 'time' },
+  { label: l10n.t('Invocations'), value: 'invocations' },
+  { label: l10n.t('Findings'), value: 'findings' },
+  { label: l10n.t('Analysis pass'), value: 'pass' },
+  { label: l10n.t('Detector'), value: 'detector' },
+];
+
+/** Lists the detectors of the displayed results' profiles, sorted by a chosen column. */
+export async function showDetectorProfile(provider: SpotBugsTreeDataProvider): Promise<void> {
+  const detectors = mergeDetectorProfiles(provider.getReportRuns().map((run) => run.profile));
+  if (detectors.length === 0) {
+    await window.showInformationMessage(
+      l10n.t(
+        'No SpotBugs detector profile available. Enable spotbugs.analysis.profileDetectors and run an analysis.'
+      )
+    );
+    return;
+  }
+
+  const sortBy = await window.showQuickPick(SORT_ITEMS, {
+    title: l10n.t('SpotBugs Detector Profile'),
+    placeHolder: l10n.t('Sort detectors by'),
+  });
+  if (!sortBy) {
+    return;
+  }
+
+  await window.showQuickPick(
+    sortDetectorProfiles(detectors, sortBy.value).map((detector) => ({
+      label: detectorLabel(detector),
+      description: l10n.t(
+        '{0} ms, {1} invocations, {2} findings, pass {3}',
+        (detector.timeNanos / 1e6).toFixed(1),
+        detector.invocations,
+        detector.findingCount,
+        detector.pass
+      ),
+      detail: detector.pluginId ? `${detector.detector} (${detector.pluginId})` : detector.detector,
+    })),
+    {
+      title: l10n.t('SpotBugs Detector Profile'),
+      placeHolder: l10n.t('Detectors sorted by {0}', sortBy.label),
+      matchOnDescription: true,
+      matchOnDetail: true,
+    }
+  );
+}
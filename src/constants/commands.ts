@@ -28,6 +28,7 @@ export namespace SpotBugsCommands {
   export const CLEAR_SEARCH: string = 'spotbugs.clearSearch';
   export const GROUP_RESULTS_BY: string = 'spotbugs.groupResultsBy';
   export const SORT_RESULTS_BY: string = 'spotbugs.sortResultsBy';
+  export const SHOW_DETECTOR_PROFILE: string = 'spotbugs.showDetectorProfile';
   export const OPEN_SETTINGS: string = 'spotbugs.openSettings';
   export const REFRESH_PLUGIN_INVENTORY: string = 'spotbugs.refreshPluginInventory';
   export const ADD_PLUGIN_JARS: string = 'spotbugs.addPluginJars';
@@ -39,5 +40,7 @@ export namespace SpotBugsCommands {
 // Java Language Server delegate command IDs (handled by the JDT LS plugin)
 export namespace SpotBugsLSCommands {
   export const RUN_ANALYSIS: string = 'java.spotbugs.run';
+  export const RUN_ANALYSIS_BATCH: string = 'java.spotbugs.runBatch';
+  export const NEXT_FINDINGS_PAGE: string = 'java.spotbugs.results.next';
   export const PLUGIN_INVENTORY: string = 'java.spotbugs.plugins.inventory';
 }
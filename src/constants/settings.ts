@@ -4,6 +4,17 @@ export const settingKeys = {
   analysisEffort: 'analysis.effort',
   analysisPriorityThreshold: 'analysis.priorityThreshold',
   analysisExtraAuxClasspaths: 'analysis.extraAuxClasspaths',
+  analysisIncremental: 'analysis.incremental',
+  analysisWatchTargets: 'analysis.watchTargets',
+  analysisPruneAuxClasspath: 'analysis.pruneAuxClasspath',
+  analysisNativeSarif: 'analysis.nativeSarif',
+  analysisProfileDetectors: 'analysis.profileDetectors',
+  analysisWorkerEnabled: 'analysis.worker.enabled',
+  analysisWorkerVmArgs: 'analysis.worker.vmArgs',
+  analysisWorkerMaxRuns: 'analysis.worker.maxRuns',
+  analysisWorkerRecycleHeapMb: 'analysis.worker.recycleHeapMb',
+  analysisResultPageSize: 'analysis.resultPageSize',
+  analysisWorkspaceParallelism: 'analysis.workspaceParallelism',
   filtersIncludePaths: 'filters.includePaths',
   filtersExcludePaths: 'filters.excludePaths',
   filtersExcludeBaselineBugsPaths: 'filters.excludeBaselineBugsPaths',
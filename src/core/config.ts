@@ -3,6 +3,8 @@ import * as path from 'path';
 import { SETTINGS_SECTION, settingKeys } from '../constants/settings';
 import { Logger } from './logger';
 
+export const DEFAULT_WORKSPACE_PARALLELISM = 2;
+
 export interface AnalysisSettings {
   effort: string;
   priorityThreshold?: number;
@@ -11,6 +13,16 @@ export interface AnalysisSettings {
   excludeFilterPaths?: string[];
   excludeBaselineBugsPaths?: string[];
   plugins?: string[];
+  incremental?: boolean;
+  watchTargets?: boolean;
+  pruneAuxClasspath?: boolean;
+  nativeSarif?: boolean;
+  profileDetectors?: boolean;
+  outOfProcess?: boolean;
+  workerVmArgs?: string[];
+  workerMaxRuns?: number;
+  workerRecycleHeapMb?: number;
+  resultPageSize?: number;
 }
 
 export class Config {
@@ -22,6 +34,17 @@ export class Config {
   public excludeFilterPaths?: string[];
   public excludeBaselineBugsPaths?: string[];
   public plugins?: string[];
+  public incremental!: boolean;
+  public watchTargets!: boolean;
+  public pruneAuxClasspath!: boolean;
+  public nativeSarif!: boolean;
+  public profileDetectors!: boolean;
+  public outOfProcess!: boolean;
+  public workerVmArgs?: string[];
+  public workerMaxRuns?: number;
+  public workerRecycleHeapMb?: number;
+  public resultPageSize?: number;
+  public workspaceParallelism!: number;
   public revealSourceOnSelection!: boolean;
 
   public constructor(_ctx: ExtensionContext) {
@@ -43,6 +66,30 @@ export class Config {
     this.extraAuxClasspaths = this.readStringArray(
       config.get<unknown>(settingKeys.analysisExtraAuxClasspaths)
     );
+    this.incremental = config.get<boolean | undefined>(settingKeys.analysisIncremental) === true;
+    this.watchTargets = config.get<boolean | undefined>(settingKeys.analysisWatchTargets) === true;
+    this.pruneAuxClasspath =
+      config.get<boolean | undefined>(settingKeys.analysisPruneAuxClasspath) !== false;
+    // Native SARIF needs a full run, so it would keep every incremental run from skipping classes.
+    this.nativeSarif =
+      !this.incremental &&
+      config.get<boolean | undefined>(settingKeys.analysisNativeSarif) !== false;
+    this.profileDetectors =
+      config.get<boolean | undefined>(settingKeys.analysisProfileDetectors) === true;
+    this.outOfProcess = config.get<boolean | undefined>(settingKeys.analysisWorkerEnabled) === true;
+    this.workerVmArgs = this.readArgumentArray(config.get<unknown>(settingKeys.analysisWorkerVmArgs));
+    this.workerMaxRuns = this.readPositiveInteger(
+      config.get<unknown>(settingKeys.analysisWorkerMaxRuns)
+    );
+    this.workerRecycleHeapMb = this.readPositiveInteger(
+      config.get<unknown>(settingKeys.analysisWorkerRecycleHeapMb)
+    );
+    this.resultPageSize = this.readPositiveInteger(
+      config.get<unknown>(settingKeys.analysisResultPageSize)
+    );
+    this.workspaceParallelism =
+      this.readPositiveInteger(config.get<unknown>(settingKeys.analysisWorkspaceParallelism)) ??
+      DEFAULT_WORKSPACE_PARALLELISM;
 
     this.includeFilterPaths = this.readXmlPathArray(
       settingKeys.filtersIncludePaths,
@@ -76,6 +123,22 @@ export class Config {
     return path.resolve(basePath, p);
   }
 
+  // JVM options may legitimately repeat (e.g. --add-opens), so order and duplicates are kept.
+  private readArgumentArray(raw: unknown): string[] | undefined {
+    if (!Array.isArray(raw)) {
+      return undefined;
+    }
+    const values = raw
+      .filter((entry): entry is string => typeof entry === 'string')
+      .map((entry) => entry.trim())
+      .filter((entry) => entry.length > 0);
+    return values.length > 0 ? values : undefined;
+  }
+
+  private readPositiveInteger(raw: unknown): number | undefined {
+    return typeof raw === 'number' && Number.isInteger(raw) && raw > 0 ? raw : undefined;
+  }
+
   private readStringArray(raw: unknown): string[] | undefined {
     if (!Array.isArray(raw)) {
       return undefined;
@@ -176,6 +239,36 @@ export class Config {
     if (plugins) {
       settings.plugins = plugins;
     }
+    if (this.incremental) {
+      settings.incremental = true;
+    }
+    if (this.watchTargets) {
+      settings.watchTargets = true;
+    }
+    if (!this.pruneAuxClasspath) {
+      settings.pruneAuxClasspath = false;
+    }
+    if (this.nativeSarif) {
+      settings.nativeSarif = true;
+    }
+    if (this.profileDetectors) {
+      settings.profileDetectors = true;
+    }
+    if (this.outOfProcess) {
+      settings.outOfProcess = true;
+      if (this.workerVmArgs) {
+        settings.workerVmArgs = this.workerVmArgs.slice();
+      }
+      if (typeof this.workerMaxRuns === 'number') {
+        settings.workerMaxRuns = this.workerMaxRuns;
+      }
+      if (typeof this.workerRecycleHeapMb === 'number') {
+        settings.workerRecycleHeapMb = this.workerRecycleHeapMb;
+      }
+    }
+    if (typeof this.resultPageSize === 'number') {
+      settings.resultPageSize = this.resultPageSize;
+    }
     return settings;
   }
 }
@@ -19,6 +19,7 @@ import { Config } from './core/config';
 import { Logger } from './core/logger';
 import { defaultNotifier } from './core/notifier';
 import { selectFindingFilter } from './commands/filter';
+import { showDetectorProfile } from './commands/detectorProfile';
 import { exportHtmlReport, exportSarifReport } from './commands/export';
 import { resetResults } from './commands/reset';
 import { openSettings } from './commands/settings';
@@ -276,6 +277,13 @@ async function doActivate(
         }
       ),
 
+      instrumentOperationAsVsCodeCommand(
+        SpotBugsCommands.SHOW_DETECTOR_PROFILE,
+        async () => {
+          await showDetectorProfile(spotbugsTreeDataProvider);
+        }
+      ),
+
       instrumentOperationAsVsCodeCommand(SpotBugsCommands.OPEN_SETTINGS, openSettings),
 
       instrumentOperationAsVsCodeCommand(
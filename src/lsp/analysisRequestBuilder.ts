@@ -12,6 +12,8 @@ export function buildAnalysisRequestPayload(
     extraAuxClasspaths?: string[] | null;
     sourcepaths?: string[] | null;
     includeBaselineXml?: boolean;
+    nativeSarifOutputPath?: string;
+    baselineXmlOutputPath?: string;
   }
 ): AnalysisRequestPayload {
   const payload: AnalysisRequestPayload = {
@@ -28,6 +30,7 @@ export function buildAnalysisRequestPayload(
       : null,
     sourcepaths: Array.isArray(options.sourcepaths) ? options.sourcepaths.slice() : null,
     ...(options.includeBaselineXml === true ? { includeBaselineXml: true } : {}),
+    patternDictionary: true,
   };
 
   if (typeof settings.priorityThreshold === 'number') {
@@ -48,5 +51,41 @@ export function buildAnalysisRequestPayload(
   if (Array.isArray(settings.plugins) && settings.plugins.length > 0) {
     payload.plugins = settings.plugins.slice();
   }
+  if (settings.incremental === true) {
+    payload.incremental = true;
+  }
+  if (settings.watchTargets === true) {
+    payload.watchTargets = true;
+  }
+  if (settings.pruneAuxClasspath === false) {
+    payload.pruneAuxClasspath = false;
+  }
+  if (settings.nativeSarif === true) {
+    payload.includeNativeSarif = true;
+  }
+  if (settings.profileDetectors === true) {
+    payload.profileDetectors = true;
+  }
+  if (settings.outOfProcess === true) {
+    payload.outOfProcess = true;
+    if (Array.isArray(settings.workerVmArgs) && settings.workerVmArgs.length > 0) {
+      payload.workerVmArgs = settings.workerVmArgs.slice();
+    }
+    if (typeof settings.workerMaxRuns === 'number') {
+      payload.workerMaxRuns = settings.workerMaxRuns;
+    }
+    if (typeof settings.workerRecycleHeapMb === 'number') {
+      payload.workerRecycleHeapMb = settings.workerRecycleHeapMb;
+    }
+  }
+  if (typeof settings.resultPageSize === 'number') {
+    payload.pageSize = settings.resultPageSize;
+  }
+  if (typeof options.nativeSarifOutputPath === 'string' && options.nativeSarifOutputPath) {
+    payload.nativeSarifOutputPath = options.nativeSarifOutputPath;
+  }
+  if (typeof options.baselineXmlOutputPath === 'string' && options.baselineXmlOutputPath) {
+    payload.baselineXmlOutputPath = options.baselineXmlOutputPath;
+  }
   return payload;
 }
@@ -14,3 +14,73 @@ export async function runSpotBugsAnalysis(
     ...(token ? [token] : [])
   );
 }
+
+/**
+ * Fetches the next page of findings of a paged analysis. The response has the same shape as an
+ * analysis response and carries a new continuation token until the last page.
+ */
+export async function fetchNextFindingsPage(
+  continuationToken: string,
+  token?: CancellationToken
+): Promise<string | undefined> {
+  return executeWorkspaceCommand<string>(
+    SpotBugsLSCommands.NEXT_FINDINGS_PAGE,
+    continuationToken,
+    ...(token ? [token] : [])
+  );
+}
+
+/**
+ * Runs several analyses with a single backend command. The backend schedules the targets on a
+ * bounded pool and answers with one response per target; each is returned here as the raw JSON
+ * that {@link runSpotBugsAnalysis} would have produced, in request order. When the batch as a
+ * whole fails, every target receives the batch's own error envelope.
+ */
+export async function runSpotBugsAnalysisBatch(
+  requests: AnalysisRequest[],
+  token?: CancellationToken,
+  parallelism?: number
+): Promise<Array<string | undefined>> {
+  if (requests.length === 0) {
+    return [];
+  }
+  const raw = await executeWorkspaceCommand<string>(
+    SpotBugsLSCommands.RUN_ANALYSIS_BATCH,
+    JSON.stringify({
+      targets: requests.map((request) => ({
+        path: request.targetPath,
+        config: request.payload,
+      })),
+      ...(typeof parallelism === 'number' ? { parallelism } : {}),
+    }),
+    ...(token ? [token] : [])
+  );
+  return splitBatchResponse(raw, requests.length);
+}
+
+function splitBatchResponse(
+  raw: string | undefined,
+  expectedCount: number
+): Array<string | undefined> {
+  if (!raw) {
+    return new Array<string | undefined>(expectedCount).fill(undefined);
+  }
+  let results: unknown;
+  try {
+    results = (JSON.parse(raw) as { results?: unknown }).results;
+  } catch {
+    return new Array<string | undefined>(expectedCount).fill(raw);
+  }
+  if (!Array.isArray(results) || results.length !== expectedCount) {
+    return new Array<string | undefined>(expectedCount).fill(raw);
+  }
+  return results.map((entry: unknown) => {
+    const response =
+      entry && typeof entry === 'object'
+        ? (entry as { response?: unknown }).response
+        : undefined;
+    return response && typeof response === 'object'
+      ? JSON.stringify(response)
+      : undefined;
+  });
+}
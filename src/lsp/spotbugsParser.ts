@@ -1,7 +1,14 @@
 import {
+  ANALYSIS_PHASES,
   AnalysisError,
+  AnalysisPassProfile,
+  AnalysisPhaseNanos,
+  AnalysisProfile,
   AnalysisStats,
   AnalysisWarning,
+  BugPatternDetails,
+  DetectorProfile,
+  ReportFile,
 } from '../model/analysisProtocol';
 import { Bug } from '../model/bug';
 import type { AnalysisReportSummary } from '../model/analysisReport';
@@ -27,6 +34,10 @@ export interface ParsedAnalysis {
   reportSummary?: AnalysisReportSummary;
   nativeSarif?: string;
   baselineXml?: string;
+  continuationToken?: string;
+  nativeSarifFile?: ReportFile;
+  baselineXmlFile?: ReportFile;
+  profile?: AnalysisProfile;
   schemaVersion?: number;
 }
 
@@ -82,7 +93,7 @@ export function parseAnalysisResponse(raw: string): ParseResult {
       : undefined;
   const ignoredMalformedWarnings =
     hasWarnings && !Array.isArray(envelope.warnings) ? true : undefined;
-  const bugs = results ? (results as Bug[]) : [];
+  const bugs = results ? resolvePatterns(results as Bug[], envelope.patterns) : [];
   const stats = normalizeAnalysisStats(envelope.stats);
   const reportSummary = normalizeAnalysisReportSummary(envelope.reportSummary);
   const nativeSarif =
@@ -105,11 +116,106 @@ export function parseAnalysisResponse(raw: string): ParseResult {
         typeof envelope.baselineXml === 'string' && envelope.baselineXml.trim().length > 0
           ? envelope.baselineXml
           : undefined,
+      continuationToken:
+        typeof envelope.continuationToken === 'string' &&
+        envelope.continuationToken.trim().length > 0
+          ? envelope.continuationToken
+          : undefined,
+      nativeSarifFile: normalizeReportFile(envelope.nativeSarifFile),
+      baselineXmlFile: normalizeReportFile(envelope.baselineXmlFile),
+      profile: normalizeAnalysisProfile(envelope.profile),
       schemaVersion,
     },
   };
 }
 
+const PATTERN_FIELDS: ReadonlyArray<keyof BugPatternDetails> = [
+  'shortDescription',
+  'longDescription',
+  'detailHtml',
+  'helpUri',
+  'categoryDescription',
+  'categoryAbbrev',
+  'cweId',
+];
+
+/** Fills in the pattern details that the response sent once per bug type. */
+function resolvePatterns(bugs: Bug[], patterns: unknown): Bug[] {
+  if (!isRecord(patterns)) {
+    return bugs;
+  }
+  return bugs.map((bug) => {
+    const pattern = typeof bug.type === 'string' ? patterns[bug.type] : undefined;
+    if (!isRecord(pattern)) {
+      return bug;
+    }
+    const resolved: Bug = { ...bug };
+    for (const field of PATTERN_FIELDS) {
+      if (resolved[field] === undefined && pattern[field] !== undefined) {
+        (resolved as Record<string, unknown>)[field] = pattern[field];
+      }
+    }
+    return resolved;
+  });
+}
+
+function normalizeReportFile(value: unknown): ReportFile | undefined {
+  if (
+    !isRecord(value) ||
+    typeof value.path !== 'string' ||
+    value.path.length === 0 ||
+    typeof value.byteCount !== 'number' ||
+    !Number.isSafeInteger(value.byteCount) ||
+    value.byteCount < 0
+  ) {
+    return undefined;
+  }
+  return { path: value.path, byteCount: value.byteCount };
+}
+
+function normalizeAnalysisProfile(value: unknown): AnalysisProfile | undefined {
+  if (!isRecord(value)) {
+    return undefined;
+  }
+  const passes = Array.isArray(value.passes)
+    ? value.passes.filter(isAnalysisPassProfile)
+    : [];
+  const detectors = Array.isArray(value.detectors)
+    ? value.detectors.filter(isDetectorProfile)
+    : [];
+  return passes.length > 0 || detectors.length > 0 ? { passes, detectors } : undefined;
+}
+
+function isAnalysisPassProfile(value: unknown): value is AnalysisPassProfile {
+  return (
+    isRecord(value) &&
+    isNonNegativeNumber(value.pass) &&
+    isNonNegativeNumber(value.classCount) &&
+    isNonNegativeNumber(value.wallNanos) &&
+    typeof value.cpuNanos === 'number' &&
+    value.cpuNanos >= -1 &&
+    isNonNegativeNumber(value.detectorNanos)
+  );
+}
+
+function isDetectorProfile(value: unknown): value is DetectorProfile {
+  return (
+    isRecord(value) &&
+    typeof value.detector === 'string' &&
+    value.detector.length > 0 &&
+    (value.shortName === undefined || typeof value.shortName === 'string') &&
+    (value.pluginId === undefined || typeof value.pluginId === 'string') &&
+    isNonNegativeNumber(value.pass) &&
+    isNonNegativeNumber(value.timeNanos) &&
+    isNonNegativeNumber(value.invocations) &&
+    isNonNegativeNumber(value.findingCount)
+  );
+}
+
+function isNonNegativeNumber(value: unknown): value is number {
+  return typeof value === 'number' && Number.isFinite(value) && value >= 0;
+}
+
 function normalizeAnalysisReportSummary(
   value: unknown
 ): AnalysisReportSummary | undefined {
@@ -160,10 +266,29 @@ function normalizeAnalysisStats(value: unknown): AnalysisStats | undefined {
   copyNumberField(value, stats, 'auxClasspathCount');
   copyNumberField(value, stats, 'targetCount');
   copyNumberField(value, stats, 'pluginCount');
+  const phaseNanos = normalizePhaseNanos(value.phaseNanos);
+  if (phaseNanos) {
+    stats.phaseNanos = phaseNanos;
+  }
 
   return Object.keys(stats).length > 0 ? stats : undefined;
 }
 
+function normalizePhaseNanos(value: unknown): AnalysisPhaseNanos | undefined {
+  if (!isRecord(value)) {
+    return undefined;
+  }
+
+  const phaseNanos: AnalysisPhaseNanos = {};
+  for (const phase of ANALYSIS_PHASES) {
+    const nanos = value[phase];
+    if (typeof nanos === 'number' && Number.isFinite(nanos) && nanos >= 0) {
+      phaseNanos[phase] = nanos;
+    }
+  }
+  return Object.keys(phaseNanos).length > 0 ? phaseNanos : undefined;
+}
+
 function copyStringField<T extends keyof AnalysisStats>(
   source: Record<string, unknown>,
   target: AnalysisStats,
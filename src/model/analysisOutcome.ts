@@ -1,5 +1,5 @@
 import { Finding } from './finding';
-import { AnalysisError, AnalysisStats, AnalysisWarning } from './analysisProtocol';
+import { AnalysisError, AnalysisProfile, AnalysisStats, AnalysisWarning } from './analysisProtocol';
 import type { AnalysisReportSummary } from './analysisReport';
 
 export type AnalysisNoticeLevel = 'info' | 'warn' | 'error';
@@ -27,6 +27,7 @@ export interface AnalysisOutcome {
   reportSummary?: AnalysisReportSummary;
   nativeSarif?: string;
   baselineXml?: string;
+  profile?: AnalysisProfile;
   targetPath?: string;
   schemaVersion?: number;
   failure?: AnalysisFailure;
@@ -16,6 +16,19 @@ export interface AnalysisRequestPayload {
   excludeBaselineBugsPaths?: string[];
   plugins?: string[];
   includeBaselineXml?: boolean;
+  includeNativeSarif?: boolean;
+  nativeSarifOutputPath?: string;
+  baselineXmlOutputPath?: string;
+  incremental?: boolean;
+  watchTargets?: boolean;
+  pruneAuxClasspath?: boolean;
+  profileDetectors?: boolean;
+  outOfProcess?: boolean;
+  workerVmArgs?: string[];
+  workerMaxRuns?: number;
+  workerRecycleHeapMb?: number;
+  pageSize?: number;
+  patternDictionary?: boolean;
 }
 
 export interface AnalysisRequest {
@@ -30,6 +43,33 @@ export interface AnalysisError {
 
 export type AnalysisWarning = AnalysisError;
 
+/** Monotonic duration of each backend phase that ran, in nanoseconds. */
+export interface AnalysisPhaseNanos {
+  targetResolution?: number;
+  incrementalPlanning?: number;
+  auxClasspath?: number;
+  pluginLoading?: number;
+  classPathBuild?: number;
+  analysis?: number;
+  sarif?: number;
+  baselineXml?: number;
+  bugConversion?: number;
+  sourcePaths?: number;
+}
+
+export const ANALYSIS_PHASES: readonly (keyof AnalysisPhaseNanos)[] = [
+  'targetResolution',
+  'incrementalPlanning',
+  'auxClasspath',
+  'pluginLoading',
+  'classPathBuild',
+  'analysis',
+  'sarif',
+  'baselineXml',
+  'bugConversion',
+  'sourcePaths',
+];
+
 export interface AnalysisStats {
   target?: string;
   durationMs?: number;
@@ -41,8 +81,55 @@ export interface AnalysisStats {
   auxClasspathCount?: number;
   targetCount?: number;
   pluginCount?: number;
+  phaseNanos?: AnalysisPhaseNanos;
+}
+
+/** Cost of one detector in one analysis pass, and the findings it reported. */
+export interface DetectorProfile {
+  detector: string;
+  shortName?: string;
+  pluginId?: string;
+  /** One-based pass, or 0 for a detector that reported findings without being seen running. */
+  pass: number;
+  /** Time spent in the detector itself, excluding the analyses it requested. */
+  timeNanos: number;
+  invocations: number;
+  findingCount: number;
+}
+
+export interface AnalysisPassProfile {
+  pass: number;
+  classCount: number;
+  wallNanos: number;
+  /** CPU time of the analysing thread, or -1 when the JVM does not measure it. */
+  cpuNanos: number;
+  detectorNanos: number;
+}
+
+/** Per-pass and per-detector cost of one analysis, sent when detector profiling is enabled. */
+export interface AnalysisProfile {
+  passes: AnalysisPassProfile[];
+  detectors: DetectorProfile[];
 }
 
+/** A native report the language server wrote to disk instead of returning it inline. */
+export interface ReportFile {
+  path: string;
+  byteCount: number;
+}
+
+/** Details shared by every finding of one bug type, sent once per type in `patterns`. */
+export type BugPatternDetails = Pick<
+  Bug,
+  | 'shortDescription'
+  | 'longDescription'
+  | 'detailHtml'
+  | 'helpUri'
+  | 'categoryDescription'
+  | 'categoryAbbrev'
+  | 'cweId'
+>;
+
 export interface AnalysisResponse<TBug = Bug> {
   schemaVersion?: number;
   results?: TBug[];
@@ -52,4 +139,9 @@ export interface AnalysisResponse<TBug = Bug> {
   reportSummary?: AnalysisReportSummary;
   nativeSarif?: string;
   baselineXml?: string;
+  continuationToken?: string;
+  patterns?: Record<string, BugPatternDetails>;
+  nativeSarifFile?: ReportFile;
+  baselineXmlFile?: ReportFile;
+  profile?: AnalysisProfile;
 }
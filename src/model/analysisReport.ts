@@ -1,3 +1,4 @@
+import type { AnalysisProfile } from './analysisProtocol';
 import type { Finding } from './finding';
 
 export interface AnalysisReportSummary {
@@ -14,4 +15,5 @@ export interface AnalysisReportRun {
   summary?: AnalysisReportSummary;
   nativeSarif?: string;
   baselineXml?: string;
+  profile?: AnalysisProfile;
 }
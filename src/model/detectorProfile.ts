@@ -0,0 +1,61 @@
+import type { AnalysisProfile, DetectorProfile } from './analysisProtocol';
+
+export type DetectorProfileSortKind = 'time' | 'invocations' | 'findings' | 'pass' | 'detector';
+
+/**
+ * Combines the profiles of several runs, such as the projects of a workspace analysis, summing
+ * each detector's cost per pass.
+ */
+export function mergeDetectorProfiles(
+  profiles: readonly (AnalysisProfile | undefined)[]
+): DetectorProfile[] {
+  const merged = new Map<string, DetectorProfile>();
+  for (const profile of profiles) {
+    for (const detector of profile?.detectors ?? []) {
+      const key = `${detector.detector}#${detector.pass}`;
+      const existing = merged.get(key);
+      if (!existing) {
+        merged.set(key, { ...detector });
+        continue;
+      }
+      existing.timeNanos += detector.timeNanos;
+      existing.invocations += detector.invocations;
+      existing.findingCount += detector.findingCount;
+    }
+  }
+  return Array.from(merged.values());
+}
+
+/** A sorted copy; counts and times sort descending, pass and name ascending. */
+export function sortDetectorProfiles(
+  detectors: readonly DetectorProfile[],
+  sortBy: DetectorProfileSortKind
+): DetectorProfile[] {
+  return detectors.slice().sort((left, right) => {
+    const primary = compareBy(left, right, sortBy);
+    return primary !== 0 ? primary : compareBy(left, right, 'detector');
+  });
+}
+
+function compareBy(
+  left: DetectorProfile,
+  right: DetectorProfile,
+  sortBy: DetectorProfileSortKind
+): number {
+  switch (sortBy) {
+    case 'time':
+      return right.timeNanos - left.timeNanos;
+    case 'invocations':
+      return right.invocations - left.invocations;
+    case 'findings':
+      return right.findingCount - left.findingCount;
+    case 'pass':
+      return left.pass - right.pass || right.timeNanos - left.timeNanos;
+    case 'detector':
+      return detectorLabel(left).localeCompare(detectorLabel(right));
+  }
+}
+
+export function detectorLabel(detector: DetectorProfile): string {
+  return detector.shortName || detector.detector.substring(detector.detector.lastIndexOf('.') + 1);
+}
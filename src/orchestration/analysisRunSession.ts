@@ -138,6 +138,7 @@ export async function runFileAnalysisSession(
         spotbugsVersion: outcome.stats?.spotbugsVersion,
         summary: outcome.reportSummary,
         nativeSarif: outcome.nativeSarif,
+        profile: outcome.profile,
       });
       args.diagnostics.replaceForScope(
         result.context.diagnosticScope ?? { kind: 'file', uri: args.uri },
@@ -4,9 +4,14 @@ import type { AnalysisSettings } from '../core/config';
 import type { AnalysisOutcome } from '../model/analysisOutcome';
 import { formatAnalysisErrors } from '../model/analysisErrors';
 import {
+  ANALYSIS_PHASES,
   ANALYSIS_PROTOCOL_SCHEMA_VERSION,
+  type AnalysisProfile,
+  type AnalysisRequest,
+  type AnalysisRequestPayload,
   type AnalysisStats,
 } from '../model/analysisProtocol';
+import { detectorLabel, sortDetectorProfiles } from '../model/detectorProfile';
 import * as pathResolver from '../workspace/pathResolver';
 import * as spotbugsClient from '../lsp/spotbugsClient';
 import type { ParsedAnalysis, ParseResult } from '../lsp/spotbugsParser';
@@ -16,6 +21,8 @@ import * as spotbugsMapper from '../lsp/spotbugsMapper';
 import * as filterFileValidation from './filterFileValidation';
 
 const ERROR_ANALYSIS_NO_RESPONSE = 'ANALYSIS_NO_RESPONSE';
+const ERROR_ANALYSIS_CANCELLED = 'ANALYSIS_CANCELLED';
+const ERROR_ANALYSIS_FAILED = 'ANALYSIS_FAILED';
 
 export interface AnalysisExecutionTarget {
   targetPath: string;
@@ -30,6 +37,11 @@ export interface AnalysisConfigProvider {
   getAnalysisSettings(resource?: Uri): AnalysisSettings;
 }
 
+export interface AnalysisBatchTarget {
+  config: AnalysisConfigProvider;
+  context: AnalysisExecutionTarget;
+}
+
 type LoggerLike = Pick<typeof Logger, 'log' | 'error'>;
 
 export interface AnalysisExecutorDeps {
@@ -38,6 +50,8 @@ export interface AnalysisExecutorDeps {
   validatePluginJarsPreflight: typeof filterFileValidation.validatePluginJarsPreflight;
   buildAnalysisRequestPayload: typeof analysisRequestBuilder.buildAnalysisRequestPayload;
   runSpotBugsAnalysis: typeof spotbugsClient.runSpotBugsAnalysis;
+  runSpotBugsAnalysisBatch: typeof spotbugsClient.runSpotBugsAnalysisBatch;
+  fetchNextFindingsPage: typeof spotbugsClient.fetchNextFindingsPage;
   parseAnalysisResponse: typeof spotbugsParser.parseAnalysisResponse;
   mapBugsToFindings: typeof spotbugsMapper.mapBugsToFindings;
   addFullPaths: typeof pathResolver.addFullPaths;
@@ -55,6 +69,8 @@ function createDefaultDeps(): AnalysisExecutorDeps {
     buildAnalysisRequestPayload:
       analysisRequestBuilder.buildAnalysisRequestPayload,
     runSpotBugsAnalysis: spotbugsClient.runSpotBugsAnalysis,
+    runSpotBugsAnalysisBatch: spotbugsClient.runSpotBugsAnalysisBatch,
+    fetchNextFindingsPage: spotbugsClient.fetchNextFindingsPage,
     parseAnalysisResponse: spotbugsParser.parseAnalysisResponse,
     mapBugsToFindings: spotbugsMapper.mapBugsToFindings,
     addFullPaths: pathResolver.addFullPaths,
@@ -70,12 +86,7 @@ export function createAnalysisExecutor(overrides: Partial<AnalysisExecutorDeps>
     context: AnalysisExecutionTarget,
     token?: CancellationToken
   ): Promise<AnalysisOutcome> {
-    const analysisContext: AnalysisExecutionTarget = {
-      ...context,
-      sourcepaths: Array.isArray(context.sourcepaths)
-        ? context.sourcepaths.slice()
-        : context.sourcepaths,
-    };
+    const analysisContext = copyContext(context);
     const settings = config.getAnalysisSettings(analysisContext.preferredProject);
     const preflightFailure = await validateAnalysisPreflight(
       settings,
@@ -86,7 +97,80 @@ export function createAnalysisExecutor(overrides: Partial<AnalysisExecutorDeps>
     }
 
     const raw = await executeAnalysisRequest(settings, analysisContext, token);
-    return analysisOutcomeFromRawResponse(raw, analysisContext);
+    return analysisOutcomeFromRawResponse(raw, analysisContext, token);
+  }
+
+  /**
+   * Runs several targets with one backend batch command and returns their outcomes in order.
+   * Targets sharing filter, aux classpath and plugin settings are preflighted once. The backend
+   * analyzes up to `parallelism` targets at a time.
+   */
+  async function runBatch(
+    targets: AnalysisBatchTarget[],
+    token?: CancellationToken,
+    parallelism?: number
+  ): Promise<AnalysisOutcome[]> {
+    const outcomes: AnalysisOutcome[] = new Array<AnalysisOutcome>(targets.length);
+    const preflights = new Map<string, AnalysisOutcome | undefined>();
+    const requests: AnalysisRequest[] = [];
+    const contexts: AnalysisExecutionTarget[] = [];
+    const indexes: number[] = [];
+    for (let index = 0; index < targets.length; index++) {
+      const analysisContext = copyContext(targets[index].context);
+      const settings = targets[index].config.getAnalysisSettings(
+        analysisContext.preferredProject
+      );
+      const preflightKey = preflightCacheKey(settings);
+      if (!preflights.has(preflightKey)) {
+        preflights.set(
+          preflightKey,
+          await validateAnalysisPreflight(settings, analysisContext.targetPath)
+        );
+      }
+      const preflightFailure = preflights.get(preflightKey);
+      if (preflightFailure) {
+        outcomes[index] = { ...preflightFailure, targetPath: analysisContext.targetPath };
+        continue;
+      }
+      requests.push({
+        targetPath: analysisContext.targetPath,
+        payload: buildRequestPayload(settings, analysisContext),
+      });
+      contexts.push(analysisContext);
+      indexes.push(index);
+    }
+    if (requests.length === 0) {
+      return outcomes;
+    }
+
+    const raws = await deps.runSpotBugsAnalysisBatch(requests, token, parallelism);
+    for (let position = 0; position < requests.length; position++) {
+      outcomes[indexes[position]] = await analysisOutcomeFromRawResponse(
+        raws[position],
+        contexts[position],
+        token
+      );
+    }
+    return outcomes;
+  }
+
+  function copyContext(context: AnalysisExecutionTarget): AnalysisExecutionTarget {
+    return {
+      ...context,
+      sourcepaths: Array.isArray(context.sourcepaths)
+        ? context.sourcepaths.slice()
+        : context.sourcepaths,
+    };
+  }
+
+  function preflightCacheKey(settings: AnalysisSettings): string {
+    return JSON.stringify([
+      settings.includeFilterPaths ?? null,
+      settings.excludeFilterPaths ?? null,
+      settings.excludeBaselineBugsPaths ?? null,
+      settings.extraAuxClasspaths ?? null,
+      settings.plugins ?? null,
+    ]);
   }
 
   async function validateAnalysisPreflight(
@@ -155,25 +239,32 @@ export function createAnalysisExecutor(overrides: Partial<AnalysisExecutorDeps>
     context: AnalysisExecutionTarget,
     token?: CancellationToken
   ): Promise<string | undefined> {
-    const payload = deps.buildAnalysisRequestPayload(settings, {
-      targetResolutionRoots: context.targetResolutionRoots ?? null,
-      runtimeClasspaths: context.runtimeClasspaths ?? null,
-      extraAuxClasspaths: settings.extraAuxClasspaths ?? null,
-      sourcepaths: context.sourcepaths ?? null,
-      ...(context.includeBaselineXml ? { includeBaselineXml: true } : {}),
-    });
     return deps.runSpotBugsAnalysis(
       {
         targetPath: context.targetPath,
-        payload,
+        payload: buildRequestPayload(settings, context),
       },
       token
     );
   }
 
+  function buildRequestPayload(
+    settings: AnalysisSettings,
+    context: AnalysisExecutionTarget
+  ): AnalysisRequestPayload {
+    return deps.buildAnalysisRequestPayload(settings, {
+      targetResolutionRoots: context.targetResolutionRoots ?? null,
+      runtimeClasspaths: context.runtimeClasspaths ?? null,
+      extraAuxClasspaths: settings.extraAuxClasspaths ?? null,
+      sourcepaths: context.sourcepaths ?? null,
+      ...(context.includeBaselineXml ? { includeBaselineXml: true } : {}),
+    });
+  }
+
   async function analysisOutcomeFromRawResponse(
     raw: string | undefined,
-    context: AnalysisExecutionTarget
+    context: AnalysisExecutionTarget,
+    token?: CancellationToken
   ): Promise<AnalysisOutcome> {
     const targetPath = context.targetPath;
     if (!raw) {
@@ -188,8 +279,70 @@ export function createAnalysisExecutor(overrides: Partial<AnalysisExecutorDeps>
     if (!parsed.ok) {
       return analysisOutcomeFromParseError(parsed, targetPath);
     }
+    if (!parsed.value.continuationToken) {
+      return analysisOutcomeFromParsedResponse(parsed.value, context);
+    }
+
+    const collected = await collectRemainingPages(parsed.value, targetPath, token);
+    return 'outcome' in collected
+      ? collected.outcome
+      : analysisOutcomeFromParsedResponse(collected.analysis, context);
+  }
 
-    return analysisOutcomeFromParsedResponse(parsed.value, context);
+  // Paged runs return the first page up front; the rest, and the native reports, follow on
+  // request so that no single response has to hold every finding.
+  async function collectRemainingPages(
+    first: ParsedAnalysis,
+    targetPath: string,
+    token?: CancellationToken
+  ): Promise<{ analysis: ParsedAnalysis } | { outcome: AnalysisOutcome }> {
+    const bugs = first.bugs.slice();
+    let nativeSarif = first.nativeSarif;
+    let baselineXml = first.baselineXml;
+    let continuationToken = first.continuationToken;
+    while (continuationToken) {
+      if (token?.isCancellationRequested) {
+        return {
+          outcome: createAnalysisFailureOutcome(
+            targetPath,
+            ERROR_ANALYSIS_CANCELLED,
+            'Command cancelled'
+          ),
+        };
+      }
+      const raw = await deps.fetchNextFindingsPage(continuationToken, token);
+      if (!raw) {
+        return {
+          outcome: createAnalysisFailureOutcome(
+            targetPath,
+            ERROR_ANALYSIS_NO_RESPONSE,
+            'No response from SpotBugs backend.'
+          ),
+        };
+      }
+      const page = deps.parseAnalysisResponse(raw);
+      if (!page.ok) {
+        return { outcome: analysisOutcomeFromParseError(page, targetPath) };
+      }
+      if (Array.isArray(page.value.errors) && page.value.errors.length > 0) {
+        const combined = formatAnalysisErrors(page.value.errors);
+        deps.logger.error(`SpotBugs analysis error: ${combined}`);
+        return {
+          outcome: createAnalysisFailureOutcome(
+            targetPath,
+            page.value.errors.find((error) => !!error.code)?.code ?? ERROR_ANALYSIS_FAILED,
+            combined
+          ),
+        };
+      }
+      bugs.push(...page.value.bugs);
+      nativeSarif = page.value.nativeSarif ?? nativeSarif;
+      baselineXml = page.value.baselineXml ?? baselineXml;
+      continuationToken = page.value.continuationToken;
+    }
+    return {
+      analysis: { ...first, bugs, nativeSarif, baselineXml, continuationToken: undefined },
+    };
   }
 
   function analysisOutcomeFromParseError(
@@ -300,6 +453,10 @@ export function createAnalysisExecutor(overrides: Partial<AnalysisExecutorDeps>
       targetPath,
       schemaVersion,
     };
+    if (parsed.profile) {
+      outcome.profile = parsed.profile;
+      deps.logger.log(`SpotBugs detector profile: ${formatDetectorProfile(parsed.profile)}`);
+    }
     if (Array.isArray(errors) && errors.length > 0) {
       outcome.errors = errors;
     }
@@ -342,6 +499,10 @@ export function createAnalysisExecutor(overrides: Partial<AnalysisExecutorDeps>
     if (typeof stats?.pluginCount === 'number') {
       logParts.push(`pluginCount=${stats.pluginCount}`);
     }
+    const phases = formatPhaseTimings(stats);
+    if (phases) {
+      logParts.push(`phases=${phases}`);
+    }
     deps.logger.log(
       `Successfully parsed and added full paths (${logParts.join(', ')}).`
     );
@@ -349,9 +510,43 @@ export function createAnalysisExecutor(overrides: Partial<AnalysisExecutorDeps>
 
   return {
     run,
+    runBatch,
   };
 }
 
+/** Backend phase durations as `phase:1.2ms` pairs, in the order the phases run. */
+export function formatPhaseTimings(stats: AnalysisStats | undefined): string | undefined {
+  const phaseNanos = stats?.phaseNanos;
+  if (!phaseNanos) {
+    return undefined;
+  }
+  const parts: string[] = [];
+  for (const phase of ANALYSIS_PHASES) {
+    const nanos = phaseNanos[phase];
+    if (typeof nanos === 'number') {
+      parts.push(`${phase}:${(nanos / 1e6).toFixed(1)}ms`);
+    }
+  }
+  return parts.length > 0 ? parts.join(' ') : undefined;
+}
+
+const PROFILE_LOG_DETECTORS = 5;
+
+/** Pass times and the slowest detectors, for the output channel. */
+export function formatDetectorProfile(profile: AnalysisProfile): string {
+  const passes = profile.passes.map(
+    (pass) => `pass${pass.pass}:${(pass.wallNanos / 1e6).toFixed(1)}ms/${pass.classCount} classes`
+  );
+  const slowest = sortDetectorProfiles(profile.detectors, 'time')
+    .slice(0, PROFILE_LOG_DETECTORS)
+    .map((detector) => {
+      const millis = (detector.timeNanos / 1e6).toFixed(1);
+      const counts = `${detector.invocations}x/${detector.findingCount} findings`;
+      return `${detectorLabel(detector)}:${millis}ms/${counts}`;
+    });
+  return [`passes=${passes.join(' ')}`, `slowest=${slowest.join(' ')}`].join(', ');
+}
+
 export function runAnalysisTarget(
   config: AnalysisConfigProvider,
   context: AnalysisExecutionTarget,
@@ -360,6 +555,14 @@ export function runAnalysisTarget(
   return createAnalysisExecutor().run(config, context, token);
 }
 
+export function runAnalysisTargets(
+  targets: AnalysisBatchTarget[],
+  token?: CancellationToken,
+  parallelism?: number
+): Promise<AnalysisOutcome[]> {
+  return createAnalysisExecutor().runBatch(targets, token, parallelism);
+}
+
 export function createAnalysisFailureOutcome(
   targetPath: string,
   code: string,
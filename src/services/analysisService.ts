@@ -1,6 +1,6 @@
 import { CancellationToken, Uri } from 'vscode';
 import { Logger } from '../core/logger';
-import { Config } from '../core/config';
+import { Config, DEFAULT_WORKSPACE_PARALLELISM } from '../core/config';
 import type { AnalysisResolutionIssue } from '../lsp/javaLsOutcome';
 import { AnalysisOutcome } from '../model/analysisOutcome';
 import type { AnalysisWarning } from '../model/analysisProtocol';
@@ -8,10 +8,12 @@ import type { DiagnosticUpdateScope } from '../model/diagnosticScope';
 import type { ProjectResult } from './projectResult';
 import { projectResultFromOutcome } from './projectResult';
 import {
+  type AnalysisBatchTarget,
   type AnalysisConfigProvider,
   AnalysisExecutionTarget,
   createAnalysisFailureOutcome,
   runAnalysisTarget,
+  runAnalysisTargets,
 } from './analysisExecution';
 import {
   resolveFileAnalysisTargetDetailed,
@@ -46,6 +48,12 @@ export interface WorkspaceExecutionResult {
   context: AnalysisExecutionContext;
 }
 
+export interface WorkspaceProgressNotifier {
+  onStart?: (uriString: string, index: number, total: number) => void;
+  onDone?: (uriString: string, count: number) => void;
+  onFail?: (uriString: string, message: string) => void;
+}
+
 export async function analyzeFileDetailed(
   config: Config,
   uri: Uri,
@@ -107,11 +115,7 @@ export async function analyzeWorkspaceFromProjectsDetailed(
   config: Config,
   workspaceFolder: Uri,
   projectUris: string[],
-  notify?: {
-    onStart?: (uriString: string, index: number, total: number) => void;
-    onDone?: (uriString: string, count: number) => void;
-    onFail?: (uriString: string, message: string) => void;
-  },
+  notify?: WorkspaceProgressNotifier,
   token?: CancellationToken
 ): Promise<WorkspaceExecutionResult> {
   const results: ProjectResult[] = [];
@@ -119,8 +123,13 @@ export async function analyzeWorkspaceFromProjectsDetailed(
   const projectSettings = projectUris.map((uriString) =>
     config.getAnalysisSettings(Uri.parse(uriString))
   );
+  const parallelism = Math.max(1, config.workspaceParallelism ?? DEFAULT_WORKSPACE_PARALLELISM);
   let cancelled = false;
 
+  // Projects are resolved in order and analyzed in groups of `parallelism` resolved targets, one
+  // batch command per group, so progress and cancellation take effect as each group finishes.
+  let group: PendingProject[] = [];
+  let groupTargets = 0;
   for (let index = 0; index < projectUris.length; index++) {
     const uriString = projectUris[index];
     if (token?.isCancellationRequested) {
@@ -131,101 +140,158 @@ export async function analyzeWorkspaceFromProjectsDetailed(
 
     notify?.onStart?.(uriString, index + 1, projectUris.length);
 
-    const analysisConfig: AnalysisConfigProvider = {
-      getAnalysisSettings: () => projectSettings[index],
-    };
-    const result = await analyzeProjectDetailed(
-      analysisConfig,
+    const resolved = await resolveProjectDetailed(
       Uri.parse(uriString),
       workspaceFolder,
       token
     );
-    results.push(result.projectResult);
-    context.resolutionIssues.push(...result.context.resolutionIssues);
-    context.cleanupWarnings?.push(...(result.context.cleanupWarnings ?? []));
+    context.resolutionIssues.push(...resolved.issues);
+    if ('projectResult' in resolved) {
+      group.push({ uriString, result: resolved.projectResult });
+    } else {
+      group.push({
+        uriString,
+        target: {
+          config: { getAnalysisSettings: () => projectSettings[index] },
+          context: { ...resolved.target, includeBaselineXml: true },
+        },
+      });
+      groupTargets++;
+    }
+    if (groupTargets < parallelism && index < projectUris.length - 1) {
+      continue;
+    }
 
-    if (
-      token?.isCancellationRequested ||
-      isAnalysisCancelledProjectResult(result.projectResult)
-    ) {
-      Logger.log('Workspace analysis cancelled by backend.');
+    await analyzeGroup(group, context, parallelism, token);
+    const groupCancelled = reportGroup(group, results, notify, token);
+    group = [];
+    groupTargets = 0;
+    if (groupCancelled) {
       cancelled = true;
       break;
     }
+  }
+  // A cancellation can leave resolved projects that never ran; they are reported as cancelled.
+  reportGroup(group, results, notify, token);
+
+  return { results, cancelled, context };
+}
 
-    if (result.projectResult.error) {
-      notify?.onFail?.(uriString, result.projectResult.error);
+interface PendingProject {
+  uriString: string;
+  target?: AnalysisBatchTarget;
+  result?: ProjectResult;
+}
+
+async function analyzeGroup(
+  group: PendingProject[],
+  context: AnalysisExecutionContext,
+  parallelism: number,
+  token?: CancellationToken
+): Promise<void> {
+  const batch = group.filter(
+    (project): project is PendingProject & { target: AnalysisBatchTarget } => !!project.target
+  );
+  if (batch.length === 0) {
+    return;
+  }
+  const outcomes = await runBatchAnalysis(
+    batch.map((project) => project.target),
+    parallelism,
+    token
+  );
+  batch.forEach((project, position) => {
+    const outcome = outcomes[position];
+    if (typeof outcome === 'string') {
+      project.result = { projectUri: project.uriString, findings: [], error: outcome };
+      return;
+    }
+    if (Array.isArray(outcome.warnings)) {
+      context.cleanupWarnings?.push(
+        ...outcome.warnings.map((warning) => ({ projectUri: project.uriString, warning }))
+      );
+    }
+    project.result = projectResultFromOutcome(project.uriString, outcome);
+  });
+}
+
+/** Adds a group's results in project order; returns true once the run turns out cancelled. */
+function reportGroup(
+  group: PendingProject[],
+  results: ProjectResult[],
+  notify: WorkspaceProgressNotifier | undefined,
+  token?: CancellationToken
+): boolean {
+  for (const project of group) {
+    const projectResult = project.result ?? cancelledProjectResult(project.uriString);
+    results.push(projectResult);
+    if (token?.isCancellationRequested || isAnalysisCancelledProjectResult(projectResult)) {
+      Logger.log('Workspace analysis cancelled.');
+      return true;
+    }
+
+    if (projectResult.error) {
+      notify?.onFail?.(project.uriString, projectResult.error);
     } else {
-      notify?.onDone?.(uriString, result.projectResult.findings.length);
+      notify?.onDone?.(project.uriString, projectResult.findings.length);
     }
   }
-
-  return { results, cancelled, context };
+  return false;
 }
 
-async function analyzeProjectDetailed(
-  config: AnalysisConfigProvider,
+async function resolveProjectDetailed(
   projectUri: Uri,
   workspaceFolder: Uri,
   token?: CancellationToken
-): Promise<{ projectResult: ProjectResult; context: AnalysisExecutionContext }> {
+): Promise<
+  { issues: AnalysisResolutionIssue[] } & (
+    | { target: AnalysisExecutionTarget }
+    | { projectResult: ProjectResult }
+  )
+> {
   const projectUriString = projectUri.toString();
-  const context = createExecutionContext();
-
   try {
     const result = await resolveProjectAnalysisTargetDetailed(projectUri, workspaceFolder);
-    context.resolutionIssues.push(...result.issues);
-
     if (token?.isCancellationRequested) {
-      return { projectResult: cancelledProjectResult(projectUriString), context };
+      return { issues: result.issues, projectResult: cancelledProjectResult(projectUriString) };
     }
-
     if (result.resolution.status !== 'ok') {
       return {
+        issues: result.issues,
         projectResult: {
           projectUri: projectUriString,
           findings: [],
           error: result.resolution.message,
           errorCode: result.resolution.errorCode,
         },
-        context,
-      };
-    }
-
-    try {
-      const outcome = await runAnalysis(
-        config,
-        { ...result.resolution.target, includeBaselineXml: true },
-        token
-      );
-      if (Array.isArray(outcome.warnings)) {
-        context.cleanupWarnings?.push(
-          ...outcome.warnings.map((warning) => ({
-            projectUri: projectUriString,
-            warning,
-          }))
-        );
-      }
-      return {
-        projectResult: projectResultFromOutcome(projectUriString, outcome),
-        context,
-      };
-    } catch (error) {
-      const message = error instanceof Error ? error.message : String(error);
-      return {
-        projectResult: { projectUri: projectUriString, findings: [], error: message },
-        context,
       };
     }
+    return { issues: result.issues, target: result.resolution.target };
   } catch (error) {
-    const message = error instanceof Error ? error.message : String(error);
     return {
-      projectResult: { projectUri: projectUriString, findings: [], error: message },
-      context,
+      issues: [],
+      projectResult: { projectUri: projectUriString, findings: [], error: messageOf(error) },
     };
   }
 }
 
+/** Outcomes in target order; a batch that fails as a whole yields its message for every target. */
+async function runBatchAnalysis(
+  targets: AnalysisBatchTarget[],
+  parallelism: number,
+  token?: CancellationToken
+): Promise<Array<AnalysisOutcome | string>> {
+  try {
+    return await runAnalysisTargets(targets, token, parallelism);
+  } catch (error) {
+    return targets.map(() => messageOf(error));
+  }
+}
+
+function messageOf(error: unknown): string {
+  return error instanceof Error ? error.message : String(error);
+}
+
 async function runAnalysis(
   config: AnalysisConfigProvider,
   context: AnalysisExecutionTarget,
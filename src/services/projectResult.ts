@@ -2,6 +2,7 @@ import { formatAnalysisErrors } from '../model/analysisErrors';
 import type { AnalysisOutcome } from '../model/analysisOutcome';
 import type { Finding } from '../model/finding';
 import type { AnalysisReportSummary } from '../model/analysisReport';
+import type { AnalysisProfile } from '../model/analysisProtocol';
 
 export interface ProjectResult {
   projectUri: string;
@@ -12,6 +13,7 @@ export interface ProjectResult {
   reportSummary?: AnalysisReportSummary;
   nativeSarif?: string;
   baselineXml?: string;
+  profile?: AnalysisProfile;
 }
 
 export function projectResultFromOutcome(
@@ -52,5 +54,8 @@ export function projectResultFromOutcome(
   if (outcome.nativeSarif) {
     result.nativeSarif = outcome.nativeSarif;
   }
+  if (outcome.profile) {
+    result.profile = outcome.profile;
+  }
   return result;
 }
@@ -63,6 +63,9 @@ function makeDeps(overrides: Partial<AnalysisExecutorDeps> = {}): AnalysisExecut
         schemaVersion: 2,
         results: [],
       }),
+    runSpotBugsAnalysisBatch: async (requests) =>
+      requests.map(() => JSON.stringify({ schemaVersion: 2, results: [] })),
+    fetchNextFindingsPage: async () => undefined,
     parseAnalysisResponse: () => ({
       ok: true,
       value: {
@@ -118,6 +121,50 @@ describe('analysisExecution', () => {
     );
   });
 
+  it('runs batch targets with one backend call and preflights shared settings once', async () => {
+    const { createAnalysisExecutor } = loadAnalysisExecution();
+    const vscode = installVscodeMock();
+    const batches: string[][] = [];
+    let filterPreflights = 0;
+    const shared = makeConfig({ effort: 'default', excludeFilterPaths: ['/workspace/exclude.xml'] });
+    const broken = makeConfig({ effort: 'default', includeFilterPaths: ['/workspace/missing.xml'] });
+    const executor = createAnalysisExecutor(
+      makeDeps({
+        validateFilterFilesPreflight: async (settings) => {
+          filterPreflights++;
+          return settings.includeFilterPaths
+            ? { code: 'CFG_INCLUDE_FILTER_NOT_FOUND', message: 'Include filter not found' }
+            : undefined;
+        },
+        runSpotBugsAnalysis: async () => {
+          throw new Error('batch targets must not run one by one');
+        },
+        runSpotBugsAnalysisBatch: async (requests) => {
+          batches.push(requests.map((request) => request.targetPath));
+          return requests.map(() => JSON.stringify({ schemaVersion: 2, results: [] }));
+        },
+      })
+    );
+    const target = (targetPath: string) => ({ ...makeTarget(vscode), targetPath });
+
+    const outcomes = await executor.runBatch([
+      { config: shared, context: target('/workspace/a/classes') },
+      { config: broken, context: target('/workspace/b/classes') },
+      { config: shared, context: target('/workspace/c/classes') },
+    ]);
+
+    assert.strictEqual(filterPreflights, 2);
+    assert.deepStrictEqual(batches, [['/workspace/a/classes', '/workspace/c/classes']]);
+    assert.deepStrictEqual(
+      outcomes.map((outcome) => [outcome.targetPath, outcome.failure?.code]),
+      [
+        ['/workspace/a/classes', undefined],
+        ['/workspace/b/classes', 'CFG_INCLUDE_FILTER_NOT_FOUND'],
+        ['/workspace/c/classes', undefined],
+      ]
+    );
+  });
+
   it('short-circuits extra aux classpath preflight failures before backend execution', async () => {
     const { createAnalysisExecutor } = loadAnalysisExecution();
     const callOrder: string[] = [];
@@ -448,4 +495,112 @@ describe('analysisExecution', () => {
     ]);
   });
 
+  it('collects every findings page of a paged run before mapping findings', async () => {
+    const { createAnalysisExecutor } = loadAnalysisExecution();
+    const { parseAnalysisResponse } =
+      require('../lsp/spotbugsParser') as typeof import('../lsp/spotbugsParser');
+    const requestedTokens: string[] = [];
+    let mappedCount = 0;
+    const pages: Record<string, string> = {
+      first: JSON.stringify({
+        schemaVersion: 2,
+        results: [{ type: 'B' }],
+        continuationToken: 'token-1',
+      }),
+      last: JSON.stringify({
+        schemaVersion: 2,
+        results: [{ type: 'C' }],
+        nativeSarif: '{"runs":[]}',
+      }),
+    };
+    const executor = createAnalysisExecutor(
+      makeDeps({
+        runSpotBugsAnalysis: async () =>
+          JSON.stringify({
+            schemaVersion: 2,
+            results: [{ type: 'A' }],
+            stats: { findingCount: 3 },
+            continuationToken: 'token-1',
+          }),
+        fetchNextFindingsPage: async (continuationToken) => {
+          requestedTokens.push(continuationToken);
+          return requestedTokens.length === 1 ? pages.first : pages.last;
+        },
+        parseAnalysisResponse,
+        mapBugsToFindings: (bugs) => {
+          mappedCount = bugs.length;
+          return bugs.map((bug) => makeFinding({ type: bug.type }));
+        },
+      })
+    );
+
+    const outcome = await executor.run(makeConfig(), makeTarget(installVscodeMock()));
+
+    assert.deepStrictEqual(requestedTokens, ['token-1', 'token-1']);
+    assert.strictEqual(mappedCount, 3);
+    assert.deepStrictEqual(
+      outcome.findings.map((finding) => finding.type),
+      ['A', 'B', 'C']
+    );
+    assert.strictEqual(outcome.nativeSarif, '{"runs":[]}');
+    assert.strictEqual(outcome.failure, undefined);
+  });
+
+  it('fails a paged run when a later page has expired', async () => {
+    const { createAnalysisExecutor } = loadAnalysisExecution();
+    const { parseAnalysisResponse } =
+      require('../lsp/spotbugsParser') as typeof import('../lsp/spotbugsParser');
+    const executor = createAnalysisExecutor(
+      makeDeps({
+        runSpotBugsAnalysis: async () =>
+          JSON.stringify({ schemaVersion: 2, results: [{ type: 'A' }], continuationToken: 't' }),
+        fetchNextFindingsPage: async () =>
+          JSON.stringify({
+            schemaVersion: 2,
+            results: [],
+            errors: [{ code: 'RESULTS_EXPIRED', message: 'gone' }],
+          }),
+        parseAnalysisResponse,
+      })
+    );
+
+    const outcome = await executor.run(makeConfig(), makeTarget(installVscodeMock()));
+
+    assert.deepStrictEqual(outcome.findings, []);
+    assert.strictEqual(outcome.failure?.code, 'RESULTS_EXPIRED');
+  });
+
+  it('logs backend phase timings with the successful run summary', async () => {
+    const { createAnalysisExecutor } = loadAnalysisExecution();
+    const logs: string[] = [];
+    const executor = createAnalysisExecutor(
+      makeDeps({
+        parseAnalysisResponse: () => ({
+          ok: true,
+          value: {
+            bugs: [],
+            stats: {
+              durationMs: 40,
+              phaseNanos: { analysis: 35_250_000, targetResolution: 1_200_000 },
+            },
+          },
+        }),
+        logger: {
+          log: (message: string) => {
+            logs.push(message);
+          },
+          error: () => undefined,
+        },
+      })
+    );
+
+    await executor.run(makeConfig(), makeTarget(installVscodeMock()));
+
+    assert.ok(
+      logs.some((line) =>
+        line.includes('phases=targetResolution:1.2ms analysis:35.3ms')
+      ),
+      logs.join('\n')
+    );
+  });
 });
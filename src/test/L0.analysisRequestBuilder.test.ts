@@ -29,6 +29,7 @@ describe('analysisRequestBuilder', () => {
         excludeBaselineBugsPaths,
         plugins: ['/workspace/plugin-a.jar', '/workspace/plugin-b.jar'],
         priorityThreshold: 5,
+        nativeSarif: true,
       }),
       {
         targetResolutionRoots: ['/workspace/build/classes', '/workspace/build/generated'],
@@ -95,6 +96,92 @@ describe('analysisRequestBuilder', () => {
     assert.strictEqual('excludeFilterPaths' in payload, false);
     assert.strictEqual('excludeBaselineBugsPaths' in payload, false);
     assert.strictEqual('includeBaselineXml' in payload, false);
+    assert.strictEqual('incremental' in payload, false);
+  });
+
+  it('sends worker options only when out-of-process analysis is enabled', () => {
+    const payload = buildAnalysisRequestPayload(
+      makeSettings({
+        outOfProcess: true,
+        workerVmArgs: ['-Xmx2g'],
+        workerMaxRuns: 5,
+        workerRecycleHeapMb: 1024,
+      }),
+      {}
+    );
+    assert.strictEqual(payload.outOfProcess, true);
+    assert.deepStrictEqual(payload.workerVmArgs, ['-Xmx2g']);
+    assert.strictEqual(payload.workerMaxRuns, 5);
+    assert.strictEqual(payload.workerRecycleHeapMb, 1024);
+
+    const inProcess = buildAnalysisRequestPayload(
+      makeSettings({ workerVmArgs: ['-Xmx2g'], workerMaxRuns: 5 }),
+      {}
+    );
+    assert.strictEqual('outOfProcess' in inProcess, false);
+    assert.strictEqual('workerVmArgs' in inProcess, false);
+    assert.strictEqual('workerMaxRuns' in inProcess, false);
+  });
+
+  it('requests incremental analysis only when enabled', () => {
+    assert.strictEqual(
+      buildAnalysisRequestPayload(makeSettings({ incremental: true }), {}).incremental,
+      true
+    );
+    assert.strictEqual(
+      'incremental' in buildAnalysisRequestPayload(makeSettings({ incremental: false }), {}),
+      false
+    );
+  });
+
+  it('requests target watching only when enabled', () => {
+    assert.strictEqual(
+      buildAnalysisRequestPayload(makeSettings({ watchTargets: true }), {}).watchTargets,
+      true
+    );
+    assert.strictEqual('watchTargets' in buildAnalysisRequestPayload(makeSettings(), {}), false);
+  });
+
+  it('sends aux classpath pruning only when turned off', () => {
+    assert.strictEqual(
+      buildAnalysisRequestPayload(makeSettings({ pruneAuxClasspath: false }), {}).pruneAuxClasspath,
+      false
+    );
+    assert.strictEqual('pruneAuxClasspath' in buildAnalysisRequestPayload(makeSettings(), {}), false);
+  });
+
+  it('requests detector profiling only when enabled', () => {
+    assert.strictEqual(
+      buildAnalysisRequestPayload(makeSettings({ profileDetectors: true }), {}).profileDetectors,
+      true
+    );
+    assert.strictEqual('profileDetectors' in buildAnalysisRequestPayload(makeSettings(), {}), false);
+  });
+
+  it('requests native SARIF only when enabled', () => {
+    assert.strictEqual(
+      buildAnalysisRequestPayload(makeSettings({ nativeSarif: true }), {}).includeNativeSarif,
+      true
+    );
+    assert.strictEqual('includeNativeSarif' in buildAnalysisRequestPayload(makeSettings(), {}), false);
+  });
+
+  it('passes report output paths through only when given', () => {
+    const payload = buildAnalysisRequestPayload(makeSettings(), {
+      nativeSarifOutputPath: '/reports/spotbugs.sarif',
+      baselineXmlOutputPath: '',
+    });
+
+    assert.strictEqual(payload.nativeSarifOutputPath, '/reports/spotbugs.sarif');
+    assert.strictEqual('baselineXmlOutputPath' in payload, false);
+  });
+
+  it('requests paged findings only when a page size is configured', () => {
+    assert.strictEqual(
+      buildAnalysisRequestPayload(makeSettings({ resultPageSize: 500 }), {}).pageSize,
+      500
+    );
+    assert.strictEqual('pageSize' in buildAnalysisRequestPayload(makeSettings(), {}), false);
   });
 
   it('copies filter arrays to prevent payload mutation from caller arrays', () => {
@@ -0,0 +1,73 @@
+import * as assert from 'assert';
+import type { DetectorProfile } from '../model/analysisProtocol';
+import {
+  detectorLabel,
+  mergeDetectorProfiles,
+  sortDetectorProfiles,
+} from '../model/detectorProfile';
+
+describe('detectorProfile', () => {
+  it('sums the cost of a detector per pass across runs', () => {
+    const merged = mergeDetectorProfiles([
+      {
+        passes: [],
+        detectors: [
+          makeDetector({ detector: 'a.Slow', timeNanos: 10, invocations: 2, findingCount: 1 }),
+          makeDetector({ detector: 'a.Slow', pass: 2, timeNanos: 1 }),
+        ],
+      },
+      undefined,
+      {
+        passes: [],
+        detectors: [makeDetector({ detector: 'a.Slow', timeNanos: 5, invocations: 3 })],
+      },
+    ]);
+
+    assert.deepStrictEqual(
+      merged.map((detector) => [
+        detector.detector,
+        detector.pass,
+        detector.timeNanos,
+        detector.invocations,
+        detector.findingCount,
+      ]),
+      [
+        ['a.Slow', 1, 15, 5, 1],
+        ['a.Slow', 2, 1, 0, 0],
+      ]
+    );
+  });
+
+  it('sorts counts and times descending and breaks ties by name', () => {
+    const detectors = [
+      makeDetector({ detector: 'a.Beta', pass: 2, timeNanos: 5, invocations: 9 }),
+      makeDetector({ detector: 'a.Alpha', timeNanos: 5, invocations: 1, findingCount: 3 }),
+      makeDetector({ detector: 'a.Gamma', timeNanos: 50, invocations: 4 }),
+    ];
+    const order = (sortBy: Parameters<typeof sortDetectorProfiles>[1]) =>
+      sortDetectorProfiles(detectors, sortBy).map(detectorLabel);
+
+    assert.deepStrictEqual(order('time'), ['Gamma', 'Alpha', 'Beta']);
+    assert.deepStrictEqual(order('invocations'), ['Beta', 'Gamma', 'Alpha']);
+    assert.deepStrictEqual(order('findings'), ['Alpha', 'Beta', 'Gamma']);
+    assert.deepStrictEqual(order('pass'), ['Gamma', 'Alpha', 'Beta']);
+    assert.deepStrictEqual(order('detector'), ['Alpha', 'Beta', 'Gamma']);
+    assert.strictEqual(detectors[0].detector, 'a.Beta');
+  });
+
+  it('labels detectors by short name, falling back to the simple class name', () => {
+    assert.strictEqual(detectorLabel(makeDetector({ shortName: 'FindPuzzlers' })), 'FindPuzzlers');
+    assert.strictEqual(detectorLabel(makeDetector({ detector: 'com.acme.Check' })), 'Check');
+  });
+});
+
+function makeDetector(overrides: Partial<DetectorProfile>): DetectorProfile {
+  return {
+    detector: 'edu.umd.cs.findbugs.detect.Example',
+    pass: 1,
+    timeNanos: 0,
+    invocations: 0,
+    findingCount: 0,
+    ...overrides,
+  };
+}
@@ -158,6 +158,64 @@ describe('spotbugsParser', () => {
     }
   });
 
+  it('resolves findings against the patterns dictionary', () => {
+    const result = parseAnalysisResponse(
+      JSON.stringify({
+        schemaVersion: 2,
+        results: [
+          { type: 'SE_BAD_FIELD', className: 'com.example.A' },
+          { type: 'SE_BAD_FIELD', className: 'com.example.B', helpUri: 'https://example.com/own' },
+          { type: 'NP_NULL_ON_SOME_PATH', className: 'com.example.C' },
+        ],
+        patterns: {
+          SE_BAD_FIELD: {
+            shortDescription: 'Non-transient non-serializable instance field',
+            detailHtml: '<p>details</p>',
+            helpUri: 'https://example.com/se',
+            cweId: 502,
+          },
+        },
+      })
+    );
+
+    assert.strictEqual(result.ok, true);
+    if (result.ok) {
+      assert.deepStrictEqual(result.value.bugs[0], {
+        type: 'SE_BAD_FIELD',
+        className: 'com.example.A',
+        shortDescription: 'Non-transient non-serializable instance field',
+        detailHtml: '<p>details</p>',
+        helpUri: 'https://example.com/se',
+        cweId: 502,
+      });
+      assert.strictEqual(result.value.bugs[1].helpUri, 'https://example.com/own');
+      assert.deepStrictEqual(result.value.bugs[2], {
+        type: 'NP_NULL_ON_SOME_PATH',
+        className: 'com.example.C',
+      });
+    }
+  });
+
+  it('keeps only well-formed report file references', () => {
+    const result = parseAnalysisResponse(
+      JSON.stringify({
+        schemaVersion: 2,
+        results: [],
+        nativeSarifFile: { path: '/reports/spotbugs.sarif', byteCount: 2048, extra: true },
+        baselineXmlFile: { path: '/reports/baseline.xml', byteCount: -1 },
+      })
+    );
+
+    assert.strictEqual(result.ok, true);
+    if (result.ok) {
+      assert.deepStrictEqual(result.value.nativeSarifFile, {
+        path: '/reports/spotbugs.sarif',
+        byteCount: 2048,
+      });
+      assert.strictEqual(result.value.baselineXmlFile, undefined);
+    }
+  });
+
   it('rejects envelope result arrays with non-object entries', () => {
     const samples = [
       JSON.stringify({ schemaVersion: 2, results: [null] }),
@@ -247,6 +305,79 @@ describe('spotbugsParser', () => {
     }
   });
 
+  it('keeps well-formed phase timings from the stats payload', () => {
+    const result = parseAnalysisResponse(
+      JSON.stringify({
+        schemaVersion: 2,
+        results: [],
+        stats: {
+          durationMs: 40,
+          phaseNanos: {
+            targetResolution: 1200000,
+            analysis: 35000000,
+            sarif: -1,
+            bugConversion: '7',
+            unknownPhase: 5,
+          },
+        },
+      })
+    );
+
+    assert.strictEqual(result.ok, true);
+    if (result.ok) {
+      assert.deepStrictEqual(result.value.stats, {
+        durationMs: 40,
+        phaseNanos: { targetResolution: 1200000, analysis: 35000000 },
+      });
+    }
+  });
+
+  it('keeps well-formed passes and detectors from the profile', () => {
+    const detector = {
+      detector: 'edu.umd.cs.findbugs.detect.FindPuzzlers',
+      shortName: 'FindPuzzlers',
+      pluginId: 'edu.umd.cs.findbugs.plugins.core',
+      pass: 2,
+      timeNanos: 4500000,
+      invocations: 12,
+      findingCount: 1,
+    };
+    const pass = {
+      pass: 1,
+      classCount: 12,
+      wallNanos: 9000000,
+      cpuNanos: -1,
+      detectorNanos: 4500000,
+    };
+    const result = parseAnalysisResponse(
+      JSON.stringify({
+        schemaVersion: 2,
+        results: [],
+        profile: {
+          passes: [pass, { pass: 2, classCount: 'x' }],
+          detectors: [detector, { detector: 'Broken', pass: 1, timeNanos: -5 }],
+        },
+      })
+    );
+
+    assert.strictEqual(result.ok, true);
+    if (result.ok) {
+      assert.deepStrictEqual(result.value.profile, { passes: [pass], detectors: [detector] });
+    }
+  });
+
+  it('drops an empty or malformed profile', () => {
+    for (const profile of ['bad', {}, { passes: [], detectors: [{ detector: '' }] }]) {
+      const result = parseAnalysisResponse(
+        JSON.stringify({ schemaVersion: 2, results: [], profile })
+      );
+      assert.strictEqual(result.ok, true);
+      if (result.ok) {
+        assert.strictEqual(result.value.profile, undefined);
+      }
+    }
+  });
+
   it('ignores malformed stats values without rejecting the envelope', () => {
     const samples = [
       JSON.stringify({
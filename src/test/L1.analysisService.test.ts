@@ -148,21 +148,23 @@ describe('analysisService', () => {
       },
       issues: [],
     })) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
-    spotbugsClient.runSpotBugsAnalysis = (async () =>
-      JSON.stringify({
-        schemaVersion: 2,
-        results: [],
-        warnings: [
-          {
-            code: 'PLUGIN_CLEANUP_FAILED',
-            message: 'Could not delete plugin jar',
+    spotbugsClient.runSpotBugsAnalysisBatch = (async (requests) =>
+      requests.map(() =>
+        JSON.stringify({
+          schemaVersion: 2,
+          results: [],
+          warnings: [
+            {
+              code: 'PLUGIN_CLEANUP_FAILED',
+              message: 'Could not delete plugin jar',
+            },
+          ],
+          stats: {
+            target: '/workspace/project-a/target/classes',
+            durationMs: 4,
           },
-        ],
-        stats: {
-          target: '/workspace/project-a/target/classes',
-          durationMs: 4,
-        },
-      })) as typeof spotbugsClient.runSpotBugsAnalysis;
+        })
+      )) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
 
     const result = await service.analyzeWorkspaceFromProjectsDetailed(
       { getAnalysisSettings: () => ({ effort: 'default' }) } as any,
@@ -209,12 +211,13 @@ describe('analysisService', () => {
       },
       issues: [],
     })) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
-    spotbugsClient.runSpotBugsAnalysis = (async (request) => {
-      receivedEfforts.push(request.payload.effort);
-      assert.strictEqual(request.payload.includeBaselineXml, true);
-      configuredEffort = 'max';
-      return JSON.stringify({ schemaVersion: 2, results: [], baselineXml });
-    }) as typeof spotbugsClient.runSpotBugsAnalysis;
+    spotbugsClient.runSpotBugsAnalysisBatch = (async (requests) =>
+      requests.map((request) => {
+        receivedEfforts.push(request.payload.effort);
+        assert.strictEqual(request.payload.includeBaselineXml, true);
+        configuredEffort = 'max';
+        return JSON.stringify({ schemaVersion: 2, results: [], baselineXml });
+      })) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
 
     const result = await service.analyzeWorkspaceFromProjectsDetailed(
       {
@@ -235,6 +238,144 @@ describe('analysisService', () => {
     assert.ok(result.results.every((project) => project.baselineXml === baselineXml));
   });
 
+  it('analyzes every resolved project with one batch command', async () => {
+    const vscode = installVscodeMock();
+    const resolverModule =
+      require('../workspace/analysisTargetResolver') as typeof import('../workspace/analysisTargetResolver');
+    const spotbugsClient =
+      require('../lsp/spotbugsClient') as typeof import('../lsp/spotbugsClient');
+    const service = require('../services/analysisService') as typeof import('../services/analysisService');
+    const batches: string[][] = [];
+    const done: string[] = [];
+
+    resolverModule.resolveProjectAnalysisTargetDetailed = (async (projectUri) =>
+      projectUri.toString().endsWith('project-b')
+        ? {
+            resolution: {
+              status: 'no-class-targets',
+              errorCode: 'NO_CLASS_TARGETS',
+              message: 'No classes',
+            },
+            issues: [],
+          }
+        : {
+            resolution: {
+              status: 'ok',
+              target: {
+                targetPath: `/workspace/${projectUri.toString().split('/').pop()}/classes`,
+                preferredProject: projectUri,
+              },
+            },
+            issues: [],
+          }) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
+    spotbugsClient.runSpotBugsAnalysis = (async () => {
+      throw new Error('workspace runs must use the batch command');
+    }) as typeof spotbugsClient.runSpotBugsAnalysis;
+    spotbugsClient.runSpotBugsAnalysisBatch = (async (requests) => {
+      batches.push(requests.map((request) => request.targetPath));
+      return requests.map(() => JSON.stringify({ schemaVersion: 2, results: [] }));
+    }) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
+
+    const result = await service.analyzeWorkspaceFromProjectsDetailed(
+      { getAnalysisSettings: () => ({ effort: 'default' }) } as any,
+      vscode.Uri.file('/workspace') as any,
+      ['file:///workspace/project-a', 'file:///workspace/project-b', 'file:///workspace/project-c'],
+      { onDone: (projectUri) => done.push(projectUri) }
+    );
+
+    assert.deepStrictEqual(batches, [['/workspace/project-a/classes', '/workspace/project-c/classes']]);
+    assert.deepStrictEqual(
+      result.results.map((project) => project.errorCode),
+      [undefined, 'NO_CLASS_TARGETS', undefined]
+    );
+    assert.deepStrictEqual(done, ['file:///workspace/project-a', 'file:///workspace/project-c']);
+  });
+
+  it('analyzes projects in groups and reports each group as it finishes', async () => {
+    const vscode = installVscodeMock();
+    const resolverModule =
+      require('../workspace/analysisTargetResolver') as typeof import('../workspace/analysisTargetResolver');
+    const spotbugsClient =
+      require('../lsp/spotbugsClient') as typeof import('../lsp/spotbugsClient');
+    const service = require('../services/analysisService') as typeof import('../services/analysisService');
+    const events: string[] = [];
+
+    resolverModule.resolveProjectAnalysisTargetDetailed = (async (projectUri) => ({
+      resolution: {
+        status: 'ok',
+        target: {
+          targetPath: `/workspace/${projectUri.toString().split('/').pop()}/classes`,
+          preferredProject: projectUri,
+        },
+      },
+      issues: [],
+    })) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
+    spotbugsClient.runSpotBugsAnalysisBatch = (async (requests, _token, parallelism) => {
+      events.push(`batch ${requests.map((request) => request.targetPath).join(' ')} x${parallelism}`);
+      return requests.map(() => JSON.stringify({ schemaVersion: 2, results: [] }));
+    }) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
+
+    const result = await service.analyzeWorkspaceFromProjectsDetailed(
+      { getAnalysisSettings: () => ({ effort: 'default' }), workspaceParallelism: 2 } as any,
+      vscode.Uri.file('/workspace') as any,
+      ['file:///workspace/project-a', 'file:///workspace/project-b', 'file:///workspace/project-c'],
+      {
+        onStart: (projectUri) => events.push(`start ${projectUri.split('/').pop()}`),
+        onDone: (projectUri) => events.push(`done ${projectUri.split('/').pop()}`),
+      }
+    );
+
+    assert.strictEqual(result.results.length, 3);
+    assert.deepStrictEqual(events, [
+      'start project-a',
+      'start project-b',
+      'batch /workspace/project-a/classes /workspace/project-b/classes x2',
+      'done project-a',
+      'done project-b',
+      'start project-c',
+      'batch /workspace/project-c/classes x2',
+      'done project-c',
+    ]);
+  });
+
+  it('does not start the next group once the run is cancelled', async () => {
+    const vscode = installVscodeMock();
+    const resolverModule =
+      require('../workspace/analysisTargetResolver') as typeof import('../workspace/analysisTargetResolver');
+    const spotbugsClient =
+      require('../lsp/spotbugsClient') as typeof import('../lsp/spotbugsClient');
+    const service = require('../services/analysisService') as typeof import('../services/analysisService');
+    const token = { isCancellationRequested: false } as any;
+    const batches: string[][] = [];
+
+    resolverModule.resolveProjectAnalysisTargetDetailed = (async (projectUri) => ({
+      resolution: {
+        status: 'ok',
+        target: {
+          targetPath: `/workspace/${projectUri.toString().split('/').pop()}/classes`,
+          preferredProject: projectUri,
+        },
+      },
+      issues: [],
+    })) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
+    spotbugsClient.runSpotBugsAnalysisBatch = (async (requests) => {
+      batches.push(requests.map((request) => request.targetPath));
+      token.isCancellationRequested = true;
+      return requests.map(() => JSON.stringify({ schemaVersion: 2, results: [] }));
+    }) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
+
+    const result = await service.analyzeWorkspaceFromProjectsDetailed(
+      { getAnalysisSettings: () => ({ effort: 'default' }), workspaceParallelism: 1 } as any,
+      vscode.Uri.file('/workspace') as any,
+      ['file:///workspace/project-a', 'file:///workspace/project-b'],
+      undefined,
+      token
+    );
+
+    assert.strictEqual(result.cancelled, true);
+    assert.deepStrictEqual(batches, [['/workspace/project-a/classes']]);
+  });
+
   it('preserves file resolution issues when analysis execution throws after target resolution', async () => {
     const vscode = installVscodeMock();
     const resolverModule =
@@ -322,9 +463,9 @@ describe('analysisService', () => {
         },
       ],
     })) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
-    spotbugsClient.runSpotBugsAnalysis = (async () => {
+    spotbugsClient.runSpotBugsAnalysisBatch = (async () => {
       throw new Error('analysis boom');
-    }) as typeof spotbugsClient.runSpotBugsAnalysis;
+    }) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
 
     const result = await service.analyzeWorkspaceFromProjectsDetailed(
       { getAnalysisSettings: () => ({ effort: 'default' }) } as any,
@@ -342,14 +483,14 @@ describe('analysisService', () => {
     );
   });
 
-  it('stops workspace analysis when backend returns ANALYSIS_CANCELLED envelopes', async () => {
+  it('stops reporting workspace results at the first ANALYSIS_CANCELLED envelope', async () => {
     const vscode = installVscodeMock();
     const resolverModule =
       require('../workspace/analysisTargetResolver') as typeof import('../workspace/analysisTargetResolver');
     const spotbugsClient =
       require('../lsp/spotbugsClient') as typeof import('../lsp/spotbugsClient');
     const service = require('../services/analysisService') as typeof import('../services/analysisService');
-    const analyzedTargets: string[] = [];
+    const batches: string[][] = [];
 
     resolverModule.resolveProjectAnalysisTargetDetailed = (async (projectUri) => ({
       resolution: {
@@ -364,24 +505,26 @@ describe('analysisService', () => {
       },
       issues: [],
     })) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
-    spotbugsClient.runSpotBugsAnalysis = (async (request) => {
-      analyzedTargets.push(request.targetPath);
-      return JSON.stringify({
-        schemaVersion: 2,
-        results: [],
-        errors: [
-          {
-            code: 'ANALYSIS_CANCELLED',
-            message: 'Command cancelled',
+    spotbugsClient.runSpotBugsAnalysisBatch = (async (requests) => {
+      batches.push(requests.map((request) => request.targetPath));
+      return requests.map(() =>
+        JSON.stringify({
+          schemaVersion: 2,
+          results: [],
+          errors: [
+            {
+              code: 'ANALYSIS_CANCELLED',
+              message: 'Command cancelled',
+            },
+          ],
+          stats: {
+            target: '/workspace/project-a/target/classes',
+            durationMs: 4,
+            spotbugsVersion: '4.8.3',
           },
-        ],
-        stats: {
-          target: '/workspace/project-a/target/classes',
-          durationMs: 4,
-          spotbugsVersion: '4.8.3',
-        },
-      });
-    }) as typeof spotbugsClient.runSpotBugsAnalysis;
+        })
+      );
+    }) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
 
     const result = await service.analyzeWorkspaceFromProjectsDetailed(
       { getAnalysisSettings: () => ({ effort: 'default' }) } as any,
@@ -393,7 +536,9 @@ describe('analysisService', () => {
     assert.strictEqual(result.results.length, 1);
     assert.strictEqual(result.results[0].projectUri, 'file:///workspace/project-a');
     assert.strictEqual(result.results[0].errorCode, 'ANALYSIS_CANCELLED');
-    assert.deepStrictEqual(analyzedTargets, ['/workspace/project-a/target/classes']);
+    assert.deepStrictEqual(batches, [
+      ['/workspace/project-a/target/classes', '/workspace/project-b/target/classes'],
+    ]);
   });
 
   it('treats a rejected backend request as cancellation when the token is cancelled', async () => {
@@ -417,12 +562,12 @@ describe('analysisService', () => {
       },
       issues: [],
     })) as typeof resolverModule.resolveProjectAnalysisTargetDetailed;
-    spotbugsClient.runSpotBugsAnalysis = (async (request, receivedToken) => {
-      analyzedTargets.push(request.targetPath);
+    spotbugsClient.runSpotBugsAnalysisBatch = (async (requests, receivedToken) => {
+      analyzedTargets.push(...requests.map((request) => request.targetPath));
       assert.strictEqual(receivedToken, token);
       token.isCancellationRequested = true;
       throw new Error('request cancelled');
-    }) as typeof spotbugsClient.runSpotBugsAnalysis;
+    }) as typeof spotbugsClient.runSpotBugsAnalysisBatch;
 
     const result = await service.analyzeWorkspaceFromProjectsDetailed(
       { getAnalysisSettings: () => ({ effort: 'default' }) } as any,
@@ -435,6 +580,9 @@ describe('analysisService', () => {
     assert.strictEqual(result.cancelled, true);
     assert.strictEqual(result.results.length, 1);
     assert.deepStrictEqual(failedProjects, []);
-    assert.deepStrictEqual(analyzedTargets, ['/workspace/project-a/target/classes']);
+    assert.deepStrictEqual(analyzedTargets, [
+      '/workspace/project-a/target/classes',
+      '/workspace/project-b/target/classes',
+    ]);
   });
 });
@@ -31,6 +31,36 @@ describe('Config', () => {
     assert.strictEqual(config.revealSourceOnSelection, false);
   });
 
+  it('leaves native SARIF out of incremental runs', async () => {
+    resetVscodeMock({
+      workspace: {
+        getConfiguration: () => ({
+          get: (key: string) =>
+            key === 'analysis.incremental' || key === 'analysis.nativeSarif' ? true : undefined,
+        }),
+      },
+    } as never);
+    const configModule = await import('../core/config');
+    const config = new configModule.Config({} as never);
+
+    assert.strictEqual(config.incremental, true);
+    assert.strictEqual(config.nativeSarif, false);
+  });
+
+  it('analyzes two workspace projects at a time unless configured otherwise', async () => {
+    const configModule = await import('../core/config');
+    assert.strictEqual(new configModule.Config({} as never).workspaceParallelism, 2);
+
+    resetVscodeMock({
+      workspace: {
+        getConfiguration: () => ({
+          get: (key: string) => (key === 'analysis.workspaceParallelism' ? 4 : undefined),
+        }),
+      },
+    } as never);
+    assert.strictEqual(new configModule.Config({} as never).workspaceParallelism, 4);
+  });
+
   it('resolves plugin paths against the resource workspace folder', async () => {
     const vscode = installVscodeMock();
     const workspaceA = vscode.Uri.file('/workspace-a');
@@ -79,6 +79,7 @@ describe('package contributions', () => {
       'spotbugs.clearSearch',
       'spotbugs.groupResultsBy',
       'spotbugs.sortResultsBy',
+      'spotbugs.showDetectorProfile',
       'spotbugs.openSettings',
       'spotbugs.refreshPluginInventory',
       'spotbugs.addPluginJars',
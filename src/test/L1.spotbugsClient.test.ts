@@ -0,0 +1,73 @@
+import * as assert from 'assert';
+import { installVscodeMock, resetVscodeMock } from './helpers/mockVscode';
+
+function clearModule(moduleId: string): void {
+  delete require.cache[require.resolve(moduleId)];
+}
+
+describe('spotbugsClient', () => {
+  beforeEach(() => {
+    installVscodeMock();
+    resetVscodeMock();
+    clearModule('../lsp/spotbugsClient');
+    clearModule('../lsp/javaLsGateway');
+  });
+
+  it('sends every target in one batch command and splits the responses in order', async () => {
+    const gateway = require('../lsp/javaLsGateway') as typeof import('../lsp/javaLsGateway');
+    const client = require('../lsp/spotbugsClient') as typeof import('../lsp/spotbugsClient');
+    const calls: unknown[][] = [];
+
+    gateway.executeWorkspaceCommand = (async (...args: unknown[]) => {
+      calls.push(args);
+      return JSON.stringify({
+        schemaVersion: 2,
+        results: [
+          { path: '/a/classes', response: { schemaVersion: 2, results: [], stats: { target: '/a/classes' } } },
+          { path: '/b/classes', response: { schemaVersion: 2, results: [], errors: [{ code: 'ANALYSIS_FAILED', message: 'x' }] } },
+        ],
+        errors: [],
+      });
+    }) as typeof gateway.executeWorkspaceCommand;
+
+    const responses = await client.runSpotBugsAnalysisBatch(
+      [
+        { targetPath: '/a/classes', payload: { effort: 'min' } as any },
+        { targetPath: '/b/classes', payload: { effort: 'max' } as any },
+      ],
+      undefined,
+      2
+    );
+
+    assert.strictEqual(calls.length, 1);
+    assert.strictEqual(calls[0][0], 'java.spotbugs.runBatch');
+    assert.deepStrictEqual(JSON.parse(calls[0][1] as string), {
+      targets: [
+        { path: '/a/classes', config: { effort: 'min' } },
+        { path: '/b/classes', config: { effort: 'max' } },
+      ],
+      parallelism: 2,
+    });
+    assert.strictEqual(JSON.parse(responses[0] as string).stats.target, '/a/classes');
+    assert.strictEqual(JSON.parse(responses[1] as string).errors[0].code, 'ANALYSIS_FAILED');
+  });
+
+  it('hands the batch error envelope to every target when the batch itself fails', async () => {
+    const gateway = require('../lsp/javaLsGateway') as typeof import('../lsp/javaLsGateway');
+    const client = require('../lsp/spotbugsClient') as typeof import('../lsp/spotbugsClient');
+    const failure = JSON.stringify({
+      schemaVersion: 2,
+      results: [],
+      errors: [{ code: 'INVALID_ARGUMENT', message: 'bad' }],
+    });
+
+    gateway.executeWorkspaceCommand = (async () => failure) as typeof gateway.executeWorkspaceCommand;
+
+    const responses = await client.runSpotBugsAnalysisBatch([
+      { targetPath: '/a/classes', payload: {} as any },
+      { targetPath: '/b/classes', payload: {} as any },
+    ]);
+
+    assert.deepStrictEqual(responses, [failure, failure]);
+  });
+});
@@ -160,6 +160,7 @@ export class SpotBugsTreeDataProvider implements TreeDataProvider<TreeItem> {
       summary: result.reportSummary,
       nativeSarif: result.nativeSarif,
       baselineXml: result.baselineXml,
+      profile: result.profile,
     }));
     this.transitionTo({
       kind: 'results',